@@ -0,0 +1,31 @@
+package org.infinispan.benchmarks;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point shared by the {@code main} methods of the benchmarks, so that every benchmark can be launched on its own
+ * from an IDE or with {@code java -cp benchmarks.jar}. All the JMH command line options are accepted, e.g.
+ * {@code -prof gc}, {@code -prof stack} or {@code -prof perfasm} to attach a profiler, and {@code -rf json -rff file}
+ * to save the results so they can be attached to a performance issue.
+ *
+ * @since 9.0
+ */
+final class Benchmarks {
+
+   private Benchmarks() {
+   }
+
+   static void run(Class<?> benchmark, String[] args) throws CommandLineOptionException, RunnerException {
+      CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+      OptionsBuilder options = new OptionsBuilder();
+      options.parent(commandLineOptions);
+      if (commandLineOptions.getIncludes().isEmpty()) {
+         options.include(benchmark.getName());
+      }
+      new Runner(options.build()).run();
+   }
+}
@@ -0,0 +1,111 @@
+package org.infinispan.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.equivalence.AnyEquivalence;
+import org.infinispan.commons.util.concurrent.jdk8backported.BoundedEquivalentConcurrentHashMapV8;
+import org.infinispan.commons.util.concurrent.jdk8backported.BoundedEquivalentConcurrentHashMapV8.Eviction;
+import org.infinispan.commons.util.concurrent.jdk8backported.BoundedEquivalentConcurrentHashMapV8.EvictionListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link BoundedEquivalentConcurrentHashMapV8} with a key space larger than its capacity, so that writes
+ * and read misses keep the eviction policy busy.
+ *
+ * @since 9.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BoundedMapEvictionBenchmark {
+
+   @Param({"LRU", "LIRS"})
+   Eviction eviction;
+
+   @Param("10000")
+   int capacity;
+
+   /**
+    * Key space as a multiple of the capacity.
+    */
+   @Param({"1", "4"})
+   int keySpaceFactor;
+
+   private BoundedEquivalentConcurrentHashMapV8<Integer, Integer> map;
+   private Integer[] keys;
+
+   @Setup(Level.Iteration)
+   public void setup() {
+      map = new BoundedEquivalentConcurrentHashMapV8<>(capacity, eviction, new NoOpEvictionListener(),
+            AnyEquivalence.getInstance(), AnyEquivalence.getInstance());
+      keys = new Integer[capacity * keySpaceFactor];
+      for (int i = 0; i < keys.length; i++) {
+         keys[i] = i;
+         map.put(keys[i], i);
+      }
+   }
+
+   private Integer randomKey() {
+      return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+   }
+
+   @Benchmark
+   public Integer get() {
+      return map.get(randomKey());
+   }
+
+   @Benchmark
+   public Integer put() {
+      Integer key = randomKey();
+      return map.put(key, key);
+   }
+
+   @Benchmark
+   public Integer getOrLoad() {
+      // Read-through pattern: a miss is followed by a write that may evict
+      Integer key = randomKey();
+      Integer value = map.get(key);
+      if (value == null) {
+         map.putIfAbsent(key, key);
+      }
+      return value;
+   }
+
+   private static class NoOpEvictionListener implements EvictionListener<Integer, Integer> {
+      @Override
+      public void onEntryEviction(Map<Integer, Integer> evicted) {
+      }
+
+      @Override
+      public void onEntryChosenForEviction(Map.Entry<Integer, Integer> entry) {
+      }
+
+      @Override
+      public void onEntryActivated(Object key) {
+      }
+
+      @Override
+      public void onEntryRemoved(Map.Entry<Integer, Integer> entry) {
+      }
+   }
+
+   public static void main(String[] args) throws Exception {
+      Benchmarks.run(BoundedMapEvictionBenchmark.class, args);
+   }
+}
@@ -0,0 +1,73 @@
+package org.infinispan.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.util.concurrent.TimeoutException;
+
+/**
+ * Creates the cache managers used by the benchmarks.
+ * <p>
+ * Clustered managers use the JGroups shared loopback transport, so that all the nodes run in the benchmark JVM and the
+ * results measure Infinispan rather than the network.
+ *
+ * @since 9.0
+ */
+final class CacheManagers {
+
+   static final String JGROUPS_CONFIGURATION = "benchmark-jgroups.xml";
+   private static final long CLUSTER_FORMATION_TIMEOUT = TimeUnit.SECONDS.toMillis(60);
+
+   private CacheManagers() {
+   }
+
+   static EmbeddedCacheManager local(ConfigurationBuilder builder) {
+      GlobalConfigurationBuilder global = new GlobalConfigurationBuilder();
+      global.globalJmxStatistics().allowDuplicateDomains(true);
+      return new DefaultCacheManager(global.build(), builder.build());
+   }
+
+   static List<EmbeddedCacheManager> clustered(int numNodes, ConfigurationBuilder builder) {
+      List<EmbeddedCacheManager> managers = new ArrayList<>(numNodes);
+      for (int i = 0; i < numNodes; i++) {
+         GlobalConfigurationBuilder global = GlobalConfigurationBuilder.defaultClusteredBuilder();
+         global.globalJmxStatistics().allowDuplicateDomains(true);
+         global.transport().nodeName("node-" + i).clusterName("benchmark")
+               .addProperty("configurationFile", JGROUPS_CONFIGURATION);
+         EmbeddedCacheManager manager = new DefaultCacheManager(global.build(), builder.build());
+         manager.getCache();
+         managers.add(manager);
+      }
+      waitForClusterToForm(managers);
+      return managers;
+   }
+
+   static void stop(List<EmbeddedCacheManager> managers) {
+      // Stop the coordinator last to avoid needless view changes
+      for (int i = managers.size() - 1; i >= 0; i--) {
+         managers.get(i).stop();
+      }
+   }
+
+   private static void waitForClusterToForm(List<EmbeddedCacheManager> managers) {
+      long deadline = System.currentTimeMillis() + CLUSTER_FORMATION_TIMEOUT;
+      for (EmbeddedCacheManager manager : managers) {
+         while (manager.getCache().getAdvancedCache().getRpcManager().getMembers().size() != managers.size()) {
+            if (System.currentTimeMillis() > deadline) {
+               throw new TimeoutException("Cluster did not form in " + CLUSTER_FORMATION_TIMEOUT + " ms");
+            }
+            try {
+               Thread.sleep(50);
+            } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+               throw new IllegalStateException(e);
+            }
+         }
+      }
+   }
+}
@@ -0,0 +1,104 @@
+package org.infinispan.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.Flag;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures reads and writes on replicated and distributed caches, with all the nodes running in the benchmark JVM.
+ * Every operation is invoked on a random node, so with distribution some reads are remote.
+ *
+ * @since 9.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class ClusteredCacheBenchmark {
+
+   @Param({"REPL_SYNC", "DIST_SYNC"})
+   CacheMode cacheMode;
+
+   @Param("3")
+   int numNodes;
+
+   @Param("10000")
+   int keySpace;
+
+   private List<EmbeddedCacheManager> cacheManagers;
+   private Cache<String, String>[] caches;
+   private String[] keys;
+
+   @Setup(Level.Trial)
+   @SuppressWarnings("unchecked")
+   public void setup() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(cacheMode);
+      if (cacheMode.isDistributed()) {
+         builder.clustering().hash().numOwners(2).l1().disable();
+      }
+      cacheManagers = CacheManagers.clustered(numNodes, builder);
+      caches = new Cache[numNodes];
+      for (int i = 0; i < numNodes; i++) {
+         caches[i] = cacheManagers.get(i).getCache();
+      }
+      keys = new String[keySpace];
+      for (int i = 0; i < keySpace; i++) {
+         keys[i] = "key-" + i;
+         caches[0].put(keys[i], "value-" + i);
+      }
+   }
+
+   @TearDown(Level.Trial)
+   public void tearDown() {
+      CacheManagers.stop(cacheManagers);
+   }
+
+   private Cache<String, String> randomCache(ThreadLocalRandom random) {
+      return caches[random.nextInt(numNodes)];
+   }
+
+   @Benchmark
+   public String get() {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      return randomCache(random).get(keys[random.nextInt(keySpace)]);
+   }
+
+   @Benchmark
+   public String put() {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      return randomCache(random).put(keys[random.nextInt(keySpace)], "value");
+   }
+
+   @Benchmark
+   public void putIgnoreReturnValue() {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      randomCache(random).getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES)
+            .put(keys[random.nextInt(keySpace)], "value");
+   }
+
+   public static void main(String[] args) throws Exception {
+      Benchmarks.run(ClusteredCacheBenchmark.class, args);
+   }
+}
@@ -0,0 +1,107 @@
+package org.infinispan.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.commands.CommandsFactory;
+import org.infinispan.commands.read.GetKeyValueCommand;
+import org.infinispan.commands.write.PutKeyValueCommand;
+import org.infinispan.commons.util.EnumUtil;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.context.InvocationContextFactory;
+import org.infinispan.interceptors.AsyncInterceptorChain;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.metadata.Metadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Invokes commands directly on the {@link AsyncInterceptorChain} of a local cache, skipping the {@code CacheImpl}
+ * argument handling, to isolate the cost of the interceptor invocation path and of {@code EntryWrappingInterceptor}.
+ * <p>
+ * With {@link #statistics} enabled the chain also contains the {@code CacheMgmtInterceptor}, the difference between
+ * the runs gives the fixed cost of one interceptor.
+ *
+ * @since 9.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class InterceptorChainBenchmark {
+
+   @Param({"false", "true"})
+   boolean statistics;
+
+   @Param("1000")
+   int keySpace;
+
+   private EmbeddedCacheManager cacheManager;
+   private AsyncInterceptorChain chain;
+   private CommandsFactory commandsFactory;
+   private InvocationContextFactory contextFactory;
+   private Metadata metadata;
+   private String[] keys;
+
+   @Setup(Level.Trial)
+   public void setup() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.jmxStatistics().enabled(statistics);
+      cacheManager = CacheManagers.local(builder);
+      AdvancedCache<String, String> cache = cacheManager.<String, String>getCache().getAdvancedCache();
+      chain = cache.getAsyncInterceptorChain();
+      commandsFactory = cache.getComponentRegistry().getComponent(CommandsFactory.class);
+      contextFactory = cache.getComponentRegistry().getComponent(InvocationContextFactory.class);
+      metadata = new EmbeddedMetadata.Builder().build();
+      keys = new String[keySpace];
+      for (int i = 0; i < keySpace; i++) {
+         keys[i] = "key-" + i;
+         cache.put(keys[i], "value-" + i);
+      }
+   }
+
+   @TearDown(Level.Trial)
+   public void tearDown() {
+      cacheManager.stop();
+   }
+
+   private String randomKey() {
+      return keys[ThreadLocalRandom.current().nextInt(keySpace)];
+   }
+
+   @Benchmark
+   public Object get() {
+      InvocationContext ctx = contextFactory.createInvocationContext(false, 1);
+      GetKeyValueCommand command = commandsFactory.buildGetKeyValueCommand(randomKey(), EnumUtil.EMPTY_BIT_SET);
+      return chain.invoke(ctx, command);
+   }
+
+   @Benchmark
+   public Object put() {
+      InvocationContext ctx = contextFactory.createInvocationContext(true, 1);
+      PutKeyValueCommand command = commandsFactory.buildPutKeyValueCommand(randomKey(), "value", metadata,
+            EnumUtil.EMPTY_BIT_SET);
+      ctx.setLockOwner(command.getKeyLockOwner());
+      return chain.invoke(ctx, command);
+   }
+
+   public static void main(String[] args) throws Exception {
+      Benchmarks.run(InterceptorChainBenchmark.class, args);
+   }
+}
@@ -0,0 +1,94 @@
+package org.infinispan.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code get}, {@code put} and conditional writes on a local cache, through the whole
+ * {@code CacheImpl} and interceptor chain path.
+ *
+ * @since 9.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class LocalCacheBenchmark {
+
+   @Param({"1000", "100000"})
+   int keySpace;
+
+   @Param({"OBJECT", "OFF_HEAP"})
+   StorageType storageType;
+
+   private EmbeddedCacheManager cacheManager;
+   private Cache<String, String> cache;
+   private String[] keys;
+
+   @Setup(Level.Trial)
+   public void setup() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.dataContainer().storageType(storageType);
+      cacheManager = CacheManagers.local(builder);
+      cache = cacheManager.getCache();
+      keys = new String[keySpace];
+      for (int i = 0; i < keySpace; i++) {
+         keys[i] = "key-" + i;
+         cache.put(keys[i], "value-" + i);
+      }
+   }
+
+   @TearDown(Level.Trial)
+   public void tearDown() {
+      cacheManager.stop();
+   }
+
+   private String randomKey() {
+      return keys[ThreadLocalRandom.current().nextInt(keySpace)];
+   }
+
+   @Benchmark
+   public String get() {
+      return cache.get(randomKey());
+   }
+
+   @Benchmark
+   public String put() {
+      return cache.put(randomKey(), "value");
+   }
+
+   @Benchmark
+   public boolean replace() {
+      String key = randomKey();
+      return cache.replace(key, "value", "value");
+   }
+
+   @Benchmark
+   public String putIfAbsent() {
+      return cache.putIfAbsent(randomKey(), "value");
+   }
+
+   public static void main(String[] args) throws Exception {
+      Benchmarks.run(LocalCacheBenchmark.class, args);
+   }
+}
@@ -0,0 +1,121 @@
+package org.infinispan.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.commands.CommandsFactory;
+import org.infinispan.commands.write.PutKeyValueCommand;
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.commons.util.EnumUtil;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.entries.ImmortalCacheEntry;
+import org.infinispan.container.entries.metadata.MetadataMortalCacheEntry;
+import org.infinispan.container.versioning.NumericVersion;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.metadata.Metadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Marshalls and unmarshalls the objects most often sent over the wire or written to the stores with the
+ * {@code GlobalMarshaller}: internal cache entries and a replicated put command.
+ *
+ * @since 9.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MarshallingBenchmark {
+
+   @Param({"16", "1024"})
+   int valueSize;
+
+   private EmbeddedCacheManager cacheManager;
+   private StreamingMarshaller marshaller;
+
+   private ImmortalCacheEntry immortalEntry;
+   private MetadataMortalCacheEntry metadataEntry;
+   private Object putCommand;
+
+   private byte[] immortalEntryBytes;
+   private byte[] metadataEntryBytes;
+   private byte[] putCommandBytes;
+
+   @Setup(Level.Trial)
+   public void setup() throws Exception {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      // Commands are only marshalled in clustered caches, but no other node is needed
+      builder.clustering().cacheMode(CacheMode.REPL_SYNC);
+      cacheManager = CacheManagers.clustered(1, builder).get(0);
+      AdvancedCache<Object, Object> cache = cacheManager.getCache().getAdvancedCache();
+      marshaller = cache.getComponentRegistry().getCacheMarshaller();
+      CommandsFactory commandsFactory = cache.getComponentRegistry().getComponent(CommandsFactory.class);
+
+      byte[] value = new byte[valueSize];
+      Metadata metadata = new EmbeddedMetadata.Builder()
+            .lifespan(1, TimeUnit.HOURS).version(new NumericVersion(1)).build();
+      immortalEntry = new ImmortalCacheEntry("key", value);
+      metadataEntry = new MetadataMortalCacheEntry("key", value, metadata, System.currentTimeMillis());
+      PutKeyValueCommand put = commandsFactory.buildPutKeyValueCommand("key", value, metadata, EnumUtil.EMPTY_BIT_SET);
+      putCommand = commandsFactory.buildSingleRpcCommand(put);
+
+      immortalEntryBytes = marshaller.objectToByteBuffer(immortalEntry);
+      metadataEntryBytes = marshaller.objectToByteBuffer(metadataEntry);
+      putCommandBytes = marshaller.objectToByteBuffer(putCommand);
+   }
+
+   @TearDown(Level.Trial)
+   public void tearDown() {
+      cacheManager.stop();
+   }
+
+   @Benchmark
+   public byte[] marshallImmortalEntry() throws Exception {
+      return marshaller.objectToByteBuffer(immortalEntry);
+   }
+
+   @Benchmark
+   public Object unmarshallImmortalEntry() throws Exception {
+      return marshaller.objectFromByteBuffer(immortalEntryBytes);
+   }
+
+   @Benchmark
+   public byte[] marshallMetadataEntry() throws Exception {
+      return marshaller.objectToByteBuffer(metadataEntry);
+   }
+
+   @Benchmark
+   public Object unmarshallMetadataEntry() throws Exception {
+      return marshaller.objectFromByteBuffer(metadataEntryBytes);
+   }
+
+   @Benchmark
+   public byte[] marshallPutCommand() throws Exception {
+      return marshaller.objectToByteBuffer(putCommand);
+   }
+
+   @Benchmark
+   public Object unmarshallPutCommand() throws Exception {
+      return marshaller.objectFromByteBuffer(putCommandBytes);
+   }
+
+   public static void main(String[] args) throws Exception {
+      Benchmarks.run(MarshallingBenchmark.class, args);
+   }
+}
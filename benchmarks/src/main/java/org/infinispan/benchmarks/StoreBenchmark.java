@@ -0,0 +1,128 @@
+package org.infinispan.benchmarks;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.commons.util.Util;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.marshall.core.MarshalledEntryFactory;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfigurationBuilder;
+import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Calls the persistence SPI of the file based stores directly, without going through the cache, to measure the
+ * stores themselves.
+ *
+ * @since 9.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StoreBenchmark {
+
+   public enum StoreType {
+      SINGLE_FILE {
+         @Override
+         void configure(ConfigurationBuilder builder, File location) {
+            builder.persistence().addSingleFileStore().location(location.getAbsolutePath());
+         }
+      },
+      SOFT_INDEX {
+         @Override
+         void configure(ConfigurationBuilder builder, File location) {
+            builder.persistence().addStore(SoftIndexFileStoreConfigurationBuilder.class)
+                  .dataLocation(new File(location, "data").getAbsolutePath())
+                  .indexLocation(new File(location, "index").getAbsolutePath());
+         }
+      };
+
+      abstract void configure(ConfigurationBuilder builder, File location);
+   }
+
+   @Param({"SINGLE_FILE", "SOFT_INDEX"})
+   StoreType storeType;
+
+   @Param("10000")
+   int keySpace;
+
+   @Param("256")
+   int valueSize;
+
+   private File location;
+   private EmbeddedCacheManager cacheManager;
+   private AdvancedLoadWriteStore<Object, Object> store;
+   private MarshalledEntry<Object, Object>[] entries;
+
+   @Setup(Level.Trial)
+   @SuppressWarnings("unchecked")
+   public void setup() throws Exception {
+      location = Files.createTempDirectory("infinispan-store-benchmark").toFile();
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      storeType.configure(builder, location);
+      cacheManager = CacheManagers.local(builder);
+      AdvancedCache<Object, Object> cache = cacheManager.getCache().getAdvancedCache();
+      Set<AdvancedLoadWriteStore> stores = cache.getComponentRegistry().getComponent(PersistenceManager.class)
+            .getStores(AdvancedLoadWriteStore.class);
+      store = stores.iterator().next();
+      MarshalledEntryFactory<Object, Object> entryFactory =
+            cache.getComponentRegistry().getComponent(MarshalledEntryFactory.class);
+
+      entries = new MarshalledEntry[keySpace];
+      for (int i = 0; i < keySpace; i++) {
+         entries[i] = entryFactory.newMarshalledEntry("key-" + i, new byte[valueSize], null);
+         store.write(entries[i]);
+      }
+   }
+
+   @TearDown(Level.Trial)
+   public void tearDown() {
+      cacheManager.stop();
+      Util.recursiveFileRemove(location);
+   }
+
+   private MarshalledEntry<Object, Object> randomEntry() {
+      return entries[ThreadLocalRandom.current().nextInt(keySpace)];
+   }
+
+   @Benchmark
+   public MarshalledEntry<Object, Object> load() {
+      return store.load(randomEntry().getKey());
+   }
+
+   @Benchmark
+   public void write() {
+      store.write(randomEntry());
+   }
+
+   @Benchmark
+   public boolean contains() {
+      return store.contains(randomEntry().getKey());
+   }
+
+   public static void main(String[] args) throws Exception {
+      Benchmarks.run(StoreBenchmark.class, args);
+   }
+}
@@ -21,6 +21,7 @@
 import org.infinispan.client.hotrod.impl.protocol.CodecFactory;
 import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
 import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelFactory;
 import org.infinispan.client.hotrod.impl.transport.tcp.TcpTransportFactory;
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
@@ -67,6 +68,7 @@ public class RemoteCacheManager implements RemoteCacheContainer {
    private Marshaller marshaller;
    protected TransportFactory transportFactory;
    private ExecutorService asyncExecutorService;
+   private ChannelFactory channelFactory;
    protected ClientListenerNotifier listenerNotifier;
 
    /**
@@ -208,6 +210,14 @@ public void start() {
       listenerNotifier = ClientListenerNotifier.create(codec, marshaller);
       transportFactory.start(codec, configuration, defaultCacheTopologyId, listenerNotifier);
 
+      if (configuration.asyncTransport()) {
+         if (configuration.security().ssl().enabled() || configuration.security().authentication().enabled()) {
+            log.asyncTransportNotSupportedWithSecurity();
+         } else {
+            channelFactory = new ChannelFactory(configuration, transportFactory, codec);
+         }
+      }
+
       synchronized (cacheName2RemoteCache) {
          for (RemoteCacheHolder rcc : cacheName2RemoteCache.values()) {
             startRemoteCache(rcc);
@@ -239,7 +249,17 @@ private final void warnAboutUberJarDuplicates() {
    @Override
    public void stop() {
       if (isStarted()) {
+         synchronized (cacheName2RemoteCache) {
+            for (RemoteCacheHolder holder : cacheName2RemoteCache.values()) {
+               if (holder.remoteCache instanceof InvalidatedNearRemoteCache)
+                  ((InvalidatedNearRemoteCache<?, ?>) holder.remoteCache).getNearCacheService().unregisterStatistics();
+            }
+         }
          listenerNotifier.stop();
+         if (channelFactory != null) {
+            channelFactory.destroy();
+            channelFactory = null;
+         }
          transportFactory.destroy();
          asyncExecutorService.shutdownNow();
       }
@@ -316,7 +336,7 @@ protected <K, V> NearCacheService<K, V> createNearCacheService(NearCacheConfigur
    private void startRemoteCache(RemoteCacheHolder remoteCacheHolder) {
       RemoteCacheImpl<?, ?> remoteCache = remoteCacheHolder.remoteCache;
       OperationsFactory operationsFactory = new OperationsFactory(
-              transportFactory, remoteCache.getName(), remoteCacheHolder.forceReturnValue, codec, listenerNotifier,
+              transportFactory, channelFactory, remoteCache.getName(), remoteCacheHolder.forceReturnValue, codec, listenerNotifier,
             asyncExecutorService);
       remoteCache.init(marshaller, asyncExecutorService, operationsFactory, configuration.keySizeEstimate(), configuration.valueSizeEstimate());
    }
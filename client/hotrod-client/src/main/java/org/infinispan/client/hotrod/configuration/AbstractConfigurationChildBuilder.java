@@ -130,6 +130,11 @@ public ConfigurationBuilder tcpKeepAlive(boolean tcpKeepAlive) {
       return builder.tcpKeepAlive(tcpKeepAlive);
    }
 
+   @Override
+   public ConfigurationBuilder asyncTransport(boolean asyncTransport) {
+      return builder.asyncTransport(asyncTransport);
+   }
+
    @Override
    public ConfigurationBuilder transportFactory(String transportFactory) {
       return builder.transportFactory(transportFactory);
@@ -139,6 +139,13 @@ public interface ConfigurationChildBuilder {
     */
    ConfigurationBuilder tcpKeepAlive(boolean keepAlive);
 
+   /**
+    * Whether asynchronous key operations (getAsync, putAsync, putIfAbsentAsync, replaceAsync and removeAsync) should be
+    * sent over a non-blocking transport which pipelines many requests on each connection instead of blocking a thread
+    * of the async executor for every request. Defaults to disabled
+    */
+   ConfigurationBuilder asyncTransport(boolean asyncTransport);
+
    /**
     * Controls which transport to use. Currently only the TcpTransport is supported.
     */
@@ -1,19 +1,51 @@
 package org.infinispan.client.hotrod.configuration;
 
+import java.util.Collections;
+import java.util.Set;
+
 public class NearCacheConfiguration {
    // TODO: Consider an option to configure key equivalence function for near cache (e.g. for byte arrays)
    private final NearCacheMode mode;
    private final int maxEntries;
+   private final long maxWeight;
+   private final NearCacheEvictionPolicy evictionPolicy;
+   private final boolean statistics;
+   private final Set<Object> prefetchKeys;
 
    public NearCacheConfiguration(NearCacheMode mode, int maxEntries) {
+      this(mode, maxEntries, -1, NearCacheEvictionPolicy.LRU, false, Collections.emptySet());
+   }
+
+   public NearCacheConfiguration(NearCacheMode mode, int maxEntries, long maxWeight,
+                                 NearCacheEvictionPolicy evictionPolicy, boolean statistics, Set<Object> prefetchKeys) {
       this.mode = mode;
       this.maxEntries = maxEntries;
+      this.maxWeight = maxWeight;
+      this.evictionPolicy = evictionPolicy;
+      this.statistics = statistics;
+      this.prefetchKeys = Collections.unmodifiableSet(prefetchKeys);
    }
 
    public int maxEntries() {
       return maxEntries;
    }
 
+   public long maxWeight() {
+      return maxWeight;
+   }
+
+   public NearCacheEvictionPolicy evictionPolicy() {
+      return evictionPolicy;
+   }
+
+   public boolean statistics() {
+      return statistics;
+   }
+
+   public Set<Object> prefetchKeys() {
+      return prefetchKeys;
+   }
+
    public NearCacheMode mode() {
       return mode;
    }
@@ -23,6 +55,10 @@ public String toString() {
       return "NearCacheConfiguration{" +
             "mode=" + mode +
             ", maxEntries=" + maxEntries +
+            ", maxWeight=" + maxWeight +
+            ", evictionPolicy=" + evictionPolicy +
+            ", statistics=" + statistics +
+            ", prefetchKeys=" + prefetchKeys +
             '}';
    }
 }
@@ -1,5 +1,10 @@
 package org.infinispan.client.hotrod.configuration;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
 import org.infinispan.commons.configuration.Builder;
@@ -10,6 +15,10 @@ public class NearCacheConfigurationBuilder extends AbstractConfigurationChildBui
 
    private NearCacheMode mode = NearCacheMode.DISABLED;
    private Integer maxEntries = null; // undefined
+   private long maxWeight = -1;
+   private NearCacheEvictionPolicy evictionPolicy = NearCacheEvictionPolicy.LRU;
+   private boolean statistics = false;
+   private Set<Object> prefetchKeys = new HashSet<>();
 
    protected NearCacheConfigurationBuilder(ConfigurationBuilder builder) {
       super(builder);
@@ -20,6 +29,48 @@ public NearCacheConfigurationBuilder maxEntries(int maxEntries) {
       return this;
    }
 
+   /**
+    * Bounds the near cache by the total size, in bytes, of the marshalled keys and values it holds, instead of by the
+    * number of entries. Requires the {@link NearCacheEvictionPolicy#TINY_LFU} eviction policy. Defaults to -1, no bound.
+    */
+   public NearCacheConfigurationBuilder maxWeight(long maxWeight) {
+      this.maxWeight = maxWeight;
+      return this;
+   }
+
+   /**
+    * Decides which entries are evicted once the near cache is full. Defaults to {@link NearCacheEvictionPolicy#LRU}.
+    */
+   public NearCacheConfigurationBuilder evictionPolicy(NearCacheEvictionPolicy evictionPolicy) {
+      this.evictionPolicy = evictionPolicy;
+      return this;
+   }
+
+   /**
+    * Enables the near cache statistics (hits, misses, evictions and invalidations), exposed through JMX in the platform
+    * MBean server. Defaults to false.
+    */
+   public NearCacheConfigurationBuilder statistics(boolean statistics) {
+      this.statistics = statistics;
+      return this;
+   }
+
+   /**
+    * Keys read into the near cache of every remote cache as soon as it starts, with a single bulk request per server,
+    * to avoid the latency of the first reads of the hottest keys. Requires the Hot Rod protocol version 2.6 or later.
+    */
+   public NearCacheConfigurationBuilder prefetchKeys(Collection<?> keys) {
+      this.prefetchKeys.addAll(keys);
+      return this;
+   }
+
+   /**
+    * @see #prefetchKeys(Collection)
+    */
+   public NearCacheConfigurationBuilder prefetchKeys(Object... keys) {
+      return prefetchKeys(Arrays.asList(keys));
+   }
+
    public NearCacheConfigurationBuilder mode(NearCacheMode mode) {
       this.mode = mode;
       return this;
@@ -27,19 +78,26 @@ public NearCacheConfigurationBuilder mode(NearCacheMode mode) {
 
    @Override
    public void validate() {
-      if (mode.enabled() && maxEntries == null)
+      if (mode.enabled() && maxEntries == null && maxWeight <= 0)
          throw log.nearCacheMaxEntriesUndefined();
+      if (maxWeight > 0 && evictionPolicy != NearCacheEvictionPolicy.TINY_LFU)
+         throw log.nearCacheMaxWeightRequiresTinyLfu(evictionPolicy);
    }
 
    @Override
    public NearCacheConfiguration create() {
-      return new NearCacheConfiguration(mode, maxEntries == null ? -1 : maxEntries);
+      return new NearCacheConfiguration(mode, maxEntries == null ? -1 : maxEntries, maxWeight, evictionPolicy, statistics,
+            new HashSet<>(prefetchKeys));
    }
 
    @Override
    public Builder<?> read(NearCacheConfiguration template) {
       mode = template.mode();
       maxEntries = template.maxEntries();
+      maxWeight = template.maxWeight();
+      evictionPolicy = template.evictionPolicy();
+      statistics = template.statistics();
+      prefetchKeys = new HashSet<>(template.prefetchKeys());
       return this;
    }
 }
@@ -0,0 +1,23 @@
+package org.infinispan.client.hotrod.configuration;
+
+/**
+ * Decides which entries a bounded near cache evicts.
+ *
+ * @since 9.0
+ */
+public enum NearCacheEvictionPolicy {
+
+   /**
+    * Evicts the least recently used entries. Bounded by number of entries only.
+    */
+   LRU,
+
+   /**
+    * Keeps the most frequently used entries: new entries go through a small LRU window, and are only admitted into
+    * the main space if they have been used more often than the entries they would replace. The frequencies are
+    * estimated with a compact sketch, so scans of entries that are only read once don't evict the frequently used
+    * ones. Can be bounded by number of entries or by weight.
+    */
+   TINY_LFU,
+
+}
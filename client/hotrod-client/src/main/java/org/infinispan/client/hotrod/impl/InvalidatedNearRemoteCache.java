@@ -6,6 +6,7 @@
 import org.infinispan.client.hotrod.Flag;
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.infinispan.client.hotrod.VersionedValue;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelFactory;
 import org.infinispan.client.hotrod.near.NearCacheService;
 
 /**
@@ -24,6 +25,10 @@ public InvalidatedNearRemoteCache(RemoteCacheManager rcm, String name, NearCache
       this.nearcache = nearcache;
    }
 
+   public NearCacheService<K, V> getNearCacheService() {
+      return nearcache;
+   }
+
    @Override
    public V get(Object key) {
       VersionedValue<V> versioned = getVersioned((K) key);
@@ -99,6 +104,12 @@ void invalidateNearCacheIfNeeded(boolean hasForceReturnValue, Object key, Object
          nearcache.remove((K) key);
    }
 
+   @Override
+   protected ChannelFactory asyncChannelFactory() {
+      // The asynchronous operations must go through the near cache aware blocking operations
+      return null;
+   }
+
    @Override
    public void start() {
       nearcache.start(this);
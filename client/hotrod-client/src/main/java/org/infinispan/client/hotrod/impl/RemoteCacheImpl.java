@@ -35,6 +35,7 @@
 import org.infinispan.client.hotrod.impl.operations.ContainsKeyOperation;
 import org.infinispan.client.hotrod.impl.operations.ExecuteOperation;
 import org.infinispan.client.hotrod.impl.operations.GetAllParallelOperation;
+import org.infinispan.client.hotrod.impl.operations.GetAllVersionedParallelOperation;
 import org.infinispan.client.hotrod.impl.operations.GetOperation;
 import org.infinispan.client.hotrod.impl.operations.GetWithMetadataOperation;
 import org.infinispan.client.hotrod.impl.operations.GetWithVersionOperation;
@@ -50,6 +51,7 @@
 import org.infinispan.client.hotrod.impl.operations.ReplaceOperation;
 import org.infinispan.client.hotrod.impl.operations.SizeOperation;
 import org.infinispan.client.hotrod.impl.operations.StatsOperation;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelFactory;
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
 import org.infinispan.commons.marshall.Marshaller;
@@ -289,6 +291,12 @@ public V replace(K key, V value, long lifespan, TimeUnit lifespanUnit, long maxI
    @Override
    public CompletableFuture<V> putAsync(final K key, final V value, final long lifespan, final TimeUnit lifespanUnit, final long maxIdle, final TimeUnit maxIdleUnit) {
       assertRemoteCacheManagerIsStarted();
+      ChannelFactory channelFactory = asyncChannelFactory();
+      if (channelFactory != null) {
+         PutOperation<V> op = operationsFactory.newPutKeyValueOperation(compatKeyIfNeeded(key),
+            obj2bytes(key, true), obj2bytes(value, false), lifespan, lifespanUnit, maxIdle, maxIdleUnit);
+         return channelFactory.execute(op);
+      }
       int flags = operationsFactory.flags();
       return CompletableFuture.supplyAsync(() -> {
          if (flags != 0)
@@ -306,6 +314,12 @@ public CompletableFuture<Void> clearAsync() {
    @Override
    public CompletableFuture<V> putIfAbsentAsync(final K key,final V value,final long lifespan,final TimeUnit lifespanUnit,final long maxIdle,final TimeUnit maxIdleUnit) {
       assertRemoteCacheManagerIsStarted();
+      ChannelFactory channelFactory = asyncChannelFactory();
+      if (channelFactory != null) {
+         PutIfAbsentOperation<V> op = operationsFactory.newPutIfAbsentOperation(compatKeyIfNeeded(key),
+            obj2bytes(key, true), obj2bytes(value, false), lifespan, lifespanUnit, maxIdle, maxIdleUnit);
+         return channelFactory.execute(op);
+      }
       int flags = operationsFactory.flags();
       return CompletableFuture.supplyAsync(() -> {
          if (flags != 0)
@@ -317,6 +331,11 @@ public CompletableFuture<V> putIfAbsentAsync(final K key,final V value,final lon
    @Override
    public CompletableFuture<V> removeAsync(final Object key) {
       assertRemoteCacheManagerIsStarted();
+      ChannelFactory channelFactory = asyncChannelFactory();
+      if (channelFactory != null) {
+         RemoveOperation<V> op = operationsFactory.newRemoveOperation(compatKeyIfNeeded(key), obj2bytes(key, true));
+         return channelFactory.execute(op);
+      }
       int flags = operationsFactory.flags();
       return CompletableFuture.supplyAsync(() -> {
          if (flags != 0)
@@ -328,6 +347,12 @@ public CompletableFuture<V> removeAsync(final Object key) {
    @Override
    public CompletableFuture<V> replaceAsync(final K key,final V value,final long lifespan,final TimeUnit lifespanUnit,final long maxIdle,final TimeUnit maxIdleUnit) {
       assertRemoteCacheManagerIsStarted();
+      ChannelFactory channelFactory = asyncChannelFactory();
+      if (channelFactory != null) {
+         ReplaceOperation<V> op = operationsFactory.newReplaceOperation(compatKeyIfNeeded(key),
+            obj2bytes(key, true), obj2bytes(value, false), lifespan, lifespanUnit, maxIdle, maxIdleUnit);
+         return channelFactory.execute(op);
+      }
       int flags = operationsFactory.flags();
       return CompletableFuture.supplyAsync(() -> {
          if (flags != 0)
@@ -371,6 +396,24 @@ public Map<K, V> getAll(Set<? extends K> keys) {
       return Collections.unmodifiableMap(result);
    }
 
+   /**
+    * Reads the entries of the given keys that the caller does not have the latest version of.
+    *
+    * @param knownVersions the version known for each key, or 0 to read the entry of the key
+    * @return the keys whose known version is stale, mapped to {@code null}, and the entries of the keys with no known
+    *         version, if they exist
+    */
+   public Map<K, VersionedValue<V>> getAllVersioned(Map<? extends K, Long> knownVersions) {
+      assertRemoteCacheManagerIsStarted();
+      if (trace) {
+         log.tracef("About to getAllVersioned entries (%s)", knownVersions);
+      }
+      Map<byte[], Long> byteKeys = new HashMap<>(knownVersions.size());
+      knownVersions.forEach((key, version) -> byteKeys.put(obj2bytes(key, true), version));
+      GetAllVersionedParallelOperation<K, V> op = operationsFactory.newGetAllVersionedOperation(byteKeys);
+      return op.execute();
+   }
+
    @Override
    public Map<K, V> getBulk() {
       return getBulk(0);
@@ -481,9 +524,22 @@ public RemoteCache<K, V> withFlags(Flag... flags) {
    @Override
    public CompletableFuture<V> getAsync(final K key) {
       assertRemoteCacheManagerIsStarted();
+      ChannelFactory channelFactory = asyncChannelFactory();
+      if (channelFactory != null) {
+         GetOperation<V> op = operationsFactory.newGetKeyOperation(compatKeyIfNeeded(key), obj2bytes(key, true));
+         return channelFactory.execute(op);
+      }
       return CompletableFuture.supplyAsync(() -> get(key), executorService);
    }
 
+   /**
+    * @return the factory of the pipelined connections the asynchronous key operations should be sent through, or
+    *         {@code null} if they should run the blocking operations on the executor service instead
+    */
+   protected ChannelFactory asyncChannelFactory() {
+      return operationsFactory.getChannelFactory();
+   }
+
    public PingOperation.PingResult ping() {
       return operationsFactory.newFaultTolerantPingOperation().execute();
    }
@@ -45,16 +45,29 @@ protected Transport getTransport(int retryCount, Set<SocketAddress> failedServer
       }
    }
 
+   /**
+    * Picks the server this operation should be sent to, skipping the servers that already failed.
+    */
+   public SocketAddress getServer(Set<SocketAddress> failedServers) {
+      return transportFactory.getServer(key == null ? keyBytes : key, failedServers, cacheName);
+   }
+
    protected short sendKeyOperation(byte[] key, Transport transport, byte opCode, byte opRespCode) {
       // 1) write [header][key length][key]
-      HeaderParams params = writeHeader(transport, opCode);
-      transport.writeArray(key);
+      HeaderParams params = writeKeyRequest(key, transport, opCode);
       transport.flush();
 
       // 2) now read the header
       return readHeaderAndValidate(transport, params);
    }
 
+   //[header][key length][key]
+   protected HeaderParams writeKeyRequest(byte[] key, Transport transport, short opCode) {
+      HeaderParams params = writeHeader(transport, opCode);
+      transport.writeArray(key);
+      return params;
+   }
+
    protected T returnPossiblePrevValue(Transport transport, short status) {
       return (T) codec.returnPossiblePrevValue(transport, status, flags);
    }
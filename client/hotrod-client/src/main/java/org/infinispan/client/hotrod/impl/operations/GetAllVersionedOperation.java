@@ -0,0 +1,69 @@
+package org.infinispan.client.hotrod.impl.operations;
+
+import java.net.SocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.client.hotrod.VersionedValue;
+import org.infinispan.client.hotrod.impl.VersionedValueImpl;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
+import org.infinispan.client.hotrod.impl.transport.Transport;
+import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+
+import net.jcip.annotations.Immutable;
+
+/**
+ * Implements "getAllVersioned", added in version 2.6 of the protocol.
+ * <p>
+ * Each key is sent with the version the client knows, or 0 if it does not know it. The server only returns the keys
+ * whose known version is stale, without their value, and the entries of the keys with no known version, with their
+ * value and version. The result maps the stale keys to {@code null}.
+ *
+ * @since 9.0
+ */
+@Immutable
+public class GetAllVersionedOperation<K, V> extends RetryOnFailureOperation<Map<K, VersionedValue<V>>> {
+
+   protected final Map<byte[], Long> knownVersions;
+
+   public GetAllVersionedOperation(Codec codec, TransportFactory transportFactory,
+                                   Map<byte[], Long> knownVersions, byte[] cacheName, AtomicInteger topologyId,
+                                   int flags) {
+      super(codec, transportFactory, cacheName, topologyId, flags);
+      this.knownVersions = knownVersions;
+   }
+
+   @Override
+   protected Map<K, VersionedValue<V>> executeOperation(Transport transport) {
+      HeaderParams params = writeHeader(transport, GET_ALL_VERSIONED_REQUEST);
+      transport.writeVInt(knownVersions.size());
+      for (Map.Entry<byte[], Long> entry : knownVersions.entrySet()) {
+         transport.writeArray(entry.getKey());
+         transport.writeLong(entry.getValue());
+      }
+      transport.flush();
+
+      short status = readHeaderAndValidate(transport, params);
+      int size = transport.readVInt();
+      Map<K, VersionedValue<V>> result = new HashMap<>(size);
+      for (int i = 0; i < size; ++i) {
+         K key = codec.readUnmarshallByteArray(transport, status);
+         if (transport.readByte() == 0) {
+            result.put(key, null);
+         } else {
+            long version = transport.readLong();
+            V value = codec.readUnmarshallByteArray(transport, status);
+            result.put(key, new VersionedValueImpl<>(version, value));
+         }
+      }
+      return result;
+   }
+
+   @Override
+   protected Transport getTransport(int retryCount, Set<SocketAddress> failedServers) {
+      return transportFactory.getTransport(knownVersions.keySet().iterator().next(), failedServers, cacheName);
+   }
+}
@@ -0,0 +1,54 @@
+package org.infinispan.client.hotrod.impl.operations;
+
+import java.net.SocketAddress;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.infinispan.client.hotrod.VersionedValue;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+
+/**
+ * Splits a {@link GetAllVersionedOperation} by the server owning the keys.
+ *
+ * @since 9.0
+ */
+public class GetAllVersionedParallelOperation<K, V>
+      extends ParallelHotRodOperation<Map<K, VersionedValue<V>>, GetAllVersionedOperation<K, V>> {
+
+   private final Map<byte[], Long> knownVersions;
+
+   protected GetAllVersionedParallelOperation(Codec codec, TransportFactory transportFactory,
+                                              Map<byte[], Long> knownVersions, byte[] cacheName,
+                                              AtomicInteger topologyId, int flags, ExecutorService executorService) {
+      super(codec, transportFactory, cacheName, topologyId, flags, executorService);
+      this.knownVersions = knownVersions;
+   }
+
+   @Override
+   protected List<GetAllVersionedOperation<K, V>> mapOperations() {
+      Map<SocketAddress, Map<byte[], Long>> splittedKeys = new HashMap<>();
+      knownVersions.forEach((key, version) -> {
+         SocketAddress socketAddress = transportFactory.getSocketAddress(key, cacheName);
+         splittedKeys.computeIfAbsent(socketAddress, a -> new HashMap<>()).put(key, version);
+      });
+
+      return splittedKeys.values().stream().map(
+            subset -> new GetAllVersionedOperation<K, V>(codec, transportFactory, subset, cacheName, topologyId,
+                  flags)).collect(Collectors.toList());
+   }
+
+   @Override
+   protected Map<K, VersionedValue<V>> createCollector() {
+      return new HashMap<>();
+   }
+
+   @Override
+   protected void combine(Map<K, VersionedValue<V>> collector, Map<K, VersionedValue<V>> result) {
+      collector.putAll(result);
+   }
+}
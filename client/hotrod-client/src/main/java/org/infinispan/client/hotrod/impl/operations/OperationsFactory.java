@@ -16,6 +16,7 @@
 import org.infinispan.client.hotrod.impl.query.RemoteQuery;
 import org.infinispan.client.hotrod.impl.transport.Transport;
 import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelFactory;
 
 import net.jcip.annotations.Immutable;
 
@@ -46,9 +47,17 @@ public class OperationsFactory implements HotRodConstants {
 
    private final ExecutorService executorService;
 
+   private final ChannelFactory channelFactory;
+
    public OperationsFactory(TransportFactory transportFactory, String cacheName, boolean forceReturnValue, Codec
            codec, ClientListenerNotifier listenerNotifier, ExecutorService executorService) {
+      this(transportFactory, null, cacheName, forceReturnValue, codec, listenerNotifier, executorService);
+   }
+
+   public OperationsFactory(TransportFactory transportFactory, ChannelFactory channelFactory, String cacheName,
+           boolean forceReturnValue, Codec codec, ClientListenerNotifier listenerNotifier, ExecutorService executorService) {
       this.transportFactory = transportFactory;
+      this.channelFactory = channelFactory;
       this.executorService = executorService;
       this.cacheNameBytes = RemoteCacheManager.cacheNameBytes(cacheName);
       this.cacheName = cacheName;
@@ -68,6 +77,14 @@ public byte[] getCacheName() {
       return cacheNameBytes;
    }
 
+   /**
+    * @return the factory of the pipelined connections used by the asynchronous operations, or {@code null} if the
+    *         asynchronous operations run the blocking operations on the executor service
+    */
+   public ChannelFactory getChannelFactory() {
+      return channelFactory;
+   }
+
    public <V> GetOperation<V> newGetKeyOperation(Object key, byte[] keyBytes) {
       return new GetOperation<V>(
             codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, flags());
@@ -78,6 +95,11 @@ public <K, V> GetAllParallelOperation<K, V> newGetAllOperation(Set<byte[]> keys)
             executorService);
    }
 
+   public <K, V> GetAllVersionedParallelOperation<K, V> newGetAllVersionedOperation(Map<byte[], Long> knownVersions) {
+      return new GetAllVersionedParallelOperation<>(codec, transportFactory, knownVersions, cacheNameBytes, topologyId,
+            flags(), executorService);
+   }
+
    public <V> RemoveOperation<V> newRemoveOperation(Object key, byte[] keyBytes) {
       return new RemoveOperation<V>(
             codec, transportFactory, key, keyBytes, cacheNameBytes, topologyId, flags());
@@ -4,8 +4,10 @@
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
 import org.infinispan.client.hotrod.impl.transport.Transport;
 import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+import org.infinispan.client.hotrod.impl.transport.netty.PipelinedOperation;
 
 import net.jcip.annotations.Immutable;
 
@@ -17,7 +19,7 @@
  * @since 4.1
  */
 @Immutable
-public class ReplaceOperation<V> extends AbstractKeyValueOperation<V> {
+public class ReplaceOperation<V> extends AbstractKeyValueOperation<V> implements PipelinedOperation<V> {
 
    public ReplaceOperation(Codec codec, TransportFactory transportFactory,
             Object key, byte[] keyBytes, byte[] cacheName, AtomicInteger topologyId,
@@ -28,6 +30,16 @@ public ReplaceOperation(Codec codec, TransportFactory transportFactory,
    @Override
    protected V executeOperation(Transport transport) {
       short status = sendPutOperation(transport, REPLACE_REQUEST, REPLACE_RESPONSE);
+      return readResponse(transport, status);
+   }
+
+   @Override
+   public HeaderParams writeRequest(Transport transport) {
+      return writePutRequest(transport, REPLACE_REQUEST);
+   }
+
+   @Override
+   public V readResponse(Transport transport, short status) {
       return returnPossiblePrevValue(transport, status);
    }
 }
@@ -0,0 +1,16 @@
+package org.infinispan.client.hotrod.impl.protocol;
+
+import org.infinispan.client.hotrod.impl.transport.Transport;
+
+/**
+ * Adds the getAllVersioned operation, which the near caches use to revalidate or prefetch their entries.
+ *
+ * @since 9.0
+ */
+public class Codec26 extends Codec25 {
+
+   @Override
+   public HeaderParams writeHeader(Transport transport, HeaderParams params) {
+      return writeHeader(transport, params, HotRodConstants.VERSION_26);
+   }
+}
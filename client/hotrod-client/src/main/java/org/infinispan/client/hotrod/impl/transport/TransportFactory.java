@@ -57,6 +57,12 @@ void updateHashFunction(SocketAddress[][] segmentOwners, int numSegments, short
 
    Transport getTransport(Object key, Set<SocketAddress> failedServers, byte[] cacheName);
 
+   /**
+    * Picks the server an operation on {@code key} should be sent to: the owner of the key if it is known and has not
+    * failed already, otherwise the next server chosen by the balancing strategy.
+    */
+   SocketAddress getServer(Object key, Set<SocketAddress> failedServers, byte[] cacheName);
+
    boolean isTcpNoDelay();
 
    boolean isTcpKeepAlive();
@@ -0,0 +1,138 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import java.net.SocketAddress;
+
+import org.infinispan.client.hotrod.impl.transport.AbstractTransport;
+import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+import org.infinispan.commons.io.SignedNumeric;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+
+/**
+ * A {@link org.infinispan.client.hotrod.impl.transport.Transport} backed by a Netty {@link ByteBuf}, so that the codecs
+ * and the operations can encode requests and decode responses for a {@link PipelinedChannel}.
+ * <p>
+ * Writes append to the buffer and {@link #flush()} does nothing: the owner of the buffer sends it. Reads consume the
+ * buffer, which may be replaced between two reads with {@link #setBuffer(ByteBuf)}.
+ *
+ * @since 9.0
+ */
+class ByteBufTransport extends AbstractTransport {
+
+   private final Channel channel;
+   private ByteBuf buf;
+
+   ByteBufTransport(TransportFactory transportFactory, Channel channel, ByteBuf buf) {
+      super(transportFactory);
+      this.channel = channel;
+      this.buf = buf;
+   }
+
+   void setBuffer(ByteBuf buf) {
+      this.buf = buf;
+   }
+
+   @Override
+   public void writeByte(short toWrite) {
+      buf.writeByte(toWrite);
+   }
+
+   @Override
+   public void writeVInt(int vInt) {
+      while ((vInt & ~0x7F) != 0) {
+         buf.writeByte((vInt & 0x7F) | 0x80);
+         vInt >>>= 7;
+      }
+      buf.writeByte(vInt);
+   }
+
+   @Override
+   public void writeSignedVInt(int vInt) {
+      writeVInt(SignedNumeric.encode(vInt));
+   }
+
+   @Override
+   public void writeVLong(long l) {
+      while ((l & ~0x7F) != 0) {
+         buf.writeByte((int) ((l & 0x7F) | 0x80));
+         l >>>= 7;
+      }
+      buf.writeByte((int) l);
+   }
+
+   @Override
+   protected void writeBytes(byte[] toAppend) {
+      buf.writeBytes(toAppend);
+   }
+
+   @Override
+   public void flush() {
+      // the buffer is written to the channel by its owner
+   }
+
+   @Override
+   public short readByte() {
+      return buf.readUnsignedByte();
+   }
+
+   @Override
+   public int readVInt() {
+      byte b = buf.readByte();
+      int i = b & 0x7F;
+      for (int shift = 7; (b & 0x80) != 0; shift += 7) {
+         b = buf.readByte();
+         i |= (b & 0x7F) << shift;
+      }
+      return i;
+   }
+
+   @Override
+   public long readVLong() {
+      byte b = buf.readByte();
+      long l = b & 0x7F;
+      for (int shift = 7; (b & 0x80) != 0; shift += 7) {
+         b = buf.readByte();
+         l |= (b & 0x7FL) << shift;
+      }
+      return l;
+   }
+
+   @Override
+   public byte[] readByteArray(int size) {
+      byte[] result = new byte[size];
+      buf.readBytes(result);
+      return result;
+   }
+
+   @Override
+   public void release() {
+      // connections are owned by the ChannelFactory
+   }
+
+   @Override
+   public byte[] dumpStream() {
+      // the buffer only holds the bytes received so far
+      return new byte[0];
+   }
+
+   @Override
+   public SocketAddress getRemoteSocketAddress() {
+      return channel.remoteAddress();
+   }
+
+   @Override
+   public void invalidate() {
+      channel.close();
+   }
+
+   @Override
+   public boolean isValid() {
+      return channel.isActive();
+   }
+
+   @Override
+   public String toString() {
+      return "ByteBufTransport{channel=" + channel + '}';
+   }
+}
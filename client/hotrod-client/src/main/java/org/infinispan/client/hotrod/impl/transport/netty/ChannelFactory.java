@@ -0,0 +1,157 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import java.net.SocketAddress;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.configuration.Configuration;
+import org.infinispan.client.hotrod.exceptions.RemoteIllegalLifecycleStateException;
+import org.infinispan.client.hotrod.exceptions.RemoteNodeSuspectException;
+import org.infinispan.client.hotrod.exceptions.TransportException;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+/**
+ * Executes {@link PipelinedOperation}s over non-blocking connections driven by Netty event loops.
+ * <p>
+ * A single {@link PipelinedChannel} is kept per server, and every operation sent to that server shares it, so the
+ * number of requests in flight does not depend on the number of connections nor on the number of threads. Server
+ * selection and topology updates are delegated to the {@link TransportFactory}, like for the blocking operations.
+ * The returned futures are completed by the event loop threads.
+ *
+ * @since 9.0
+ */
+public class ChannelFactory {
+
+   private static final Log log = LogFactory.getLog(ChannelFactory.class, Log.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private static final AttributeKey<PipelinedChannel> PIPELINED_CHANNEL = AttributeKey.valueOf(PipelinedChannel.class.getName());
+
+   private final TransportFactory transportFactory;
+   private final Codec codec;
+   private final EventLoopGroup eventLoopGroup;
+   private final Bootstrap bootstrap;
+   private final ConcurrentMap<SocketAddress, CompletableFuture<PipelinedChannel>> channels = new ConcurrentHashMap<>();
+
+   public ChannelFactory(Configuration configuration, TransportFactory transportFactory, Codec codec) {
+      this.transportFactory = transportFactory;
+      this.codec = codec;
+      this.eventLoopGroup = new NioEventLoopGroup(0, new DefaultThreadFactory("HotRod-client-async-transport", true));
+      this.bootstrap = new Bootstrap()
+            .group(eventLoopGroup)
+            .channel(NioSocketChannel.class)
+            .option(ChannelOption.TCP_NODELAY, configuration.tcpNoDelay())
+            .option(ChannelOption.SO_KEEPALIVE, configuration.tcpKeepAlive())
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, configuration.connectionTimeout());
+   }
+
+   /**
+    * Sends the operation to the server returned by {@link PipelinedOperation#getServer(Set)}, retrying on other servers
+    * after transport failures up to {@link TransportFactory#getMaxRetries()} times.
+    */
+   public <T> CompletableFuture<T> execute(PipelinedOperation<T> operation) {
+      CompletableFuture<T> result = new CompletableFuture<>();
+      execute(operation, result, null, 0);
+      return result;
+   }
+
+   private <T> void execute(PipelinedOperation<T> operation, CompletableFuture<T> result,
+                            Set<SocketAddress> failedServers, int retryCount) {
+      SocketAddress server;
+      CompletableFuture<T> attempt;
+      try {
+         server = operation.getServer(failedServers);
+         attempt = fetchChannel(server).thenCompose(channel -> channel.send(operation));
+      } catch (Throwable t) {
+         result.completeExceptionally(t);
+         return;
+      }
+      attempt.whenComplete((value, throwable) -> {
+         if (throwable == null) {
+            result.complete(value);
+            return;
+         }
+         Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+         if (isRetriable(cause) && retryCount < transportFactory.getMaxRetries()) {
+            if (trace)
+               log.tracef(cause, "Exception encountered. Retry %d out of %d", retryCount, transportFactory.getMaxRetries());
+            // A suspected node does not mean there is anything wrong with the server that reported it
+            Set<SocketAddress> failed = failedServers;
+            if (!(cause instanceof RemoteNodeSuspectException)) {
+               failed = failedServers == null ? new HashSet<>() : failedServers;
+               failed.add(server);
+            }
+            execute(operation, result, failed, retryCount + 1);
+         } else {
+            result.completeExceptionally(cause);
+         }
+      });
+   }
+
+   private static boolean isRetriable(Throwable t) {
+      return t instanceof TransportException || t instanceof RemoteIllegalLifecycleStateException
+            || t instanceof RemoteNodeSuspectException;
+   }
+
+   CompletableFuture<PipelinedChannel> fetchChannel(SocketAddress server) {
+      CompletableFuture<PipelinedChannel> channel = channels.get(server);
+      if (channel == null) {
+         CompletableFuture<PipelinedChannel> newChannel = new CompletableFuture<>();
+         channel = channels.putIfAbsent(server, newChannel);
+         if (channel == null) {
+            connect(server, newChannel);
+            channel = newChannel;
+         }
+      }
+      return channel;
+   }
+
+   private void connect(SocketAddress server, CompletableFuture<PipelinedChannel> future) {
+      if (trace)
+         log.tracef("Opening pipelined connection to %s", server);
+
+      bootstrap.clone().handler(new ChannelInitializer<Channel>() {
+         @Override
+         protected void initChannel(Channel ch) {
+            PipelinedChannel channel = new PipelinedChannel(ch, server, transportFactory);
+            ch.attr(PIPELINED_CHANNEL).set(channel);
+            ch.pipeline().addLast(new HotRodResponseDecoder(channel, codec));
+         }
+      }).connect(server).addListener((ChannelFutureListener) f -> {
+         if (f.isSuccess()) {
+            f.channel().closeFuture().addListener(closed -> channels.remove(server, future));
+            future.complete(f.channel().attr(PIPELINED_CHANNEL).get());
+         } else {
+            channels.remove(server, future);
+            future.completeExceptionally(new TransportException("Could not connect", f.cause(), server));
+         }
+      });
+   }
+
+   public void destroy() {
+      for (CompletableFuture<PipelinedChannel> channel : channels.values()) {
+         channel.thenAccept(PipelinedChannel::close);
+      }
+      channels.clear();
+      eventLoopGroup.shutdownGracefully(0, 5, TimeUnit.SECONDS).awaitUninterruptibly();
+   }
+}
@@ -0,0 +1,121 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import java.util.List;
+
+import org.infinispan.client.hotrod.exceptions.HotRodClientException;
+import org.infinispan.client.hotrod.exceptions.InvalidResponseException;
+import org.infinispan.client.hotrod.exceptions.TransportException;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
+import org.infinispan.client.hotrod.impl.transport.netty.PipelinedChannel.InFlightOperation;
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ReplayingDecoder;
+
+/**
+ * Decodes the responses received by a {@link PipelinedChannel} and completes the matching operations from the I/O
+ * thread.
+ * <p>
+ * Hot Rod responses are not length-prefixed, so the decoder replays the header or the body until they have been
+ * received completely. The message id in the header tells which in-flight operation the response belongs to.
+ *
+ * @since 9.0
+ */
+class HotRodResponseDecoder extends ReplayingDecoder<HotRodResponseDecoder.State> {
+
+   private static final Log log = LogFactory.getLog(HotRodResponseDecoder.class, Log.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   enum State {
+      READ_HEADER, READ_BODY
+   }
+
+   private final PipelinedChannel channel;
+   private final Codec codec;
+   private final ByteBufTransport transport;
+   private InFlightOperation<?> current;
+
+   HotRodResponseDecoder(PipelinedChannel channel, Codec codec) {
+      super(State.READ_HEADER);
+      this.channel = channel;
+      this.codec = codec;
+      this.transport = new ByteBufTransport(channel.getTransportFactory(), channel.getChannel(), null);
+   }
+
+   @Override
+   protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+      transport.setBuffer(in);
+      switch (state()) {
+         case READ_HEADER:
+            if (!readHeader(in))
+               return;
+            checkpoint(State.READ_BODY);
+            // fall through
+         case READ_BODY:
+            readBody(current);
+            current = null;
+            checkpoint(State.READ_HEADER);
+            break;
+      }
+   }
+
+   /**
+    * @return {@code true} if the response has a body, {@code false} if it was an error response which failed the
+    *         operation already
+    */
+   private boolean readHeader(ByteBuf in) {
+      // Peek at the message id to find the operation, the codec reads and validates the whole header afterwards
+      int start = in.readerIndex();
+      short magic = in.readUnsignedByte();
+      long messageId = transport.readVLong();
+      in.readerIndex(start);
+      InFlightOperation<?> operation = channel.get(messageId);
+      if (magic != HotRodConstants.RESPONSE_MAGIC || operation == null) {
+         // Either the stream is corrupted or the server could not read the message id of a request,
+         // there is no way to tell which operation the response belongs to
+         throw new InvalidResponseException(String.format(
+               "Unexpected response with magic %#x and messageId=%d", magic, messageId));
+      }
+      try {
+         operation.status = codec.readHeader(transport, operation.params);
+      } catch (InvalidResponseException e) {
+         throw e;
+      } catch (HotRodClientException e) {
+         // Error responses have been consumed completely, only this operation is affected
+         checkpoint();
+         channel.fail(operation, e);
+         return false;
+      }
+      current = operation;
+      return true;
+   }
+
+   private <T> void readBody(InFlightOperation<T> operation) {
+      T value;
+      try {
+         value = operation.operation.readResponse(transport, operation.status);
+      } catch (RuntimeException e) {
+         channel.fail(operation, e);
+         return;
+      }
+      if (trace)
+         log.tracef("Received response for messageId=%d from %s", operation.params.getMessageId(), channel);
+      channel.complete(operation, value);
+   }
+
+   @Override
+   public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+      channel.failAll(new TransportException("Connection closed", channel.getServerAddress()));
+      super.channelInactive(ctx);
+   }
+
+   @Override
+   public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+      log.debugf(cause, "Closing %s after an unexpected error", channel);
+      channel.failAll(new TransportException(cause, channel.getServerAddress()));
+      ctx.close();
+   }
+}
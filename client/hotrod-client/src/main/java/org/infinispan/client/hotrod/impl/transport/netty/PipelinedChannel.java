@@ -0,0 +1,152 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import java.net.SocketAddress;
+import java.net.SocketTimeoutException;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.exceptions.TransportException;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
+import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.util.concurrent.ScheduledFuture;
+
+/**
+ * A connection to a Hot Rod server shared by any number of concurrent operations.
+ * <p>
+ * Requests are written as soon as they are sent, without waiting for the responses to the previous requests. Every
+ * request stays registered under its message id until the {@link HotRodResponseDecoder} receives the response with the
+ * same message id, so responses may arrive in any order.
+ *
+ * @since 9.0
+ */
+class PipelinedChannel {
+
+   private static final Log log = LogFactory.getLog(PipelinedChannel.class, Log.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private final Channel channel;
+   private final SocketAddress serverAddress;
+   private final TransportFactory transportFactory;
+   private final int timeout;
+   private final ConcurrentMap<Long, InFlightOperation<?>> inFlight = new ConcurrentHashMap<>();
+
+   PipelinedChannel(Channel channel, SocketAddress serverAddress, TransportFactory transportFactory) {
+      this.channel = channel;
+      this.serverAddress = serverAddress;
+      this.transportFactory = transportFactory;
+      this.timeout = transportFactory.getSoTimeout();
+   }
+
+   <T> CompletableFuture<T> send(PipelinedOperation<T> operation) {
+      InFlightOperation<T> request = new InFlightOperation<>(operation);
+      ByteBuf buf = channel.alloc().buffer();
+      HeaderParams params;
+      try {
+         params = operation.writeRequest(new ByteBufTransport(transportFactory, channel, buf));
+      } catch (Throwable t) {
+         buf.release();
+         request.future.completeExceptionally(t);
+         return request.future;
+      }
+      request.params = params;
+      // Register the request before writing it, the response can only come afterwards
+      inFlight.put(params.getMessageId(), request);
+      if (timeout > 0) {
+         request.timeout = channel.eventLoop().schedule(() -> timeout(request), timeout, TimeUnit.MILLISECONDS);
+      }
+      channel.writeAndFlush(buf).addListener((ChannelFutureListener) future -> {
+         if (!future.isSuccess()) {
+            fail(request, new TransportException(future.cause(), serverAddress));
+         }
+      });
+      return request.future;
+   }
+
+   InFlightOperation<?> get(long messageId) {
+      return inFlight.get(messageId);
+   }
+
+   <T> void complete(InFlightOperation<T> request, T value) {
+      if (inFlight.remove(request.params.getMessageId(), request)) {
+         request.cancelTimeout();
+         request.future.complete(value);
+      }
+   }
+
+   boolean fail(InFlightOperation<?> request, Throwable t) {
+      if (inFlight.remove(request.params.getMessageId(), request)) {
+         request.cancelTimeout();
+         request.future.completeExceptionally(t);
+         return true;
+      }
+      return false;
+   }
+
+   void failAll(Throwable t) {
+      for (Iterator<InFlightOperation<?>> it = inFlight.values().iterator(); it.hasNext(); ) {
+         InFlightOperation<?> request = it.next();
+         it.remove();
+         request.cancelTimeout();
+         request.future.completeExceptionally(t);
+      }
+   }
+
+   private void timeout(InFlightOperation<?> request) {
+      if (fail(request, new TransportException(new SocketTimeoutException("No response after " + timeout + " ms"), serverAddress))) {
+         if (trace)
+            log.tracef("Request with messageId=%d timed out on %s, closing the connection", request.params.getMessageId(), channel);
+
+         // As with the blocking transport, a connection with a missing response cannot be trusted any more
+         channel.close();
+      }
+   }
+
+   SocketAddress getServerAddress() {
+      return serverAddress;
+   }
+
+   TransportFactory getTransportFactory() {
+      return transportFactory;
+   }
+
+   Channel getChannel() {
+      return channel;
+   }
+
+   void close() {
+      channel.close();
+   }
+
+   @Override
+   public String toString() {
+      return "PipelinedChannel{channel=" + channel + ", inFlight=" + inFlight.size() + '}';
+   }
+
+   static final class InFlightOperation<T> {
+      final PipelinedOperation<T> operation;
+      final CompletableFuture<T> future = new CompletableFuture<>();
+      volatile HeaderParams params;
+      volatile ScheduledFuture<?> timeout;
+      short status;
+
+      InFlightOperation(PipelinedOperation<T> operation) {
+         this.operation = operation;
+      }
+
+      void cancelTimeout() {
+         ScheduledFuture<?> timeout = this.timeout;
+         if (timeout != null) {
+            timeout.cancel(false);
+         }
+      }
+   }
+}
@@ -0,0 +1,34 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import java.net.SocketAddress;
+import java.util.Set;
+
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
+import org.infinispan.client.hotrod.impl.transport.Transport;
+
+/**
+ * An operation that can be sent through a {@link PipelinedChannel}: the request is written in one go, and the response
+ * is read once the header carrying the request's message id has been received, possibly after responses to other
+ * requests sent later on the same connection.
+ *
+ * @since 9.0
+ */
+public interface PipelinedOperation<T> {
+
+   /**
+    * Picks the server this operation should be sent to, skipping the servers that already failed.
+    */
+   SocketAddress getServer(Set<SocketAddress> failedServers);
+
+   /**
+    * Writes the header and the body of the request, without flushing the transport.
+    *
+    * @return the header parameters, including the message id assigned to the request
+    */
+   HeaderParams writeRequest(Transport transport);
+
+   /**
+    * Reads the body of the response, once its header has been read and validated.
+    */
+   T readResponse(Transport transport, short status);
+}
@@ -249,4 +249,31 @@ public interface Log extends BasicLogger {
    @Message(value = "Classpath does not look correct. Make sure you are not mixing uber and jars", id = 4065)
    void warnAboutUberJarDuplicates();
 
+   @LogMessage(level = WARN)
+   @Message(value = "The asynchronous transport does not support SSL nor authentication, asynchronous operations will use the blocking transport", id = 4066)
+   void asyncTransportNotSupportedWithSecurity();
+
+   @Message(value = "A near cache bounded by weight requires the TINY_LFU eviction policy, not %s", id = 4067)
+   CacheConfigurationException nearCacheMaxWeightRequiresTinyLfu(Object evictionPolicy);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Unable to register the near cache statistics of cache '%s' in JMX", id = 4068)
+   void unableToRegisterNearCacheStatistics(String cacheName, @Cause Throwable t);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Unable to unregister the near cache statistics of cache '%s' from JMX", id = 4069)
+   void unableToUnregisterNearCacheStatistics(String cacheName, @Cause Throwable t);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Unable to revalidate the near cache of cache '%s' after a failover, clearing it", id = 4070)
+   void unableToRevalidateNearCache(String cacheName, @Cause Throwable t);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Unable to prefetch keys into the near cache of cache '%s'", id = 4071)
+   void unableToPrefetchNearCache(String cacheName, @Cause Throwable t);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Prefetching keys into the near cache requires Hot Rod protocol version 2.6 or later, but version %s is configured", id = 4072)
+   void nearCachePrefetchUnsupported(String protocolVersion);
+
 }
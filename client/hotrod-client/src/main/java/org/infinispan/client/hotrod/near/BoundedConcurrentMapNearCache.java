@@ -1,6 +1,7 @@
 package org.infinispan.client.hotrod.near;
 
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
 
 import org.infinispan.client.hotrod.VersionedValue;
 import org.infinispan.client.hotrod.configuration.NearCacheConfiguration;
@@ -49,4 +50,9 @@ public void clear() {
       cache.clear();
    }
 
+   @Override
+   public void forEach(BiConsumer<? super K, ? super VersionedValue<V>> action) {
+      cache.forEach(action);
+   }
+
 }
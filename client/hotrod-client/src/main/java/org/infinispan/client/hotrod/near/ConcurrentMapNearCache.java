@@ -1,6 +1,7 @@
 package org.infinispan.client.hotrod.near;
 
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
 
 import org.infinispan.client.hotrod.VersionedValue;
 import org.infinispan.commons.util.CollectionFactory;
@@ -40,6 +41,11 @@ public void clear() {
       cache.clear();
    }
 
+   @Override
+   public void forEach(BiConsumer<? super K, ? super VersionedValue<V>> action) {
+      cache.forEach(action);
+   }
+
    public static <K, V> NearCache<K, V> create() {
       return new ConcurrentMapNearCache<K, V>();
    }
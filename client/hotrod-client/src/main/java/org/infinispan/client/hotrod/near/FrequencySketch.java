@@ -0,0 +1,98 @@
+package org.infinispan.client.hotrod.near;
+
+/**
+ * A count-min sketch estimating how often keys have been used, with 4-bit counters.
+ * <p>
+ * Each key is mapped to four counters, one in each of four 16-counter groups of a {@code long}, and its frequency is
+ * the smallest of them. Once the number of increments reaches the sample size, all the counters are halved, so that
+ * the estimates favour the recent history.
+ * <p>
+ * Not thread safe.
+ *
+ * @since 9.0
+ */
+final class FrequencySketch {
+   private static final long[] SEEDS = {
+         0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+   private static final long RESET_MASK = 0x7777777777777777L;
+   private static final long ONE_MASK = 0x1111111111111111L;
+   private static final int MAX_CAPACITY = 1 << 30;
+
+   private long[] table = new long[0];
+   private int tableMask;
+   private int sampleSize;
+   private int size;
+
+   FrequencySketch(long expectedEntries) {
+      ensureCapacity(expectedEntries);
+   }
+
+   /**
+    * Grows the sketch so that it can hold the given number of entries accurately. The counts are lost when it grows.
+    */
+   void ensureCapacity(long expectedEntries) {
+      int capacity = (int) Math.min(Math.max(expectedEntries, 16), MAX_CAPACITY);
+      if (table.length >= capacity)
+         return;
+
+      table = new long[Integer.highestOneBit(capacity - 1) << 1];
+      tableMask = table.length - 1;
+      sampleSize = 10 * capacity;
+      size = 0;
+   }
+
+   int frequency(Object key) {
+      int hash = spread(key.hashCode());
+      int start = (hash & 3) << 2;
+      int frequency = Integer.MAX_VALUE;
+      for (int i = 0; i < 4; i++) {
+         int index = indexOf(hash, i);
+         int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+         frequency = Math.min(frequency, count);
+      }
+      return frequency;
+   }
+
+   void increment(Object key) {
+      int hash = spread(key.hashCode());
+      int start = (hash & 3) << 2;
+      boolean added = false;
+      for (int i = 0; i < 4; i++) {
+         added |= incrementAt(indexOf(hash, i), start + i);
+      }
+      if (added && ++size == sampleSize) {
+         reset();
+      }
+   }
+
+   private boolean incrementAt(int index, int counter) {
+      int offset = counter << 2;
+      long mask = 0xfL << offset;
+      if ((table[index] & mask) != mask) {
+         table[index] += 1L << offset;
+         return true;
+      }
+      return false;
+   }
+
+   private void reset() {
+      int odd = 0;
+      for (int i = 0; i < table.length; i++) {
+         odd += Long.bitCount(table[i] & ONE_MASK);
+         table[i] = (table[i] >>> 1) & RESET_MASK;
+      }
+      size = (size - (odd >>> 2)) >>> 1;
+   }
+
+   private int indexOf(int hash, int i) {
+      long h = (hash + SEEDS[i]) * SEEDS[i];
+      h += h >>> 32;
+      return ((int) h) & tableMask;
+   }
+
+   private static int spread(int x) {
+      x = ((x >>> 16) ^ x) * 0x45d9f3b;
+      x = ((x >>> 16) ^ x) * 0x45d9f3b;
+      return (x >>> 16) ^ x;
+   }
+}
@@ -5,6 +5,7 @@
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
 
 import org.infinispan.client.hotrod.VersionedValue;
 import org.infinispan.client.hotrod.configuration.NearCacheConfiguration;
@@ -84,6 +85,17 @@ public void clear() {
       }
    }
 
+   @Override
+   public void forEach(BiConsumer<? super K, ? super VersionedValue<V>> action) {
+      Lock lock = rwlock.readLock();
+      try {
+         lock.lock();
+         cache.forEach(action);
+      } finally {
+         lock.unlock();
+      }
+   }
+
    public static <K, V> NearCache<K, V> create(final NearCacheConfiguration config) {
       return new LinkedMapNearCache<K, V>(
             new LinkedHashMap<K, VersionedValue<V>>(1 << 4, 0.75f, true) {
@@ -1,5 +1,7 @@
 package org.infinispan.client.hotrod.near;
 
+import java.util.function.BiConsumer;
+
 import org.infinispan.client.hotrod.VersionedValue;
 
 /**
@@ -13,4 +15,5 @@
    void remove(K key);
    VersionedValue<V> get(K key);
    void clear();
+   void forEach(BiConsumer<? super K, ? super VersionedValue<V>> action);
 }
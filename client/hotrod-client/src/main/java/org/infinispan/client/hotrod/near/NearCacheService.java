@@ -1,8 +1,22 @@
 package org.infinispan.client.hotrod.near;
 
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.PROTOCOL_VERSION_26;
+
+import java.lang.management.ManagementFactory;
 import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
 
 import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.infinispan.client.hotrod.VersionedValue;
 import org.infinispan.client.hotrod.annotation.ClientCacheEntryCreated;
 import org.infinispan.client.hotrod.annotation.ClientCacheEntryModified;
@@ -10,13 +24,17 @@
 import org.infinispan.client.hotrod.annotation.ClientCacheFailover;
 import org.infinispan.client.hotrod.annotation.ClientListener;
 import org.infinispan.client.hotrod.configuration.NearCacheConfiguration;
+import org.infinispan.client.hotrod.configuration.NearCacheEvictionPolicy;
 import org.infinispan.client.hotrod.event.ClientCacheEntryCreatedEvent;
 import org.infinispan.client.hotrod.event.ClientCacheEntryCustomEvent;
 import org.infinispan.client.hotrod.event.ClientCacheEntryModifiedEvent;
 import org.infinispan.client.hotrod.event.ClientCacheEntryRemovedEvent;
 import org.infinispan.client.hotrod.event.ClientCacheFailoverEvent;
 import org.infinispan.client.hotrod.event.ClientListenerNotifier;
+import org.infinispan.client.hotrod.exceptions.HotRodClientException;
+import org.infinispan.client.hotrod.impl.RemoteCacheImpl;
 import org.infinispan.client.hotrod.impl.VersionedValueImpl;
+import org.infinispan.client.hotrod.impl.protocol.VersionUtils;
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
 import org.infinispan.commons.io.UnsignedNumeric;
@@ -37,13 +55,31 @@
    private Object listener;
    private byte[] listenerId;
    private NearCache<K, V> cache;
+   private RemoteCacheImpl<K, V> remote;
+   private String protocolVersion;
+   private boolean getAllVersionedSupported;
+   private volatile boolean revalidationPending;
+   // The entries cannot be read until the stale ones have been removed
+   private volatile boolean revalidating;
+   private final Lock revalidationLock = new ReentrantLock();
+   private Marshaller marshaller;
+   private NearCacheStatisticsImpl statistics;
+   private ObjectName statisticsName;
 
    protected NearCacheService(NearCacheConfiguration config, ClientListenerNotifier listenerNotifier) {
       this.config = config;
       this.listenerNotifier = listenerNotifier;
    }
 
-   public void start(RemoteCache<K, V> remote) {
+   public void start(RemoteCacheImpl<K, V> remote) {
+      this.remote = remote;
+      marshaller = remote.getRemoteCacheManager().getMarshaller();
+      protocolVersion = remote.getRemoteCacheManager().getConfiguration().protocolVersion();
+      getAllVersionedSupported = VersionUtils.isVersionGreaterOrEquals(protocolVersion, PROTOCOL_VERSION_26);
+      if (config.statistics()) {
+         statistics = new NearCacheStatisticsImpl();
+         registerStatistics(remote);
+      }
       // Create near cache
       cache = createNearCache(config);
       // Add a listener that updates the near cache
@@ -51,6 +87,87 @@ public void start(RemoteCache<K, V> remote) {
       remote.addClientListener(listener);
       // Get the listener ID for faster listener connected lookups
       listenerId = listenerNotifier.findListenerId(listener);
+      // Warm the near cache up
+      prefetch();
+   }
+
+   private void prefetch() {
+      Set<Object> keys = config.prefetchKeys();
+      if (keys.isEmpty())
+         return;
+
+      if (!getAllVersionedSupported) {
+         log.nearCachePrefetchUnsupported(protocolVersion);
+         return;
+      }
+      Map<K, Long> unknownVersions = new HashMap<>();
+      for (Object key : keys) {
+         unknownVersions.put((K) key, 0L);
+      }
+      try {
+         remote.getAllVersioned(unknownVersions).forEach((key, value) -> {
+            if (value != null)
+               putIfAbsent(key, value);
+         });
+      } catch (HotRodClientException e) {
+         log.unableToPrefetchNearCache(cacheName(remote), e);
+      }
+   }
+
+   /**
+    * Called when the listener fails over to another server, before it is added there. The events sent while it was
+    * disconnected are lost, so the near cache is cleared, unless the server can tell which entries are stale: the
+    * near cache is then revalidated once the listener is connected again.
+    */
+   void failover() {
+      if (getAllVersionedSupported) {
+         revalidationPending = true;
+      } else {
+         cache.clear();
+      }
+   }
+
+   /**
+    * Removes the entries modified or removed while the listener was disconnected, with a single request per server.
+    *
+    * @return false if another thread is revalidating the near cache
+    */
+   private boolean revalidate() {
+      if (!revalidationLock.tryLock())
+         return false;
+
+      try {
+         if (revalidationPending) {
+            // Reset it first, in case the listener fails over again in the meantime
+            revalidating = true;
+            revalidationPending = false;
+            Map<K, Long> knownVersions = new HashMap<>();
+            cache.forEach((key, value) -> {
+               if (value.getVersion() != 0) {
+                  knownVersions.put(key, value.getVersion());
+               } else {
+                  // A version of 0 asks for the entry, it cannot be validated
+                  remove(key);
+               }
+            });
+            if (trace)
+               log.tracef("Revalidate %d near cache entries (listenerId=%s)", knownVersions.size(),
+                     Util.printArray(listenerId));
+
+            if (!knownVersions.isEmpty()) {
+               try {
+                  remote.getAllVersioned(knownVersions).keySet().forEach(this::remove);
+               } catch (HotRodClientException e) {
+                  log.unableToRevalidateNearCache(cacheName(remote), e);
+                  cache.clear();
+               }
+            }
+         }
+         return true;
+      } finally {
+         revalidating = false;
+         revalidationLock.unlock();
+      }
    }
 
    private Object createListener(RemoteCache<K, V> remote) {
@@ -67,14 +184,83 @@ public void stop(RemoteCache<K, V> remote) {
       remote.removeClientListener(listener);
       // Empty cache
       cache.clear();
+      unregisterStatistics();
    }
 
    protected NearCache<K, V> createNearCache(NearCacheConfiguration config) {
+      if (config.evictionPolicy() == NearCacheEvictionPolicy.TINY_LFU
+            && (config.maxEntries() > 0 || config.maxWeight() > 0)) {
+         return TinyLfuNearCache.<K, V>create(config, this::weigh, this::evicted);
+      }
       return config.maxEntries() > 0
             ? BoundedConcurrentMapNearCache.<K, V>create(config)
             : ConcurrentMapNearCache.<K, V>create();
    }
 
+   private long weigh(K key, VersionedValue<V> value) {
+      return marshalledSize(key) + marshalledSize(value.getValue());
+   }
+
+   private long marshalledSize(Object o) {
+      try {
+         return marshaller.objectToBuffer(o).getLength();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         return marshaller.getBufferSizePredictor(o).nextSize(o);
+      } catch (Exception e) {
+         // Fall back on the estimate of the marshaller
+         return marshaller.getBufferSizePredictor(o).nextSize(o);
+      }
+   }
+
+   private void evicted(K key) {
+      if (statistics != null)
+         statistics.evicted();
+
+      if (trace)
+         log.tracef("Evicted key=%s from near cache (listenerId=%s)", key, Util.printArray(listenerId));
+   }
+
+   private void registerStatistics(RemoteCache<K, V> remote) {
+      String cacheName = cacheName(remote);
+      try {
+         ObjectName name = new ObjectName(String.format(
+               "org.infinispan:type=RemoteCache,name=%s,manager=%s,component=NearCache",
+               ObjectName.quote(cacheName), Integer.toHexString(System.identityHashCode(remote.getRemoteCacheManager()))));
+         MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+         mbeanServer.registerMBean(new StandardMBean(statistics, NearCacheStatistics.class), name);
+         statisticsName = name;
+      } catch (Exception e) {
+         log.unableToRegisterNearCacheStatistics(cacheName, e);
+      }
+   }
+
+   private static String cacheName(RemoteCache<?, ?> remote) {
+      return remote.getName().isEmpty() ? RemoteCacheManager.DEFAULT_CACHE_NAME : remote.getName();
+   }
+
+   /**
+    * Unregisters the statistics of the near cache from JMX, if they were registered.
+    */
+   public void unregisterStatistics() {
+      if (statisticsName == null)
+         return;
+
+      try {
+         ManagementFactory.getPlatformMBeanServer().unregisterMBean(statisticsName);
+      } catch (Exception e) {
+         log.unableToUnregisterNearCacheStatistics(ObjectName.unquote(statisticsName.getKeyProperty("name")), e);
+      }
+      statisticsName = null;
+   }
+
+   /**
+    * @return the statistics of the near cache, or {@code null} if they are not enabled
+    */
+   public NearCacheStatistics getStatistics() {
+      return statistics;
+   }
+
    public static <K, V> NearCacheService<K, V> create(
          NearCacheConfiguration config, ClientListenerNotifier listenerNotifier) {
       return new NearCacheService<K, V>(config, listenerNotifier);
@@ -101,6 +287,8 @@ public void putIfAbsent(K key, VersionedValue<V> value) {
    @Override
    public void remove(K key) {
       cache.remove(key);
+      if (statistics != null)
+         statistics.invalidated();
 
       if (trace)
          log.tracef("Removed key=%s from near cache (listenedId=%s)", key, Util.printArray(listenerId));
@@ -109,16 +297,24 @@ public void remove(K key) {
    @Override
    public VersionedValue<V> get(K key) {
       boolean listenerConnected = isConnected();
-      if (listenerConnected) {
+      if (listenerConnected && !revalidating && (!revalidationPending || revalidate())) {
          VersionedValue<V> value = cache.get(key);
+         if (statistics != null) {
+            if (value != null)
+               statistics.hit();
+            else
+               statistics.miss();
+         }
          if (trace)
             log.tracef("Get key=%s returns value=%s (listenerId=%s)", key, value, Util.printArray(listenerId));
 
          return value;
       }
 
+      if (statistics != null)
+         statistics.miss();
       if (trace)
-         log.tracef("Near cache disconnected from server, returning null for key=%s (listenedId=%s)",
+         log.tracef("Near cache disconnected from server or being revalidated, returning null for key=%s (listenedId=%s)",
                key, Util.printArray(listenerId));
 
       return null;
@@ -130,6 +326,11 @@ public void clear() {
       if (trace) log.tracef("Cleared near cache (listenerId=%s)", Util.printArray(listenerId));
    }
 
+   @Override
+   public void forEach(BiConsumer<? super K, ? super VersionedValue<V>> action) {
+      cache.forEach(action);
+   }
+
    private boolean isConnected() {
       return listenerNotifier.isListenerConnected(listenerId);
    }
@@ -137,9 +338,9 @@ private boolean isConnected() {
    @ClientListener
    private static class InvalidatedNearCacheListener<K, V> {
       private static final Log log = LogFactory.getLog(InvalidatedNearCacheListener.class);
-      private final NearCache<K, V> cache;
+      private final NearCacheService<K, V> cache;
 
-      private InvalidatedNearCacheListener(NearCache<K, V> cache) {
+      private InvalidatedNearCacheListener(NearCacheService<K, V> cache) {
          this.cache = cache;
       }
 
@@ -165,8 +366,8 @@ public void handleRemovedEvent(ClientCacheEntryRemovedEvent<K> event) {
       @ClientCacheFailover
       @SuppressWarnings("unused")
       public void handleFailover(ClientCacheFailoverEvent e) {
-         if (trace) log.trace("Clear near cache after fail-over of server");
-         cache.clear();
+         if (trace) log.trace("Clear or revalidate near cache after fail-over of server");
+         cache.failover();
       }
 
 
@@ -0,0 +1,40 @@
+package org.infinispan.client.hotrod.near;
+
+/**
+ * Statistics of a near cache, exposed through JMX when
+ * {@link org.infinispan.client.hotrod.configuration.NearCacheConfiguration#statistics()} is enabled.
+ *
+ * @since 9.0
+ */
+public interface NearCacheStatistics {
+   /**
+    * @return the number of reads served by the near cache
+    */
+   long getHits();
+
+   /**
+    * @return the number of reads not found in the near cache, including the reads while it is disconnected
+    */
+   long getMisses();
+
+   /**
+    * @return the ratio of hits to reads, or 0 if there has been no read
+    */
+   double getHitRatio();
+
+   /**
+    * @return the number of entries evicted to keep the near cache within its bounds, only counted with
+    *         {@link org.infinispan.client.hotrod.configuration.NearCacheEvictionPolicy#TINY_LFU}
+    */
+   long getEvictions();
+
+   /**
+    * @return the number of entries invalidated because they were modified or removed
+    */
+   long getInvalidations();
+
+   /**
+    * Resets all the counters.
+    */
+   void resetStatistics();
+}
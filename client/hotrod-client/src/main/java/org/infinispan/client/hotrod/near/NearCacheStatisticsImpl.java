@@ -0,0 +1,64 @@
+package org.infinispan.client.hotrod.near;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @since 9.0
+ */
+final class NearCacheStatisticsImpl implements NearCacheStatistics {
+   private final LongAdder hits = new LongAdder();
+   private final LongAdder misses = new LongAdder();
+   private final LongAdder evictions = new LongAdder();
+   private final LongAdder invalidations = new LongAdder();
+
+   void hit() {
+      hits.increment();
+   }
+
+   void miss() {
+      misses.increment();
+   }
+
+   void evicted() {
+      evictions.increment();
+   }
+
+   void invalidated() {
+      invalidations.increment();
+   }
+
+   @Override
+   public long getHits() {
+      return hits.sum();
+   }
+
+   @Override
+   public long getMisses() {
+      return misses.sum();
+   }
+
+   @Override
+   public double getHitRatio() {
+      long hits = getHits();
+      long reads = hits + getMisses();
+      return reads == 0 ? 0 : (double) hits / reads;
+   }
+
+   @Override
+   public long getEvictions() {
+      return evictions.sum();
+   }
+
+   @Override
+   public long getInvalidations() {
+      return invalidations.sum();
+   }
+
+   @Override
+   public void resetStatistics() {
+      hits.reset();
+      misses.reset();
+      evictions.reset();
+      invalidations.reset();
+   }
+}
@@ -0,0 +1,414 @@
+package org.infinispan.client.hotrod.near;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.ToLongBiFunction;
+
+import org.infinispan.client.hotrod.VersionedValue;
+import org.infinispan.client.hotrod.configuration.NearCacheConfiguration;
+import org.infinispan.commons.util.CollectionFactory;
+
+/**
+ * Bounded near cache with a W-TinyLFU eviction policy.
+ * <p>
+ * New entries are added to a small LRU window, 1% of the capacity. The entries leaving the window are candidates for
+ * the main space, a segmented LRU with a probation and a protected segment: a candidate is only admitted if the
+ * {@link FrequencySketch} estimates that it has been used more often than the entry it would evict from the probation
+ * segment. Entries used again while in probation are promoted to the protected segment, 80% of the main space.
+ * <p>
+ * The entries are held in a concurrent map and reads never block: the accesses are recorded in striped ring buffers,
+ * dropping them if the buffer is full, and applied to the policy in batches by whichever thread gets the eviction
+ * lock. Writes are queued and applied the same way, so the map may briefly exceed its capacity.
+ *
+ * @since 9.0
+ */
+final class TinyLfuNearCache<K, V> implements NearCache<K, V> {
+   private static final int NUM_STRIPES = Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4));
+   private static final int BUFFER_SIZE = 16;
+   private static final double WINDOW_RATIO = 0.01;
+   private static final double PROTECTED_RATIO = 0.8;
+
+   private static final byte NONE = 0;
+   private static final byte WINDOW = 1;
+   private static final byte PROBATION = 2;
+   private static final byte PROTECTED = 3;
+   private static final byte DEAD = 4;
+
+   private final ConcurrentMap<K, Node<K, V>> map = CollectionFactory.makeConcurrentMap();
+   private final ToLongBiFunction<K, VersionedValue<V>> weigher;
+   private final Consumer<K> evictionListener;
+   private final ReadBuffer[] readBuffers = new ReadBuffer[NUM_STRIPES];
+   private final Queue<Runnable> writeBuffer = new ConcurrentLinkedQueue<>();
+   private final ReentrantLock evictionLock = new ReentrantLock();
+
+   // Guarded by the eviction lock
+   private final FrequencySketch sketch;
+   private final Deque<K, V> window = new Deque<>();
+   private final Deque<K, V> probation = new Deque<>();
+   private final Deque<K, V> protectedSegment = new Deque<>();
+   private final long windowMaximum;
+   private final long mainMaximum;
+   private final long protectedMaximum;
+   private long windowWeight;
+   private long mainWeight;
+   private long protectedWeight;
+
+   private TinyLfuNearCache(long maximum, long expectedEntries, ToLongBiFunction<K, VersionedValue<V>> weigher,
+                            Consumer<K> evictionListener) {
+      this.weigher = weigher;
+      this.evictionListener = evictionListener;
+      this.windowMaximum = Math.max(1, (long) (maximum * WINDOW_RATIO));
+      this.mainMaximum = Math.max(1, maximum - windowMaximum);
+      this.protectedMaximum = (long) (mainMaximum * PROTECTED_RATIO);
+      this.sketch = new FrequencySketch(expectedEntries);
+      for (int i = 0; i < readBuffers.length; i++) {
+         readBuffers[i] = new ReadBuffer();
+      }
+   }
+
+   /**
+    * Creates a near cache bounded by {@link NearCacheConfiguration#maxWeight()} if set, otherwise by
+    * {@link NearCacheConfiguration#maxEntries()}.
+    *
+    * @param weigher the weight of an entry, only used when the near cache is bounded by weight
+    * @param evictionListener notified of the keys evicted
+    */
+   public static <K, V> NearCache<K, V> create(NearCacheConfiguration config,
+                                               ToLongBiFunction<K, VersionedValue<V>> weigher,
+                                               Consumer<K> evictionListener) {
+      if (config.maxWeight() > 0) {
+         return new TinyLfuNearCache<>(config.maxWeight(), config.maxEntries() > 0 ? config.maxEntries() : 1024,
+               weigher, evictionListener);
+      }
+      return new TinyLfuNearCache<>(config.maxEntries(), config.maxEntries(), (k, v) -> 1, evictionListener);
+   }
+
+   @Override
+   public void put(K key, VersionedValue<V> value) {
+      Node<K, V> node = newNode(key, value);
+      Node<K, V> previous = map.put(key, node);
+      schedule(() -> {
+         if (previous != null)
+            removeNode(previous);
+         addNode(node);
+      });
+   }
+
+   @Override
+   public void putIfAbsent(K key, VersionedValue<V> value) {
+      Node<K, V> node = newNode(key, value);
+      if (map.putIfAbsent(key, node) == null) {
+         schedule(() -> addNode(node));
+      }
+   }
+
+   @Override
+   public void remove(K key) {
+      Node<K, V> node = map.remove(key);
+      if (node != null) {
+         schedule(() -> removeNode(node));
+      }
+   }
+
+   @Override
+   public VersionedValue<V> get(K key) {
+      Node<K, V> node = map.get(key);
+      if (node == null)
+         return null;
+
+      ReadBuffer buffer = readBuffers[stripe()];
+      if (buffer.offer(node)) {
+         tryDrain();
+      }
+      return node.value;
+   }
+
+   @Override
+   public void clear() {
+      map.clear();
+      schedule(this::removeUnmapped);
+   }
+
+   @Override
+   public void forEach(BiConsumer<? super K, ? super VersionedValue<V>> action) {
+      map.forEach((key, node) -> action.accept(key, node.value));
+   }
+
+   int size() {
+      return map.size();
+   }
+
+   /**
+    * Applies the pending accesses and writes to the policy.
+    */
+   void cleanUp() {
+      evictionLock.lock();
+      try {
+         drain();
+      } finally {
+         evictionLock.unlock();
+      }
+   }
+
+   private Node<K, V> newNode(K key, VersionedValue<V> value) {
+      return new Node<>(key, value, Math.max(1, weigher.applyAsLong(key, value)));
+   }
+
+   private static int stripe() {
+      long id = Thread.currentThread().getId();
+      return (int) ((id * 0x9e3779b97f4a7c15L) >>> 32) & (NUM_STRIPES - 1);
+   }
+
+   private void schedule(Runnable task) {
+      writeBuffer.add(task);
+      tryDrain();
+   }
+
+   private void tryDrain() {
+      // If the lock is held, its owner checks the write buffer again after releasing it
+      do {
+         if (!evictionLock.tryLock())
+            return;
+         try {
+            drain();
+         } finally {
+            evictionLock.unlock();
+         }
+      } while (!writeBuffer.isEmpty());
+   }
+
+   private void drain() {
+      for (ReadBuffer buffer : readBuffers) {
+         buffer.drainTo(this);
+      }
+      Runnable task;
+      while ((task = writeBuffer.poll()) != null) {
+         task.run();
+      }
+   }
+
+   private void addNode(Node<K, V> node) {
+      // The node may have been replaced or removed before its addition was applied
+      if (node.queue != NONE || map.get(node.key) != node)
+         return;
+
+      sketch.ensureCapacity(map.size());
+      sketch.increment(node.key);
+      node.queue = WINDOW;
+      window.addLast(node);
+      windowWeight += node.weight;
+      evict();
+   }
+
+   private void onAccess(Node<K, V> node) {
+      sketch.increment(node.key);
+      switch (node.queue) {
+         case WINDOW:
+            window.moveToLast(node);
+            break;
+         case PROBATION:
+            probation.remove(node);
+            protectedSegment.addLast(node);
+            node.queue = PROTECTED;
+            protectedWeight += node.weight;
+            while (protectedWeight > protectedMaximum) {
+               Node<K, V> demoted = protectedSegment.peekFirst();
+               protectedSegment.remove(demoted);
+               probation.addLast(demoted);
+               demoted.queue = PROBATION;
+               protectedWeight -= demoted.weight;
+            }
+            break;
+         case PROTECTED:
+            protectedSegment.moveToLast(node);
+            break;
+         default:
+            // Not added yet, or already removed
+      }
+   }
+
+   private void removeNode(Node<K, V> node) {
+      switch (node.queue) {
+         case WINDOW:
+            window.remove(node);
+            windowWeight -= node.weight;
+            break;
+         case PROBATION:
+            probation.remove(node);
+            mainWeight -= node.weight;
+            break;
+         case PROTECTED:
+            protectedSegment.remove(node);
+            mainWeight -= node.weight;
+            protectedWeight -= node.weight;
+            break;
+         default:
+      }
+      node.queue = DEAD;
+   }
+
+   private void evict() {
+      while (windowWeight > windowMaximum) {
+         Node<K, V> candidate = window.peekFirst();
+         window.remove(candidate);
+         windowWeight -= candidate.weight;
+         candidate.queue = NONE;
+         if (admit(candidate)) {
+            probation.addLast(candidate);
+            candidate.queue = PROBATION;
+            mainWeight += candidate.weight;
+         } else {
+            evictNode(candidate);
+         }
+      }
+   }
+
+   /**
+    * Makes room for the candidate in the main space if it is used more often than the entries it replaces.
+    */
+   private boolean admit(Node<K, V> candidate) {
+      if (candidate.weight > mainMaximum)
+         return false;
+
+      while (mainWeight + candidate.weight > mainMaximum) {
+         Node<K, V> victim = probation.peekFirst();
+         if (victim == null) {
+            victim = protectedSegment.peekFirst();
+         }
+         if (sketch.frequency(candidate.key) <= sketch.frequency(victim.key))
+            return false;
+
+         removeNode(victim);
+         evictNode(victim);
+      }
+      return true;
+   }
+
+   private void evictNode(Node<K, V> node) {
+      node.queue = DEAD;
+      if (map.remove(node.key, node)) {
+         evictionListener.accept(node.key);
+      }
+   }
+
+   private void removeUnmapped() {
+      removeUnmapped(window);
+      removeUnmapped(probation);
+      removeUnmapped(protectedSegment);
+   }
+
+   private void removeUnmapped(Deque<K, V> deque) {
+      Node<K, V> node = deque.peekFirst();
+      while (node != null) {
+         Node<K, V> next = deque.next(node);
+         if (map.get(node.key) != node) {
+            removeNode(node);
+         }
+         node = next;
+      }
+   }
+
+   private static final class Node<K, V> {
+      final K key;
+      final VersionedValue<V> value;
+      final long weight;
+      // Guarded by the eviction lock
+      Node<K, V> prev;
+      Node<K, V> next;
+      byte queue = NONE;
+
+      Node(K key, VersionedValue<V> value, long weight) {
+         this.key = key;
+         this.value = value;
+         this.weight = weight;
+      }
+   }
+
+   /**
+    * Doubly linked list of nodes, from the least to the most recently used.
+    */
+   private static final class Deque<K, V> {
+      private final Node<K, V> sentinel = new Node<>(null, null, 0);
+
+      Deque() {
+         sentinel.prev = sentinel;
+         sentinel.next = sentinel;
+      }
+
+      Node<K, V> peekFirst() {
+         return sentinel.next == sentinel ? null : sentinel.next;
+      }
+
+      Node<K, V> next(Node<K, V> node) {
+         return node.next == sentinel ? null : node.next;
+      }
+
+      void addLast(Node<K, V> node) {
+         node.prev = sentinel.prev;
+         node.next = sentinel;
+         sentinel.prev.next = node;
+         sentinel.prev = node;
+      }
+
+      void remove(Node<K, V> node) {
+         node.prev.next = node.next;
+         node.next.prev = node.prev;
+         node.prev = null;
+         node.next = null;
+      }
+
+      void moveToLast(Node<K, V> node) {
+         remove(node);
+         addLast(node);
+      }
+   }
+
+   /**
+    * Lossy ring buffer of the accesses of the threads of one stripe. Multiple producers, drained under the eviction
+    * lock.
+    */
+   private static final class ReadBuffer {
+      private final AtomicReferenceArray<Node<?, ?>> slots = new AtomicReferenceArray<>(BUFFER_SIZE);
+      private final AtomicLong writeCounter = new AtomicLong();
+      private volatile long readCounter;
+
+      /**
+       * @return whether the buffer should be drained
+       */
+      boolean offer(Node<?, ?> node) {
+         long head = readCounter;
+         long tail = writeCounter.get();
+         long size = tail - head;
+         if (size >= BUFFER_SIZE)
+            return true;
+
+         if (writeCounter.compareAndSet(tail, tail + 1)) {
+            slots.lazySet((int) (tail & (BUFFER_SIZE - 1)), node);
+         }
+         return size >= BUFFER_SIZE / 2;
+      }
+
+      @SuppressWarnings("unchecked")
+      <K, V> void drainTo(TinyLfuNearCache<K, V> cache) {
+         long head = readCounter;
+         long tail = writeCounter.get();
+         for (; head < tail; head++) {
+            int index = (int) (head & (BUFFER_SIZE - 1));
+            Node<?, ?> node = slots.get(index);
+            if (node == null) {
+               // The producer has not published it yet
+               break;
+            }
+            slots.lazySet(index, null);
+            cache.onAccess((Node<K, V>) node);
+         }
+         readCounter = head;
+      }
+   }
+}
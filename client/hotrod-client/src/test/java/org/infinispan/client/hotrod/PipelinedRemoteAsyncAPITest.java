@@ -0,0 +1,73 @@
+package org.infinispan.client.hotrod;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.impl.RemoteCacheImpl;
+import org.infinispan.client.hotrod.test.InternalRemoteCacheManager;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the asynchronous API tests over the pipelined Netty transport.
+ *
+ * @since 9.0
+ */
+@Test(groups = "functional", testName = "client.hotrod.PipelinedRemoteAsyncAPITest")
+public class PipelinedRemoteAsyncAPITest extends RemoteAsyncAPITest {
+
+   private static final int NUM_OPERATIONS = 2000;
+
+   @Override
+   protected RemoteCacheManager getRemoteCacheManager() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.forceReturnValues(isForceReturnValuesViaConfiguration()).asyncTransport(true);
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      return new InternalRemoteCacheManager(builder.build());
+   }
+
+   public void testAsyncTransportEnabled() {
+      assertNotNull(((RemoteCacheImpl) remote()).getOperationsFactory().getChannelFactory());
+   }
+
+   public void testManyOperationsInFlight() throws Exception {
+      // Issue all the requests before waiting for any response
+      List<CompletableFuture<String>> puts = new ArrayList<>(NUM_OPERATIONS);
+      for (int i = 0; i < NUM_OPERATIONS; i++) {
+         puts.add(remote().putAsync("pipelined-" + i, "v" + i));
+      }
+      for (CompletableFuture<String> put : puts) {
+         assertNull(put.get(10, TimeUnit.SECONDS));
+      }
+
+      List<CompletableFuture<String>> gets = new ArrayList<>(NUM_OPERATIONS);
+      for (int i = 0; i < NUM_OPERATIONS; i++) {
+         gets.add(remote().getAsync("pipelined-" + i));
+      }
+      for (int i = 0; i < NUM_OPERATIONS; i++) {
+         assertEquals("v" + i, gets.get(i).get(10, TimeUnit.SECONDS));
+      }
+
+      List<CompletableFuture<String>> removes = new ArrayList<>(NUM_OPERATIONS);
+      for (int i = 0; i < NUM_OPERATIONS; i++) {
+         removes.add(remote().removeAsync("pipelined-" + i));
+      }
+      for (int i = 0; i < NUM_OPERATIONS; i++) {
+         assertEquals("v" + i, removes.get(i).get(10, TimeUnit.SECONDS));
+         assertNull(remote().get("pipelined-" + i));
+      }
+   }
+
+   public void testPerCallFlags() throws Exception {
+      remote().put("flags", "v1");
+      assertEquals("v1", remote().withFlags(Flag.FORCE_RETURN_VALUE).putAsync("flags", "v2").get(10, TimeUnit.SECONDS));
+      assertEquals("v2", remote().getAsync("flags").get(10, TimeUnit.SECONDS));
+      assertEquals("v2", remote().withFlags(Flag.FORCE_RETURN_VALUE).removeAsync("flags").get(10, TimeUnit.SECONDS));
+   }
+}
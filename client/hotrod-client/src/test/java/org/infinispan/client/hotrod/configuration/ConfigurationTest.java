@@ -1,6 +1,7 @@
 package org.infinispan.client.hotrod.configuration;
 
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.ASYNC_EXECUTOR_FACTORY;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.ASYNC_TRANSPORT;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.AUTH_CALLBACK_HANDLER;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.AUTH_CLIENT_SUBJECT;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.AUTH_SERVER_NAME;
@@ -75,6 +76,7 @@ public class ConfigurationTest {
       OPTIONS.put(SO_TIMEOUT, Configuration::socketTimeout);
       OPTIONS.put(TCP_NO_DELAY, Configuration::tcpNoDelay);
       OPTIONS.put(TCP_KEEP_ALIVE, Configuration::tcpKeepAlive);
+      OPTIONS.put(ASYNC_TRANSPORT, Configuration::asyncTransport);
       OPTIONS.put(KEY_SIZE_ESTIMATE, Configuration::keySizeEstimate);
       OPTIONS.put(VALUE_SIZE_ESTIMATE, Configuration::valueSizeEstimate);
       OPTIONS.put(MAX_RETRIES, Configuration::maxRetries);
@@ -153,6 +155,7 @@ public void testConfiguration() {
          .valueSizeEstimate(1024)
          .maxRetries(0)
          .tcpKeepAlive(true)
+         .asyncTransport(true)
          .transportFactory(SomeTransportfactory.class)
          .security()
             .ssl()
@@ -205,6 +208,7 @@ public void testWithProperties() {
       p.setProperty(SO_TIMEOUT, "100");
       p.setProperty(TCP_NO_DELAY, "false");
       p.setProperty(TCP_KEEP_ALIVE, "true");
+      p.setProperty(ASYNC_TRANSPORT, "true");
       p.setProperty(KEY_SIZE_ESTIMATE, "128");
       p.setProperty(VALUE_SIZE_ESTIMATE, "1024");
       p.setProperty(MAX_RETRIES, "0");
@@ -418,6 +422,7 @@ private void validateConfiguration(Configuration configuration) {
       assertEqualsConfig(100, SO_TIMEOUT, configuration);
       assertEqualsConfig(false, TCP_NO_DELAY, configuration);
       assertEqualsConfig(true, TCP_KEEP_ALIVE, configuration);
+      assertEqualsConfig(true, ASYNC_TRANSPORT, configuration);
       assertEqualsConfig(128, KEY_SIZE_ESTIMATE, configuration);
       assertEqualsConfig(1024, VALUE_SIZE_ESTIMATE, configuration);
       assertEqualsConfig(0, MAX_RETRIES, configuration);
@@ -1,6 +1,7 @@
 package org.infinispan.client.hotrod.near;
 
 import java.util.concurrent.BlockingQueue;
+import java.util.function.BiConsumer;
 
 import org.infinispan.client.hotrod.VersionedValue;
 import org.infinispan.client.hotrod.configuration.NearCacheConfiguration;
@@ -74,6 +75,11 @@ public void clear() {
          events.clear();
          events.add(new MockClearEvent());
       }
+
+      @Override
+      public void forEach(BiConsumer<? super K, ? super VersionedValue<V>> action) {
+         delegate.forEach(action);
+      }
    }
 
    static class MockPutEvent<K, V> extends MockKeyValueEvent<K, V> {
@@ -0,0 +1,159 @@
+package org.infinispan.client.hotrod.near;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.VersionedValue;
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.configuration.NearCacheMode;
+import org.infinispan.client.hotrod.impl.ConfigurationProperties;
+import org.infinispan.client.hotrod.impl.InvalidatedNearRemoteCache;
+import org.infinispan.client.hotrod.impl.VersionedValueImpl;
+import org.infinispan.client.hotrod.test.InternalRemoteCacheManager;
+import org.infinispan.client.hotrod.test.SingleHotRodServerTest;
+import org.infinispan.commands.read.GetAllCommand;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.interceptors.base.BaseCustomInterceptor;
+import org.infinispan.interceptors.impl.CallInterceptor;
+import org.infinispan.test.fwk.CheckPoint;
+import org.testng.annotations.Test;
+
+@Test(groups = "functional", testName = "client.hotrod.near.NearCacheRevalidationTest")
+public class NearCacheRevalidationTest extends SingleHotRodServerTest {
+
+   @Override
+   protected RemoteCacheManager getRemoteCacheManager() {
+      return new InternalRemoteCacheManager(clientBuilder().build());
+   }
+
+   private ConfigurationBuilder clientBuilder() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      builder.nearCache().mode(NearCacheMode.INVALIDATED).maxEntries(-1);
+      // Revalidation requires the Hot Rod protocol version 2.6
+      builder.protocolVersion(ConfigurationProperties.PROTOCOL_VERSION_26);
+      return builder;
+   }
+
+   private static <K, V> Map<K, VersionedValue<V>> nearEntries(RemoteCache<K, V> remote) {
+      Map<K, VersionedValue<V>> entries = new HashMap<>();
+      ((InvalidatedNearRemoteCache<K, V>) remote).getNearCacheService().forEach(entries::put);
+      return entries;
+   }
+
+   public void testStaleEntriesRemovedAfterFailover() {
+      RemoteCache<Integer, String> remote = remoteCacheManager.getCache();
+      NearCacheService<Integer, String> nearCache =
+            ((InvalidatedNearRemoteCache<Integer, String>) remote).getNearCacheService();
+      remote.put(1, "v1");
+      remote.put(2, "v2");
+      assertEquals("v1", remote.get(1));
+      assertEquals("v2", remote.get(2));
+      VersionedValue<String> v2 = nearEntries(remote).get(2);
+      assertNotNull(v2);
+
+      // Pretend an update of key 1 was missed while the listener was disconnected
+      nearCache.put(1, new VersionedValueImpl<>(remote.getVersioned(1).getVersion() + 1000, "stale"));
+      nearCache.failover();
+
+      assertEquals("v1", remote.get(1));
+      Map<Integer, VersionedValue<String>> entries = nearEntries(remote);
+      assertEquals("v1", entries.get(1).getValue());
+      assertEquals(v2.getVersion(), entries.get(2).getVersion());
+      assertEquals("v2", entries.get(2).getValue());
+   }
+
+   public void testRemovedEntriesRemovedAfterFailover() {
+      RemoteCache<Integer, String> remote = remoteCacheManager.getCache();
+      NearCacheService<Integer, String> nearCache =
+            ((InvalidatedNearRemoteCache<Integer, String>) remote).getNearCacheService();
+      remote.put(3, "v3");
+      remote.put(4, "v4");
+      assertEquals("v3", remote.get(3));
+
+      // Pretend the removal of key 4 was missed while the listener was disconnected
+      VersionedValue<String> v4 = remote.getVersioned(4);
+      remote.remove(4);
+      nearCache.put(4, v4);
+      nearCache.failover();
+
+      assertNull(remote.get(4));
+      assertEquals("v3", remote.get(3));
+      assertNull(nearEntries(remote).get(4));
+   }
+
+   public void testReadsGoToServerDuringRevalidation() throws Exception {
+      RemoteCache<Integer, String> remote = remoteCacheManager.getCache();
+      NearCacheService<Integer, String> nearCache =
+            ((InvalidatedNearRemoteCache<Integer, String>) remote).getNearCacheService();
+      remote.put(5, "v5");
+      remote.put(6, "v6");
+      assertEquals("v5", remote.get(5));
+      assertEquals("v6", remote.get(6));
+
+      // Pretend an update of key 5 was missed while the listener was disconnected
+      nearCache.put(5, new VersionedValueImpl<>(remote.getVersioned(5).getVersion() + 1000, "stale"));
+      nearCache.failover();
+
+      CheckPoint checkPoint = new CheckPoint();
+      cache.getAdvancedCache().getAsyncInterceptorChain()
+            .addInterceptorBefore(new BlockingGetAllInterceptor(checkPoint), CallInterceptor.class);
+      try {
+         // The first read revalidates the near cache, the versioned request is blocked on the server
+         Future<String> revalidatingRead = fork(() -> remote.get(6));
+         checkPoint.awaitStrict("before-get-all", 10, TimeUnit.SECONDS);
+
+         // The stale entry has not been removed yet, so the read must go to the server
+         assertEquals("v5", remote.get(5));
+
+         checkPoint.trigger("get-all");
+         assertEquals("v6", revalidatingRead.get(10, TimeUnit.SECONDS));
+      } finally {
+         checkPoint.triggerForever("get-all");
+         cache.getAdvancedCache().getAsyncInterceptorChain().removeInterceptor(BlockingGetAllInterceptor.class);
+      }
+      assertEquals("v5", remote.get(5));
+   }
+
+   public void testPrefetch() {
+      RemoteCache<Integer, String> remote = remoteCacheManager.getCache();
+      remote.put(10, "v10");
+      remote.put(11, "v11");
+
+      ConfigurationBuilder builder = clientBuilder();
+      builder.nearCache().prefetchKeys(10, 11, 12);
+      RemoteCacheManager prefetchManager = new InternalRemoteCacheManager(builder.build());
+      try {
+         RemoteCache<Integer, String> prefetched = prefetchManager.getCache();
+         Map<Integer, VersionedValue<String>> entries = nearEntries(prefetched);
+         assertEquals(2, entries.size());
+         assertEquals("v10", entries.get(10).getValue());
+         assertEquals(remote.getVersioned(11).getVersion(), entries.get(11).getVersion());
+      } finally {
+         prefetchManager.stop();
+      }
+   }
+
+   static class BlockingGetAllInterceptor extends BaseCustomInterceptor {
+      private final CheckPoint checkPoint;
+
+      BlockingGetAllInterceptor(CheckPoint checkPoint) {
+         this.checkPoint = checkPoint;
+      }
+
+      @Override
+      public Object visitGetAllCommand(InvocationContext ctx, GetAllCommand command) throws Throwable {
+         checkPoint.trigger("before-get-all");
+         checkPoint.awaitStrict("get-all", 10, TimeUnit.SECONDS);
+         return invokeNextInterceptor(ctx, command);
+      }
+   }
+}
@@ -0,0 +1,78 @@
+package org.infinispan.client.hotrod.near;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.configuration.NearCacheEvictionPolicy;
+import org.infinispan.client.hotrod.configuration.NearCacheMode;
+import org.infinispan.client.hotrod.test.InternalRemoteCacheManager;
+import org.infinispan.client.hotrod.test.SingleHotRodServerTest;
+import org.testng.annotations.Test;
+
+@Test(groups = "functional", testName = "client.hotrod.near.NearCacheStatisticsTest")
+public class NearCacheStatisticsTest extends SingleHotRodServerTest {
+
+   @Override
+   protected RemoteCacheManager getRemoteCacheManager() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      builder.nearCache().mode(NearCacheMode.INVALIDATED).maxEntries(2)
+            .evictionPolicy(NearCacheEvictionPolicy.TINY_LFU).statistics(true);
+      return new InternalRemoteCacheManager(builder.build());
+   }
+
+   public void testStatistics() throws Exception {
+      MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = statisticsName(remoteCacheManager);
+      mbeanServer.invoke(name, "resetStatistics", new Object[0], new String[0]);
+
+      RemoteCache<Integer, String> remote = remoteCacheManager.getCache();
+      remote.put(1, "v1");
+      assertTrue((Long) mbeanServer.getAttribute(name, "Invalidations") > 0);
+
+      assertEquals("v1", remote.get(1));
+      assertEquals("v1", remote.get(1));
+      assertEquals(1L, mbeanServer.getAttribute(name, "Hits"));
+      assertEquals(1L, mbeanServer.getAttribute(name, "Misses"));
+      assertEquals(0.5, mbeanServer.getAttribute(name, "HitRatio"));
+
+      for (int i = 2; i <= 5; i++) {
+         remote.put(i, "v" + i);
+         assertEquals("v" + i, remote.get(i));
+      }
+      assertTrue((Long) mbeanServer.getAttribute(name, "Evictions") > 0);
+
+      mbeanServer.invoke(name, "resetStatistics", new Object[0], new String[0]);
+      assertEquals(0L, mbeanServer.getAttribute(name, "Hits"));
+      assertEquals(0L, mbeanServer.getAttribute(name, "Evictions"));
+   }
+
+   public void testUnregisteredOnStop() throws Exception {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      builder.nearCache().mode(NearCacheMode.INVALIDATED).maxEntries(-1).statistics(true);
+      RemoteCacheManager manager = new InternalRemoteCacheManager(builder.build());
+      MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = statisticsName(manager);
+      try {
+         manager.getCache();
+         assertTrue(mbeanServer.isRegistered(name));
+      } finally {
+         manager.stop();
+      }
+      assertFalse(mbeanServer.isRegistered(name));
+   }
+
+   private static ObjectName statisticsName(RemoteCacheManager manager) throws Exception {
+      return new ObjectName("org.infinispan:type=RemoteCache,name=\"___defaultcache\",manager="
+            + Integer.toHexString(System.identityHashCode(manager)) + ",component=NearCache");
+   }
+}
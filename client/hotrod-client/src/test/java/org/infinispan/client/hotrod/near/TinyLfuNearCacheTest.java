@@ -0,0 +1,115 @@
+package org.infinispan.client.hotrod.near;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.client.hotrod.VersionedValue;
+import org.infinispan.client.hotrod.configuration.NearCacheConfiguration;
+import org.infinispan.client.hotrod.configuration.NearCacheEvictionPolicy;
+import org.infinispan.client.hotrod.configuration.NearCacheMode;
+import org.infinispan.client.hotrod.impl.VersionedValueImpl;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit", testName = "client.hotrod.near.TinyLfuNearCacheTest")
+public class TinyLfuNearCacheTest extends AbstractInfinispanTest {
+
+   private final AtomicInteger evictions = new AtomicInteger();
+
+   private TinyLfuNearCache<Integer, String> createNearCache(int maxEntries, long maxWeight) {
+      evictions.set(0);
+      NearCacheConfiguration config = new NearCacheConfiguration(NearCacheMode.INVALIDATED, maxEntries, maxWeight,
+            NearCacheEvictionPolicy.TINY_LFU, false, Collections.emptySet());
+      return (TinyLfuNearCache<Integer, String>) TinyLfuNearCache.<Integer, String>create(config,
+            (k, v) -> v.getValue().length(), k -> evictions.incrementAndGet());
+   }
+
+   private static VersionedValue<String> value(String value) {
+      return new VersionedValueImpl<>(1, value);
+   }
+
+   public void testBoundedByEntries() {
+      TinyLfuNearCache<Integer, String> cache = createNearCache(100, -1);
+      for (int i = 0; i < 1000; i++) {
+         cache.put(i, value("v" + i));
+      }
+      cache.cleanUp();
+      assertEquals(100, cache.size());
+      assertEquals(900, evictions.get());
+   }
+
+   public void testFrequentEntriesSurviveScan() {
+      TinyLfuNearCache<Integer, String> cache = createNearCache(100, -1);
+      for (int i = 0; i < 100; i++) {
+         cache.put(i, value("v" + i));
+      }
+      for (int round = 0; round < 5; round++) {
+         for (int i = 0; i < 10; i++) {
+            assertNotNull(cache.get(i));
+         }
+         cache.cleanUp();
+      }
+
+      for (int i = 1000; i < 2000; i++) {
+         cache.putIfAbsent(i, value("v" + i));
+         cache.cleanUp();
+      }
+
+      for (int i = 0; i < 10; i++) {
+         assertNotNull("Frequently used key " + i + " evicted", cache.get(i));
+      }
+      assertEquals(100, cache.size());
+   }
+
+   public void testBoundedByWeight() {
+      TinyLfuNearCache<Integer, String> cache = createNearCache(-1, 100);
+      for (int i = 0; i < 100; i++) {
+         cache.put(i, value("0123456789"));
+      }
+      cache.cleanUp();
+      assertTrue(cache.size() > 0);
+      assertTrue(cache.size() * 10 <= 100);
+      assertEquals(100 - cache.size(), evictions.get());
+   }
+
+   public void testEntryHeavierThanMaximumNotCached() {
+      TinyLfuNearCache<Integer, String> cache = createNearCache(-1, 100);
+      cache.put(1, value("v1"));
+      StringBuilder sb = new StringBuilder();
+      for (int i = 0; i < 200; i++) {
+         sb.append('x');
+      }
+      cache.put(2, value(sb.toString()));
+      cache.cleanUp();
+      assertNotNull(cache.get(1));
+      assertNull(cache.get(2));
+      assertEquals(1, evictions.get());
+   }
+
+   public void testRemoveAndClear() {
+      TinyLfuNearCache<Integer, String> cache = createNearCache(10, -1);
+      for (int i = 0; i < 10; i++) {
+         cache.put(i, value("v" + i));
+      }
+      cache.remove(5);
+      assertNull(cache.get(5));
+      cache.put(1, value("v1-updated"));
+      assertEquals("v1-updated", cache.get(1).getValue());
+      cache.clear();
+      cache.cleanUp();
+      assertEquals(0, cache.size());
+      assertNull(cache.get(1));
+
+      for (int i = 0; i < 10; i++) {
+         cache.put(i, value("v" + i));
+      }
+      cache.cleanUp();
+      assertEquals(10, cache.size());
+      assertEquals(0, evictions.get());
+   }
+}
@@ -424,6 +424,44 @@
     */
    CompletableFuture<V> putAsync(K key, V value, Metadata metadata);
 
+   /**
+    * Asynchronous version of {@link #putIfAbsent(Object, Object, Metadata)} which stores metadata alongside the value.
+    *
+    * @param key   key to use
+    * @param value value to store
+    * @param metadata information to store alongside the new value
+    * @return a future containing the previous value associated with the key, or null if there was no mapping
+    *
+    * @since 9.0
+    */
+   CompletableFuture<V> putIfAbsentAsync(K key, V value, Metadata metadata);
+
+   /**
+    * Asynchronous version of {@link #replace(Object, Object, Metadata)} which stores metadata alongside the value.
+    *
+    * @param key   key to use
+    * @param value value to store
+    * @param metadata information to store alongside the new value
+    * @return a future containing the previous value associated with the key, or null if there was no mapping
+    *
+    * @since 9.0
+    */
+   CompletableFuture<V> replaceAsync(K key, V value, Metadata metadata);
+
+   /**
+    * Asynchronous version of {@link #replace(Object, Object, Object, Metadata)} which stores metadata alongside the
+    * value.
+    *
+    * @param key   key to use
+    * @param oldValue value expected to be associated with the key
+    * @param newValue value to store
+    * @param metadata information to store alongside the new value
+    * @return a future containing true if the value was replaced
+    *
+    * @since 9.0
+    */
+   CompletableFuture<Boolean> replaceAsync(K key, V oldValue, V newValue, Metadata metadata);
+
    // TODO: Even better: add replace/remove calls that apply the changes if a given function is successful
    // That way, you could do comparison not only on the cache value, but also based on version...etc
 
@@ -463,6 +501,16 @@
     */
    CacheEntry<K, V> getCacheEntry(Object key);
 
+   /**
+    * Asynchronous version of {@link #getCacheEntry(Object)}.
+    *
+    * @param key the key whose associated cache entry is to be returned
+    * @return a future containing the cache entry to which the specified key is mapped, or {@code null}
+    *
+    * @since 9.0
+    */
+   CompletableFuture<CacheEntry<K, V>> getCacheEntryAsync(Object key);
+
    /**
     * Gets a collection of entries from the {@link AdvancedCache}, returning them as
     * {@link Map} of the cache entries associated with the set of keys requested.
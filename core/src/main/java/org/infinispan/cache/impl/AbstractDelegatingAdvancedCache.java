@@ -217,6 +217,11 @@ public CacheEntry<K, V> getCacheEntry(Object key) {
       return cache.getCacheEntry(key);
    }
 
+   @Override
+   public CompletableFuture<CacheEntry<K, V>> getCacheEntryAsync(Object key) {
+      return cache.getCacheEntryAsync(key);
+   }
+
    @Override
    public Map<K, CacheEntry<K, V>> getAllCacheEntries(Set<?> keys) {
       return cache.getAllCacheEntries(keys);
@@ -257,6 +262,21 @@ public CompletableFuture<V> putAsync(K key, V value, Metadata metadata) {
       return cache.putAsync(key, value, metadata);
    }
 
+   @Override
+   public CompletableFuture<V> putIfAbsentAsync(K key, V value, Metadata metadata) {
+      return cache.putIfAbsentAsync(key, value, metadata);
+   }
+
+   @Override
+   public CompletableFuture<V> replaceAsync(K key, V value, Metadata metadata) {
+      return cache.replaceAsync(key, value, metadata);
+   }
+
+   @Override
+   public CompletableFuture<Boolean> replaceAsync(K key, V oldValue, V newValue, Metadata metadata) {
+      return cache.replaceAsync(key, oldValue, newValue, metadata);
+   }
+
    @Override
    public void putForExternalRead(K key, V value, Metadata metadata) {
       cache.putForExternalRead(key, value, metadata);
@@ -1423,6 +1423,21 @@ CompletableFuture<V> getAsync(final K key, final long explicitFlags) {
       }
    }
 
+   @Override
+   public CompletableFuture<CacheEntry<K, V>> getCacheEntryAsync(Object key) {
+      return getCacheEntryAsync(key, EnumUtil.EMPTY_BIT_SET);
+   }
+
+   @SuppressWarnings("unchecked")
+   CompletableFuture<CacheEntry<K, V>> getCacheEntryAsync(final Object key, final long explicitFlags) {
+      // Optimization to not start a new thread only when the operation is cheap:
+      if (asyncSkipsThread(explicitFlags, (K) key)) {
+         return wrapInFuture(getCacheEntry(key, explicitFlags));
+      } else {
+         return CompletableFuture.supplyAsync(() -> (CacheEntry<K, V>) getCacheEntry(key, explicitFlags), asyncExecutor);
+      }
+   }
+
    /**
     * Encodes the cases for an asyncGet operation in which it makes sense to actually perform the operation in sync.
     *
@@ -1621,6 +1636,21 @@ public CompletableFuture<V> putAsync(K key, V value, Metadata metadata) {
       return putAsync(key, value, metadata, EnumUtil.EMPTY_BIT_SET);
    }
 
+   @Override
+   public CompletableFuture<V> putIfAbsentAsync(K key, V value, Metadata metadata) {
+      return putIfAbsentAsync(key, value, metadata, EnumUtil.EMPTY_BIT_SET);
+   }
+
+   @Override
+   public CompletableFuture<V> replaceAsync(K key, V value, Metadata metadata) {
+      return replaceAsync(key, value, metadata, EnumUtil.EMPTY_BIT_SET);
+   }
+
+   @Override
+   public CompletableFuture<Boolean> replaceAsync(K key, V oldValue, V newValue, Metadata metadata) {
+      return replaceAsync(key, oldValue, newValue, metadata, EnumUtil.EMPTY_BIT_SET);
+   }
+
    private void associateImplicitTransactionWithCurrentThread(InvocationContext ctx) throws InvalidTransactionException, SystemException {
       if (isTxInjected(ctx)) {
          Transaction transaction = ((TxInvocationContext) ctx).getTransaction();
@@ -513,6 +513,21 @@ public CompletableFuture<V> putAsync(K key, V value, Metadata metadata) {
       return cacheImplementation.putAsync(key, value, metadata, flags);
    }
 
+   @Override
+   public CompletableFuture<V> putIfAbsentAsync(K key, V value, Metadata metadata) {
+      return cacheImplementation.putIfAbsentAsync(key, value, metadata, flags);
+   }
+
+   @Override
+   public CompletableFuture<V> replaceAsync(K key, V value, Metadata metadata) {
+      return cacheImplementation.replaceAsync(key, value, metadata, flags);
+   }
+
+   @Override
+   public CompletableFuture<Boolean> replaceAsync(K key, V oldValue, V newValue, Metadata metadata) {
+      return cacheImplementation.replaceAsync(key, oldValue, newValue, metadata, flags);
+   }
+
    @Override
    public V putIfAbsent(K key, V value, Metadata metadata) {
       return cacheImplementation.putIfAbsent(key, value, metadata, flags);
@@ -532,4 +547,9 @@ public V replace(K key, V value, Metadata metadata) {
    public CacheEntry getCacheEntry(Object key) {
       return cacheImplementation.getCacheEntry(key, flags);
    }
+
+   @Override
+   public CompletableFuture<CacheEntry<K, V>> getCacheEntryAsync(Object key) {
+      return cacheImplementation.getCacheEntryAsync(key, flags);
+   }
 }
@@ -223,6 +223,26 @@ public CompletableFuture<V> putAsync(K key, V value, Metadata metadata) {
       return CompletableFuture.completedFuture(getAndPutInternal(key, value, applyDefaultMetadata(metadata)));
    }
 
+   @Override
+   public CompletableFuture<V> putIfAbsentAsync(K key, V value, Metadata metadata) {
+      return CompletableFuture.completedFuture(putIfAbsent(key, value, metadata));
+   }
+
+   @Override
+   public CompletableFuture<V> replaceAsync(K key, V value, Metadata metadata) {
+      return CompletableFuture.completedFuture(replace(key, value, metadata));
+   }
+
+   @Override
+   public CompletableFuture<Boolean> replaceAsync(K key, V oldValue, V newValue, Metadata metadata) {
+      return CompletableFuture.completedFuture(replace(key, oldValue, newValue, metadata));
+   }
+
+   @Override
+   public CompletableFuture<CacheEntry<K, V>> getCacheEntryAsync(Object key) {
+      return CompletableFuture.completedFuture(getCacheEntry(key));
+   }
+
    @Override
    public Map<K, V> getAll(Set<?> keys) {
       Map<K, V> map = CollectionFactory
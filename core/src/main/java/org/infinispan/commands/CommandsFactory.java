@@ -66,6 +66,8 @@
 import org.infinispan.factories.scopes.Scopes;
 import org.infinispan.functional.impl.Params;
 import org.infinispan.metadata.Metadata;
+import org.infinispan.notifications.cachelistener.cluster.ClusterEvent;
+import org.infinispan.notifications.cachelistener.cluster.ClusterEventCommand;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.statetransfer.StateChunk;
 import org.infinispan.statetransfer.StateRequestCommand;
@@ -75,6 +77,7 @@
 import org.infinispan.transaction.xa.GlobalTransaction;
 import org.infinispan.xsite.SingleXSiteRpcCommand;
 import org.infinispan.xsite.XSiteAdminCommand;
+import org.infinispan.xsite.XSiteBulkUpdateCommand;
 import org.infinispan.xsite.statetransfer.XSiteState;
 import org.infinispan.xsite.statetransfer.XSiteStatePushCommand;
 import org.infinispan.xsite.statetransfer.XSiteStateTransferControlCommand;
@@ -427,6 +430,24 @@ public interface CommandsFactory {
     */
    XSiteStatePushCommand buildXSiteStatePushCommand(XSiteState[] chunk, long timeoutMillis);
 
+   /**
+    * Builds XSiteBulkUpdateCommand used to send a batch of updates to an asynchronous backup site.
+    *
+    * @param clear   {@code true} if the backup cache must be cleared before applying the updates
+    * @param updates the marshalled {@code key, value, metadata} triples
+    * @return the XSiteBulkUpdateCommand created
+    */
+   XSiteBulkUpdateCommand buildXSiteBulkUpdateCommand(boolean clear, byte[] updates);
+
+   /**
+    * Builds ClusterEventCommand used to deliver a batch of events to the node where the cluster listeners were
+    * registered.
+    *
+    * @param events the events, grouped by the identifier of the cluster listener
+    * @return the ClusterEventCommand created
+    */
+   ClusterEventCommand buildClusterEventCommand(Map<UUID, Collection<ClusterEvent<?, ?>>> events);
+
    /**
     * Builds SingleRpcCommand used to perform {@link org.infinispan.commands.VisitableCommand} on the backup site,
     * @param command the visitable command.
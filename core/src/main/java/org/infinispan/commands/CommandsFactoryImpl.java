@@ -90,6 +90,8 @@
 import org.infinispan.marshall.core.ExternalizerTable;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.notifications.cachelistener.CacheNotifier;
+import org.infinispan.notifications.cachelistener.cluster.ClusterEvent;
+import org.infinispan.notifications.cachelistener.cluster.ClusterEventCommand;
 import org.infinispan.partitionhandling.impl.PartitionHandlingManager;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.statetransfer.StateChunk;
@@ -116,6 +118,7 @@
 import org.infinispan.xsite.BackupSender;
 import org.infinispan.xsite.SingleXSiteRpcCommand;
 import org.infinispan.xsite.XSiteAdminCommand;
+import org.infinispan.xsite.XSiteBulkUpdateCommand;
 import org.infinispan.xsite.statetransfer.XSiteState;
 import org.infinispan.xsite.statetransfer.XSiteStateConsumer;
 import org.infinispan.xsite.statetransfer.XSiteStateProvider;
@@ -474,6 +477,14 @@ public void initializeReplicableCommand(ReplicableCommand c, boolean isRemote) {
             XSiteStatePushCommand xSiteStatePushCommand = (XSiteStatePushCommand) c;
             xSiteStatePushCommand.initialize(xSiteStateConsumer);
             break;
+         case XSiteBulkUpdateCommand.COMMAND_ID:
+            XSiteBulkUpdateCommand xSiteBulkUpdateCommand = (XSiteBulkUpdateCommand) c;
+            xSiteBulkUpdateCommand.init(cache);
+            break;
+         case ClusterEventCommand.COMMAND_ID:
+            ClusterEventCommand clusterEventCommand = (ClusterEventCommand) c;
+            clusterEventCommand.init(cache);
+            break;
          case GetKeysInGroupCommand.COMMAND_ID:
             GetKeysInGroupCommand getKeysInGroupCommand = (GetKeysInGroupCommand) c;
             getKeysInGroupCommand.setGroupManager(groupManager);
@@ -606,6 +617,16 @@ public XSiteStatePushCommand buildXSiteStatePushCommand(XSiteState[] chunk, long
       return new XSiteStatePushCommand(cacheName, chunk, timeoutMillis);
    }
 
+   @Override
+   public XSiteBulkUpdateCommand buildXSiteBulkUpdateCommand(boolean clear, byte[] updates) {
+      return new XSiteBulkUpdateCommand(cacheName, clear, updates);
+   }
+
+   @Override
+   public ClusterEventCommand buildClusterEventCommand(Map<UUID, Collection<ClusterEvent<?, ?>>> events) {
+      return new ClusterEventCommand(cacheName, events);
+   }
+
    @Override
    public SingleXSiteRpcCommand buildSingleXSiteRpcCommand(VisitableCommand command) {
       return new SingleXSiteRpcCommand(cacheName, command);
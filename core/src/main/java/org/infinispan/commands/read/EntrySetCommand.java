@@ -4,6 +4,10 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.infinispan.Cache;
 import org.infinispan.CacheSet;
@@ -131,16 +135,32 @@ private ConsistentHash getConsistentHash(Cache<K, V> cache) {
          return null;
       }
 
+      private Function<Set<Integer>, Stream<CacheEntry<K, V>>> segmentSupplier(ConsistentHash hash) {
+         if (hash == null) {
+            return null;
+         }
+         // Only the data container entries of the requested segments are visited
+         return segments -> {
+            DataContainer<K, V> dc = cache.getAdvancedCache().getDataContainer();
+            Iterator<CacheEntry<K, V>> iterator = new DataContainerRemoveIterator<>(cache,
+                  dc.iterator(segments, hash::getSegment));
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                  Spliterator.CONCURRENT | Spliterator.NONNULL | Spliterator.DISTINCT), false);
+         };
+      }
+
       @Override
       public CacheStream<CacheEntry<K, V>> stream() {
-         return new LocalCacheStream<>(new EntryStreamSupplier<>(cache, getConsistentHash(cache),
-                 () -> super.stream()), false, cache.getAdvancedCache().getComponentRegistry());
+         ConsistentHash hash = getConsistentHash(cache);
+         return new LocalCacheStream<>(new EntryStreamSupplier<>(cache, hash,
+                 () -> super.stream(), segmentSupplier(hash)), false, cache.getAdvancedCache().getComponentRegistry());
       }
 
       @Override
       public CacheStream<CacheEntry<K, V>> parallelStream() {
-         return new LocalCacheStream<>(new EntryStreamSupplier<>(cache, getConsistentHash(cache),
-                 () -> super.stream()), true, cache.getAdvancedCache().getComponentRegistry());
+         ConsistentHash hash = getConsistentHash(cache);
+         return new LocalCacheStream<>(new EntryStreamSupplier<>(cache, hash,
+                 () -> super.stream(), segmentSupplier(hash)), true, cache.getAdvancedCache().getComponentRegistry());
       }
    }
 
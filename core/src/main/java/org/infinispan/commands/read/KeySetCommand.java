@@ -3,6 +3,9 @@
 import java.util.Iterator;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.infinispan.Cache;
@@ -13,10 +16,12 @@
 import org.infinispan.commons.util.CloseableIterator;
 import org.infinispan.commons.util.CloseableSpliterator;
 import org.infinispan.commons.util.Closeables;
+import org.infinispan.container.DataContainer;
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.context.Flag;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.distribution.DistributionManager;
+import org.infinispan.distribution.ch.ConsistentHash;
 import org.infinispan.stream.impl.local.KeyStreamSupplier;
 import org.infinispan.stream.impl.local.LocalCacheStream;
 import org.infinispan.util.DataContainerRemoveIterator;
@@ -96,19 +101,35 @@ public boolean remove(Object o) {
          return cache.remove(o) != null;
       }
 
+      private Function<Set<Integer>, Stream<K>> segmentSupplier(ConsistentHash hash) {
+         if (hash == null) {
+            return null;
+         }
+         // Only the data container entries of the requested segments are visited
+         return segments -> {
+            DataContainer<K, V> dc = cache.getAdvancedCache().getDataContainer();
+            Iterator<K> iterator = new EntryToKeyIterator<>(new DataContainerRemoveIterator<>(cache,
+                  dc.iterator(segments, hash::getSegment)));
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                  Spliterator.CONCURRENT | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+         };
+      }
+
       @Override
       public CacheStream<K> stream() {
          DistributionManager dm = cache.getAdvancedCache().getDistributionManager();
-         return new LocalCacheStream<>(new KeyStreamSupplier<>(cache, dm != null ? dm.getConsistentHash() : null,
-                 () -> StreamSupport.stream(spliterator(), false)), false,
+         ConsistentHash hash = dm != null ? dm.getConsistentHash() : null;
+         return new LocalCacheStream<>(new KeyStreamSupplier<>(cache, hash,
+                 () -> StreamSupport.stream(spliterator(), false), segmentSupplier(hash)), false,
                  cache.getAdvancedCache().getComponentRegistry());
       }
 
       @Override
       public CacheStream<K> parallelStream() {
          DistributionManager dm = cache.getAdvancedCache().getDistributionManager();
-         return new LocalCacheStream<>(new KeyStreamSupplier<>(cache, dm != null ? dm.getConsistentHash() : null,
-                 () -> StreamSupport.stream(spliterator(), false)), true,
+         ConsistentHash hash = dm != null ? dm.getConsistentHash() : null;
+         return new LocalCacheStream<>(new KeyStreamSupplier<>(cache, hash,
+                 () -> StreamSupport.stream(spliterator(), false), segmentSupplier(hash)), true,
                  cache.getAdvancedCache().getComponentRegistry());
       }
    }
@@ -1,5 +1,7 @@
 package org.infinispan.configuration.cache;
 
+import static org.infinispan.configuration.cache.BackupConfiguration.ASYNC_BATCH_DELAY;
+import static org.infinispan.configuration.cache.BackupConfiguration.ASYNC_BATCH_SIZE;
 import static org.infinispan.configuration.cache.BackupConfiguration.ENABLED;
 import static org.infinispan.configuration.cache.BackupConfiguration.FAILURE_POLICY;
 import static org.infinispan.configuration.cache.BackupConfiguration.FAILURE_POLICY_CLASS;
@@ -120,6 +122,26 @@ public BackupConfigurationBuilder enabled(boolean isEnabled) {
       return this;
    }
 
+   /**
+    * If &gt; 0, the updates for an asynchronous backup site are queued, repeated writes to the same key are conflated,
+    * and the queue is sent in compressed batches of this many keys. A batch grows beyond this size rather than split
+    * the updates of a transaction, but the conflation may merge them with the updates of later transactions. Defaults
+    * to 0, i.e. each update is sent on its own.
+    */
+   public BackupConfigurationBuilder asyncBatchSize(int asyncBatchSize) {
+      attributes.attribute(ASYNC_BATCH_SIZE).set(asyncBatchSize);
+      return this;
+   }
+
+   /**
+    * The maximum time (millis) an update waits in the queue before a smaller batch is sent, when
+    * {@link #asyncBatchSize(int)} is enabled. Defaults to 100 millis.
+    */
+   public BackupConfigurationBuilder asyncBatchDelay(long asyncBatchDelay) {
+      attributes.attribute(ASYNC_BATCH_DELAY).set(asyncBatchDelay);
+      return this;
+   }
+
    public XSiteStateTransferConfigurationBuilder stateTransfer() {
       return this.stateTransferBuilder;
    }
@@ -136,6 +158,9 @@ public void validate() {
       if (attributes.attribute(USE_TWO_PHASE_COMMIT).get() && attributes.attribute(STRATEGY).get() == BackupConfiguration.BackupStrategy.ASYNC) {
          throw log.twoPhaseCommitAsyncBackup();
       }
+      if (attributes.attribute(ASYNC_BATCH_SIZE).get() > 0 && attributes.attribute(STRATEGY).get() == BackupConfiguration.BackupStrategy.SYNC) {
+         throw log.asyncBatchingSyncBackup();
+      }
    }
 
    @Override
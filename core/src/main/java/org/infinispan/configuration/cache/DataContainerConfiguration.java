@@ -21,21 +21,33 @@ public class DataContainerConfiguration extends AbstractTypedPropertiesConfigura
          .<Equivalence>builder("keyEquivalence", AnyEquivalence.getInstance()).copier(IdentityAttributeCopier.INSTANCE).immutable().build();
    public static final AttributeDefinition<Equivalence> VALUE_EQUIVALENCE = AttributeDefinition
          .<Equivalence>builder("valueEquivalence", AnyEquivalence.getInstance()).copier(IdentityAttributeCopier.INSTANCE).immutable().build();
+   public static final AttributeDefinition<StorageType> STORAGE_TYPE = AttributeDefinition
+         .builder("storageType", StorageType.OBJECT).xmlName("storage").immutable().build();
+   public static final AttributeDefinition<Integer> ADDRESS_COUNT = AttributeDefinition
+         .builder("addressCount", 1 << 20).immutable().build();
+   public static final AttributeDefinition<Boolean> SEGMENTED = AttributeDefinition
+         .builder("segmented", false).immutable().build();
 
    static public AttributeSet attributeDefinitionSet() {
       return new AttributeSet(DataContainerConfiguration.class, AbstractTypedPropertiesConfiguration.attributeSet(),
-            DATA_CONTAINER, KEY_EQUIVALENCE, VALUE_EQUIVALENCE);
+            DATA_CONTAINER, KEY_EQUIVALENCE, VALUE_EQUIVALENCE, STORAGE_TYPE, ADDRESS_COUNT, SEGMENTED);
    }
 
    private final Attribute<DataContainer> dataContainer;
    private final Attribute<Equivalence> keyEquivalence;
    private final Attribute<Equivalence> valueEquivalence;
+   private final Attribute<StorageType> storageType;
+   private final Attribute<Integer> addressCount;
+   private final Attribute<Boolean> segmented;
 
    DataContainerConfiguration(AttributeSet attributes) {
       super(attributes);
       dataContainer = attributes.attribute(DATA_CONTAINER);
       keyEquivalence = attributes.attribute(KEY_EQUIVALENCE);
       valueEquivalence = attributes.attribute(VALUE_EQUIVALENCE);
+      storageType = attributes.attribute(STORAGE_TYPE);
+      addressCount = attributes.attribute(ADDRESS_COUNT);
+      segmented = attributes.attribute(SEGMENTED);
    }
 
    /**
@@ -58,6 +70,35 @@ public <V> Equivalence<V> valueEquivalence() {
       return valueEquivalence.get();
    }
 
+   /**
+    * Where the entries of the cache are stored
+    *
+    * @return the storage type of the data container
+    */
+   public StorageType storageType() {
+      return storageType.get();
+   }
+
+   /**
+    * The number of hash buckets allocated by the off-heap data container. Only used when {@link #storageType()} is
+    * {@link StorageType#OFF_HEAP}.
+    *
+    * @return the number of off-heap hash buckets
+    */
+   public int addressCount() {
+      return addressCount.get();
+   }
+
+   /**
+    * Whether the data container keeps a separate map for each segment, so that segment-scoped operations only visit
+    * the entries of the requested segments
+    *
+    * @return true if the data container is partitioned by segment
+    */
+   public boolean segmented() {
+      return segmented.get();
+   }
+
    public AttributeSet attributes() {
       return attributes;
    }
@@ -1,8 +1,11 @@
 package org.infinispan.configuration.cache;
 
 import static org.infinispan.commons.configuration.AbstractTypedPropertiesConfiguration.PROPERTIES;
+import static org.infinispan.configuration.cache.DataContainerConfiguration.ADDRESS_COUNT;
 import static org.infinispan.configuration.cache.DataContainerConfiguration.DATA_CONTAINER;
 import static org.infinispan.configuration.cache.DataContainerConfiguration.KEY_EQUIVALENCE;
+import static org.infinispan.configuration.cache.DataContainerConfiguration.SEGMENTED;
+import static org.infinispan.configuration.cache.DataContainerConfiguration.STORAGE_TYPE;
 import static org.infinispan.configuration.cache.DataContainerConfiguration.VALUE_EQUIVALENCE;
 
 import java.util.Properties;
@@ -13,6 +16,8 @@
 import org.infinispan.commons.util.TypedProperties;
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.container.DataContainer;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
 
 /**
  * Controls the data container for the cache.
@@ -21,6 +26,7 @@
  *
  */
 public class DataContainerConfigurationBuilder extends AbstractConfigurationChildBuilder implements Builder<DataContainerConfiguration> {
+   private static final Log log = LogFactory.getLog(DataContainerConfigurationBuilder.class);
 
    private AttributeSet attributes;
 
@@ -95,8 +101,67 @@ public <V> DataContainerConfigurationBuilder valueEquivalence(Equivalence<V> val
       return this;
    }
 
+   /**
+    * Defines where the entries of the cache are stored. {@link StorageType#OFF_HEAP} keeps marshalled keys, values and
+    * metadata in native memory, which removes them from the reach of the garbage collector at the cost of
+    * unmarshalling the entry on every read.
+    *
+    * @param storageType the storage type to use
+    * @return this configuration builder
+    */
+   public DataContainerConfigurationBuilder storageType(StorageType storageType) {
+      attributes.attribute(STORAGE_TYPE).set(storageType);
+      return this;
+   }
+
+   /**
+    * The number of hash buckets allocated by the off-heap data container. Each bucket requires 8 bytes of native
+    * memory and the value is rounded up to the next power of two. Larger values reduce collisions at the cost of a
+    * bigger fixed memory footprint. Only used when {@link #storageType(StorageType)} is {@link StorageType#OFF_HEAP}.
+    *
+    * @param addressCount the number of hash buckets
+    * @return this configuration builder
+    */
+   public DataContainerConfigurationBuilder addressCount(int addressCount) {
+      attributes.attribute(ADDRESS_COUNT).set(addressCount);
+      return this;
+   }
+
+   /**
+    * Keeps the entries of each segment in a separate map. State transfer, distributed streams and cluster statistics
+    * then only visit the entries of the segments they are interested in, instead of scanning the whole container.
+    * A segmented data container does not support eviction nor off-heap storage.
+    *
+    * @param segmented whether the data container should be partitioned by segment
+    * @return this configuration builder
+    */
+   public DataContainerConfigurationBuilder segmented(boolean segmented) {
+      attributes.attribute(SEGMENTED).set(segmented);
+      return this;
+   }
+
    @Override
    public void validate() {
+      if (attributes.attribute(SEGMENTED).get()) {
+         if (attributes.attribute(DATA_CONTAINER).get() != null) {
+            throw log.segmentedWithCustomDataContainer();
+         }
+         if (attributes.attribute(STORAGE_TYPE).get() == StorageType.OFF_HEAP) {
+            throw log.segmentedWithOffHeapStorage();
+         }
+         EvictionConfiguration eviction = getBuilder().eviction().create();
+         if (eviction.strategy().isEnabled() || eviction.size() > 0) {
+            throw log.segmentedWithEviction();
+         }
+      }
+      if (attributes.attribute(STORAGE_TYPE).get() == StorageType.OFF_HEAP) {
+         if (attributes.attribute(DATA_CONTAINER).get() != null) {
+            throw log.offHeapWithCustomDataContainer();
+         }
+         if (attributes.attribute(ADDRESS_COUNT).get() <= 0) {
+            throw log.invalidOffHeapAddressCount(attributes.attribute(ADDRESS_COUNT).get());
+         }
+      }
    }
 
    @Override
@@ -0,0 +1,23 @@
+package org.infinispan.configuration.cache;
+
+/**
+ * Enumeration defining when a file based store forces its writes to the storage device.
+ *
+ * @since 9.0
+ */
+public enum DurabilityPolicy {
+   /**
+    * Writes are left to the operating system, which flushes them to the device whenever it sees fit. This is the
+    * default.
+    */
+   NONE,
+   /**
+    * The file is forced once after every batch of writes: a group commit, or a single write when group commit is
+    * disabled.
+    */
+   PER_BATCH,
+   /**
+    * The file is forced after every single write.
+    */
+   PER_WRITE,
+}
@@ -19,13 +19,22 @@ public class SingleFileStoreConfiguration extends AbstractStoreConfiguration {
    public static final AttributeDefinition<String> LOCATION = AttributeDefinition.builder("location", "Infinispan-SingleFileStore").immutable().xmlName("path").build();
    public static final AttributeDefinition<Integer> MAX_ENTRIES = AttributeDefinition.builder("maxEntries", -1).immutable().build();
    public static final AttributeDefinition<Float> FRAGMENTATION_FACTOR = AttributeDefinition.builder("fragmentationFactor", 0.75f).immutable().build();
+   public static final AttributeDefinition<Boolean> MEMORY_MAPPED = AttributeDefinition.builder("memoryMapped", false).immutable().build();
+   public static final AttributeDefinition<Boolean> GROUP_COMMIT = AttributeDefinition.builder("groupCommit", false).immutable().build();
+   public static final AttributeDefinition<DurabilityPolicy> DURABILITY = AttributeDefinition.builder("durability", DurabilityPolicy.NONE).immutable().build();
+   public static final AttributeDefinition<Boolean> COMPACT_INDEX = AttributeDefinition.builder("compactIndex", false).immutable().build();
    public static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(SingleFileStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), LOCATION, MAX_ENTRIES, FRAGMENTATION_FACTOR);
+      return new AttributeSet(SingleFileStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), LOCATION, MAX_ENTRIES, FRAGMENTATION_FACTOR,
+            MEMORY_MAPPED, GROUP_COMMIT, DURABILITY, COMPACT_INDEX);
    }
 
    private final Attribute<String> location;
    private final Attribute<Integer> maxEntries;
    private final Attribute<Float> fragmentationFactor;
+   private final Attribute<Boolean> memoryMapped;
+   private final Attribute<Boolean> groupCommit;
+   private final Attribute<DurabilityPolicy> durability;
+   private final Attribute<Boolean> compactIndex;
 
    public SingleFileStoreConfiguration(AttributeSet attributes, AsyncStoreConfiguration async,
                                        SingletonStoreConfiguration singletonStore) {
@@ -33,6 +42,10 @@ public SingleFileStoreConfiguration(AttributeSet attributes, AsyncStoreConfigura
       location = attributes.attribute(LOCATION);
       maxEntries = attributes.attribute(MAX_ENTRIES);
       fragmentationFactor = attributes.attribute(FRAGMENTATION_FACTOR);
+      memoryMapped = attributes.attribute(MEMORY_MAPPED);
+      groupCommit = attributes.attribute(GROUP_COMMIT);
+      durability = attributes.attribute(DURABILITY);
+      compactIndex = attributes.attribute(COMPACT_INDEX);
    }
 
    public String location() {
@@ -47,6 +60,22 @@ public float fragmentationFactor () {
       return fragmentationFactor.get();
    }
 
+   public boolean memoryMapped() {
+      return memoryMapped.get();
+   }
+
+   public boolean groupCommit() {
+      return groupCommit.get();
+   }
+
+   public DurabilityPolicy durability() {
+      return durability.get();
+   }
+
+   public boolean compactIndex() {
+      return compactIndex.get();
+   }
+
    @Override
    public AttributeSet attributes() {
       return attributes;
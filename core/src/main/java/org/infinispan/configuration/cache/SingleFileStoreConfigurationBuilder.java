@@ -1,10 +1,17 @@
 package org.infinispan.configuration.cache;
 
+import static org.infinispan.configuration.cache.SingleFileStoreConfiguration.COMPACT_INDEX;
+import static org.infinispan.configuration.cache.SingleFileStoreConfiguration.DURABILITY;
 import static org.infinispan.configuration.cache.SingleFileStoreConfiguration.FRAGMENTATION_FACTOR;
+import static org.infinispan.configuration.cache.SingleFileStoreConfiguration.GROUP_COMMIT;
 import static org.infinispan.configuration.cache.SingleFileStoreConfiguration.LOCATION;
 import static org.infinispan.configuration.cache.SingleFileStoreConfiguration.MAX_ENTRIES;
+import static org.infinispan.configuration.cache.SingleFileStoreConfiguration.MEMORY_MAPPED;
 
 import org.infinispan.commons.configuration.Builder;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
 /**
  * Single file cache store configuration builder.
  *
@@ -13,7 +20,7 @@
  */
 public class SingleFileStoreConfigurationBuilder
       extends AbstractStoreConfigurationBuilder<SingleFileStoreConfiguration, SingleFileStoreConfigurationBuilder> {
-
+   private static final Log log = LogFactory.getLog(SingleFileStoreConfigurationBuilder.class, Log.class);
 
    public SingleFileStoreConfigurationBuilder(PersistenceConfigurationBuilder builder) {
       super(builder, SingleFileStoreConfiguration.attributeDefinitionSet());
@@ -67,6 +74,52 @@ public SingleFileStoreConfigurationBuilder fragmentationFactor(float fragmentati
       return this;
    }
 
+   /**
+    * When enabled, entries are read through memory mapped regions of the data file instead of a positional read
+    * into a new buffer for every load. The data file then grows in steps of 64 MiB, the unused space is zeroed.
+    * Defaults to false.
+    */
+   public SingleFileStoreConfigurationBuilder memoryMapped(boolean memoryMapped) {
+      attributes.attribute(MEMORY_MAPPED).set(memoryMapped);
+      return this;
+   }
+
+   /**
+    * When enabled, the writes issued concurrently by several threads are collected and written to the file together
+    * by one of them, so that a single {@link java.nio.channels.FileChannel#force(boolean)} covers the whole batch
+    * when the durability is {@link DurabilityPolicy#PER_BATCH}. Defaults to false.
+    */
+   public SingleFileStoreConfigurationBuilder groupCommit(boolean groupCommit) {
+      attributes.attribute(GROUP_COMMIT).set(groupCommit);
+      return this;
+   }
+
+   /**
+    * Decides when the written entries are forced to the storage device. Defaults to {@link DurabilityPolicy#NONE}.
+    */
+   public SingleFileStoreConfigurationBuilder durability(DurabilityPolicy durability) {
+      attributes.attribute(DURABILITY).set(durability);
+      return this;
+   }
+
+   /**
+    * When enabled, the keys and their position in the file are indexed in a hash table in native memory, using about
+    * 53 bytes per entry regardless of the size of the keys, which are not kept in memory. When two keys have the same
+    * hash, they are told apart by reading the marshalled keys from the file, so keys which are equal must have the
+    * same marshalled form. Cannot be combined with {@link #maxEntries(int)}. Defaults to false.
+    */
+   public SingleFileStoreConfigurationBuilder compactIndex(boolean compactIndex) {
+      attributes.attribute(COMPACT_INDEX).set(compactIndex);
+      return this;
+   }
+
+   @Override
+   public void validate() {
+      super.validate();
+      if (attributes.attribute(COMPACT_INDEX).get() && attributes.attribute(MAX_ENTRIES).get() > 0)
+         throw log.compactIndexWithMaxEntries();
+   }
+
    @Override
    public SingleFileStoreConfiguration create() {
       return new SingleFileStoreConfiguration(attributes.protect(), async.create(), singletonStore.create());
@@ -0,0 +1,18 @@
+package org.infinispan.configuration.cache;
+
+/**
+ * Enumeration defining where the data container keeps the entries of a cache.
+ *
+ * @since 9.0
+ */
+public enum StorageType {
+   /**
+    * Entries are stored on the Java heap as {@link org.infinispan.container.entries.InternalCacheEntry} instances.
+    */
+   OBJECT,
+   /**
+    * Entries are marshalled and stored in native memory outside of the Java heap. Cache entries are recreated from
+    * their binary form every time they are read.
+    */
+   OFF_HEAP,
+}
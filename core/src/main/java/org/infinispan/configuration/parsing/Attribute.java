@@ -15,9 +15,12 @@ public enum Attribute {
     // KEEP THESE IN ALPHABETICAL ORDER!
 
     ACQUIRE_TIMEOUT("acquire-timeout"),
+    ADDRESS_COUNT("address-count"),
     AFTER("after"),
     ALIASES("aliases"),
     ALLOW_DUPLICATE_DOMAINS("duplicate-domains"),
+    ASYNC_BATCH_DELAY("async-batch-delay"),
+    ASYNC_BATCH_SIZE("async-batch-size"),
     ASYNC_EXECUTOR("async-executor"),
     @Deprecated
     ASYNC_MARSHALLING("async-marshalling"),
@@ -31,6 +34,7 @@ public enum Attribute {
     CHUNK_SIZE("chunk-size"),
     CLASS("class"),
     CLUSTER("cluster"),
+    COMPACT_INDEX("compact-index"),
     COMPLETED_TX_TIMEOUT("complete-timeout"),
     CONCURRENCY_LEVEL("concurrency-level"),
     CONFIGURATION("configuration"),
@@ -38,6 +42,7 @@ public enum Attribute {
     CORE_THREADS("core-threads"),
     DATA_CONTAINER("data-container"),
     DEFAULT_CACHE("default-cache"),
+    DURABILITY("durability"),
     ENABLED("enabled"),
     EXECUTOR("executor"),
     @Deprecated
@@ -47,6 +52,7 @@ public enum Attribute {
     FETCH_STATE("fetch-state"),
     @Deprecated
     FLUSH_LOCK_TIMEOUT("flush-lock-timeout"),
+    GROUP_COMMIT("group-commit"),
     GROUP_NAME("group-name"),
     ID("id"),
     INDEX("index"),
@@ -74,6 +80,7 @@ public enum Attribute {
     MAX_RETRIES("max-retries"),
     MAX_THREADS("max-threads"),
     MBEAN_SERVER_LOOKUP("mbean-server-lookup"),
+    MEMORY_MAPPED("memory-mapped"),
     MODE("mode"),
     NODE_NAME("node-name"),
     MODIFICATION_QUEUE_SIZE("modification-queue-size"),
@@ -108,6 +115,7 @@ public enum Attribute {
     @Deprecated
     REPLICATION_QUEUE_EXECUTOR("replication-queue-executor"),
     ROLES("roles"),
+    SEGMENTED("segmented"),
     SEGMENTS("segments"),
     SHARED("shared"),
     SHUTDOWN_HOOK("shutdown-hook"),
@@ -129,6 +137,7 @@ public enum Attribute {
     STRIPING("striping"),
     STACK("stack"),
     STOP_TIMEOUT("stop-timeout"),
+    STORAGE("storage"),
     TAKE_BACKUP_OFFLINE_AFTER_FAILURES("after-failures"),
     TAKE_BACKUP_OFFLINE_MIN_WAIT("min-wait"),
     THREAD_FACTORY("thread-factory"),
@@ -408,6 +408,9 @@ private void writeDataContainer(XMLExtendedStreamWriter writer, Configuration co
          attributes.write(writer, DataContainerConfiguration.DATA_CONTAINER, Attribute.CLASS);
          attributes.write(writer, DataContainerConfiguration.KEY_EQUIVALENCE, Attribute.KEY_EQUIVALENCE);
          attributes.write(writer, DataContainerConfiguration.VALUE_EQUIVALENCE, Attribute.VALUE_EQUIVALENCE);
+         attributes.write(writer, DataContainerConfiguration.STORAGE_TYPE, Attribute.STORAGE);
+         attributes.write(writer, DataContainerConfiguration.ADDRESS_COUNT, Attribute.ADDRESS_COUNT);
+         attributes.write(writer, DataContainerConfiguration.SEGMENTED, Attribute.SEGMENTED);
          writeTypedProperties(writer, dataContainer.properties());
          writer.writeEndElement();
       }
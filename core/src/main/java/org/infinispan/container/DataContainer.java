@@ -3,9 +3,12 @@
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.Spliterators;
 import java.util.function.BiConsumer;
+import java.util.stream.StreamSupport;
 
 import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.expiration.ExpirationManager;
 import org.infinispan.factories.annotations.Stop;
 import org.infinispan.factories.scopes.Scope;
@@ -189,6 +192,69 @@
     */
    Iterator<InternalCacheEntry<K, V>> iteratorIncludingExpired();
 
+   /**
+    * Same as {@link DataContainer#iterator()} except that only the entries mapping to one of the given segments are
+    * returned.
+    * <p>The default implementation filters every entry of the container through {@code keyPartitioner}. Containers
+    * that partition their entries by segment only visit the requested segments.</p>
+    * @param segments the segments whose entries are returned
+    * @param keyPartitioner maps keys to segments, consistently with the cache's {@link KeyPartitioner}
+    * @return iterator that doesn't produce expired entries
+    */
+   default Iterator<InternalCacheEntry<K, V>> iterator(Set<Integer> segments, KeyPartitioner keyPartitioner) {
+      return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(), 0), false)
+            .filter(e -> segments.contains(keyPartitioner.getSegment(e.getKey()))).iterator();
+   }
+
+   /**
+    * Same as {@link DataContainer#iterator(Set, KeyPartitioner)} except that is also returns expired entries.
+    * @param segments the segments whose entries are returned
+    * @param keyPartitioner maps keys to segments, consistently with the cache's {@link KeyPartitioner}
+    * @return iterator that returns all entries of the given segments including expired ones
+    */
+   default Iterator<InternalCacheEntry<K, V>> iteratorIncludingExpired(Set<Integer> segments, KeyPartitioner keyPartitioner) {
+      return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iteratorIncludingExpired(), 0), false)
+            .filter(e -> segments.contains(keyPartitioner.getSegment(e.getKey()))).iterator();
+   }
+
+   /**
+    * @param segments the segments to count
+    * @param keyPartitioner maps keys to segments, consistently with the cache's {@link KeyPartitioner}
+    * @return count of the non-expired entries mapping to one of the given segments
+    */
+   default int size(Set<Integer> segments, KeyPartitioner keyPartitioner) {
+      int size = 0;
+      for (Iterator<InternalCacheEntry<K, V>> iter = iterator(segments, keyPartitioner); iter.hasNext(); ) {
+         iter.next();
+         if (++size == Integer.MAX_VALUE) return Integer.MAX_VALUE;
+      }
+      return size;
+   }
+
+   /**
+    * @param segments the segments to count
+    * @param keyPartitioner maps keys to segments, consistently with the cache's {@link KeyPartitioner}
+    * @return count of all the entries mapping to one of the given segments, including expired ones
+    */
+   default int sizeIncludingExpired(Set<Integer> segments, KeyPartitioner keyPartitioner) {
+      int size = 0;
+      for (Iterator<InternalCacheEntry<K, V>> iter = iteratorIncludingExpired(segments, keyPartitioner); iter.hasNext(); ) {
+         iter.next();
+         if (++size == Integer.MAX_VALUE) return Integer.MAX_VALUE;
+      }
+      return size;
+   }
+
+   /**
+    * Removes all the entries mapping to one of the given segments from the container, as if {@link #remove(Object)}
+    * was invoked for each of them.
+    * @param segments the segments whose entries are removed
+    * @param keyPartitioner maps keys to segments, consistently with the cache's {@link KeyPartitioner}
+    */
+   default void removeSegments(Set<Integer> segments, KeyPartitioner keyPartitioner) {
+      iteratorIncludingExpired(segments, keyPartitioner).forEachRemaining(e -> remove(e.getKey()));
+   }
+
    interface ComputeAction<K, V> {
 
       /**
@@ -233,6 +233,8 @@ public void put(K k, V v, Metadata metadata) {
 
       entries.compute(copy.getKey(), (key, entry) -> {
          activator.onUpdate(key, entry == null);
+         // Under the lock of the key, so that a concurrent remove cannot unschedule this entry
+         expirationManager.scheduleExpiration(copy);
          return copy;
       });
    }
@@ -252,6 +254,9 @@ public InternalCacheEntry<K, V> remove(Object k) {
       final InternalCacheEntry<K,V>[] reference = new InternalCacheEntry[1];
       entries.compute((K) k, (key, entry) -> {
          activator.onRemove(key, entry == null);
+         if (entry != null && entry.canExpire()) {
+            expirationManager.unscheduleExpiration(key);
+         }
          reference[0] = entry;
          return null;
       });
@@ -294,6 +299,8 @@ public int sizeIncludingExpired() {
    @Override
    public void clear() {
       log.tracef("Clearing data container");
+      // Before the entries, an entry written concurrently is unscheduled only if it is removed too
+      expirationManager.unscheduleAllExpirations();
       entries.clear();
    }
 
@@ -322,6 +329,9 @@ public void purgeExpired() {
    public void evict(K key) {
       entries.computeIfPresent(key, (o, entry) -> {
          passivator.passivate(entry);
+         if (entry.canExpire()) {
+            expirationManager.unscheduleExpiration(o);
+         }
          return null;
       });
    }
@@ -334,11 +344,15 @@ public InternalCacheEntry<K, V> compute(K key, ComputeAction<K, V> action) {
             return oldEntry;
          } else if (newEntry == null) {
             activator.onRemove(k, false);
+            if (oldEntry != null && oldEntry.canExpire()) {
+               expirationManager.unscheduleExpiration(k);
+            }
             return null;
          }
          activator.onUpdate(k, oldEntry == null);
          if (trace)
             log.tracef("Store %s in container", newEntry);
+         expirationManager.scheduleExpiration(newEntry);
          return newEntry;
       });
    }
@@ -357,6 +371,11 @@ private final class DefaultEvictionListener implements EvictionListener<K, Inter
 
       @Override
       public void onEntryEviction(Map<K, InternalCacheEntry<K, V>> evicted) {
+         for (InternalCacheEntry<K, V> entry : evicted.values()) {
+            if (entry.canExpire()) {
+               expirationManager.unscheduleExpiration(entry.getKey());
+            }
+         }
          evictionManager.onEntryEviction(evicted);
       }
 
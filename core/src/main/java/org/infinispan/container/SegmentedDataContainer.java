@@ -0,0 +1,498 @@
+package org.infinispan.container;
+
+import static org.infinispan.commons.util.Util.toStr;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+
+import org.infinispan.commons.equivalence.AnyEquivalence;
+import org.infinispan.commons.equivalence.Equivalence;
+import org.infinispan.commons.util.CollectionFactory;
+import org.infinispan.commons.util.concurrent.ParallelIterableMap;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.eviction.ActivationManager;
+import org.infinispan.eviction.PassivationManager;
+import org.infinispan.expiration.ExpirationManager;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.filter.KeyFilter;
+import org.infinispan.filter.KeyValueFilter;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.metadata.impl.L1Metadata;
+import org.infinispan.util.CoreImmutables;
+import org.infinispan.util.TimeService;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Unbounded data container that keeps the entries of each segment in a separate map.
+ * <p>
+ * The segment of a key is computed with the cache's {@link KeyPartitioner}, so the segment-scoped operations, e.g.
+ * {@link #iterator(Set, KeyPartitioner)} or {@link #sizeIncludingExpired(Set, KeyPartitioner)}, only visit the maps
+ * of the requested segments and ignore the partitioner passed by the caller.
+ *
+ * @since 9.0
+ */
+@ThreadSafe
+public class SegmentedDataContainer<K, V> implements DataContainer<K, V> {
+
+   private static final Log log = LogFactory.getLog(SegmentedDataContainer.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private final ConcurrentMap<K, InternalCacheEntry<K, V>>[] maps;
+   private KeyPartitioner keyPartitioner;
+   protected InternalEntryFactory entryFactory;
+   private PassivationManager passivator;
+   private ActivationManager activator;
+   private TimeService timeService;
+   private ExpirationManager<K, V> expirationManager;
+
+   @SuppressWarnings("unchecked")
+   public SegmentedDataContainer(int concurrencyLevel, int numSegments, Equivalence<? super K> keyEquivalence) {
+      maps = new ConcurrentMap[numSegments];
+      for (int i = 0; i < numSegments; i++) {
+         maps[i] = CollectionFactory.makeConcurrentParallelMap(16, concurrencyLevel, keyEquivalence,
+               AnyEquivalence.getInstance());
+      }
+   }
+
+   @Inject
+   public void initialize(KeyPartitioner keyPartitioner, PassivationManager passivator, InternalEntryFactory entryFactory,
+                          ActivationManager activator, TimeService timeService, ExpirationManager<K, V> expirationManager) {
+      this.keyPartitioner = keyPartitioner;
+      this.passivator = passivator;
+      this.entryFactory = entryFactory;
+      this.activator = activator;
+      this.timeService = timeService;
+      this.expirationManager = expirationManager;
+   }
+
+   private ConcurrentMap<K, InternalCacheEntry<K, V>> mapForKey(Object key) {
+      return maps[keyPartitioner.getSegment(key)];
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> peek(Object key) {
+      return mapForKey(key).get(key);
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> get(Object k) {
+      InternalCacheEntry<K, V> e = mapForKey(k).get(k);
+      if (e != null && e.canExpire()) {
+         long currentTimeMillis = timeService.wallClockTime();
+         if (e.isExpired(currentTimeMillis)) {
+            expirationManager.handleInMemoryExpiration(e, currentTimeMillis);
+            e = null;
+         } else {
+            e.touch(currentTimeMillis);
+         }
+      }
+      return e;
+   }
+
+   @Override
+   public void put(K k, V v, Metadata metadata) {
+      boolean l1Entry = false;
+      if (metadata instanceof L1Metadata) {
+         metadata = ((L1Metadata) metadata).metadata();
+         l1Entry = true;
+      }
+      ConcurrentMap<K, InternalCacheEntry<K, V>> map = mapForKey(k);
+      InternalCacheEntry<K, V> e = map.get(k);
+
+      if (trace) {
+         log.tracef("Creating new ICE for writing. Existing=%s, metadata=%s, new value=%s", e, metadata, toStr(v));
+      }
+      final InternalCacheEntry<K, V> copy;
+      if (l1Entry) {
+         copy = entryFactory.createL1(k, v, metadata);
+      } else if (e != null) {
+         copy = entryFactory.update(e, v, metadata);
+      } else {
+         // this is a brand-new entry
+         copy = entryFactory.create(k, v, metadata);
+      }
+
+      if (trace)
+         log.tracef("Store %s in container", copy);
+
+      map.compute(copy.getKey(), (key, entry) -> {
+         activator.onUpdate(key, entry == null);
+         // Under the lock of the key, so that a concurrent remove cannot unschedule this entry
+         expirationManager.scheduleExpiration(copy);
+         return copy;
+      });
+   }
+
+   @Override
+   public boolean containsKey(Object k) {
+      InternalCacheEntry<K, V> ice = peek(k);
+      if (ice != null && ice.canExpire() && ice.isExpired(timeService.wallClockTime())) {
+         mapForKey(k).remove(k);
+         ice = null;
+      }
+      return ice != null;
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> remove(Object k) {
+      final InternalCacheEntry<K,V>[] reference = new InternalCacheEntry[1];
+      mapForKey(k).compute((K) k, (key, entry) -> {
+         activator.onRemove(key, entry == null);
+         if (entry != null && entry.canExpire()) {
+            expirationManager.unscheduleExpiration(key);
+         }
+         reference[0] = entry;
+         return null;
+      });
+      InternalCacheEntry<K, V> e = reference[0];
+      return e == null || (e.canExpire() && e.isExpired(timeService.wallClockTime())) ? null : e;
+   }
+
+   @Override
+   public int size() {
+      return size(allSegments());
+   }
+
+   @Override
+   public int sizeIncludingExpired() {
+      return sizeIncludingExpired(allSegments());
+   }
+
+   @Override
+   public int size(Set<Integer> segments, KeyPartitioner keyPartitioner) {
+      return size(segments.stream().mapToInt(Integer::intValue));
+   }
+
+   @Override
+   public int sizeIncludingExpired(Set<Integer> segments, KeyPartitioner keyPartitioner) {
+      return sizeIncludingExpired(segments.stream().mapToInt(Integer::intValue));
+   }
+
+   private int size(IntStream segments) {
+      int size = 0;
+      // We have to loop through to make sure to remove expired entries
+      for (Iterator<InternalCacheEntry<K, V>> iter = new EntryIterator(segments, false); iter.hasNext(); ) {
+         iter.next();
+         if (++size == Integer.MAX_VALUE) return Integer.MAX_VALUE;
+      }
+      return size;
+   }
+
+   private int sizeIncludingExpired(IntStream segments) {
+      long size = segments.mapToLong(segment -> maps[segment].size()).sum();
+      return (int) Math.min(size, Integer.MAX_VALUE);
+   }
+
+   @Override
+   public void clear() {
+      log.tracef("Clearing data container");
+      // Before the entries, an entry written concurrently is unscheduled only if it is removed too
+      expirationManager.unscheduleAllExpirations();
+      for (ConcurrentMap<K, InternalCacheEntry<K, V>> map : maps) {
+         map.clear();
+      }
+   }
+
+   @Override
+   public void removeSegments(Set<Integer> segments, KeyPartitioner keyPartitioner) {
+      for (Integer segment : segments) {
+         ConcurrentMap<K, InternalCacheEntry<K, V>> map = maps[segment];
+         for (K key : map.keySet()) {
+            remove(key);
+         }
+      }
+   }
+
+   @Override
+   public Set<K> keySet() {
+      return new KeySet();
+   }
+
+   @Override
+   public Collection<V> values() {
+      return new Values();
+   }
+
+   @Override
+   public Set<InternalCacheEntry<K, V>> entrySet() {
+      return new EntrySet();
+   }
+
+   @Override
+   public void purgeExpired() {
+      // Just calls to expiration manager to handle this
+      expirationManager.processExpiration();
+   }
+
+   @Override
+   public void evict(K key) {
+      mapForKey(key).computeIfPresent(key, (o, entry) -> {
+         passivator.passivate(entry);
+         if (entry.canExpire()) {
+            expirationManager.unscheduleExpiration(o);
+         }
+         return null;
+      });
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> compute(K key, ComputeAction<K, V> action) {
+      return mapForKey(key).compute(key, (k, oldEntry) -> {
+         InternalCacheEntry<K, V> newEntry = action.compute(k, oldEntry, entryFactory);
+         if (newEntry == oldEntry) {
+            return oldEntry;
+         } else if (newEntry == null) {
+            activator.onRemove(k, false);
+            if (oldEntry != null && oldEntry.canExpire()) {
+               expirationManager.unscheduleExpiration(k);
+            }
+            return null;
+         }
+         activator.onUpdate(k, oldEntry == null);
+         if (trace)
+            log.tracef("Store %s in container", newEntry);
+         expirationManager.scheduleExpiration(newEntry);
+         return newEntry;
+      });
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iterator() {
+      return new EntryIterator(allSegments(), false);
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iteratorIncludingExpired() {
+      return new EntryIterator(allSegments(), true);
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iterator(Set<Integer> segments, KeyPartitioner keyPartitioner) {
+      return new EntryIterator(segments.stream().mapToInt(Integer::intValue), false);
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iteratorIncludingExpired(Set<Integer> segments, KeyPartitioner keyPartitioner) {
+      return new EntryIterator(segments.stream().mapToInt(Integer::intValue), true);
+   }
+
+   @Override
+   public void executeTask(final KeyFilter<? super K> filter, final BiConsumer<? super K, InternalCacheEntry<K, V>> action)
+         throws InterruptedException {
+      if (filter == null)
+         throw new IllegalArgumentException("No filter specified");
+      if (action == null)
+         throw new IllegalArgumentException("No action specified");
+
+      for (ConcurrentMap<K, InternalCacheEntry<K, V>> map : maps) {
+         ((ParallelIterableMap<K, InternalCacheEntry<K, V>>) map).forEach(32, (K key, InternalCacheEntry<K, V> value) -> {
+            if (filter.accept(key)) {
+               action.accept(key, value);
+            }
+         });
+         if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException();
+         }
+      }
+   }
+
+   @Override
+   public void executeTask(final KeyValueFilter<? super K, ? super V> filter, final BiConsumer<? super K, InternalCacheEntry<K, V>> action)
+         throws InterruptedException {
+      if (filter == null)
+         throw new IllegalArgumentException("No filter specified");
+      if (action == null)
+         throw new IllegalArgumentException("No action specified");
+
+      for (ConcurrentMap<K, InternalCacheEntry<K, V>> map : maps) {
+         ((ParallelIterableMap<K, InternalCacheEntry<K, V>>) map).forEach(32, (K key, InternalCacheEntry<K, V> value) -> {
+            if (filter.accept(key, value.getValue(), value.getMetadata())) {
+               action.accept(key, value);
+            }
+         });
+         if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException();
+         }
+      }
+   }
+
+   private IntStream allSegments() {
+      return IntStream.range(0, maps.length);
+   }
+
+   /**
+    * Iterates over the maps of the given segments, one after the other.
+    */
+   private class EntryIterator implements Iterator<InternalCacheEntry<K, V>> {
+
+      private final PrimitiveIterator.OfInt segments;
+      private final boolean includeExpired;
+
+      private Iterator<InternalCacheEntry<K, V>> current;
+      private InternalCacheEntry<K, V> next;
+      private long now = -1;
+
+      EntryIterator(IntStream segments, boolean includeExpired) {
+         this.segments = segments.iterator();
+         this.includeExpired = includeExpired;
+      }
+
+      private InternalCacheEntry<K, V> getNext() {
+         while (true) {
+            while (current == null || !current.hasNext()) {
+               if (!segments.hasNext()) {
+                  return null;
+               }
+               current = maps[segments.nextInt()].values().iterator();
+            }
+            InternalCacheEntry<K, V> entry = current.next();
+            if (includeExpired || !entry.canExpire()) {
+               return entry;
+            }
+            if (now == -1) {
+               now = timeService.wallClockTime();
+            }
+            if (!entry.isExpired(now)) {
+               return entry;
+            }
+         }
+      }
+
+      @Override
+      public InternalCacheEntry<K, V> next() {
+         if (next == null) {
+            next = getNext();
+         }
+         if (next == null) {
+            throw new NoSuchElementException();
+         }
+         InternalCacheEntry<K, V> toReturn = next;
+         next = null;
+         return toReturn;
+      }
+
+      @Override
+      public boolean hasNext() {
+         if (next == null) {
+            next = getNext();
+         }
+         return next != null;
+      }
+   }
+
+   /**
+    * Minimal implementation needed for unmodifiable Set
+    *
+    */
+   private class KeySet extends AbstractSet<K> {
+
+      @Override
+      public boolean contains(Object o) {
+         return mapForKey(o).containsKey(o);
+      }
+
+      @Override
+      public Iterator<K> iterator() {
+         Iterator<InternalCacheEntry<K, V>> it = new EntryIterator(allSegments(), true);
+         return new Iterator<K>() {
+            @Override
+            public boolean hasNext() {
+               return it.hasNext();
+            }
+
+            @Override
+            public K next() {
+               return it.next().getKey();
+            }
+         };
+      }
+
+      @Override
+      public int size() {
+         return sizeIncludingExpired();
+      }
+   }
+
+   /**
+    * Minimal implementation needed for unmodifiable Set
+    *
+    */
+   private class EntrySet extends AbstractSet<InternalCacheEntry<K, V>> {
+
+      @Override
+      public boolean contains(Object o) {
+         if (!(o instanceof Map.Entry)) {
+            return false;
+         }
+
+         @SuppressWarnings("rawtypes")
+         Map.Entry e = (Map.Entry) o;
+         InternalCacheEntry ice = peek(e.getKey());
+         if (ice == null) {
+            return false;
+         }
+         return ice.getValue().equals(e.getValue());
+      }
+
+      @Override
+      public Iterator<InternalCacheEntry<K, V>> iterator() {
+         Iterator<InternalCacheEntry<K, V>> it = new EntryIterator(allSegments(), false);
+         return new Iterator<InternalCacheEntry<K, V>>() {
+            @Override
+            public boolean hasNext() {
+               return it.hasNext();
+            }
+
+            @Override
+            public InternalCacheEntry<K, V> next() {
+               return CoreImmutables.immutableInternalCacheEntry(it.next());
+            }
+         };
+      }
+
+      @Override
+      public int size() {
+         return sizeIncludingExpired();
+      }
+   }
+
+   /**
+    * Minimal implementation needed for unmodifiable Collection
+    *
+    */
+   private class Values extends AbstractCollection<V> {
+      @Override
+      public Iterator<V> iterator() {
+         Iterator<InternalCacheEntry<K, V>> it = new EntryIterator(allSegments(), true);
+         return new Iterator<V>() {
+            @Override
+            public boolean hasNext() {
+               return it.hasNext();
+            }
+
+            @Override
+            public V next() {
+               return it.next().getValue();
+            }
+         };
+      }
+
+      @Override
+      public int size() {
+         return sizeIncludingExpired();
+      }
+   }
+}
@@ -0,0 +1,1060 @@
+package org.infinispan.container.offheap;
+
+import static org.infinispan.container.offheap.OffHeapMemory.getByte;
+import static org.infinispan.container.offheap.OffHeapMemory.getInt;
+import static org.infinispan.container.offheap.OffHeapMemory.getLong;
+import static org.infinispan.container.offheap.OffHeapMemory.putByte;
+import static org.infinispan.container.offheap.OffHeapMemory.putInt;
+import static org.infinispan.container.offheap.OffHeapMemory.putLong;
+
+import java.io.IOException;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+import org.infinispan.IllegalLifecycleStateException;
+import org.infinispan.commons.CacheException;
+import org.infinispan.commons.equivalence.Equivalence;
+import org.infinispan.commons.io.ByteBuffer;
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.commons.util.Util;
+import org.infinispan.container.DataContainer;
+import org.infinispan.container.InternalEntryFactory;
+import org.infinispan.container.entries.ExpiryHelper;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.eviction.ActivationManager;
+import org.infinispan.eviction.EvictionManager;
+import org.infinispan.eviction.EvictionType;
+import org.infinispan.eviction.PassivationManager;
+import org.infinispan.expiration.ExpirationManager;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.annotations.Stop;
+import org.infinispan.filter.KeyFilter;
+import org.infinispan.filter.KeyValueFilter;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.metadata.impl.L1Metadata;
+import org.infinispan.util.CoreImmutables;
+import org.infinispan.util.TimeService;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Data container that keeps the marshalled form of every entry in native memory, outside of the Java heap.
+ * <p>
+ * Entries are located through a fixed size hash table of {@code addressCount} buckets, each holding the address of
+ * the first entry of its collision chain. Every entry is a single native memory block with the following layout:
+ * <pre>
+ *    8 bytes  address of the next entry in the bucket
+ *    8 bytes  address of the previous entry in the LRU list
+ *    8 bytes  address of the next entry in the LRU list
+ *    8 bytes  created timestamp
+ *    8 bytes  last used timestamp
+ *    8 bytes  lifespan
+ *    8 bytes  max idle
+ *    4 bytes  key hash code
+ *    4 bytes  key length
+ *    4 bytes  metadata length
+ *    4 bytes  value length
+ *    1 byte   flags
+ *    n bytes  key, metadata and value
+ * </pre>
+ * The timestamps are kept in the header so that expiration can be checked without unmarshalling the entry.
+ * {@link InternalCacheEntry} instances are only created when an entry is read, therefore entries returned by this
+ * container are copies: modifying them has no effect unless they are written back via {@link #put(Object, Object,
+ * Metadata)} or {@link #compute(Object, ComputeAction)}.
+ * <p>
+ * Buckets are guarded by a set of striped read/write locks where each lock covers a contiguous range of buckets.
+ * When the container is bounded an LRU list is threaded through the entries, which is used to evict entries once the
+ * number of entries, or the amount of native memory used by them, exceeds the configured size.
+ *
+ * @since 9.0
+ */
+@ThreadSafe
+public class OffHeapDataContainer<K, V> implements DataContainer<K, V> {
+
+   private static final Log log = LogFactory.getLog(OffHeapDataContainer.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private static final int NEXT_OFFSET = 0;
+   private static final int LRU_PREVIOUS_OFFSET = 8;
+   private static final int LRU_NEXT_OFFSET = 16;
+   private static final int CREATED_OFFSET = 24;
+   private static final int LAST_USED_OFFSET = 32;
+   private static final int LIFESPAN_OFFSET = 40;
+   private static final int MAX_IDLE_OFFSET = 48;
+   private static final int HASH_OFFSET = 56;
+   private static final int KEY_LENGTH_OFFSET = 60;
+   private static final int METADATA_LENGTH_OFFSET = 64;
+   private static final int VALUE_LENGTH_OFFSET = 68;
+   private static final int FLAGS_OFFSET = 72;
+   private static final int HEADER_SIZE = 73;
+
+   private static final byte L1_FLAG = 1;
+
+   // Maximum number of entries unmarshalled while holding a lock during iteration
+   private static final int ITERATION_BATCH_SIZE = 128;
+
+   private final int addressCount;
+   private final ReentrantReadWriteLock[] locks;
+   private final int lockShift;
+   private final Equivalence<? super K> keyEquivalence;
+   private final EvictionType evictionType;
+   private final ReentrantLock lruLock;
+   private final AtomicLong entryCount = new AtomicLong();
+   private final AtomicLong memoryUsed = new AtomicLong();
+
+   private volatile long maxSize;
+   // Address of the bucket array, 0 when the container is stopped. Only modified while holding all the write locks.
+   private volatile long buckets;
+   // Both guarded by lruLock
+   private long lruHead;
+   private long lruTail;
+
+   private StreamingMarshaller marshaller;
+   private InternalEntryFactory entryFactory;
+   private EvictionManager evictionManager;
+   private PassivationManager passivator;
+   private ActivationManager activator;
+   private TimeService timeService;
+   private ExpirationManager<K, V> expirationManager;
+
+   protected OffHeapDataContainer(int concurrencyLevel, int addressCount, Equivalence<? super K> keyEquivalence,
+                                  long maxSize, EvictionType evictionType) {
+      this.addressCount = Util.findNextHighestPowerOfTwo(addressCount);
+      int lockCount = Math.min(Util.findNextHighestPowerOfTwo(Math.max(concurrencyLevel, 1)), this.addressCount);
+      this.locks = new ReentrantReadWriteLock[lockCount];
+      for (int i = 0; i < lockCount; ++i) {
+         locks[i] = new ReentrantReadWriteLock();
+      }
+      this.lockShift = Integer.numberOfTrailingZeros(this.addressCount) - Integer.numberOfTrailingZeros(lockCount);
+      this.keyEquivalence = keyEquivalence;
+      this.maxSize = maxSize;
+      this.evictionType = evictionType;
+      this.lruLock = maxSize >= 0 ? new ReentrantLock() : null;
+      allocate();
+   }
+
+   public static <K, V> OffHeapDataContainer<K, V> boundedDataContainer(int concurrencyLevel, int addressCount,
+                                                                        Equivalence<? super K> keyEquivalence,
+                                                                        long maxSize, EvictionType evictionType) {
+      return new OffHeapDataContainer<>(concurrencyLevel, addressCount, keyEquivalence, maxSize, evictionType);
+   }
+
+   public static <K, V> OffHeapDataContainer<K, V> unBoundedDataContainer(int concurrencyLevel, int addressCount,
+                                                                          Equivalence<? super K> keyEquivalence) {
+      return new OffHeapDataContainer<>(concurrencyLevel, addressCount, keyEquivalence, -1, EvictionType.COUNT);
+   }
+
+   @Inject
+   public void initialize(StreamingMarshaller marshaller, EvictionManager evictionManager,
+                          PassivationManager passivator, InternalEntryFactory entryFactory,
+                          ActivationManager activator, TimeService timeService,
+                          ExpirationManager<K, V> expirationManager) {
+      this.marshaller = marshaller;
+      this.evictionManager = evictionManager;
+      this.passivator = passivator;
+      this.entryFactory = entryFactory;
+      this.activator = activator;
+      this.timeService = timeService;
+      this.expirationManager = expirationManager;
+   }
+
+   @Start(priority = 1)
+   public void allocate() {
+      lockAll();
+      try {
+         if (buckets == 0) {
+            long size = (long) addressCount << 3;
+            long address = OffHeapMemory.allocate(size);
+            OffHeapMemory.zero(address, size);
+            buckets = address;
+         }
+      } finally {
+         unlockAll();
+      }
+   }
+
+   /**
+    * Releases all the native memory held by this container, including the bucket array. The container rejects writes
+    * until it is started again.
+    */
+   @Stop(priority = 1000)
+   public void deallocate() {
+      clear();
+      lockAll();
+      try {
+         if (buckets != 0) {
+            OffHeapMemory.free(buckets);
+            buckets = 0;
+         }
+      } finally {
+         unlockAll();
+      }
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> get(Object k) {
+      int hash = hash(k);
+      InternalCacheEntry<K, V> e;
+      long now = 0;
+      boolean expired = false;
+      Lock lock = lockFor(hash).readLock();
+      lock.lock();
+      try {
+         long address = find(hash, k);
+         if (address == 0) {
+            return null;
+         }
+         e = toEntry(address);
+         if (e.canExpire()) {
+            now = timeService.wallClockTime();
+            if (e.isExpired(now)) {
+               expired = true;
+            } else if (e.getMaxIdle() > -1) {
+               e.touch(now);
+               putLong(address + LAST_USED_OFFSET, now);
+            }
+         }
+         if (!expired) {
+            lruTouch(address);
+         }
+      } finally {
+         lock.unlock();
+      }
+      if (expired) {
+         // Expiration requires the write lock, which cannot be acquired while holding the read lock
+         expirationManager.handleInMemoryExpiration(e, now);
+         return null;
+      }
+      return e;
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> peek(Object k) {
+      int hash = hash(k);
+      Lock lock = lockFor(hash).readLock();
+      lock.lock();
+      try {
+         long address = find(hash, k);
+         return address == 0 ? null : toEntry(address);
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   @Override
+   public void put(K k, V v, Metadata metadata) {
+      boolean l1Entry = false;
+      if (metadata instanceof L1Metadata) {
+         metadata = ((L1Metadata) metadata).metadata();
+         l1Entry = true;
+      }
+      InternalCacheEntry<K, V> entry = l1Entry ? entryFactory.createL1(k, v, metadata) : entryFactory.create(k, v, metadata);
+      if (trace)
+         log.tracef("Store %s in off-heap container", entry);
+
+      // Marshall before acquiring the lock
+      int hash = hash(k);
+      ByteBuffer keyBytes = marshall(k);
+      ByteBuffer metadataBytes = marshall(metadata);
+      ByteBuffer valueBytes = marshall(v);
+      Lock lock = lockFor(hash).writeLock();
+      lock.lock();
+      try {
+         long pointer = bucketPointer(hash, true);
+         long newAddress = store(hash, keyBytes, metadataBytes, valueBytes, entry, l1Entry);
+         long oldAddress = link(pointer, hash, k, newAddress);
+         activator.onUpdate(k, oldAddress == 0);
+         if (oldAddress != 0) {
+            release(oldAddress);
+         }
+         // Under the lock of the key, so that a concurrent remove cannot unschedule this entry
+         expirationManager.scheduleExpiration(entry);
+      } finally {
+         lock.unlock();
+      }
+      ensureCapacity();
+   }
+
+   @Override
+   public boolean containsKey(Object k) {
+      int hash = hash(k);
+      Lock lock = lockFor(hash).readLock();
+      lock.lock();
+      try {
+         long address = find(hash, k);
+         return address != 0 && !isExpired(address, timeService.wallClockTime());
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> remove(Object k) {
+      int hash = hash(k);
+      InternalCacheEntry<K, V> e = null;
+      Lock lock = lockFor(hash).writeLock();
+      lock.lock();
+      try {
+         long address = unlink(bucketPointer(hash, false), hash, k);
+         activator.onRemove(k, address == 0);
+         if (address != 0) {
+            e = toEntry(address);
+            release(address);
+            if (e.canExpire()) {
+               expirationManager.unscheduleExpiration((K) k);
+            }
+         }
+      } finally {
+         lock.unlock();
+      }
+      return e == null || (e.canExpire() && e.isExpired(timeService.wallClockTime())) ? null : e;
+   }
+
+   @Override
+   public int size() {
+      long size = 0;
+      long now = timeService.wallClockTime();
+      for (int i = 0; i < locks.length; ++i) {
+         Lock lock = locks[i].readLock();
+         lock.lock();
+         try {
+            long bucketArray = buckets;
+            if (bucketArray == 0) {
+               return 0;
+            }
+            for (int bucket = i << lockShift; bucket < (i + 1) << lockShift; ++bucket) {
+               for (long address = getLong(bucketArray + ((long) bucket << 3)); address != 0;
+                    address = getLong(address + NEXT_OFFSET)) {
+                  if (!isExpired(address, now)) {
+                     ++size;
+                  }
+               }
+            }
+         } finally {
+            lock.unlock();
+         }
+      }
+      return (int) Math.min(size, Integer.MAX_VALUE);
+   }
+
+   @Override
+   public int sizeIncludingExpired() {
+      return (int) Math.min(entryCount.get(), Integer.MAX_VALUE);
+   }
+
+   @Override
+   public void clear() {
+      log.tracef("Clearing off-heap data container");
+      // Before the entries, an entry written concurrently is unscheduled only if it is removed too
+      expirationManager.unscheduleAllExpirations();
+      for (int i = 0; i < locks.length; ++i) {
+         Lock lock = locks[i].writeLock();
+         lock.lock();
+         try {
+            long bucketArray = buckets;
+            if (bucketArray == 0) {
+               return;
+            }
+            for (int bucket = i << lockShift; bucket < (i + 1) << lockShift; ++bucket) {
+               long pointer = bucketArray + ((long) bucket << 3);
+               long address = getLong(pointer);
+               putLong(pointer, 0);
+               while (address != 0) {
+                  long next = getLong(address + NEXT_OFFSET);
+                  entryCount.decrementAndGet();
+                  release(address);
+                  address = next;
+               }
+            }
+         } finally {
+            lock.unlock();
+         }
+      }
+   }
+
+   @Override
+   public Set<K> keySet() {
+      return new KeySet();
+   }
+
+   @Override
+   public Collection<V> values() {
+      return new Values();
+   }
+
+   @Override
+   public Set<InternalCacheEntry<K, V>> entrySet() {
+      return new EntrySet();
+   }
+
+   @Override
+   public void purgeExpired() {
+      // Just calls to expiration manager to handle this
+      expirationManager.processExpiration();
+   }
+
+   @Override
+   public void evict(K key) {
+      int hash = hash(key);
+      Lock lock = lockFor(hash).writeLock();
+      lock.lock();
+      try {
+         long address = unlink(bucketPointer(hash, false), hash, key);
+         if (address != 0) {
+            InternalCacheEntry<K, V> entry = toEntry(address);
+            passivator.passivate(entry);
+            release(address);
+            if (entry.canExpire()) {
+               expirationManager.unscheduleExpiration(key);
+            }
+         }
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> compute(K key, ComputeAction<K, V> action) {
+      int hash = hash(key);
+      InternalCacheEntry<K, V> newEntry;
+      Lock lock = lockFor(hash).writeLock();
+      lock.lock();
+      try {
+         long pointer = bucketPointer(hash, true);
+         long oldAddress = find(pointer, hash, key);
+         InternalCacheEntry<K, V> oldEntry = oldAddress == 0 ? null : toEntry(oldAddress);
+         V oldValue = null;
+         Metadata oldMetadata = null;
+         long oldCreated = -1;
+         long oldLastUsed = -1;
+         if (oldEntry != null) {
+            oldValue = oldEntry.getValue();
+            oldMetadata = oldEntry.getMetadata();
+            oldCreated = oldEntry.getCreated();
+            oldLastUsed = oldEntry.getLastUsed();
+         }
+         newEntry = action.compute(key, oldEntry, entryFactory);
+         // Actions are allowed to update the old entry in place and return it, so identity is not enough
+         if (newEntry == oldEntry && (oldEntry == null || (oldEntry.getValue() == oldValue &&
+               oldEntry.getMetadata() == oldMetadata && oldEntry.getCreated() == oldCreated &&
+               oldEntry.getLastUsed() == oldLastUsed))) {
+            return oldEntry;
+         } else if (newEntry == null) {
+            unlinkAddress(pointer, oldAddress);
+            release(oldAddress);
+            activator.onRemove(key, false);
+            if (oldEntry.canExpire()) {
+               expirationManager.unscheduleExpiration(key);
+            }
+            return null;
+         }
+         if (trace)
+            log.tracef("Store %s in off-heap container", newEntry);
+         long newAddress = store(hash, marshall(key), marshall(newEntry.getMetadata()), marshall(newEntry.getValue()),
+               newEntry, newEntry.isL1Entry());
+         link(pointer, hash, key, newAddress);
+         activator.onUpdate(key, oldEntry == null);
+         if (oldAddress != 0) {
+            release(oldAddress);
+         }
+         expirationManager.scheduleExpiration(newEntry);
+      } finally {
+         lock.unlock();
+      }
+      ensureCapacity();
+      return newEntry;
+   }
+
+   @Override
+   public void executeTask(KeyFilter<? super K> filter, BiConsumer<? super K, InternalCacheEntry<K, V>> action)
+         throws InterruptedException {
+      if (filter == null)
+         throw new IllegalArgumentException("No filter specified");
+      if (action == null)
+         throw new IllegalArgumentException("No action specified");
+
+      for (Iterator<InternalCacheEntry<K, V>> iterator = iteratorIncludingExpired(); iterator.hasNext(); ) {
+         InternalCacheEntry<K, V> entry = iterator.next();
+         if (filter.accept(entry.getKey())) {
+            action.accept(entry.getKey(), entry);
+         }
+         if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException();
+         }
+      }
+   }
+
+   @Override
+   public void executeTask(KeyValueFilter<? super K, ? super V> filter,
+                           BiConsumer<? super K, InternalCacheEntry<K, V>> action) throws InterruptedException {
+      if (filter == null)
+         throw new IllegalArgumentException("No filter specified");
+      if (action == null)
+         throw new IllegalArgumentException("No action specified");
+
+      for (Iterator<InternalCacheEntry<K, V>> iterator = iteratorIncludingExpired(); iterator.hasNext(); ) {
+         InternalCacheEntry<K, V> entry = iterator.next();
+         if (filter.accept(entry.getKey(), entry.getValue(), entry.getMetadata())) {
+            action.accept(entry.getKey(), entry);
+         }
+         if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException();
+         }
+      }
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iterator() {
+      return new EntryIterator(false);
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iteratorIncludingExpired() {
+      return new EntryIterator(true);
+   }
+
+   @Override
+   public void resize(long newSize) {
+      if (lruLock == null) {
+         throw new UnsupportedOperationException();
+      }
+      maxSize = newSize;
+      ensureCapacity();
+   }
+
+   @Override
+   public long capacity() {
+      if (lruLock == null) {
+         throw new UnsupportedOperationException();
+      }
+      return maxSize;
+   }
+
+   /**
+    * @return the number of bytes of native memory currently used by the entries of this container, excluding the
+    * bucket array
+    */
+   public long memoryUsed() {
+      return memoryUsed.get();
+   }
+
+   private int hash(Object key) {
+      int h = keyEquivalence.hashCode(key);
+      return h ^ (h >>> 16);
+   }
+
+   private ReentrantReadWriteLock lockFor(int hash) {
+      return locks[(hash & (addressCount - 1)) >>> lockShift];
+   }
+
+   /**
+    * Returns the address of the bucket slot for the given hash. Must be invoked while holding the lock for the hash.
+    *
+    * @param failIfStopped whether an exception is thrown when the container was stopped, otherwise 0 is returned
+    */
+   private long bucketPointer(int hash, boolean failIfStopped) {
+      long bucketArray = buckets;
+      if (bucketArray == 0) {
+         if (failIfStopped) {
+            throw new IllegalLifecycleStateException("The off-heap data container has been stopped");
+         }
+         return 0;
+      }
+      return bucketArray + ((long) (hash & (addressCount - 1)) << 3);
+   }
+
+   private long find(int hash, Object key) {
+      return find(bucketPointer(hash, false), hash, key);
+   }
+
+   private long find(long pointer, int hash, Object key) {
+      if (pointer == 0) {
+         return 0;
+      }
+      for (long address = getLong(pointer); address != 0; address = getLong(address + NEXT_OFFSET)) {
+         if (matches(address, hash, key)) {
+            return address;
+         }
+      }
+      return 0;
+   }
+
+   private boolean matches(long address, int hash, Object key) {
+      return getInt(address + HASH_OFFSET) == hash && keyEquivalence.equals(readKey(address), key);
+   }
+
+   /**
+    * Links the new entry into the bucket, replacing the entry with the same key if present.
+    *
+    * @return the address of the replaced entry, which is no longer reachable, or 0 if there was none
+    */
+   private long link(long pointer, int hash, Object key, long newAddress) {
+      long previous = 0;
+      for (long address = getLong(pointer); address != 0; address = getLong(address + NEXT_OFFSET)) {
+         if (matches(address, hash, key)) {
+            putLong(newAddress + NEXT_OFFSET, getLong(address + NEXT_OFFSET));
+            putLong(previous == 0 ? pointer : previous + NEXT_OFFSET, newAddress);
+            return address;
+         }
+         previous = address;
+      }
+      putLong(newAddress + NEXT_OFFSET, getLong(pointer));
+      putLong(pointer, newAddress);
+      entryCount.incrementAndGet();
+      return 0;
+   }
+
+   /**
+    * Unlinks the entry for the key from its bucket.
+    *
+    * @return the address of the unlinked entry or 0 if there was none
+    */
+   private long unlink(long pointer, int hash, Object key) {
+      if (pointer == 0) {
+         return 0;
+      }
+      long previous = 0;
+      for (long address = getLong(pointer); address != 0; address = getLong(address + NEXT_OFFSET)) {
+         if (matches(address, hash, key)) {
+            putLong(previous == 0 ? pointer : previous + NEXT_OFFSET, getLong(address + NEXT_OFFSET));
+            entryCount.decrementAndGet();
+            return address;
+         }
+         previous = address;
+      }
+      return 0;
+   }
+
+   private boolean unlinkAddress(long pointer, long target) {
+      long previous = 0;
+      for (long address = getLong(pointer); address != 0; address = getLong(address + NEXT_OFFSET)) {
+         if (address == target) {
+            putLong(previous == 0 ? pointer : previous + NEXT_OFFSET, getLong(address + NEXT_OFFSET));
+            entryCount.decrementAndGet();
+            return true;
+         }
+         previous = address;
+      }
+      return false;
+   }
+
+   private long store(int hash, ByteBuffer key, ByteBuffer metadata, ByteBuffer value, InternalCacheEntry<K, V> entry,
+                      boolean l1Entry) {
+      long size = (long) HEADER_SIZE + key.getLength() + metadata.getLength() + value.getLength();
+      long address = OffHeapMemory.allocate(size);
+      memoryUsed.addAndGet(size);
+      putLong(address + NEXT_OFFSET, 0);
+      putLong(address + LRU_PREVIOUS_OFFSET, 0);
+      putLong(address + LRU_NEXT_OFFSET, 0);
+      putLong(address + CREATED_OFFSET, entry.getCreated());
+      putLong(address + LAST_USED_OFFSET, entry.getLastUsed());
+      putLong(address + LIFESPAN_OFFSET, entry.getLifespan());
+      putLong(address + MAX_IDLE_OFFSET, entry.getMaxIdle());
+      putInt(address + HASH_OFFSET, hash);
+      putInt(address + KEY_LENGTH_OFFSET, key.getLength());
+      putInt(address + METADATA_LENGTH_OFFSET, metadata.getLength());
+      putInt(address + VALUE_LENGTH_OFFSET, value.getLength());
+      putByte(address + FLAGS_OFFSET, l1Entry ? L1_FLAG : 0);
+      long offset = address + HEADER_SIZE;
+      OffHeapMemory.putBytes(offset, key.getBuf(), key.getOffset(), key.getLength());
+      offset += key.getLength();
+      OffHeapMemory.putBytes(offset, metadata.getBuf(), metadata.getOffset(), metadata.getLength());
+      offset += metadata.getLength();
+      OffHeapMemory.putBytes(offset, value.getBuf(), value.getOffset(), value.getLength());
+      lruAdd(address);
+      return address;
+   }
+
+   /**
+    * Frees an entry which is no longer reachable from its bucket.
+    */
+   private void release(long address) {
+      lruRemove(address);
+      memoryUsed.addAndGet(-entrySize(address));
+      OffHeapMemory.free(address);
+   }
+
+   private long entrySize(long address) {
+      return (long) HEADER_SIZE + getInt(address + KEY_LENGTH_OFFSET) + getInt(address + METADATA_LENGTH_OFFSET) +
+            getInt(address + VALUE_LENGTH_OFFSET);
+   }
+
+   private boolean isExpired(long address, long now) {
+      return ExpiryHelper.isExpiredTransientMortal(getLong(address + MAX_IDLE_OFFSET),
+            getLong(address + LAST_USED_OFFSET), getLong(address + LIFESPAN_OFFSET), getLong(address + CREATED_OFFSET),
+            now);
+   }
+
+   private K readKey(long address) {
+      return unmarshall(address + HEADER_SIZE, getInt(address + KEY_LENGTH_OFFSET));
+   }
+
+   private InternalCacheEntry<K, V> toEntry(long address) {
+      int keyLength = getInt(address + KEY_LENGTH_OFFSET);
+      int metadataLength = getInt(address + METADATA_LENGTH_OFFSET);
+      long offset = address + HEADER_SIZE;
+      K key = unmarshall(offset, keyLength);
+      offset += keyLength;
+      Metadata metadata = unmarshall(offset, metadataLength);
+      offset += metadataLength;
+      V value = unmarshall(offset, getInt(address + VALUE_LENGTH_OFFSET));
+      long created = getLong(address + CREATED_OFFSET);
+      if ((getByte(address + FLAGS_OFFSET) & L1_FLAG) != 0) {
+         InternalCacheEntry<K, V> entry = entryFactory.createL1(key, value, metadata);
+         entry.reincarnate(created);
+         return entry;
+      }
+      return entryFactory.create(key, value, metadata, created, getLong(address + LIFESPAN_OFFSET),
+            getLong(address + LAST_USED_OFFSET), getLong(address + MAX_IDLE_OFFSET));
+   }
+
+   private ByteBuffer marshall(Object o) {
+      try {
+         return marshaller.objectToBuffer(o);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new CacheException(e);
+      } catch (IOException e) {
+         throw new CacheException(e);
+      }
+   }
+
+   @SuppressWarnings("unchecked")
+   private <T> T unmarshall(long address, int length) {
+      try {
+         return (T) marshaller.objectFromByteBuffer(OffHeapMemory.getBytes(address, length));
+      } catch (IOException | ClassNotFoundException e) {
+         throw new CacheException(e);
+      }
+   }
+
+   private long currentSize() {
+      return evictionType == EvictionType.MEMORY ? memoryUsed.get() : entryCount.get();
+   }
+
+   private void lruAdd(long address) {
+      if (lruLock == null) {
+         return;
+      }
+      lruLock.lock();
+      try {
+         lruLinkHead(address);
+      } finally {
+         lruLock.unlock();
+      }
+   }
+
+   private void lruRemove(long address) {
+      if (lruLock == null) {
+         return;
+      }
+      lruLock.lock();
+      try {
+         lruUnlink(address);
+      } finally {
+         lruLock.unlock();
+      }
+   }
+
+   /**
+    * Moves a read entry to the head of the LRU list. Reads do not wait for a contended LRU lock, which makes the
+    * ordering approximate under heavy concurrent access.
+    */
+   private void lruTouch(long address) {
+      if (lruLock == null || !lruLock.tryLock()) {
+         return;
+      }
+      try {
+         if (lruHead != address) {
+            lruUnlink(address);
+            lruLinkHead(address);
+         }
+      } finally {
+         lruLock.unlock();
+      }
+   }
+
+   private void lruLinkHead(long address) {
+      putLong(address + LRU_PREVIOUS_OFFSET, 0);
+      putLong(address + LRU_NEXT_OFFSET, lruHead);
+      if (lruHead != 0) {
+         putLong(lruHead + LRU_PREVIOUS_OFFSET, address);
+      } else {
+         lruTail = address;
+      }
+      lruHead = address;
+   }
+
+   private void lruUnlink(long address) {
+      long previous = getLong(address + LRU_PREVIOUS_OFFSET);
+      long next = getLong(address + LRU_NEXT_OFFSET);
+      if (previous != 0) {
+         putLong(previous + LRU_NEXT_OFFSET, next);
+      } else {
+         lruHead = next;
+      }
+      if (next != 0) {
+         putLong(next + LRU_PREVIOUS_OFFSET, previous);
+      } else {
+         lruTail = previous;
+      }
+   }
+
+   /**
+    * Evicts the least recently used entries until the container is within its bounds. Must not be invoked while
+    * holding any of the bucket locks.
+    */
+   private void ensureCapacity() {
+      if (lruLock == null) {
+         return;
+      }
+      while (currentSize() > maxSize) {
+         long tail;
+         int hash;
+         lruLock.lock();
+         try {
+            tail = lruTail;
+            if (tail == 0) {
+               return;
+            }
+            // The tail cannot be released while we hold the LRU lock
+            hash = getInt(tail + HASH_OFFSET);
+         } finally {
+            lruLock.unlock();
+         }
+         InternalCacheEntry<K, V> evicted = null;
+         Lock lock = lockFor(hash).writeLock();
+         lock.lock();
+         try {
+            long pointer = bucketPointer(hash, false);
+            if (pointer == 0) {
+               return;
+            }
+            // The tail may have been released after we released the LRU lock, and its address reused by a new entry.
+            // Entries of this stripe can't be released while we hold its write lock, and the other entries can't be
+            // released while we hold the LRU lock, so the tail is only evicted if it is still the tail with the same hash.
+            if (!isLruTail(tail, hash)) {
+               continue;
+            }
+            if (unlinkAddress(pointer, tail)) {
+               evicted = toEntry(tail);
+               passivator.passivate(evicted);
+               release(tail);
+            }
+         } finally {
+            lock.unlock();
+         }
+         if (evicted != null) {
+            if (evicted.canExpire()) {
+               expirationManager.unscheduleExpiration(evicted.getKey());
+            }
+            if (trace)
+               log.tracef("Evicted %s from off-heap container", evicted);
+            evictionManager.onEntryEviction(Collections.singletonMap(evicted.getKey(), evicted));
+         }
+      }
+   }
+
+   private boolean isLruTail(long address, int hash) {
+      lruLock.lock();
+      try {
+         return lruTail == address && getInt(address + HASH_OFFSET) == hash;
+      } finally {
+         lruLock.unlock();
+      }
+   }
+
+   private void lockAll() {
+      for (ReentrantReadWriteLock lock : locks) {
+         lock.writeLock().lock();
+      }
+   }
+
+   private void unlockAll() {
+      for (ReentrantReadWriteLock lock : locks) {
+         lock.writeLock().unlock();
+      }
+   }
+
+   /**
+    * Weakly consistent iterator which unmarshalls a batch of entries at a time while holding the read lock of the
+    * buckets it is reading.
+    */
+   private class EntryIterator implements Iterator<InternalCacheEntry<K, V>> {
+      private final boolean includeExpired;
+      private final List<InternalCacheEntry<K, V>> batch = new ArrayList<>();
+      private int batchPosition;
+      private int bucket;
+      private long now = -1;
+
+      EntryIterator(boolean includeExpired) {
+         this.includeExpired = includeExpired;
+      }
+
+      private void fill() {
+         batch.clear();
+         batchPosition = 0;
+         while (batch.isEmpty() && bucket < addressCount) {
+            int stripe = bucket >>> lockShift;
+            int stripeEnd = (stripe + 1) << lockShift;
+            Lock lock = locks[stripe].readLock();
+            lock.lock();
+            try {
+               long bucketArray = buckets;
+               if (bucketArray == 0) {
+                  bucket = addressCount;
+                  return;
+               }
+               if (!includeExpired && now < 0) {
+                  now = timeService.wallClockTime();
+               }
+               // Always complete a bucket so that no entry is returned twice
+               while (bucket < stripeEnd && batch.size() < ITERATION_BATCH_SIZE) {
+                  for (long address = getLong(bucketArray + ((long) bucket << 3)); address != 0;
+                       address = getLong(address + NEXT_OFFSET)) {
+                     if (includeExpired || !isExpired(address, now)) {
+                        batch.add(toEntry(address));
+                     }
+                  }
+                  ++bucket;
+               }
+            } finally {
+               lock.unlock();
+            }
+         }
+      }
+
+      @Override
+      public boolean hasNext() {
+         if (batchPosition >= batch.size()) {
+            fill();
+         }
+         return batchPosition < batch.size();
+      }
+
+      @Override
+      public InternalCacheEntry<K, V> next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         return batch.get(batchPosition++);
+      }
+   }
+
+   /**
+    * Minimal implementation needed for unmodifiable Set
+    */
+   private class EntrySet extends AbstractSet<InternalCacheEntry<K, V>> {
+
+      @Override
+      public boolean contains(Object o) {
+         if (!(o instanceof Map.Entry)) {
+            return false;
+         }
+
+         @SuppressWarnings("rawtypes")
+         Map.Entry e = (Map.Entry) o;
+         InternalCacheEntry ice = peek(e.getKey());
+         if (ice == null) {
+            return false;
+         }
+         return ice.getValue().equals(e.getValue());
+      }
+
+      @Override
+      public Iterator<InternalCacheEntry<K, V>> iterator() {
+         Iterator<InternalCacheEntry<K, V>> it = new EntryIterator(false);
+         return new Iterator<InternalCacheEntry<K, V>>() {
+            @Override
+            public boolean hasNext() {
+               return it.hasNext();
+            }
+
+            @Override
+            public InternalCacheEntry<K, V> next() {
+               return CoreImmutables.immutableInternalCacheEntry(it.next());
+            }
+         };
+      }
+
+      @Override
+      public int size() {
+         return sizeIncludingExpired();
+      }
+   }
+
+   /**
+    * Minimal implementation needed for unmodifiable Set
+    */
+   private class KeySet extends AbstractSet<K> {
+
+      @Override
+      public boolean contains(Object o) {
+         return peek(o) != null;
+      }
+
+      @Override
+      public Iterator<K> iterator() {
+         Iterator<InternalCacheEntry<K, V>> it = new EntryIterator(true);
+         return new Iterator<K>() {
+            @Override
+            public boolean hasNext() {
+               return it.hasNext();
+            }
+
+            @Override
+            public K next() {
+               return it.next().getKey();
+            }
+         };
+      }
+
+      @Override
+      public int size() {
+         return sizeIncludingExpired();
+      }
+   }
+
+   /**
+    * Minimal implementation needed for unmodifiable Collection
+    */
+   private class Values extends AbstractCollection<V> {
+
+      @Override
+      public Iterator<V> iterator() {
+         Iterator<InternalCacheEntry<K, V>> it = new EntryIterator(true);
+         return new Iterator<V>() {
+            @Override
+            public boolean hasNext() {
+               return it.hasNext();
+            }
+
+            @Override
+            public V next() {
+               return it.next().getValue();
+            }
+         };
+      }
+
+      @Override
+      public int size() {
+         return sizeIncludingExpired();
+      }
+   }
+}
@@ -0,0 +1,91 @@
+package org.infinispan.container.offheap;
+
+import java.lang.reflect.Field;
+import java.security.AccessController;
+import java.security.PrivilegedActionException;
+import java.security.PrivilegedExceptionAction;
+
+import sun.misc.Unsafe;
+
+/**
+ * Raw native memory operations used by the off-heap data container and the compact index of the single file store.
+ * All addresses are absolute and no bounds checks are performed, so callers must only access memory they previously
+ * obtained from {@link #allocate(long)} and have not yet released with {@link #free(long)}.
+ *
+ * @since 9.0
+ */
+public final class OffHeapMemory {
+
+   private static final Unsafe UNSAFE = getUnsafe();
+   private static final long BYTE_ARRAY_BASE_OFFSET = UNSAFE.arrayBaseOffset(byte[].class);
+
+   private OffHeapMemory() {
+   }
+
+   public static long allocate(long size) {
+      return UNSAFE.allocateMemory(size);
+   }
+
+   public static void free(long address) {
+      UNSAFE.freeMemory(address);
+   }
+
+   public static void zero(long address, long size) {
+      UNSAFE.setMemory(address, size, (byte) 0);
+   }
+
+   public static long getLong(long address) {
+      return UNSAFE.getLong(address);
+   }
+
+   public static void putLong(long address, long value) {
+      UNSAFE.putLong(address, value);
+   }
+
+   public static int getInt(long address) {
+      return UNSAFE.getInt(address);
+   }
+
+   public static void putInt(long address, int value) {
+      UNSAFE.putInt(address, value);
+   }
+
+   public static byte getByte(long address) {
+      return UNSAFE.getByte(address);
+   }
+
+   public static void putByte(long address, byte value) {
+      UNSAFE.putByte(address, value);
+   }
+
+   public static void putBytes(long address, byte[] src, int offset, int length) {
+      UNSAFE.copyMemory(src, BYTE_ARRAY_BASE_OFFSET + offset, null, address, length);
+   }
+
+   public static byte[] getBytes(long address, int length) {
+      byte[] bytes = new byte[length];
+      UNSAFE.copyMemory(null, address, bytes, BYTE_ARRAY_BASE_OFFSET, length);
+      return bytes;
+   }
+
+   private static Unsafe getUnsafe() {
+      try {
+         return Unsafe.getUnsafe();
+      } catch (SecurityException tryReflectionInstead) {
+         // not loaded by the bootstrap class loader
+      }
+      try {
+         return AccessController.doPrivileged((PrivilegedExceptionAction<Unsafe>) () -> {
+            for (Field f : Unsafe.class.getDeclaredFields()) {
+               f.setAccessible(true);
+               Object x = f.get(null);
+               if (Unsafe.class.isInstance(x))
+                  return Unsafe.class.cast(x);
+            }
+            throw new NoSuchFieldError("the Unsafe");
+         });
+      } catch (PrivilegedActionException e) {
+         throw new RuntimeException("Could not initialize off-heap memory access", e.getCause());
+      }
+   }
+}
@@ -60,6 +60,27 @@
     */
    void handleInStoreExpiration(MarshalledEntry<K, V> marshalledEntry);
 
+   /**
+    * This is to be invoked whenever an entry is created or updated, so that the expiration reaper
+    * can visit it once it is due instead of scanning the whole data container. Entries that are never stored in the
+    * data container are ignored when the reaper finds them.
+    * @param entry the entry that was created or updated
+    */
+   void scheduleExpiration(InternalCacheEntry<K, V> entry);
+
+   /**
+    * This is to be invoked whenever an entry is removed or evicted from the data container, so that the expiration
+    * reaper does not keep track of it any longer.
+    * @param key the key of the entry that was removed
+    */
+   void unscheduleExpiration(K key);
+
+   /**
+    * This is to be invoked whenever the data container is cleared, so that the expiration reaper does not keep track
+    * of any of the removed entries.
+    */
+   void unscheduleAllExpirations();
+
    /**
     * This is to be invoked with a when a write is known to occur to prevent expiration from happening.  This way we
     * won't have a swarm of remote calls required.
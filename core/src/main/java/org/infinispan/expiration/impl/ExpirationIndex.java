@@ -0,0 +1,142 @@
+package org.infinispan.expiration.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.infinispan.commons.equivalence.AnyEquivalence;
+import org.infinispan.commons.equivalence.Equivalence;
+import org.infinispan.commons.util.CollectionFactory;
+
+/**
+ * Index of the keys that can expire, ordered by the time they are due to expire.
+ * <p>
+ * Keys are grouped in buckets of {@code resolution} milliseconds, so that a reaper run only has to look at the buckets
+ * whose start time has passed. Every key is in at most one bucket: adding a key again moves it to the bucket of its new
+ * expiration time, and {@link #remove(Object)} drops it, so the size of the index is bounded by the number of entries
+ * that can expire. The index is not updated when an entry is read, so the caller of {@link #pollDue(long)} must still
+ * check the current state of every key it receives and {@link #add(Object, long) add} it again if it is not due yet.
+ *
+ * @since 9.0
+ */
+final class ExpirationIndex<K> {
+
+   private final ConcurrentNavigableMap<Long, Set<K>> buckets = new ConcurrentSkipListMap<>();
+   // The bucket of every indexed key, updates of a key are serialized by this map
+   private final ConcurrentMap<K, Long> keyBuckets;
+   private final long resolution;
+   private final Equivalence<? super K> keyEquivalence;
+
+   ExpirationIndex(long resolution, Equivalence<? super K> keyEquivalence) {
+      if (resolution <= 0)
+         throw new IllegalArgumentException("Resolution must be positive");
+      this.resolution = resolution;
+      this.keyEquivalence = keyEquivalence;
+      this.keyBuckets = CollectionFactory.makeConcurrentMap(keyEquivalence, AnyEquivalence.<Long>getInstance());
+   }
+
+   /**
+    * Schedules a key to be visited once {@code expiryTime} has passed, replacing its previous expiration time.
+    */
+   void add(K key, long expiryTime) {
+      Long bucket = expiryTime / resolution;
+      keyBuckets.compute(key, (k, oldBucket) -> {
+         if (oldBucket != null && !oldBucket.equals(bucket)) {
+            removeFromBucket(k, oldBucket);
+         }
+         addToBucket(k, bucket);
+         return bucket;
+      });
+   }
+
+   /**
+    * Removes a key from the index, if present.
+    */
+   void remove(K key) {
+      keyBuckets.computeIfPresent(key, (k, bucket) -> {
+         removeFromBucket(k, bucket);
+         return null;
+      });
+   }
+
+   private void addToBucket(K key, Long bucket) {
+      while (true) {
+         Set<K> keys = buckets.get(bucket);
+         if (keys == null) {
+            Set<K> newKeys = Collections.newSetFromMap(CollectionFactory.makeConcurrentMap(keyEquivalence,
+                  AnyEquivalence.<Boolean>getInstance()));
+            keys = buckets.putIfAbsent(bucket, newKeys);
+            if (keys == null) {
+               keys = newKeys;
+            }
+         }
+         keys.add(key);
+         // Empty buckets are dropped, make sure the key did not land in a bucket that was just dropped
+         if (buckets.get(bucket) == keys) {
+            return;
+         }
+      }
+   }
+
+   private void removeFromBucket(K key, Long bucket) {
+      Set<K> keys = buckets.get(bucket);
+      if (keys != null) {
+         keys.remove(key);
+         if (keys.isEmpty()) {
+            buckets.remove(bucket, keys);
+         }
+      }
+   }
+
+   /**
+    * Removes all the keys whose bucket started at or before {@code now} from the index.
+    *
+    * @return the removed keys
+    */
+   List<K> pollDue(long now) {
+      List<K> due = new ArrayList<>();
+      for (Map.Entry<Long, Set<K>> bucket : buckets.headMap(now / resolution, true).entrySet()) {
+         Long bucketId = bucket.getKey();
+         Set<K> keys = bucket.getValue();
+         for (K key : keys) {
+            keyBuckets.compute(key, (k, keyBucket) -> {
+               keys.remove(k);
+               if (keyBucket != null && !keyBucket.equals(bucketId)) {
+                  // The key was moved to another bucket concurrently, it stays indexed there
+                  return keyBucket;
+               }
+               if (keyBucket != null) {
+                  due.add(k);
+               }
+               return null;
+            });
+         }
+         if (keys.isEmpty()) {
+            buckets.remove(bucketId, keys);
+         }
+      }
+      return due;
+   }
+
+   /**
+    * @return the number of keys in the index
+    */
+   long size() {
+      return keyBuckets.size();
+   }
+
+   /**
+    * Removes all the keys from the index. Keys added concurrently may stay in the index.
+    */
+   void clear() {
+      // One key at a time, so that a key added concurrently is never left without its bucket
+      for (K key : keyBuckets.keySet()) {
+         remove(key);
+      }
+   }
+}
@@ -1,6 +1,8 @@
 package org.infinispan.expiration.impl;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -18,6 +20,10 @@
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
 import org.infinispan.factories.annotations.Stop;
+import org.infinispan.jmx.annotations.DisplayType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.notifications.cachelistener.CacheNotifier;
@@ -29,9 +35,15 @@
 import net.jcip.annotations.ThreadSafe;
 
 @ThreadSafe
+@MBean(objectName = "Expiration", description = "Component that removes expired entries from memory and from the cache stores")
 public class ExpirationManagerImpl<K, V> implements ExpirationManager<K, V> {
    protected static final Log log = LogFactory.getLog(ExpirationManagerImpl.class);
    protected static final boolean trace = log.isTraceEnabled();
+
+   /**
+    * Upper bound for the width of the {@link ExpirationIndex} buckets, in milliseconds
+    */
+   static final long MAX_INDEX_RESOLUTION = 1000;
    protected ScheduledFuture<?> expirationTask;
 
    // components to be injected
@@ -52,6 +64,16 @@
     */
    protected ConcurrentMap<K, Object> expiring;
 
+   /**
+    * The keys that can expire ordered by expiration time, only maintained when the reaper is enabled. Otherwise
+    * nothing would drain the index and {@link #processExpiration()} falls back to scanning the data container.
+    */
+   protected ExpirationIndex<K> expirationIndex;
+
+   private volatile long reaperLag;
+   private volatile int lastRunVisited;
+   private volatile int lastRunExpired;
+
    @Inject
    public void initialize(@ComponentName(KnownComponentNames.EXPIRATION_SCHEDULED_EXECUTOR)
          ScheduledExecutorService executor, Cache<K, V> cache, Configuration cfg, DataContainer<K, V> dataContainer,
@@ -73,6 +95,12 @@ void initialize(ScheduledExecutorService executor, String cacheName, Configurati
 
       this.expiring = new EquivalentConcurrentHashMapV8<>(cfg.dataContainer().keyEquivalence(),
               cfg.dataContainer().valueEquivalence());
+
+      long wakeUpInterval = cfg.expiration().wakeUpInterval();
+      if (cfg.expiration().reaperEnabled() && wakeUpInterval > 0) {
+         this.expirationIndex = new ExpirationIndex<>(Math.min(wakeUpInterval, MAX_INDEX_RESOLUTION),
+               cfg.dataContainer().keyEquivalence());
+      }
    }
 
 
@@ -104,16 +132,15 @@ public void processExpiration() {
                start = timeService.time();
             }
             long currentTimeMillis = timeService.wallClockTime();
-            for (Iterator<InternalCacheEntry<K, V>> purgeCandidates = dataContainer.iteratorIncludingExpired();
-                 purgeCandidates.hasNext();) {
-               InternalCacheEntry<K, V> e = purgeCandidates.next();
-               if (e.isExpired(currentTimeMillis)) {
-                  handleInMemoryExpiration(e, currentTimeMillis);
-               }
+            if (expirationIndex != null) {
+               purgeIndexedEntries(currentTimeMillis);
+            } else {
+               purgeAllEntries(currentTimeMillis);
             }
             if (trace) {
-               log.tracef("Purging data container completed in %s",
-                          Util.prettyPrintTime(timeService.timeDuration(start, TimeUnit.MILLISECONDS)));
+               log.tracef("Purging data container completed in %s, visited %d entries and expired %d",
+                          Util.prettyPrintTime(timeService.timeDuration(start, TimeUnit.MILLISECONDS)),
+                          lastRunVisited, lastRunExpired);
             }
          } catch (Exception e) {
             log.exceptionPurgingDataContainer(e);
@@ -125,6 +152,126 @@ public void processExpiration() {
       }
    }
 
+   private void purgeIndexedEntries(long currentTimeMillis) {
+      List<K> dueKeys = expirationIndex.pollDue(currentTimeMillis);
+      List<InternalCacheEntry<K, V>> notDue = new ArrayList<>();
+      int expired = 0;
+      long lag = 0;
+      for (K key : dueKeys) {
+         InternalCacheEntry<K, V> e = dataContainer.peek(key);
+         // The key may have been removed or updated since it was indexed
+         if (e == null || !e.canExpire()) {
+            continue;
+         }
+         if (e.isExpired(currentTimeMillis)) {
+            lag = Math.max(lag, currentTimeMillis - e.getExpiryTime());
+            purgeExpiredEntry(e, currentTimeMillis);
+            expired++;
+         } else {
+            notDue.add(e);
+         }
+      }
+      // Re-index the entries that were touched or updated only after polling, so they are not visited twice
+      notDue.forEach(this::scheduleExpiration);
+      updateRunStatistics(dueKeys.size(), expired, lag);
+   }
+
+   private void purgeAllEntries(long currentTimeMillis) {
+      int visited = 0;
+      int expired = 0;
+      long lag = 0;
+      for (Iterator<InternalCacheEntry<K, V>> purgeCandidates = dataContainer.iteratorIncludingExpired();
+           purgeCandidates.hasNext();) {
+         InternalCacheEntry<K, V> e = purgeCandidates.next();
+         visited++;
+         if (e.isExpired(currentTimeMillis)) {
+            lag = Math.max(lag, currentTimeMillis - e.getExpiryTime());
+            purgeExpiredEntry(e, currentTimeMillis);
+            expired++;
+         }
+      }
+      updateRunStatistics(visited, expired, lag);
+   }
+
+   private void updateRunStatistics(int visited, int expired, long lag) {
+      lastRunVisited = visited;
+      lastRunExpired = expired;
+      reaperLag = lag;
+   }
+
+   /**
+    * Invoked by the reaper for every entry of the data container that it found expired.
+    * @param e the expired entry
+    * @param currentTimeMillis the time of the reaper run
+    */
+   protected void purgeExpiredEntry(InternalCacheEntry<K, V> e, long currentTimeMillis) {
+      handleInMemoryExpiration(e, currentTimeMillis);
+   }
+
+   @Override
+   public void scheduleExpiration(InternalCacheEntry<K, V> entry) {
+      if (expirationIndex != null) {
+         long expiryTime = entry.canExpire() ? entry.getExpiryTime() : -1;
+         if (expiryTime > 0) {
+            expirationIndex.add(entry.getKey(), expiryTime);
+         } else {
+            // The entry replaced an entry that could expire
+            expirationIndex.remove(entry.getKey());
+         }
+      }
+   }
+
+   @Override
+   public void unscheduleExpiration(K key) {
+      if (expirationIndex != null) {
+         expirationIndex.remove(key);
+      }
+   }
+
+   @Override
+   public void unscheduleAllExpirations() {
+      if (expirationIndex != null) {
+         expirationIndex.clear();
+      }
+   }
+
+   @ManagedAttribute(
+         description = "Largest delay between the expiration time of an entry and its removal by the last reaper run",
+         displayName = "Reaper lag",
+         units = Units.MILLISECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getReaperLag() {
+      return reaperLag;
+   }
+
+   @ManagedAttribute(
+         description = "Number of entries checked by the last reaper run",
+         displayName = "Entries visited by the last reaper run",
+         displayType = DisplayType.SUMMARY
+   )
+   public int getLastRunVisited() {
+      return lastRunVisited;
+   }
+
+   @ManagedAttribute(
+         description = "Number of entries expired by the last reaper run",
+         displayName = "Entries expired by the last reaper run",
+         displayType = DisplayType.SUMMARY
+   )
+   public int getLastRunExpired() {
+      return lastRunExpired;
+   }
+
+   @ManagedAttribute(
+         description = "Number of keys waiting in the expiration index",
+         displayName = "Expiration index size",
+         displayType = DisplayType.SUMMARY
+   )
+   public long getExpirationIndexSize() {
+      return expirationIndex != null ? expirationIndex.size() : 0;
+   }
+
    @Override
    public boolean isEnabled() {
       return enabled;
@@ -140,6 +287,10 @@ public void handleInMemoryExpiration(InternalCacheEntry<K, V> entry, long curren
                }
             }
             return null;
+         } else if (oldEntry != null && oldEntry.isExpired(currentTime)) {
+            // Containers that do not keep entries on the heap (e.g. off-heap) hand out a new instance on every read
+            deleteFromStoresAndNotify(k, oldEntry.getValue(), oldEntry.getMetadata());
+            return null;
          }
          return oldEntry;
       }));
@@ -222,6 +373,9 @@ public void stop() {
       if (expirationTask != null) {
          expirationTask.cancel(true);
       }
+      if (expirationIndex != null) {
+         expirationIndex.clear();
+      }
    }
 
    class ScheduledTask implements Runnable {
@@ -4,13 +4,18 @@
 import org.infinispan.commons.equivalence.Equivalence;
 import org.infinispan.commons.util.concurrent.jdk8backported.EntrySizeCalculator;
 import org.infinispan.configuration.cache.EvictionConfiguration;
+import org.infinispan.configuration.cache.StorageType;
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.DefaultDataContainer;
+import org.infinispan.container.SegmentedDataContainer;
 import org.infinispan.container.entries.MarshalledValueEntrySizeCalculator;
 import org.infinispan.container.entries.PrimitiveEntrySizeCalculator;
+import org.infinispan.container.offheap.OffHeapDataContainer;
 import org.infinispan.eviction.EvictionStrategy;
 import org.infinispan.eviction.EvictionType;
 import org.infinispan.factories.annotations.DefaultFactoryFor;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
 
 /**
  * Constructs the data container
@@ -22,6 +27,7 @@
 @DefaultFactoryFor(classes = DataContainer.class)
 public class DataContainerFactory extends AbstractNamedCacheComponentFactory implements
          AutoInstantiableFactory {
+   private static final Log log = LogFactory.getLog(DataContainerFactory.class);
 
    @Override
    @SuppressWarnings("unchecked")
@@ -35,6 +41,14 @@ public <T> T construct(Class<T> componentType) {
 
          long thresholdSize = configuration.eviction().size();
 
+         if (configuration.dataContainer().storageType() == StorageType.OFF_HEAP) {
+            return (T) constructOffHeap(st, level, keyEquivalence, thresholdSize);
+         }
+
+         if (configuration.dataContainer().segmented()) {
+            return (T) new SegmentedDataContainer<>(level, configuration.clustering().hash().numSegments(),
+                  keyEquivalence);
+         }
 
          //handle case when < 0 value signifies unbounded container
          if(thresholdSize < 0) {
@@ -79,4 +93,25 @@ public <T> T construct(Class<T> componentType) {
          return (T) dataContainer;
       }
    }
+
+   private DataContainer constructOffHeap(EvictionStrategy st, int level, Equivalence keyEquivalence,
+                                          long thresholdSize) {
+      int addressCount = configuration.dataContainer().addressCount();
+      if (thresholdSize < 0 || !st.isEnabled()) {
+         return OffHeapDataContainer.unBoundedDataContainer(level, addressCount, keyEquivalence);
+      }
+      switch (st) {
+         case UNORDERED:
+         case FIFO:
+         case LRU:
+            OffHeapDataContainer dataContainer = OffHeapDataContainer.boundedDataContainer(level, addressCount,
+                  keyEquivalence, thresholdSize, configuration.eviction().type());
+            configuration.eviction().attributes().attribute(EvictionConfiguration.SIZE).addListener((newSize, old) -> {
+               dataContainer.resize(newSize.get());
+            });
+            return dataContainer;
+         default:
+            throw log.offHeapEvictionStrategyNotSupported(st);
+      }
+   }
 }
@@ -51,6 +51,9 @@
 import org.infinispan.remoting.rpc.RpcOptions;
 import org.infinispan.remoting.rpc.RpcOptionsBuilder;
 import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.ResponseCollector;
+import org.infinispan.remoting.transport.impl.SingleResponseCollector;
+import org.infinispan.remoting.transport.impl.VoidResponseCollector;
 import org.infinispan.statetransfer.OutdatedTopologyException;
 import org.infinispan.topology.CacheTopology;
 import org.infinispan.transaction.xa.GlobalTransaction;
@@ -220,31 +223,44 @@ private CompletableFuture<InternalCacheEntry> invokeClusterGetCommandRemotely(Li
          RpcOptionsBuilder rpcOptionsBuilder, ClusteredGetCommand get, Object key) {
       ResponseFilter filter = new ClusteredGetResponseValidityFilter(targets, rpcManager.getAddress());
       RpcOptions options = rpcOptionsBuilder.responseFilter(filter).build();
-      return rpcManager.invokeRemotelyAsync(targets, get, options).thenApply(responses -> {
-         if (!responses.isEmpty()) {
-            for (Response r : responses.values()) {
-               if (r instanceof SuccessfulResponse) {
-                  // The response value might be null.
-                  SuccessfulResponse response = (SuccessfulResponse) r;
-                  Object responseValue = response.getResponseValue();
-                  if (responseValue == null) {
-                     continue;
-                  }
-
-                  InternalCacheValue cacheValue = (InternalCacheValue) responseValue;
-                  InternalCacheEntry ice = cacheValue.toInternalCacheEntry(key);
-                  if (rvrl != null) {
-                     rvrl.remoteValueFound(ice);
-                  }
-                  return ice;
-               }
+      return rpcManager.invokeRemotelyAsync(targets, get, options, new RemoteGetResponseCollector(key)).thenApply(ice -> {
+         if (rvrl != null) {
+            if (ice != null) {
+               rvrl.remoteValueFound(ice);
+            } else {
+               rvrl.remoteValueNotFound(key);
             }
          }
-         if (rvrl != null) {
-            rvrl.remoteValueNotFound(key);
+         return ice;
+      });
+   }
+
+   /**
+    * Returns the entry of the first successful response with a value.
+    */
+   private static class RemoteGetResponseCollector implements ResponseCollector<InternalCacheEntry> {
+      private final Object key;
+
+      RemoteGetResponseCollector(Object key) {
+         this.key = key;
+      }
+
+      @Override
+      public InternalCacheEntry addResponse(Address sender, Response response) {
+         if (response instanceof SuccessfulResponse) {
+            // The response value might be null.
+            InternalCacheValue cacheValue = (InternalCacheValue) ((SuccessfulResponse) response).getResponseValue();
+            if (cacheValue != null) {
+               return cacheValue.toInternalCacheEntry(key);
+            }
          }
          return null;
-      });
+      }
+
+      @Override
+      public InternalCacheEntry finish() {
+         return null;
+      }
    }
 
    protected Map<Object, InternalCacheEntry> retrieveFromRemoteSources(Set<?> requestedKeys, InvocationContext ctx, long flagsBitSet) throws Throwable {
@@ -367,7 +383,8 @@ private CompletableFuture<Object> invokeRemotelyIfNeeded(InvocationContext ctx,
             command.setValueMatcher(ValueMatcher.MATCH_ALWAYS);
             try {
                rpcManager.invokeRemotely(recipients, command, determineRpcOptionsForBackupReplication(rpcManager,
-                                                                                                      isSync, recipients));
+                                                                                                      isSync, recipients),
+                                         VoidResponseCollector.instance());
             } finally {
                // Switch to the retry policy, in case the primary owner changed and the write already succeeded on the new primary
                command.setValueMatcher(valueMatcher.matcherForRetry());
@@ -390,7 +407,8 @@ private CompletableFuture<Object> invokeRemotelyIfNeeded(InvocationContext ctx,
                command.setValueMatcher(ValueMatcher.MATCH_ALWAYS);
                try {
                   rpcManager.invokeRemotely(recipients, command, determineRpcOptionsForBackupReplication(rpcManager,
-                                                                                                         isSync, recipients));
+                                                                                                         isSync, recipients),
+                                            VoidResponseCollector.instance());
                } finally {
                   // Switch to the retry policy, in case the primary owner changed and the write already succeeded on the new primary
                   command.setValueMatcher(valueMatcher.matcherForRetry());
@@ -401,17 +419,17 @@ private CompletableFuture<Object> invokeRemotelyIfNeeded(InvocationContext ctx,
             if (trace) log.tracef("I'm not the primary owner, so sending the command to the primary owner(%s) in order to be forwarded", primaryOwner);
             boolean isSyncForwarding = isSync || command.isReturnValueExpected();
 
-            Map<Address, Response> addressResponseMap;
+            Response primaryResponse;
             try {
-               addressResponseMap = rpcManager.invokeRemotely(Collections.singletonList(primaryOwner), command,
-                           rpcManager.getDefaultRpcOptions(isSyncForwarding));
+               primaryResponse = rpcManager.invokeRemotely(Collections.singletonList(primaryOwner), command,
+                           rpcManager.getDefaultRpcOptions(isSyncForwarding), SingleResponseCollector.instance());
             } finally {
                command.setValueMatcher(valueMatcher.matcherForRetry());
             }
             if (!isSyncForwarding)
                return CompletableFuture.completedFuture(localResult);
 
-            Object primaryResult = getResponseFromPrimaryOwner(primaryOwner, addressResponseMap);
+            Object primaryResult = getResponseFromPrimaryOwner(primaryOwner, primaryResponse);
             command.updateStatusFromRemoteResponse(primaryResult);
             return CompletableFuture.completedFuture(primaryResult);
          }
@@ -433,8 +451,7 @@ private RpcOptions determineRpcOptionsForBackupReplication(RpcManager rpc, boole
       return options;
    }
 
-   private Object getResponseFromPrimaryOwner(Address primaryOwner, Map<Address, Response> addressResponseMap) {
-      Response fromPrimaryOwner = addressResponseMap.get(primaryOwner);
+   private Object getResponseFromPrimaryOwner(Address primaryOwner, Response fromPrimaryOwner) {
       if (fromPrimaryOwner == null) {
          if (trace) log.tracef("Primary owner %s returned null", primaryOwner);
          return null;
@@ -443,7 +460,7 @@ private Object getResponseFromPrimaryOwner(Address primaryOwner, Map<Address, Re
          return ((SuccessfulResponse) fromPrimaryOwner).getResponseValue();
       }
 
-      if (addressResponseMap.get(primaryOwner) instanceof CacheNotFoundResponse) {
+      if (fromPrimaryOwner instanceof CacheNotFoundResponse) {
          // This means the cache wasn't running on the primary owner, so the command wasn't executed.
          // We throw an OutdatedTopologyException, StateTransferInterceptor will catch the exception and
          // it will then retry the command.
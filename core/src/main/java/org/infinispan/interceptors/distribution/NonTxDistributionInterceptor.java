@@ -47,6 +47,8 @@
 import org.infinispan.remoting.responses.SuccessfulResponse;
 import org.infinispan.remoting.rpc.RpcOptions;
 import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.impl.SingleResponseCollector;
+import org.infinispan.remoting.transport.impl.VoidResponseCollector;
 import org.infinispan.statetransfer.OutdatedTopologyException;
 import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.logging.Log;
@@ -124,11 +126,14 @@ public CompletableFuture<Void> visitPutKeyValueCommand(InvocationContext ctx, Pu
    @Override
    public CompletableFuture<Void> visitPutMapCommand(InvocationContext ctx, PutMapCommand command)
          throws Throwable {
+      if (isLocalModeForced(command)) {
+         return ctx.continueInvocation();
+      }
       Map<Object, Object> originalMap = command.getMap();
       ConsistentHash ch = dm.getConsistentHash();
       Address localAddress = rpcManager.getAddress();
       if (ctx.isOriginLocal()) {
-         List<CompletableFuture<Map<Address, Response>>> futures =
+         List<CompletableFuture<Void>> futures =
                new ArrayList<>(rpcManager.getMembers().size() - 1);
          // TODO: if async we don't need to do futures...
          RpcOptions options = rpcManager.getDefaultRpcOptions(isSynchronous(command));
@@ -143,8 +148,9 @@ public CompletableFuture<Void> visitPutMapCommand(InvocationContext ctx, PutMapC
                if (!segmentEntriesMap.isEmpty()) {
                   PutMapCommand copy = new PutMapCommand(command);
                   copy.setMap(segmentEntriesMap);
-                  CompletableFuture<Map<Address, Response>> future =
-                        rpcManager.invokeRemotelyAsync(Collections.singletonList(member), copy, options);
+                  CompletableFuture<Void> future =
+                        rpcManager.invokeRemotelyAsync(Collections.singletonList(member), copy, options,
+                              VoidResponseCollector.instance());
                   futures.add(future);
                }
             }
@@ -183,7 +189,7 @@ public CompletableFuture<Void> visitPutMapCommand(InvocationContext ctx, PutMapC
 
          int backupOwnerSize = backupOwnerSegments.size();
          if (backupOwnerSize > 0) {
-            List<CompletableFuture<Map<Address, Response>>> futures = new ArrayList<>(backupOwnerSize);
+            List<CompletableFuture<Void>> futures = new ArrayList<>(backupOwnerSize);
             RpcOptions options = rpcManager.getDefaultRpcOptions(isSynchronous(command));
             command.addFlag(Flag.SKIP_LOCKING);
             command.setForwarded(true);
@@ -195,8 +201,9 @@ public CompletableFuture<Void> visitPutMapCommand(InvocationContext ctx, PutMapC
                if (!segmentEntriesMap.isEmpty()) {
                   PutMapCommand copy = new PutMapCommand(command);
                   copy.setMap(segmentEntriesMap);
-                  CompletableFuture<Map<Address, Response>> future = rpcManager
-                        .invokeRemotelyAsync(Collections.singletonList(entry.getKey()), copy, options);
+                  CompletableFuture<Void> future = rpcManager
+                        .invokeRemotelyAsync(Collections.singletonList(entry.getKey()), copy, options,
+                              VoidResponseCollector.instance());
                   futures.add(future);
                }
             }
@@ -296,7 +303,7 @@ public CompletableFuture<Void> visitWriteOnlyManyEntriesCommand(InvocationContex
       ConsistentHash ch = dm.getConsistentHash();
       Address localAddress = rpcManager.getAddress();
       if (ctx.isOriginLocal()) {
-         List<CompletableFuture<Map<Address, Response>>> futures =
+         List<CompletableFuture<Void>> futures =
                new ArrayList<>(rpcManager.getMembers().size() - 1);
          // TODO: if async we don't need to do futures...
          RpcOptions options = rpcManager.getDefaultRpcOptions(isSynchronous(command));
@@ -311,8 +318,9 @@ public CompletableFuture<Void> visitWriteOnlyManyEntriesCommand(InvocationContex
                if (!segmentEntriesMap.isEmpty()) {
                   WriteOnlyManyEntriesCommand copy = new WriteOnlyManyEntriesCommand(command);
                   copy.setEntries(segmentEntriesMap);
-                  CompletableFuture<Map<Address, Response>> future =
-                        rpcManager.invokeRemotelyAsync(Collections.singletonList(member), copy, options);
+                  CompletableFuture<Void> future =
+                        rpcManager.invokeRemotelyAsync(Collections.singletonList(member), copy, options,
+                              VoidResponseCollector.instance());
                   futures.add(future);
                }
             }
@@ -351,7 +359,7 @@ public CompletableFuture<Void> visitWriteOnlyManyEntriesCommand(InvocationContex
 
          int backupOwnerSize = backupOwnerSegments.size();
          if (backupOwnerSize > 0) {
-            List<CompletableFuture<Map<Address, Response>>> futures = new ArrayList<>(backupOwnerSize);
+            List<CompletableFuture<Void>> futures = new ArrayList<>(backupOwnerSize);
             RpcOptions options = rpcManager.getDefaultRpcOptions(isSynchronous(command));
             command.setFlags(Flag.SKIP_LOCKING);
             command.setForwarded(true);
@@ -363,8 +371,9 @@ public CompletableFuture<Void> visitWriteOnlyManyEntriesCommand(InvocationContex
                if (!segmentEntriesMap.isEmpty()) {
                   WriteOnlyManyEntriesCommand copy = new WriteOnlyManyEntriesCommand(command);
                   copy.setEntries(segmentEntriesMap);
-                  CompletableFuture<Map<Address, Response>> future = rpcManager
-                        .invokeRemotelyAsync(Collections.singletonList(entry.getKey()), copy, options);
+                  CompletableFuture<Void> future = rpcManager
+                        .invokeRemotelyAsync(Collections.singletonList(entry.getKey()), copy, options,
+                              VoidResponseCollector.instance());
                   futures.add(future);
                }
             }
@@ -394,7 +403,7 @@ public CompletableFuture<Void> visitWriteOnlyManyCommand(InvocationContext ctx,
       ConsistentHash ch = dm.getConsistentHash();
       Address localAddress = rpcManager.getAddress();
       if (ctx.isOriginLocal()) {
-         List<CompletableFuture<Map<Address, Response>>> futures =
+         List<CompletableFuture<Void>> futures =
                new ArrayList<>(rpcManager.getMembers().size() - 1);
          // TODO: if async we don't need to do futures...
          RpcOptions options = rpcManager.getDefaultRpcOptions(isSynchronous(command));
@@ -408,8 +417,9 @@ public CompletableFuture<Void> visitWriteOnlyManyCommand(InvocationContext ctx,
                if (!segmentKeysSet.isEmpty()) {
                   WriteOnlyManyCommand copy = new WriteOnlyManyCommand(command);
                   copy.setKeys(segmentKeysSet);
-                  CompletableFuture<Map<Address, Response>> future =
-                        rpcManager.invokeRemotelyAsync(Collections.singletonList(member), copy, options);
+                  CompletableFuture<Void> future =
+                        rpcManager.invokeRemotelyAsync(Collections.singletonList(member), copy, options,
+                              VoidResponseCollector.instance());
                   futures.add(future);
                }
             }
@@ -448,7 +458,7 @@ public CompletableFuture<Void> visitWriteOnlyManyCommand(InvocationContext ctx,
 
          int backupOwnerSize = backupOwnerSegments.size();
          if (backupOwnerSize > 0) {
-            List<CompletableFuture<Map<Address, Response>>> futures = new ArrayList<>(backupOwnerSize);
+            List<CompletableFuture<Void>> futures = new ArrayList<>(backupOwnerSize);
             RpcOptions options = rpcManager.getDefaultRpcOptions(isSynchronous(command));
             command.setFlags(Flag.SKIP_LOCKING);
             command.setForwarded(true);
@@ -459,8 +469,9 @@ public CompletableFuture<Void> visitWriteOnlyManyCommand(InvocationContext ctx,
                if (!segmentKeysSet.isEmpty()) {
                   WriteOnlyManyCommand copy = new WriteOnlyManyCommand(command);
                   copy.setKeys(segmentKeysSet);
-                  CompletableFuture<Map<Address, Response>> future = rpcManager
-                        .invokeRemotelyAsync(Collections.singletonList(entry.getKey()), copy, options);
+                  CompletableFuture<Void> future = rpcManager
+                        .invokeRemotelyAsync(Collections.singletonList(entry.getKey()), copy, options,
+                              VoidResponseCollector.instance());
                   futures.add(future);
                }
             }
@@ -490,7 +501,7 @@ public CompletableFuture<Void> visitReadWriteManyCommand(InvocationContext ctx,
       ConsistentHash ch = dm.getConsistentHash();
       Address localAddress = rpcManager.getAddress();
       if (ctx.isOriginLocal()) {
-         List<CompletableFuture<Map<Address, Response>>> futures =
+         List<CompletableFuture<Response>> futures =
                new ArrayList<>(rpcManager.getMembers().size() - 1);
          // TODO: if async we don't need to do futures...
          RpcOptions options = rpcManager.getDefaultRpcOptions(isSynchronous(command));
@@ -504,8 +515,9 @@ public CompletableFuture<Void> visitReadWriteManyCommand(InvocationContext ctx,
                if (!segmentKeysSet.isEmpty()) {
                   ReadWriteManyCommand copy = new ReadWriteManyCommand(command);
                   copy.setKeys(segmentKeysSet);
-                  CompletableFuture<Map<Address, Response>> future =
-                        rpcManager.invokeRemotelyAsync(Collections.singletonList(member), copy, options);
+                  CompletableFuture<Response> future =
+                        rpcManager.invokeRemotelyAsync(Collections.singletonList(member), copy, options,
+                              SingleResponseCollector.instance());
                   futures.add(future);
                }
             }
@@ -517,13 +529,11 @@ public CompletableFuture<Void> visitReadWriteManyCommand(InvocationContext ctx,
                compFuture.get(options.timeout(), TimeUnit.MILLISECONDS);
                // NOTE: Variation from WriteOnlyManyCommand, we care about returns!
                // TODO: Take into account when refactoring
-               for (CompletableFuture<Map<Address, Response>> future : futures) {
-                  Map<Address, Response> responses = future.get();
-                  for (Response response : responses.values()) {
-                     if (response.isSuccessful()) {
-                        SuccessfulResponse success = (SuccessfulResponse) response;
-                        command.addAllRemoteReturns((List<?>) success.getResponseValue());
-                     }
+               for (CompletableFuture<Response> future : futures) {
+                  Response response = future.get();
+                  if (response != null && response.isSuccessful()) {
+                     SuccessfulResponse success = (SuccessfulResponse) response;
+                     command.addAllRemoteReturns((List<?>) success.getResponseValue());
                   }
                }
             } catch (ExecutionException e) {
@@ -555,7 +565,7 @@ public CompletableFuture<Void> visitReadWriteManyCommand(InvocationContext ctx,
 
          int backupOwnerSize = backupOwnerSegments.size();
          if (backupOwnerSize > 0) {
-            List<CompletableFuture<Map<Address, Response>>> futures = new ArrayList<>(backupOwnerSize);
+            List<CompletableFuture<Void>> futures = new ArrayList<>(backupOwnerSize);
             RpcOptions options = rpcManager.getDefaultRpcOptions(isSynchronous(command));
             command.setFlags(Flag.SKIP_LOCKING);
             command.setForwarded(true);
@@ -566,8 +576,9 @@ public CompletableFuture<Void> visitReadWriteManyCommand(InvocationContext ctx,
                if (!segmentKeysSet.isEmpty()) {
                   ReadWriteManyCommand copy = new ReadWriteManyCommand(command);
                   copy.setKeys(segmentKeysSet);
-                  CompletableFuture<Map<Address, Response>> future = rpcManager
-                        .invokeRemotelyAsync(Collections.singletonList(entry.getKey()), copy, options);
+                  CompletableFuture<Void> future = rpcManager
+                        .invokeRemotelyAsync(Collections.singletonList(entry.getKey()), copy, options,
+                              VoidResponseCollector.instance());
                   futures.add(future);
                }
             }
@@ -597,7 +608,7 @@ public CompletableFuture<Void> visitReadWriteManyEntriesCommand(InvocationContex
       ConsistentHash ch = dm.getConsistentHash();
       Address localAddress = rpcManager.getAddress();
       if (ctx.isOriginLocal()) {
-         List<CompletableFuture<Map<Address, Response>>> futures =
+         List<CompletableFuture<Response>> futures =
                new ArrayList<>(rpcManager.getMembers().size() - 1);
          // TODO: if async we don't need to do futures...
          RpcOptions options = rpcManager.getDefaultRpcOptions(isSynchronous(command));
@@ -612,8 +623,9 @@ public CompletableFuture<Void> visitReadWriteManyEntriesCommand(InvocationContex
                if (!segmentEntriesMap.isEmpty()) {
                   ReadWriteManyEntriesCommand copy = new ReadWriteManyEntriesCommand(command);
                   copy.setEntries(segmentEntriesMap);
-                  CompletableFuture<Map<Address, Response>> future =
-                        rpcManager.invokeRemotelyAsync(Collections.singletonList(member), copy, options);
+                  CompletableFuture<Response> future =
+                        rpcManager.invokeRemotelyAsync(Collections.singletonList(member), copy, options,
+                              SingleResponseCollector.instance());
                   futures.add(future);
                }
             }
@@ -625,13 +637,11 @@ public CompletableFuture<Void> visitReadWriteManyEntriesCommand(InvocationContex
                compFuture.get(options.timeout(), TimeUnit.MILLISECONDS);
                // NOTE: Variation from WriteOnlyManyCommand, we care about returns!
                // TODO: Take into account when refactoring
-               for (CompletableFuture<Map<Address, Response>> future : futures) {
-                  Map<Address, Response> responses = future.get();
-                  for (Response response : responses.values()) {
-                     if (response.isSuccessful()) {
-                        SuccessfulResponse success = (SuccessfulResponse) response;
-                        command.addAllRemoteReturns((List<?>) success.getResponseValue());
-                     }
+               for (CompletableFuture<Response> future : futures) {
+                  Response response = future.get();
+                  if (response != null && response.isSuccessful()) {
+                     SuccessfulResponse success = (SuccessfulResponse) response;
+                     command.addAllRemoteReturns((List<?>) success.getResponseValue());
                   }
                }
             } catch (ExecutionException e) {
@@ -663,7 +673,7 @@ public CompletableFuture<Void> visitReadWriteManyEntriesCommand(InvocationContex
 
          int backupOwnerSize = backupOwnerSegments.size();
          if (backupOwnerSize > 0) {
-            List<CompletableFuture<Map<Address, Response>>> futures = new ArrayList<>(backupOwnerSize);
+            List<CompletableFuture<Void>> futures = new ArrayList<>(backupOwnerSize);
             RpcOptions options = rpcManager.getDefaultRpcOptions(isSynchronous(command));
             command.setFlags(Flag.SKIP_LOCKING);
             command.setForwarded(true);
@@ -675,8 +685,9 @@ public CompletableFuture<Void> visitReadWriteManyEntriesCommand(InvocationContex
                if (!segmentEntriesMap.isEmpty()) {
                   ReadWriteManyEntriesCommand copy = new ReadWriteManyEntriesCommand(command);
                   copy.setEntries(segmentEntriesMap);
-                  CompletableFuture<Map<Address, Response>> future = rpcManager
-                        .invokeRemotelyAsync(Collections.singletonList(entry.getKey()), copy, options);
+                  CompletableFuture<Void> future = rpcManager
+                        .invokeRemotelyAsync(Collections.singletonList(entry.getKey()), copy, options,
+                              VoidResponseCollector.instance());
                   futures.add(future);
                }
             }
@@ -6,6 +6,8 @@
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -45,6 +47,7 @@
 import org.infinispan.remoting.rpc.ResponseMode;
 import org.infinispan.remoting.rpc.RpcOptions;
 import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.ResponseCollector;
 import org.infinispan.statetransfer.OutdatedTopologyException;
 import org.infinispan.transaction.impl.LocalTransaction;
 import org.infinispan.transaction.xa.GlobalTransaction;
@@ -180,7 +183,7 @@ public CompletableFuture<Void> visitCommitCommand(TxInvocationContext ctx, Commi
       if (shouldInvokeRemoteTxCommand(ctx)) {
          Collection<Address> recipients = getCommitNodes(ctx);
          Map<Address, Response> responseMap =
-               rpcManager.invokeRemotely(recipients, command, createCommitRpcOptions());
+               rpcManager.invokeRemotely(recipients, command, createCommitRpcOptions(), new TxCommandResponseCollector());
          checkTxCommandResponses(responseMap, command, ctx, recipients);
       }
       return ctx.continueInvocation();
@@ -218,7 +221,8 @@ protected void prepareOnAffectedNodes(TxInvocationContext<?> ctx, PrepareCommand
    public CompletableFuture<Void> visitRollbackCommand(TxInvocationContext ctx, RollbackCommand command) throws Throwable {
       if (shouldInvokeRemoteTxCommand(ctx)) {
          Collection<Address> recipients = getCommitNodes(ctx);
-         Map<Address, Response> responseMap = rpcManager.invokeRemotely(recipients, command, createRollbackRpcOptions());
+         Map<Address, Response> responseMap =
+               rpcManager.invokeRemotely(recipients, command, createRollbackRpcOptions(), new TxCommandResponseCollector());
          checkTxCommandResponses(responseMap, command, ctx, recipients);
       }
 
@@ -369,4 +373,28 @@ protected RpcOptions createPrepareRpcOptions() {
               rpcManager.getRpcOptionsBuilder(ResponseMode.SYNCHRONOUS_IGNORE_LEAVERS, DeliverOrder.NONE).build() :
               rpcManager.getDefaultRpcOptions(false);
    }
+
+   /**
+    * Keeps only the responses {@link #checkTxCommandResponses(Map, TransactionBoundaryCommand, TxInvocationContext, Collection)}
+    * acts on, so that the commit and the rollback don't build a map of the successful responses they ignore.
+    */
+   private static class TxCommandResponseCollector implements ResponseCollector<Map<Address, Response>> {
+      private Map<Address, Response> responses;
+
+      @Override
+      public Map<Address, Response> addResponse(Address sender, Response response) {
+         if (response == CacheNotFoundResponse.INSTANCE || response == UnsureResponse.INSTANCE) {
+            if (responses == null) {
+               responses = new HashMap<>();
+            }
+            responses.put(sender, response);
+         }
+         return null;
+      }
+
+      @Override
+      public Map<Address, Response> finish() {
+         return responses != null ? responses : Collections.emptyMap();
+      }
+   }
 }
@@ -5,6 +5,8 @@
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.concurrent.CompletableFuture;
@@ -153,8 +155,16 @@ public CompletableFuture<Void> visitGetCacheEntryCommand(InvocationContext ctx,
    @Override
    public CompletableFuture<Void> visitGetAllCommand(InvocationContext ctx, GetAllCommand command)
          throws Throwable {
+      Set<Object> keysToLoad = new HashSet<>();
       for (Object key : command.getKeys()) {
-         loadIfNeeded(ctx, key, command);
+         if (!skipLoad(command, key, ctx)) {
+            keysToLoad.add(key);
+         }
+      }
+      if (keysToLoad.size() == 1) {
+         loadInContext(ctx, keysToLoad.iterator().next(), command);
+      } else if (!keysToLoad.isEmpty()) {
+         loadAllInContext(ctx, keysToLoad, command);
       }
       return ctx.continueInvocation();
    }
@@ -339,9 +349,40 @@ protected final Boolean loadIfNeeded(final InvocationContext ctx, Object key, fi
    }
 
    private Boolean loadInContext(InvocationContext ctx, Object key, FlagAffectedCommand cmd) {
+      return loadInContext(ctx, key, cmd, k -> PersistenceUtil.loadAndCheckExpiration(persistenceManager, k, ctx, timeService));
+   }
+
+   /**
+    * Loads all the keys missing from the data container with a single request per store, instead of one request
+    * per key, then stores them in the data container and in the context like {@link #loadIfNeeded} does.
+    */
+   private void loadAllInContext(InvocationContext ctx, Set<Object> keys, FlagAffectedCommand cmd) {
+      long now = timeService.wallClockTime();
+      Set<Object> missingKeys = new HashSet<>();
+      for (Object key : keys) {
+         InternalCacheEntry<K, V> entry = dataContainer.peek(key);
+         if (entry == null || entry.canExpire() && entry.isExpired(now)) {
+            missingKeys.add(key);
+         }
+      }
+      Map<Object, MarshalledEntry> loaded = missingKeys.isEmpty() ? Collections.emptyMap() :
+            PersistenceUtil.loadAllAndCheckExpiration(persistenceManager, missingKeys, ctx, timeService);
+      for (Object key : keys) {
+         loadInContext(ctx, key, cmd, k -> {
+            // The entry may have been removed from the data container after the bulk load
+            if (missingKeys.contains(k)) {
+               return loaded.get(k);
+            }
+            return PersistenceUtil.loadAndCheckExpiration(persistenceManager, k, ctx, timeService);
+         });
+      }
+   }
+
+   private Boolean loadInContext(InvocationContext ctx, Object key, FlagAffectedCommand cmd,
+                                 Function<Object, MarshalledEntry> loader) {
       final AtomicReference<Boolean> isLoaded = new AtomicReference<>();
-      InternalCacheEntry<K, V> entry = PersistenceUtil.loadAndStoreInDataContainer(dataContainer, persistenceManager, (K) key,
-                                                                             ctx, timeService, isLoaded);
+      InternalCacheEntry<K, V> entry = PersistenceUtil.loadAndStoreInDataContainer(dataContainer, (K) key, timeService,
+                                                                                   isLoaded, loader);
       Boolean isLoadedValue = isLoaded.get();
       if (trace) {
          log.tracef("Entry was loaded? %s", isLoadedValue);
@@ -0,0 +1,320 @@
+package org.infinispan.marshall.core;
+
+import static org.infinispan.marshall.core.BytesObjectOutput.BOOLEAN;
+import static org.infinispan.marshall.core.BytesObjectOutput.BYTE;
+import static org.infinispan.marshall.core.BytesObjectOutput.BYTE_ARRAY;
+import static org.infinispan.marshall.core.BytesObjectOutput.CHARACTER;
+import static org.infinispan.marshall.core.BytesObjectOutput.DOUBLE;
+import static org.infinispan.marshall.core.BytesObjectOutput.EXTERNALIZER;
+import static org.infinispan.marshall.core.BytesObjectOutput.FLOAT;
+import static org.infinispan.marshall.core.BytesObjectOutput.INTEGER;
+import static org.infinispan.marshall.core.BytesObjectOutput.JBOSS_MARSHALLING;
+import static org.infinispan.marshall.core.BytesObjectOutput.LONG;
+import static org.infinispan.marshall.core.BytesObjectOutput.NULL;
+import static org.infinispan.marshall.core.BytesObjectOutput.OBJECT_ARRAY;
+import static org.infinispan.marshall.core.BytesObjectOutput.SHORT;
+import static org.infinispan.marshall.core.BytesObjectOutput.STRING;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInput;
+import java.io.StreamCorruptedException;
+import java.io.UTFDataFormatException;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An {@link ObjectInput} reading directly from a byte array the objects written by a {@link BytesObjectOutput}.
+ * <p>
+ * The blobs written by JBoss Marshalling are read by a single JBoss Marshalling stream, which only sees the bytes of
+ * the blob being read. The stream must be released with {@link #finish()}.
+ *
+ * @since 9.0
+ */
+public final class BytesObjectInput implements ObjectInput {
+   private final GlobalMarshaller marshaller;
+   private final byte[] bytes;
+   private final int limit;
+   private int pos;
+   private ObjectInput jbossInput;
+   // The end of the blob the JBoss Marshalling stream is reading
+   private int jbossLimit;
+
+   BytesObjectInput(byte[] bytes, int offset, int length, GlobalMarshaller marshaller) {
+      this.bytes = bytes;
+      this.pos = offset;
+      this.limit = offset + length;
+      this.marshaller = marshaller;
+   }
+
+   @Override
+   public Object readObject() throws ClassNotFoundException, IOException {
+      byte type = readByte();
+      switch (type) {
+         case NULL:
+            return null;
+         case EXTERNALIZER:
+            return marshaller.readExternalizable(this);
+         case STRING:
+            return readString();
+         case BYTE_ARRAY:
+            byte[] array = new byte[readVarInt()];
+            readFully(array);
+            return array;
+         case BOOLEAN:
+            return readBoolean();
+         case BYTE:
+            return readByte();
+         case SHORT:
+            return readShort();
+         case INTEGER:
+            return readInt();
+         case LONG:
+            return readLong();
+         case FLOAT:
+            return readFloat();
+         case DOUBLE:
+            return readDouble();
+         case CHARACTER:
+            return readChar();
+         case OBJECT_ARRAY:
+            return readObjectArray();
+         case JBOSS_MARSHALLING:
+            return readJBossMarshalling();
+         default:
+            throw new StreamCorruptedException("Unknown object type " + type);
+      }
+   }
+
+   private Object readJBossMarshalling() throws ClassNotFoundException, IOException {
+      int length = readInt();
+      checkAvailable(length);
+      int end = pos + length;
+      jbossLimit = end;
+      if (jbossInput == null) {
+         jbossInput = marshaller.startJBossInput(new InputStream() {
+            @Override
+            public int read() {
+               return pos < jbossLimit ? bytes[pos++] & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+               if (pos >= jbossLimit) {
+                  return -1;
+               }
+               int count = Math.min(len, jbossLimit - pos);
+               System.arraycopy(bytes, pos, b, off, count);
+               pos += count;
+               return count;
+            }
+
+            @Override
+            public int available() {
+               return jbossLimit - pos;
+            }
+         });
+      }
+      Object obj = jbossInput.readObject();
+      pos = end;
+      return obj;
+   }
+
+   /**
+    * Releases the JBoss Marshalling stream, if one was needed.
+    */
+   void finish() {
+      if (jbossInput != null) {
+         marshaller.finishJBossInput(jbossInput);
+         jbossInput = null;
+      }
+   }
+
+   private Object readObjectArray() throws ClassNotFoundException, IOException {
+      Class<?> componentType = marshaller.loadClass(readString());
+      int length = readVarInt();
+      Object[] array = (Object[]) Array.newInstance(componentType, length);
+      for (int i = 0; i < length; i++) {
+         array[i] = readObject();
+      }
+      return array;
+   }
+
+   private String readString() throws IOException {
+      int length = readVarInt();
+      checkAvailable(length);
+      String s = new String(bytes, pos, length, StandardCharsets.UTF_8);
+      pos += length;
+      return s;
+   }
+
+   int readVarInt() throws IOException {
+      int b = readUnsignedByte();
+      int i = b & 0x7F;
+      for (int shift = 7; (b & 0x80) != 0; shift += 7) {
+         b = readUnsignedByte();
+         i |= (b & 0x7F) << shift;
+      }
+      return i;
+   }
+
+   @Override
+   public int read() {
+      return pos < limit ? bytes[pos++] & 0xFF : -1;
+   }
+
+   @Override
+   public int read(byte[] b) {
+      return read(b, 0, b.length);
+   }
+
+   @Override
+   public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+         return 0;
+      }
+      if (pos >= limit) {
+         return -1;
+      }
+      int count = Math.min(len, limit - pos);
+      System.arraycopy(bytes, pos, b, off, count);
+      pos += count;
+      return count;
+   }
+
+   @Override
+   public long skip(long n) {
+      long count = Math.max(0, Math.min(n, limit - pos));
+      pos += count;
+      return count;
+   }
+
+   @Override
+   public int available() {
+      return limit - pos;
+   }
+
+   @Override
+   public void close() {
+   }
+
+   @Override
+   public void readFully(byte[] b) throws IOException {
+      readFully(b, 0, b.length);
+   }
+
+   @Override
+   public void readFully(byte[] b, int off, int len) throws IOException {
+      checkAvailable(len);
+      System.arraycopy(bytes, pos, b, off, len);
+      pos += len;
+   }
+
+   @Override
+   public int skipBytes(int n) {
+      return (int) skip(n);
+   }
+
+   @Override
+   public boolean readBoolean() throws IOException {
+      return readUnsignedByte() != 0;
+   }
+
+   @Override
+   public byte readByte() throws IOException {
+      checkAvailable(1);
+      return bytes[pos++];
+   }
+
+   @Override
+   public int readUnsignedByte() throws IOException {
+      return readByte() & 0xFF;
+   }
+
+   @Override
+   public short readShort() throws IOException {
+      return (short) readUnsignedShort();
+   }
+
+   @Override
+   public int readUnsignedShort() throws IOException {
+      checkAvailable(2);
+      return ((bytes[pos++] & 0xFF) << 8) | (bytes[pos++] & 0xFF);
+   }
+
+   @Override
+   public char readChar() throws IOException {
+      return (char) readUnsignedShort();
+   }
+
+   @Override
+   public int readInt() throws IOException {
+      checkAvailable(4);
+      return ((bytes[pos++] & 0xFF) << 24) | ((bytes[pos++] & 0xFF) << 16) | ((bytes[pos++] & 0xFF) << 8)
+            | (bytes[pos++] & 0xFF);
+   }
+
+   @Override
+   public long readLong() throws IOException {
+      checkAvailable(8);
+      long v = 0;
+      for (int i = 0; i < 8; i++) {
+         v = (v << 8) | (bytes[pos++] & 0xFF);
+      }
+      return v;
+   }
+
+   @Override
+   public float readFloat() throws IOException {
+      return Float.intBitsToFloat(readInt());
+   }
+
+   @Override
+   public double readDouble() throws IOException {
+      return Double.longBitsToDouble(readLong());
+   }
+
+   @Override
+   public String readLine() {
+      throw new UnsupportedOperationException();
+   }
+
+   @Override
+   public String readUTF() throws IOException {
+      // Modified UTF-8, as read by DataInputStream
+      int utfLen = readUnsignedShort();
+      checkAvailable(utfLen);
+      char[] chars = new char[utfLen];
+      int end = pos + utfLen;
+      int count = 0;
+      while (pos < end) {
+         int c = bytes[pos] & 0xFF;
+         switch (c >> 4) {
+            case 0: case 1: case 2: case 3: case 4: case 5: case 6: case 7:
+               pos++;
+               chars[count++] = (char) c;
+               break;
+            case 12: case 13:
+               if (pos + 2 > end) throw new UTFDataFormatException("malformed input: partial character at end");
+               chars[count++] = (char) (((c & 0x1F) << 6) | (bytes[pos + 1] & 0x3F));
+               pos += 2;
+               break;
+            case 14:
+               if (pos + 3 > end) throw new UTFDataFormatException("malformed input: partial character at end");
+               chars[count++] = (char) (((c & 0x0F) << 12) | ((bytes[pos + 1] & 0x3F) << 6) | (bytes[pos + 2] & 0x3F));
+               pos += 3;
+               break;
+            default:
+               throw new UTFDataFormatException("malformed input around byte " + pos);
+         }
+      }
+      return new String(chars, 0, count);
+   }
+
+   private void checkAvailable(int length) throws EOFException {
+      if (length < 0 || limit - pos < length) {
+         throw new EOFException();
+      }
+   }
+}
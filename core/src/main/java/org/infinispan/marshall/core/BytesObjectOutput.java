@@ -0,0 +1,330 @@
+package org.infinispan.marshall.core;
+
+import java.io.IOException;
+import java.io.ObjectOutput;
+import java.io.OutputStream;
+import java.io.UTFDataFormatException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.jboss.marshalling.TraceInformation;
+
+/**
+ * An {@link ObjectOutput} writing directly to a growable byte array, used by {@link GlobalMarshaller} instead of a
+ * JBoss Marshalling stream.
+ * <p>
+ * Objects with an externalizer in the {@link ExternalizerTable} are written as their externalizer id followed by
+ * their contents, and a few common JDK types have their own compact encoding. Any other object is written as a
+ * length-prefixed blob by a JBoss Marshalling stream, created on the first such object and shared by the whole output,
+ * so that the references between these objects are kept. The stream must be released with {@link #finish()}. The
+ * primitive values use the same encoding as {@link java.io.DataOutputStream}.
+ *
+ * @since 9.0
+ */
+public final class BytesObjectOutput implements ObjectOutput {
+   static final byte NULL = 0;
+   static final byte EXTERNALIZER = 1;
+   static final byte STRING = 2;
+   static final byte BYTE_ARRAY = 3;
+   static final byte BOOLEAN = 4;
+   static final byte BYTE = 5;
+   static final byte SHORT = 6;
+   static final byte INTEGER = 7;
+   static final byte LONG = 8;
+   static final byte FLOAT = 9;
+   static final byte DOUBLE = 10;
+   static final byte CHARACTER = 11;
+   static final byte OBJECT_ARRAY = 12;
+   static final byte JBOSS_MARSHALLING = 13;
+
+   private final GlobalMarshaller marshaller;
+   private byte[] bytes;
+   private int pos;
+   private ObjectOutput jbossOutput;
+
+   BytesObjectOutput(int size, GlobalMarshaller marshaller) {
+      this.bytes = new byte[Math.max(size, 16)];
+      this.marshaller = marshaller;
+   }
+
+   int size() {
+      return pos;
+   }
+
+   int capacity() {
+      return bytes.length;
+   }
+
+   /**
+    * Discards the written bytes so that a pooled output can be reused, growing the buffer to {@code size} bytes if
+    * it is smaller.
+    */
+   void reset(int size) {
+      pos = 0;
+      if (bytes.length < size) {
+         bytes = new byte[size];
+      }
+   }
+
+   byte[] toByteArray() {
+      return Arrays.copyOf(bytes, pos);
+   }
+
+   @Override
+   public void writeObject(Object obj) throws IOException {
+      if (obj == null) {
+         writeByte(NULL);
+         return;
+      }
+      Class<?> clazz = obj.getClass();
+      if (clazz == String.class) {
+         writeByte(STRING);
+         writeString((String) obj);
+      } else if (clazz == byte[].class) {
+         byte[] array = (byte[]) obj;
+         writeByte(BYTE_ARRAY);
+         writeVarInt(array.length);
+         write(array);
+      } else if (clazz == Integer.class) {
+         writeByte(INTEGER);
+         writeInt((Integer) obj);
+      } else if (clazz == Long.class) {
+         writeByte(LONG);
+         writeLong((Long) obj);
+      } else if (clazz == Boolean.class) {
+         writeByte(BOOLEAN);
+         writeBoolean((Boolean) obj);
+      } else if (clazz == Byte.class) {
+         writeByte(BYTE);
+         writeByte((Byte) obj);
+      } else if (clazz == Short.class) {
+         writeByte(SHORT);
+         writeShort((Short) obj);
+      } else if (clazz == Float.class) {
+         writeByte(FLOAT);
+         writeFloat((Float) obj);
+      } else if (clazz == Double.class) {
+         writeByte(DOUBLE);
+         writeDouble((Double) obj);
+      } else if (clazz == Character.class) {
+         writeByte(CHARACTER);
+         writeChar((Character) obj);
+      } else {
+         try {
+            int start = pos;
+            writeByte(EXTERNALIZER);
+            if (!marshaller.writeExternalizable(this, obj)) {
+               pos = start;
+               if (clazz.isArray() && !clazz.getComponentType().isPrimitive()) {
+                  writeObjectArray((Object[]) obj);
+               } else {
+                  writeJBossMarshalling(obj);
+               }
+            }
+         } catch (IOException | RuntimeException e) {
+            // Keep the path to the object that failed, like JBoss Marshalling does
+            TraceInformation.addObjectInformation(e, obj);
+            throw e;
+         }
+      }
+   }
+
+   private void writeObjectArray(Object[] array) throws IOException {
+      writeByte(OBJECT_ARRAY);
+      writeString(array.getClass().getComponentType().getName());
+      writeVarInt(array.length);
+      for (Object element : array) {
+         writeObject(element);
+      }
+   }
+
+   private void writeJBossMarshalling(Object obj) throws IOException {
+      writeByte(JBOSS_MARSHALLING);
+      // The length is only known once the stream is flushed
+      int lengthPos = pos;
+      writeInt(0);
+      if (jbossOutput == null) {
+         jbossOutput = marshaller.startJBossOutput(new OutputStream() {
+            @Override
+            public void write(int b) {
+               BytesObjectOutput.this.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+               BytesObjectOutput.this.write(b, off, len);
+            }
+         });
+      }
+      jbossOutput.writeObject(obj);
+      jbossOutput.flush();
+      int length = pos - lengthPos - 4;
+      bytes[lengthPos] = (byte) (length >>> 24);
+      bytes[lengthPos + 1] = (byte) (length >>> 16);
+      bytes[lengthPos + 2] = (byte) (length >>> 8);
+      bytes[lengthPos + 3] = (byte) length;
+   }
+
+   /**
+    * Releases the JBoss Marshalling stream, if one was needed.
+    */
+   void finish() {
+      if (jbossOutput != null) {
+         marshaller.finishJBossOutput(jbossOutput);
+         jbossOutput = null;
+      }
+   }
+
+   private void writeString(String s) {
+      byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+      writeVarInt(utf8.length);
+      write(utf8, 0, utf8.length);
+   }
+
+   void writeVarInt(int i) {
+      ensureCapacity(5);
+      while ((i & ~0x7F) != 0) {
+         bytes[pos++] = (byte) ((i & 0x7F) | 0x80);
+         i >>>= 7;
+      }
+      bytes[pos++] = (byte) i;
+   }
+
+   @Override
+   public void write(int b) {
+      ensureCapacity(1);
+      bytes[pos++] = (byte) b;
+   }
+
+   @Override
+   public void write(byte[] b) {
+      write(b, 0, b.length);
+   }
+
+   @Override
+   public void write(byte[] b, int off, int len) {
+      ensureCapacity(len);
+      System.arraycopy(b, off, bytes, pos, len);
+      pos += len;
+   }
+
+   @Override
+   public void writeBoolean(boolean v) {
+      write(v ? 1 : 0);
+   }
+
+   @Override
+   public void writeByte(int v) {
+      write(v);
+   }
+
+   @Override
+   public void writeShort(int v) {
+      ensureCapacity(2);
+      bytes[pos++] = (byte) (v >> 8);
+      bytes[pos++] = (byte) v;
+   }
+
+   @Override
+   public void writeChar(int v) {
+      writeShort(v);
+   }
+
+   @Override
+   public void writeInt(int v) {
+      ensureCapacity(4);
+      bytes[pos++] = (byte) (v >> 24);
+      bytes[pos++] = (byte) (v >> 16);
+      bytes[pos++] = (byte) (v >> 8);
+      bytes[pos++] = (byte) v;
+   }
+
+   @Override
+   public void writeLong(long v) {
+      ensureCapacity(8);
+      for (int shift = 56; shift >= 0; shift -= 8) {
+         bytes[pos++] = (byte) (v >> shift);
+      }
+   }
+
+   @Override
+   public void writeFloat(float v) {
+      writeInt(Float.floatToIntBits(v));
+   }
+
+   @Override
+   public void writeDouble(double v) {
+      writeLong(Double.doubleToLongBits(v));
+   }
+
+   @Override
+   public void writeBytes(String s) {
+      int len = s.length();
+      ensureCapacity(len);
+      for (int i = 0; i < len; i++) {
+         bytes[pos++] = (byte) s.charAt(i);
+      }
+   }
+
+   @Override
+   public void writeChars(String s) {
+      int len = s.length();
+      ensureCapacity(len * 2);
+      for (int i = 0; i < len; i++) {
+         char c = s.charAt(i);
+         bytes[pos++] = (byte) (c >> 8);
+         bytes[pos++] = (byte) c;
+      }
+   }
+
+   @Override
+   public void writeUTF(String s) throws IOException {
+      // Modified UTF-8, as written by DataOutputStream
+      int len = s.length();
+      int utfLen = 0;
+      for (int i = 0; i < len; i++) {
+         char c = s.charAt(i);
+         if (c >= 0x0001 && c <= 0x007F) {
+            utfLen++;
+         } else if (c > 0x07FF) {
+            utfLen += 3;
+         } else {
+            utfLen += 2;
+         }
+      }
+      if (utfLen > 65535) {
+         throw new UTFDataFormatException("encoded string too long: " + utfLen + " bytes");
+      }
+      ensureCapacity(utfLen + 2);
+      bytes[pos++] = (byte) (utfLen >> 8);
+      bytes[pos++] = (byte) utfLen;
+      for (int i = 0; i < len; i++) {
+         char c = s.charAt(i);
+         if (c >= 0x0001 && c <= 0x007F) {
+            bytes[pos++] = (byte) c;
+         } else if (c > 0x07FF) {
+            bytes[pos++] = (byte) (0xE0 | ((c >> 12) & 0x0F));
+            bytes[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            bytes[pos++] = (byte) (0x80 | (c & 0x3F));
+         } else {
+            bytes[pos++] = (byte) (0xC0 | ((c >> 6) & 0x1F));
+            bytes[pos++] = (byte) (0x80 | (c & 0x3F));
+         }
+      }
+   }
+
+   @Override
+   public void flush() {
+   }
+
+   @Override
+   public void close() {
+   }
+
+   private void ensureCapacity(int len) {
+      int required = pos + len;
+      if (required > bytes.length) {
+         bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length << 1));
+      }
+   }
+}
@@ -1,6 +1,8 @@
 package org.infinispan.marshall.core;
 
 import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -208,6 +210,30 @@ public Writer getObjectWriter(Object o) throws IOException {
 
    @Override
    public Object readObject(Unmarshaller input) throws IOException, ClassNotFoundException {
+      return readExternalizable(input);
+   }
+
+   /**
+    * Writes the externalizer id of {@code o} followed by its contents, if {@code o} has an externalizer.
+    *
+    * @return {@code false} if there is no externalizer for {@code o}, in which case nothing was written
+    */
+   boolean writeExternalizable(ObjectOutput output, Object o) throws IOException {
+      if (!started) {
+         throw log.externalizerTableStopped(o.getClass().getName());
+      }
+      ExternalizerAdapter adapter = writers.get(o.getClass());
+      if (adapter == null) {
+         return false;
+      }
+      adapter.writeTo(output, o);
+      return true;
+   }
+
+   /**
+    * Reads an object written by {@link #writeExternalizable(ObjectOutput, Object)}.
+    */
+   Object readExternalizable(ObjectInput input) throws IOException, ClassNotFoundException {
       int readerIndex = input.readUnsignedByte();
       int foreignId = -1;
       if (readerIndex == Ids.MAX_ID) {
@@ -239,7 +265,7 @@ public Object readObject(Unmarshaller input) throws IOException, ClassNotFoundEx
          }
       }
 
-      return adapter.readObject(input);
+      return adapter.externalizer.readObject(input);
    }
 
    public Externalizer getExternalizer(Object o) {
@@ -486,6 +512,10 @@ public Object readObject(Unmarshaller input) throws IOException, ClassNotFoundEx
 
       @Override
       public void writeObject(Marshaller output, Object object) throws IOException {
+         writeTo(output, object);
+      }
+
+      void writeTo(ObjectOutput output, Object object) throws IOException {
          output.write(id);
          externalizer.writeObject(output, object);
       }
@@ -532,7 +562,7 @@ int getExternalizerId() {
       }
 
       @Override
-      public void writeObject(Marshaller output, Object object) throws IOException {
+      void writeTo(ObjectOutput output, Object object) throws IOException {
          output.write(id);
          // Write as an unsigned, variable length, integer to safe space
          UnsignedNumeric.writeUnsignedInt(output, foreignId);
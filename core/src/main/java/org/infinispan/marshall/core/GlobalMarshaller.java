@@ -6,13 +6,18 @@
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.OutputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.infinispan.Version;
 import org.infinispan.commons.io.ByteBuffer;
 import org.infinispan.commons.io.ByteBufferImpl;
 import org.infinispan.commons.io.ExposedByteArrayOutputStream;
 import org.infinispan.commons.marshall.AbstractMarshaller;
+import org.infinispan.commons.marshall.BufferSizePredictor;
 import org.infinispan.commons.marshall.NotSerializableException;
 import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
@@ -26,6 +31,17 @@
  * A globally-scoped marshaller. This is needed so that the transport layer
  * can unmarshall requests even before it's known which cache's marshaller can
  * do the job.
+ * <p>
+ * The objects marshalled into buffers are written with a {@link BytesObjectOutput}, which encodes the internal types
+ * directly with their externalizers and only uses JBoss Marshalling for the types it does not know. The stream based
+ * methods still use JBoss Marshalling, and buffers written by JBoss Marshalling can always be read, so the stores and
+ * the state written by older versions stay readable. Older versions cannot read the new buffers, though: during a
+ * rolling upgrade from an older version, set the serialization version of the global configuration to that version, so
+ * that the buffers are written with JBoss Marshalling until every node is upgraded.
+ * <p>
+ * Each thread keeps its marshalling buffer for the next call, sized by the predictor of the marshalled type, and the
+ * returned buffers are exact copies of the written bytes. They are never recycled, because the transport and the
+ * stores may keep them after the call returns.
  *
  * @author Galder Zamarreño
  * @since 5.0
@@ -36,10 +52,31 @@ public class GlobalMarshaller extends AbstractMarshaller implements StreamingMar
    private static final Log log = LogFactory.getLog(GlobalMarshaller.class);
    private final boolean trace = log.isTraceEnabled();
 
+   /**
+    * The first byte of the buffers written with a {@link BytesObjectOutput}. The buffers written by JBoss Marshalling
+    * start with the protocol version instead.
+    */
+   static final byte BYTES_FORMAT = (byte) 0xB1;
+
+   /**
+    * The first version able to read the buffers written with a {@link BytesObjectOutput}.
+    */
+   static final short BYTES_FORMAT_VERSION = Version.getVersionShort("9.0");
+
+   /**
+    * The largest marshalling buffer kept by a thread for its next call. Larger buffers are left to the GC.
+    */
+   static final int MAX_POOLED_BUFFER_SIZE = 64 * 1024;
+
+   private static final int JBOSS_BUFFER_SIZE = 512;
+
    private JBossMarshaller defaultMarshaller;
 
    private ExternalizerTable extTable;
    private GlobalConfiguration globalCfg;
+   private final ConcurrentMap<String, Class<?>> arrayComponentTypes = new ConcurrentHashMap<>();
+   private final ThreadLocal<BytesObjectOutput> pooledOutputs = new ThreadLocal<>();
+   private boolean bytesFormat;
 
    @Inject
    public void inject(ExternalizerTable extTable, GlobalConfiguration globalCfg) {
@@ -52,6 +89,16 @@ public void inject(ExternalizerTable extTable, GlobalConfiguration globalCfg) {
    public void start() {
       defaultMarshaller = new JBossMarshaller(extTable, globalCfg);
       defaultMarshaller.start();
+      bytesFormat = isBytesFormatSupported(globalCfg.serialization().version());
+   }
+
+   /**
+    * @param version the serialization version of the global configuration, either the default {@link
+    *                Version#getMarshallVersion()} or a version encoded by {@link Version#getVersionShort(String)}
+    * @return whether the nodes of that version can read the buffers written with a {@link BytesObjectOutput}
+    */
+   static boolean isBytesFormatSupported(short version) {
+      return version == Version.getMarshallVersion() || version >= BYTES_FORMAT_VERSION;
    }
 
    @Override
@@ -60,12 +107,27 @@ public void stop() {
       defaultMarshaller.stop();
    }
 
+   @Override
+   public ByteBuffer objectToBuffer(Object obj) throws IOException, InterruptedException {
+      if (obj == null) {
+         return objectToBuffer(null, 1);
+      }
+      // The buffer is already trimmed, the prediction only sizes the pooled buffer
+      BufferSizePredictor sizePredictor = marshallableTypeHints.getBufferSizePredictor(obj.getClass());
+      ByteBuffer buffer = objectToBuffer(obj, sizePredictor.nextSize(obj));
+      sizePredictor.recordSize(buffer.getLength());
+      return buffer;
+   }
+
+   @Override
+   public byte[] objectToByteBuffer(Object obj, int estimatedSize) throws IOException, InterruptedException {
+      return objectToBuffer(obj, estimatedSize).getBuf();
+   }
+
    @Override
    protected ByteBuffer objectToBuffer(Object obj, int estimatedSize) throws IOException, InterruptedException {
-      ExposedByteArrayOutputStream baos = new ExposedByteArrayOutputStream(estimatedSize);
-      ObjectOutput out = startObjectOutput(baos, false, estimatedSize);
       try {
-         defaultMarshaller.objectToObjectStream(obj, out);
+         return bytesFormat ? objectToBytes(obj, estimatedSize) : objectToJBossBuffer(obj, estimatedSize);
       } catch (java.io.NotSerializableException nse) {
          if (log.isDebugEnabled()) log.debug("Object is not serializable", nse);
          throw new NotSerializableException(nse.getMessage(), nse.getCause());
@@ -77,17 +139,98 @@ protected ByteBuffer objectToBuffer(Object obj, int estimatedSize) throws IOExce
             log.errorMarshallingObject(ioe, obj);
             throw ioe;
          }
+      }
+   }
+
+   private ByteBuffer objectToBytes(Object obj, int estimatedSize) throws IOException {
+      BytesObjectOutput out = acquireOutput(estimatedSize);
+      try {
+         out.writeByte(BYTES_FORMAT);
+         out.writeObject(obj);
+      } finally {
+         out.finish();
+      }
+      byte[] bytes = out.toByteArray();
+      releaseOutput(out);
+      return new ByteBufferImpl(bytes, 0, bytes.length);
+   }
+
+   private ByteBuffer objectToJBossBuffer(Object obj, int estimatedSize) throws IOException {
+      ExposedByteArrayOutputStream baos = new ExposedByteArrayOutputStream(estimatedSize);
+      ObjectOutput out = startObjectOutput(baos, false, estimatedSize);
+      try {
+         defaultMarshaller.objectToObjectStream(obj, out);
       } finally {
          finishObjectOutput(out);
       }
-      return new ByteBufferImpl(baos.getRawBuffer(), 0, baos.size());
+      // Exact copy, like the buffers written with a BytesObjectOutput
+      byte[] bytes = baos.toByteArray();
+      return new ByteBufferImpl(bytes, 0, bytes.length);
+   }
+
+   private BytesObjectOutput acquireOutput(int estimatedSize) {
+      BytesObjectOutput out = pooledOutputs.get();
+      if (out == null) {
+         return new BytesObjectOutput(estimatedSize, this);
+      }
+      // Nested calls, e.g. from an externalizer, find no pooled output and use their own
+      pooledOutputs.set(null);
+      out.reset(estimatedSize);
+      return out;
+   }
+
+   private void releaseOutput(BytesObjectOutput out) {
+      if (out.capacity() <= MAX_POOLED_BUFFER_SIZE) {
+         pooledOutputs.set(out);
+      }
    }
 
    @Override
    public Object objectFromByteBuffer(byte[] bytes, int offset, int len) throws IOException, ClassNotFoundException {
+      if (len > 0 && bytes[offset] == BYTES_FORMAT) {
+         BytesObjectInput in = new BytesObjectInput(bytes, offset + 1, len - 1, this);
+         try {
+            return in.readObject();
+         } finally {
+            in.finish();
+         }
+      }
       return defaultMarshaller.objectFromByteBuffer(bytes, offset, len);
    }
 
+   boolean writeExternalizable(ObjectOutput out, Object obj) throws IOException {
+      return extTable.writeExternalizable(out, obj);
+   }
+
+   Object readExternalizable(ObjectInput in) throws IOException, ClassNotFoundException {
+      return extTable.readExternalizable(in);
+   }
+
+   ObjectOutput startJBossOutput(OutputStream os) throws IOException {
+      return defaultMarshaller.startObjectOutput(os, false, JBOSS_BUFFER_SIZE);
+   }
+
+   void finishJBossOutput(ObjectOutput out) {
+      defaultMarshaller.finishObjectOutput(out);
+   }
+
+   ObjectInput startJBossInput(InputStream is) throws IOException {
+      return defaultMarshaller.startObjectInput(is, false);
+   }
+
+   void finishJBossInput(ObjectInput in) {
+      defaultMarshaller.finishObjectInput(in);
+   }
+
+   Class<?> loadClass(String name) throws ClassNotFoundException {
+      Class<?> clazz = arrayComponentTypes.get(name);
+      if (clazz == null) {
+         clazz = Util.loadClassStrict(name, globalCfg.classLoader());
+         arrayComponentTypes.putIfAbsent(name, clazz);
+      }
+      return clazz;
+   }
+
    @Override
    public ObjectOutput startObjectOutput(OutputStream os, boolean isReentrant, final int estimatedSize) throws IOException {
       return defaultMarshaller.startObjectOutput(os, isReentrant, estimatedSize);
@@ -37,7 +37,10 @@
 import org.infinispan.commons.marshall.StreamingMarshaller;
 import org.infinispan.commons.util.Util;
 import org.infinispan.factories.GlobalComponentRegistry;
+import org.infinispan.marshall.core.BytesObjectInput;
+import org.infinispan.marshall.core.BytesObjectOutput;
 import org.infinispan.marshall.core.Ids;
+import org.infinispan.notifications.cachelistener.cluster.ClusterEventCommand;
 import org.infinispan.statetransfer.StateRequestCommand;
 import org.infinispan.statetransfer.StateResponseCommand;
 import org.infinispan.stream.impl.StreamRequestCommand;
@@ -46,6 +49,7 @@
 import org.infinispan.util.ByteString;
 import org.infinispan.xsite.SingleXSiteRpcCommand;
 import org.infinispan.xsite.XSiteAdminCommand;
+import org.infinispan.xsite.XSiteBulkUpdateCommand;
 import org.infinispan.xsite.statetransfer.XSiteStatePushCommand;
 import org.infinispan.xsite.statetransfer.XSiteStateTransferControlCommand;
 
@@ -84,7 +88,7 @@ public Set<Class<? extends CacheRpcCommand>> getTypeClasses() {
                TotalOrderVersionedPrepareCommand.class, TotalOrderCommitCommand.class,
                TotalOrderVersionedCommitCommand.class, TotalOrderRollbackCommand.class,
                XSiteStateTransferControlCommand.class, XSiteStatePushCommand.class, SingleXSiteRpcCommand.class,
-               ClusteredGetAllCommand.class,
+               ClusteredGetAllCommand.class, XSiteBulkUpdateCommand.class, ClusterEventCommand.class,
                StreamRequestCommand.class, StreamSegmentResponseCommand.class, StreamResponseCommand.class);
       // Only interested in cache specific replicable commands
       coreCommands.addAll(gcr.getModuleProperties().moduleCacheRpcCommands());
@@ -105,6 +109,11 @@ public void writeObject(ObjectOutput output, CacheRpcCommand command) throws IOE
    }
 
    private void marshallParameters(CacheRpcCommand cmd, StreamingMarshaller marshaller, ObjectOutput oo) throws IOException {
+      if (oo instanceof BytesObjectOutput) {
+         // Already written by the global marshaller, no need for a nested stream
+         cmdExt.writeCommandParameters(oo, cmd);
+         return;
+      }
       BufferSizePredictor sizePredictor = marshaller.getBufferSizePredictor(cmd);
       int estimatedSize = sizePredictor.nextSize(cmd);
       ObjectOutput paramsOutput = marshaller.startObjectOutput(convertObjectOutput(oo), true, estimatedSize);
@@ -122,6 +131,12 @@ public CacheRpcCommand readObject(ObjectInput input) throws IOException, ClassNo
       byte methodId = (byte) input.readShort();
       ByteString cacheName = ByteString.readObject(input);
 
+      if (input instanceof BytesObjectInput) {
+         CacheRpcCommand cacheRpcCommand = cmdExt.fromStream(methodId, type, cacheName);
+         cmdExt.readCommandParameters(input, cacheRpcCommand);
+         return cacheRpcCommand;
+      }
+
       //create the object input
       ObjectInput paramsInput = globalMarshaller.startObjectInput(convertInputStream(input), true);
       CacheRpcCommand cacheRpcCommand;
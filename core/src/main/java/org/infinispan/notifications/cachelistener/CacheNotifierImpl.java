@@ -66,6 +66,9 @@
 import org.infinispan.filter.KeyFilter;
 import org.infinispan.interceptors.AsyncInterceptorChain;
 import org.infinispan.interceptors.locking.ClusteringDependentLogic;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.notifications.Listener;
@@ -137,6 +140,7 @@
  * @author anistor@redhat.com
  * @since 4.0
  */
+@MBean(objectName = "CacheNotifier", description = "Component that notifies the cache listeners.")
 public final class CacheNotifierImpl<K, V> extends AbstractListenerImpl<Event<K, V>, CacheEntryListenerInvocation<K, V>>
       implements ClusterCacheNotifier<K, V> {
 
@@ -286,6 +290,33 @@ protected Log getLog() {
       return log;
    }
 
+   @Override
+   protected Object getCoalescingKey(Object event) {
+      return event instanceof CacheEntryEvent ? ((CacheEntryEvent) event).getKey() : null;
+   }
+
+   @ManagedAttribute(description = "Number of events waiting to be delivered to the asynchronous listeners",
+         displayName = "Asynchronous listeners backlog")
+   public long getAsyncListenersBacklog() {
+      long backlog = 0;
+      for (Long listenerBacklog : getAsyncListenerBacklogs().values()) {
+         backlog += listenerBacklog;
+      }
+      return backlog;
+   }
+
+   @ManagedOperation(description = "Returns the number of events waiting to be delivered to each asynchronous listener",
+         displayName = "Backlog of each asynchronous listener")
+   public Map<String, Long> asyncListenersBacklog() {
+      return getAsyncListenerBacklogs();
+   }
+
+   @ManagedOperation(description = "Returns the number of events dropped because the queue of an asynchronous listener was full, for each listener",
+         displayName = "Dropped events of each asynchronous listener")
+   public Map<String, Long> asyncListenersDroppedEvents() {
+      return getAsyncListenerDroppedEvents();
+   }
+
    @Override
    public void setTypeConverter(TypeConverter typeConverter) {
       this.typeConverter = typeConverter;
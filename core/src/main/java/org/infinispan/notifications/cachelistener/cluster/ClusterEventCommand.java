@@ -0,0 +1,119 @@
+package org.infinispan.notifications.cachelistener.cluster;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.infinispan.Cache;
+import org.infinispan.commands.remote.BaseRpcCommand;
+import org.infinispan.commons.marshall.MarshallUtil;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.util.ByteString;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Delivers a batch of cluster events to the node where the cluster listeners were registered.
+ * <p>
+ * The events are grouped by the identifier of the cluster listener, and the events of a listener are notified in the
+ * order they were added to the batch.
+ *
+ * @since 9.0
+ */
+public class ClusterEventCommand extends BaseRpcCommand {
+
+   public static final byte COMMAND_ID = 62;
+
+   private static final Log log = LogFactory.getLog(ClusterEventCommand.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private Map<UUID, Collection<ClusterEvent<?, ?>>> events;
+   private Cache<?, ?> cache;
+   private ClusterCacheNotifier<?, ?> clusterCacheNotifier;
+
+   private ClusterEventCommand() {
+      super(null);
+   }
+
+   public ClusterEventCommand(ByteString cacheName) {
+      super(cacheName);
+   }
+
+   public ClusterEventCommand(ByteString cacheName, Map<UUID, Collection<ClusterEvent<?, ?>>> events) {
+      super(cacheName);
+      this.events = events;
+   }
+
+   public void init(Cache<?, ?> cache) {
+      this.cache = cache;
+      this.clusterCacheNotifier = cache.getAdvancedCache().getComponentRegistry().getComponent(ClusterCacheNotifier.class);
+   }
+
+   public Map<UUID, Collection<ClusterEvent<?, ?>>> getEvents() {
+      return events;
+   }
+
+   @Override
+   @SuppressWarnings("unchecked")
+   public Object perform(InvocationContext ctx) throws Throwable {
+      if (trace) {
+         log.tracef("Received cluster event(s) %s", events);
+      }
+      for (Map.Entry<UUID, Collection<ClusterEvent<?, ?>>> entry : events.entrySet()) {
+         Collection<ClusterEvent<?, ?>> listenerEvents = entry.getValue();
+         for (ClusterEvent event : listenerEvents) {
+            event.cache = cache;
+         }
+         ((ClusterCacheNotifier) clusterCacheNotifier).notifyClusterListeners(listenerEvents, entry.getKey());
+      }
+      return null;
+   }
+
+   @Override
+   public byte getCommandId() {
+      return COMMAND_ID;
+   }
+
+   @Override
+   public void writeTo(ObjectOutput output) throws IOException {
+      output.writeInt(events.size());
+      for (Map.Entry<UUID, Collection<ClusterEvent<?, ?>>> entry : events.entrySet()) {
+         MarshallUtil.marshallUUID(entry.getKey(), output, false);
+         MarshallUtil.marshallCollection(entry.getValue(), output);
+      }
+   }
+
+   @Override
+   public void readFrom(ObjectInput input) throws IOException, ClassNotFoundException {
+      int size = input.readInt();
+      events = new LinkedHashMap<>(size);
+      for (int i = 0; i < size; i++) {
+         UUID identifier = MarshallUtil.unmarshallUUID(input, false);
+         events.put(identifier, MarshallUtil.unmarshallCollection(input, ArrayList::new));
+      }
+   }
+
+   @Override
+   public boolean isReturnValueExpected() {
+      return false;
+   }
+
+   @Override
+   public boolean canBlock() {
+      // The listeners are invoked synchronously
+      return true;
+   }
+
+   @Override
+   public String toString() {
+      return "ClusterEventCommand{" +
+            "cacheName=" + cacheName +
+            ", events=" + events +
+            '}';
+   }
+}
@@ -1,36 +1,106 @@
 package org.infinispan.notifications.cachelistener.cluster.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.infinispan.Cache;
+import org.infinispan.commands.CommandsFactory;
 import org.infinispan.commons.CacheException;
-import org.infinispan.distexec.DistributedExecutionCompletionService;
-import org.infinispan.distexec.DistributedExecutorService;
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.factories.annotations.ComponentName;
+import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.annotations.Stop;
 import org.infinispan.notifications.cachelistener.cluster.ClusterEvent;
-import org.infinispan.notifications.cachelistener.cluster.ClusterEventCallable;
+import org.infinispan.notifications.cachelistener.cluster.ClusterEventCommand;
 import org.infinispan.notifications.cachelistener.cluster.ClusterEventManager;
-import org.infinispan.notifications.cachelistener.cluster.MultiClusterEventCallable;
+import org.infinispan.remoting.inboundhandler.DeliverOrder;
+import org.infinispan.remoting.rpc.ResponseMode;
+import org.infinispan.remoting.rpc.RpcManager;
+import org.infinispan.remoting.rpc.RpcOptions;
 import org.infinispan.remoting.transport.Address;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
 
+/**
+ * Sends the cluster events gathered by each thread with a {@link ClusterEventCommand}.
+ * <p>
+ * The events for a target node are queued, and a single command is in flight to a node at any time, so the events
+ * reach each node in the order they were queued. The events queued while a command is in flight are sent together
+ * once it is acknowledged. Events from synchronous listeners are sent as soon as possible and {@link #sendEvents()}
+ * waits for their acknowledgement, while events from asynchronous listeners can wait up to
+ * {@link #BATCH_DELAY_PROPERTY} milliseconds, or until {@link #BATCH_SIZE_PROPERTY} events are queued.
+ * <p>
+ * A writer only blocks when more than {@link #MAX_BACKLOG_PROPERTY} events are waiting to be sent to a node, and only
+ * until the remote timeout expires.
+ */
 public class BatchingClusterEventManagerImpl<K, V> implements ClusterEventManager<K, V> {
+   public static final String BATCH_SIZE_PROPERTY = "infinispan.cluster-listener.batch-size";
+   public static final String BATCH_DELAY_PROPERTY = "infinispan.cluster-listener.batch-delay";
+   public static final String MAX_BACKLOG_PROPERTY = "infinispan.cluster-listener.max-backlog";
+
+   private static final Log log = LogFactory.getLog(BatchingClusterEventManagerImpl.class);
+   private static final boolean trace = log.isTraceEnabled();
+
    private final Cache<K, V> cache;
+   private final int batchSize;
+   private final long batchDelay;
+   private final int maxBacklog;
+   private final ConcurrentMap<Address, TargetQueue> queues = new ConcurrentHashMap<>();
 
-   private DistributedExecutorService distExecService;
+   private RpcManager rpcManager;
+   private CommandsFactory commandsFactory;
+   private ScheduledExecutorService timeoutExecutor;
+   private RpcOptions rpcOptions;
+   private volatile boolean stopped;
 
    private final ThreadLocal<EventContext<K, V>> localContext = new ThreadLocal<>();
 
    public BatchingClusterEventManagerImpl(Cache<K, V> cache) {
       this.cache = cache;
+      this.batchSize = SecurityActions.getIntProperty(BATCH_SIZE_PROPERTY, 1024);
+      this.batchDelay = SecurityActions.getIntProperty(BATCH_DELAY_PROPERTY, 0);
+      this.maxBacklog = SecurityActions.getIntProperty(MAX_BACKLOG_PROPERTY, 65536);
+   }
+
+   @Inject
+   public void inject(RpcManager rpcManager, CommandsFactory commandsFactory,
+                      @ComponentName(KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR) ScheduledExecutorService timeoutExecutor) {
+      this.rpcManager = rpcManager;
+      this.commandsFactory = commandsFactory;
+      this.timeoutExecutor = timeoutExecutor;
    }
 
    @Start
    public void start() {
-      distExecService = SecurityActions.getDefaultExecutorService(cache);
+      if (rpcManager != null) {
+         rpcOptions = rpcManager.getRpcOptionsBuilder(ResponseMode.SYNCHRONOUS, DeliverOrder.NONE).build();
+      }
+      stopped = false;
+   }
+
+   @Stop
+   public void stop() {
+      stopped = true;
+      for (TargetQueue queue : queues.values()) {
+         queue.stop();
+      }
+      queues.clear();
    }
 
    @Override
@@ -47,8 +117,8 @@ public void addEvents(Address target, UUID identifier, Collection<ClusterEvent<K
    public void sendEvents() {
       EventContext<K, V> ctx = localContext.get();
       if (ctx != null) {
-         ctx.sendToTargets(distExecService);
          localContext.remove();
+         ctx.sendToTargets(this);
       }
    }
 
@@ -57,10 +127,16 @@ public void dropEvents() {
       localContext.remove();
    }
 
+   private CompletableFuture<Void> queueEvents(Address target, Map<UUID, Collection<ClusterEvent<K, V>>> events,
+                                               boolean sync) {
+      TargetQueue queue = queues.computeIfAbsent(target, TargetQueue::new);
+      return queue.offer(events, sync);
+   }
+
    private interface EventContext<K, V> {
       void addTargets(Address address, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync);
 
-      void sendToTargets(DistributedExecutorService service);
+      void sendToTargets(BatchingClusterEventManagerImpl<K, V> manager);
    }
 
    protected static class UnicastEventContext<K, V> implements EventContext<K, V> {
@@ -87,37 +163,33 @@ public void addTargets(Address address, UUID identifier, Collection<ClusterEvent
       }
 
       @Override
-      public void sendToTargets(DistributedExecutorService service) {
-         DistributedExecutionCompletionService<Void> completion = new DistributedExecutionCompletionService<>(service);
-         int syncCount = 0;
+      public void sendToTargets(BatchingClusterEventManagerImpl<K, V> manager) {
+         List<CompletableFuture<Void>> syncFutures = null;
          for (Entry<Address, TargetEvents<K, V>> entry : targets.entrySet()) {
             TargetEvents<K, V> value = entry.getValue();
-            if (value.events.size() > 1) {
-               if (value.sync) {
-                  completion.submit(entry.getKey(), new MultiClusterEventCallable<>(value.events));
-                  syncCount++;
-               } else {
-                  service.submit(entry.getKey(), new MultiClusterEventCallable<>(value.events));
-               }
-            } else if (value.events.size() == 1) {
-               Entry<UUID, Collection<ClusterEvent<K, V>>> entryValue = value.events.entrySet().iterator().next();
-               if (value.sync) {
-                  completion.submit(entry.getKey(), new ClusterEventCallable<>(entryValue.getKey(), entryValue.getValue()));
-                  syncCount++;
-               } else {
-                  service.submit(entry.getKey(), new ClusterEventCallable<>(entryValue.getKey(), entryValue.getValue()));
+            if (value.events.isEmpty()) {
+               continue;
+            }
+            CompletableFuture<Void> future = manager.queueEvents(entry.getKey(), value.events, value.sync);
+            if (value.sync) {
+               if (syncFutures == null) {
+                  syncFutures = new ArrayList<>(targets.size());
                }
+               syncFutures.add(future);
             }
          }
 
-         try {
-            for (int i = 0; i < syncCount; ++i) {
-               completion.take();
+         if (syncFutures != null) {
+            try {
+               for (CompletableFuture<Void> future : syncFutures) {
+                  future.get();
+               }
+            } catch (InterruptedException e) {
+               throw new CacheException("Interrupted while waiting for event notifications to complete.", e);
+            } catch (ExecutionException e) {
+               throw new CacheException(e.getCause());
             }
          }
-         catch (InterruptedException e) {
-            throw new CacheException("Interrupted while waiting for event notifications to complete.", e);
-         }
       }
    }
 
@@ -125,4 +197,194 @@ public void sendToTargets(DistributedExecutorService service) {
       final Map<UUID, Collection<ClusterEvent<K, V>>> events = new HashMap<>();
       boolean sync = false;
    }
+
+   private static class Batch {
+      final Map<UUID, Collection<ClusterEvent<?, ?>>> events;
+      final CompletableFuture<Void> acknowledged;
+
+      Batch(Map<UUID, Collection<ClusterEvent<?, ?>>> events, CompletableFuture<Void> acknowledged) {
+         this.events = events;
+         this.acknowledged = acknowledged;
+      }
+   }
+
+   /**
+    * The events waiting to be sent to a node. Only one batch is in flight at a time.
+    */
+   private class TargetQueue {
+      private final Address target;
+
+      // Guarded by this
+      private Map<UUID, Collection<ClusterEvent<?, ?>>> pending = new LinkedHashMap<>();
+      private CompletableFuture<Void> pendingAcknowledged = new CompletableFuture<>();
+      private int pendingCount;
+      private boolean pendingSync;
+      private int inFlightCount;
+      private boolean inFlight;
+      private boolean delayExpired;
+      private boolean backlogFull;
+      private ScheduledFuture<?> timer;
+
+      TargetQueue(Address target) {
+         this.target = target;
+      }
+
+      CompletableFuture<Void> offer(Map<UUID, Collection<ClusterEvent<K, V>>> events, boolean sync) {
+         int count = 0;
+         for (Collection<ClusterEvent<K, V>> listenerEvents : events.values()) {
+            count += listenerEvents.size();
+         }
+         CompletableFuture<Void> acknowledged;
+         Batch batch = null;
+         synchronized (this) {
+            if (!sync) {
+               awaitBacklog(count);
+            }
+            for (Entry<UUID, Collection<ClusterEvent<K, V>>> entry : events.entrySet()) {
+               pending.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).addAll(entry.getValue());
+            }
+            pendingCount += count;
+            pendingSync |= sync;
+            acknowledged = pendingAcknowledged;
+            if (!inFlight) {
+               if (isReady()) {
+                  batch = takeBatch();
+               } else if (timer == null) {
+                  timer = schedule();
+               }
+            }
+         }
+         if (batch != null) {
+            send(batch);
+         }
+         return acknowledged;
+      }
+
+      /**
+       * Waits until the backlog has room for the new events. Gives up when the remote timeout expires, so that a slow
+       * node delays the writers without stalling them.
+       */
+      private void awaitBacklog(int count) {
+         if (pendingCount + inFlightCount + count <= maxBacklog) {
+            backlogFull = false;
+            return;
+         }
+         long remaining = rpcOptions.timeUnit().toNanos(rpcOptions.timeout());
+         long deadline = System.nanoTime() + remaining;
+         try {
+            while (pendingCount + inFlightCount + count > maxBacklog && !stopped && remaining > 0) {
+               TimeUnit.NANOSECONDS.timedWait(this, remaining);
+               remaining = deadline - System.nanoTime();
+            }
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CacheException("Interrupted while waiting for event notifications to be sent.", e);
+         }
+         if (remaining <= 0 && !backlogFull) {
+            backlogFull = true;
+            log.clusterEventsBacklogFull(target, pendingCount + inFlightCount);
+         }
+      }
+
+      private boolean isReady() {
+         return pendingCount > 0 && (pendingSync || delayExpired || batchDelay <= 0 || pendingCount >= batchSize);
+      }
+
+      private Batch takeBatch() {
+         Batch batch = new Batch(pending, pendingAcknowledged);
+         pending = new LinkedHashMap<>();
+         pendingAcknowledged = new CompletableFuture<>();
+         inFlightCount = pendingCount;
+         pendingCount = 0;
+         pendingSync = false;
+         delayExpired = false;
+         inFlight = true;
+         if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+         }
+         return batch;
+      }
+
+      private ScheduledFuture<?> schedule() {
+         try {
+            return timeoutExecutor.schedule(this::delayExpired, batchDelay, TimeUnit.MILLISECONDS);
+         } catch (RejectedExecutionException e) {
+            return null;
+         }
+      }
+
+      private void delayExpired() {
+         Batch batch = null;
+         synchronized (this) {
+            timer = null;
+            delayExpired = true;
+            if (!inFlight && isReady()) {
+               batch = takeBatch();
+            }
+         }
+         if (batch != null) {
+            send(batch);
+         }
+      }
+
+      private void send(Batch batch) {
+         if (trace) {
+            log.tracef("Sending cluster events to %s: %s", target, batch.events);
+         }
+         ClusterEventCommand command = commandsFactory.buildClusterEventCommand(batch.events);
+         CompletableFuture<?> future;
+         try {
+            if (target.equals(rpcManager.getAddress())) {
+               commandsFactory.initializeReplicableCommand(command, false);
+               command.perform(null);
+               future = CompletableFuture.completedFuture(null);
+            } else {
+               future = rpcManager.invokeRemotelyAsync(Collections.singleton(target), command, rpcOptions);
+            }
+         } catch (Throwable t) {
+            future = new CompletableFuture<>();
+            ((CompletableFuture<?>) future).completeExceptionally(t);
+         }
+         future.whenComplete((responses, throwable) -> acknowledged(batch, throwable));
+      }
+
+      private void acknowledged(Batch batch, Throwable throwable) {
+         if (throwable != null && !stopped) {
+            if (rpcManager.getMembers().contains(target)) {
+               log.errorSendingClusterEvents(target, throwable);
+            } else if (trace) {
+               log.tracef(throwable, "Node %s left, discarding cluster events", target);
+            }
+         }
+         Batch next = null;
+         boolean empty;
+         synchronized (this) {
+            inFlight = false;
+            inFlightCount = 0;
+            notifyAll();
+            if (isReady() && !stopped) {
+               next = takeBatch();
+            } else if (pendingCount > 0 && timer == null) {
+               timer = schedule();
+            }
+            empty = !inFlight && pendingCount == 0;
+         }
+         batch.acknowledged.complete(null);
+         if (next != null) {
+            send(next);
+         } else if (empty && !rpcManager.getMembers().contains(target)) {
+            queues.remove(target, this);
+         }
+      }
+
+      synchronized void stop() {
+         if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+         }
+         pendingAcknowledged.complete(null);
+         notifyAll();
+      }
+   }
 }
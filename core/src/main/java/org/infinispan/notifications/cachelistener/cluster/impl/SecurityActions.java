@@ -3,10 +3,8 @@
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 
-import org.infinispan.Cache;
-import org.infinispan.distexec.DefaultExecutorService;
 import org.infinispan.security.Security;
-import org.infinispan.security.actions.GetDefaultExecutorServiceAction;
+import org.infinispan.security.actions.GetSystemPropertyAsIntegerAction;
 
 /**
  * SecurityActions for the org.infinispan.notifications.cachelistener.cluster package.
@@ -26,8 +24,7 @@ private static <T> T doPrivileged(PrivilegedAction<T> action) {
       }
    }
 
-   static DefaultExecutorService getDefaultExecutorService(final Cache<?, ?> cache) {
-      GetDefaultExecutorServiceAction action = new GetDefaultExecutorServiceAction(cache);
-      return doPrivileged(action);
+   static int getIntProperty(String name, int defaultValue) {
+      return doPrivileged(new GetSystemPropertyAsIntegerAction(name, defaultValue));
    }
 }
@@ -11,9 +11,12 @@
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 
 import javax.security.auth.Subject;
@@ -42,7 +45,17 @@
  */
 public abstract class AbstractListenerImpl<T, L extends ListenerInvocation<T>> {
 
+   // The events of the asynchronous listeners are queued per listener, the system properties apply to every queue
+   private static final int ASYNC_QUEUE_CAPACITY =
+         SecurityActions.getIntProperty("infinispan.listener.async.queue-capacity", 4096);
+   private static final int ASYNC_BATCH_SIZE =
+         SecurityActions.getIntProperty("infinispan.listener.async.batch-size", 64);
+   private static final AsyncListenerQueue.OverflowPolicy ASYNC_OVERFLOW_POLICY = AsyncListenerQueue.OverflowPolicy.valueOf(
+         SecurityActions.getProperty("infinispan.listener.async.overflow-policy", "BLOCK").toUpperCase());
+
    protected final Map<Class<? extends Annotation>, List<L>> listenersMap = new HashMap<>(16, 0.99f);
+   private final ConcurrentMap<Object, AsyncListenerQueue> asyncQueues = new ConcurrentHashMap<>();
+   private final AsyncListenerQueue.EventHandler asyncEventHandler = new AsyncEventHandler();
 
    protected abstract class AbstractInvocationBuilder {
       protected Object target;
@@ -129,6 +142,7 @@ public void stop() {
       for (List<L> list : listenersMap.values()) {
          if (list != null) list.clear();
       }
+      asyncQueues.clear();
 
       if (syncProcessor != null) syncProcessor.shutdownNow();
    }
@@ -147,6 +161,8 @@ public void removeListener(Object listener) {
       for (Class<? extends Annotation> annotation :
             getAllowedMethodAnnotations(testListenerClassValidity(listener.getClass())).keySet())
          removeListenerInvocation(annotation, listener);
+      // The events already queued are still delivered
+      asyncQueues.remove(listener);
    }
 
    protected Set<L> removeListenerInvocation(Class<? extends Annotation> annotation, Object listener) {
@@ -239,10 +255,68 @@ protected static void testListenerMethodValidity(Method m, Class<?> allowedParam
          throw new IncorrectListenerException("Methods annotated with " + annotationName + " should have a return type of void.");
    }
 
+   /**
+    * Returns the key used to coalesce the events of a slow asynchronous listener, or {@code null} if the event can't
+    * be coalesced.
+    */
+   protected Object getCoalescingKey(Object event) {
+      return null;
+   }
+
+   /**
+    * @return the number of events waiting to be delivered to each asynchronous listener
+    */
+   protected Map<String, Long> getAsyncListenerBacklogs() {
+      Map<String, Long> backlogs = new LinkedHashMap<>();
+      for (AsyncListenerQueue queue : asyncQueues.values()) {
+         backlogs.put(queue.getName(), queue.getBacklog());
+      }
+      return backlogs;
+   }
+
+   /**
+    * @return the number of events dropped because the queue of an asynchronous listener was full, for each listener
+    */
+   protected Map<String, Long> getAsyncListenerDroppedEvents() {
+      Map<String, Long> dropped = new LinkedHashMap<>();
+      for (AsyncListenerQueue queue : asyncQueues.values()) {
+         dropped.put(queue.getName(), queue.getDroppedEvents());
+      }
+      return dropped;
+   }
+
+   private AsyncListenerQueue getOrCreateAsyncQueue(Object target) {
+      return asyncQueues.computeIfAbsent(target, t -> new AsyncListenerQueue(
+            t.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(t)), ASYNC_QUEUE_CAPACITY,
+            ASYNC_BATCH_SIZE, ASYNC_OVERFLOW_POLICY, this::getCoalescingKey, asyncProcessor, asyncEventHandler,
+            getLog()));
+   }
+
    protected abstract Transaction suspendIfNeeded();
 
    protected abstract void resumeIfNeeded(Transaction transaction);
 
+   /**
+    * Delivers the events queued for the asynchronous listeners, suspending the transaction once per batch.
+    */
+   private class AsyncEventHandler implements AsyncListenerQueue.EventHandler {
+      @Override
+      public Object beforeBatch() {
+         return suspendIfNeeded();
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public void handle(Object invocation, Object event) {
+         ((ListenerInvocationImpl<Object>) invocation).invokeWithClassLoader(event);
+      }
+
+      @Override
+      public void afterBatch(Object state) {
+         resumeIfNeeded((Transaction) state);
+      }
+   }
+
    /**
     * Class that encapsulates a valid invocation for a given registered listener - containing a reference to the method
     * to be invoked as well as the target object.
@@ -253,6 +327,7 @@ protected static void testListenerMethodValidity(Method m, Class<?> allowedParam
       public final boolean sync;
       public final WeakReference<ClassLoader> classLoader;
       public final Subject subject;
+      private final AsyncListenerQueue asyncQueue;
 
       public ListenerInvocationImpl(Object target, Method method, boolean sync, ClassLoader classLoader, Subject subject) {
          this.target = target;
@@ -260,66 +335,70 @@ public ListenerInvocationImpl(Object target, Method method, boolean sync, ClassL
          this.sync = sync;
          this.classLoader = new WeakReference<ClassLoader>(classLoader);
          this.subject = subject;
+         // All the methods of an asynchronous listener share a queue, so its events are delivered in order
+         this.asyncQueue = sync ? null : getOrCreateAsyncQueue(target);
       }
 
       @Override
       public void invoke(final A event) {
-         Runnable r = new Runnable() {
-
-            @Override
-            public void run() {
-               ClassLoader contextClassLoader = null;
+         if (sync) {
+            syncProcessor.execute(() -> {
                Transaction transaction = suspendIfNeeded();
-               if (classLoader.get() != null) {
-                  contextClassLoader = SecurityActions.setContextClassLoader(classLoader.get());
+               try {
+                  invokeWithClassLoader(event);
+               } finally {
+                  resumeIfNeeded(transaction);
                }
+            });
+         } else {
+            asyncQueue.offer(this, event);
+         }
+      }
+
+      void invokeWithClassLoader(final A event) {
+         ClassLoader contextClassLoader = null;
+         if (classLoader.get() != null) {
+            contextClassLoader = SecurityActions.setContextClassLoader(classLoader.get());
+         }
+         try {
+            if (subject != null) {
                try {
-                  if (subject != null) {
-                     try {
-                        Security.doAs(subject, new PrivilegedExceptionAction<Void>() {
-                           @Override
-                           public Void run() throws Exception {
-                              method.invoke(target, event);
-                              return null;
-                           }
-                        });
-                     } catch (PrivilegedActionException e) {
-                        Throwable cause = e.getCause();
-                        if (cause instanceof InvocationTargetException) {
-                           throw (InvocationTargetException)cause;
-                        } else if (cause instanceof IllegalAccessException) {
-                           throw (IllegalAccessException)cause;
-                        } else {
-                           throw new InvocationTargetException(cause);
-                        }
+                  Security.doAs(subject, new PrivilegedExceptionAction<Void>() {
+                     @Override
+                     public Void run() throws Exception {
+                        method.invoke(target, event);
+                        return null;
                      }
+                  });
+               } catch (PrivilegedActionException e) {
+                  Throwable cause = e.getCause();
+                  if (cause instanceof InvocationTargetException) {
+                     throw (InvocationTargetException)cause;
+                  } else if (cause instanceof IllegalAccessException) {
+                     throw (IllegalAccessException)cause;
                   } else {
-                     method.invoke(target, event);
-                  }
-               } catch (InvocationTargetException exception) {
-                  Throwable cause = getRealException(exception);
-                  if (sync) {
-                     throw getLog().exceptionInvokingListener(
-                           cause.getClass().getName(), method, target, cause);
-                  } else {
-                     getLog().unableToInvokeListenerMethod(method, target, cause);
-                  }
-               } catch (IllegalAccessException exception) {
-                  getLog().unableToInvokeListenerMethodAndRemoveListener(method, target, exception);
-                  removeListener(target);
-               } finally {
-                  if (classLoader.get() != null) {
-                     SecurityActions.setContextClassLoader(contextClassLoader);
+                     throw new InvocationTargetException(cause);
                   }
-                  resumeIfNeeded(transaction);
                }
+            } else {
+               method.invoke(target, event);
             }
-         };
-
-         if (sync)
-            syncProcessor.execute(r);
-         else
-            asyncProcessor.execute(r);
+         } catch (InvocationTargetException exception) {
+            Throwable cause = getRealException(exception);
+            if (sync) {
+               throw getLog().exceptionInvokingListener(
+                     cause.getClass().getName(), method, target, cause);
+            } else {
+               getLog().unableToInvokeListenerMethod(method, target, cause);
+            }
+         } catch (IllegalAccessException exception) {
+            getLog().unableToInvokeListenerMethodAndRemoveListener(method, target, exception);
+            removeListener(target);
+         } finally {
+            if (classLoader.get() != null) {
+               SecurityActions.setContextClassLoader(contextClassLoader);
+            }
+         }
       }
 
       @Override
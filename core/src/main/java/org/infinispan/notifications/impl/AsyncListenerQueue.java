@@ -0,0 +1,312 @@
+package org.infinispan.notifications.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import org.infinispan.util.logging.Log;
+
+/**
+ * Bounded queue of the events waiting to be delivered to an asynchronous listener.
+ * <p>
+ * The events are stored in a ring buffer with many producers and a single consumer, so enqueueing an event does not
+ * allocate anything. The consumer is a task submitted to the notification executor only when the queue goes from
+ * empty to non-empty, and it delivers up to {@code batchSize} events before giving the thread back to the executor.
+ * The events of a listener are always delivered in the order they were enqueued, by one thread at a time.
+ * <p>
+ * When the ring buffer is full, the {@link OverflowPolicy} decides what happens with the new events. A notification
+ * thread never waits for room, because the consumer that would make room may be waiting for the same thread: a
+ * listener that raises an event for itself delivers its queued events first, and a listener that raises an event for
+ * another listener with a full queue adds it to the overflow of that queue, which is not bounded in this case.
+ *
+ * @since 9.0
+ */
+final class AsyncListenerQueue implements Runnable {
+
+   /**
+    * What to do with an event when the queue of the listener is full.
+    */
+   enum OverflowPolicy {
+      /**
+       * The notifying thread waits until the listener consumes some events, unless it is a notification thread.
+       */
+      BLOCK,
+      /**
+       * The event is discarded.
+       */
+      DROP,
+      /**
+       * The event replaces the pending event with the same key, if there is one. The pending event keeps its
+       * position, so the latest event of the key is delivered where the first one was enqueued. Events without a key,
+       * and events that would exceed the capacity of the queue with a new key, wait like with {@link #BLOCK}.
+       */
+      COALESCE
+   }
+
+   /**
+    * Callbacks used by the consumer to deliver the events.
+    */
+   interface EventHandler {
+      /**
+       * Invoked before delivering a batch of events.
+       *
+       * @return a state passed to {@link #afterBatch(Object)}
+       */
+      Object beforeBatch();
+
+      void handle(Object invocation, Object event);
+
+      void afterBatch(Object state);
+   }
+
+   private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+   // The queue whose events are delivered by the current thread
+   private static final ThreadLocal<AsyncListenerQueue> CONSUMER = new ThreadLocal<>();
+
+   private final String name;
+   private final int capacity;
+   private final int mask;
+   private final int batchSize;
+   private final OverflowPolicy overflowPolicy;
+   private final Function<Object, Object> keyFunction;
+   private final Executor executor;
+   private final EventHandler handler;
+   private final Log log;
+
+   // The invocation of a slot is published by the volatile write of its event
+   private final Object[] invocations;
+   private final AtomicReferenceArray<Object> events;
+   private final AtomicLong producerSequence = new AtomicLong();
+   private final AtomicLong consumerSequence = new AtomicLong();
+   private final AtomicBoolean scheduled = new AtomicBoolean();
+   private final AtomicLong droppedEvents = new AtomicLong();
+
+   // Coalesced events, and events raised by other listeners, waiting for room in the ring buffer, guarded by itself.
+   // The value is {invocation, event, producer sequence when the key was added}, the event is delivered before the
+   // ring event with that sequence.
+   private final Map<Object, Object[]> overflow = new LinkedHashMap<>();
+   private volatile int overflowSize;
+   private volatile long overflowHead = Long.MAX_VALUE;
+
+   AsyncListenerQueue(String name, int capacity, int batchSize, OverflowPolicy overflowPolicy,
+                      Function<Object, Object> keyFunction, Executor executor, EventHandler handler, Log log) {
+      this.name = name;
+      this.capacity = capacity < 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+      this.mask = this.capacity - 1;
+      this.batchSize = Math.max(batchSize, 1);
+      this.overflowPolicy = overflowPolicy;
+      this.keyFunction = keyFunction;
+      this.executor = executor;
+      this.handler = handler;
+      this.log = log;
+      this.invocations = new Object[this.capacity];
+      this.events = new AtomicReferenceArray<>(this.capacity);
+   }
+
+   String getName() {
+      return name;
+   }
+
+   int getCapacity() {
+      return capacity;
+   }
+
+   /**
+    * @return the number of events waiting to be delivered
+    */
+   long getBacklog() {
+      return producerSequence.get() - consumerSequence.get() + overflowSize;
+   }
+
+   long getDroppedEvents() {
+      return droppedEvents.get();
+   }
+
+   void offer(Object invocation, Object event) {
+      if (overflowPolicy == OverflowPolicy.COALESCE && overflowSize > 0 && offerToOverflow(invocation, event)) {
+         // Keep the order of the events with the same key
+         schedule();
+         return;
+      }
+      boolean interrupted = false;
+      try {
+         for (;;) {
+            long sequence = producerSequence.get();
+            if (sequence - consumerSequence.get() >= capacity) {
+               if (handleFull(invocation, event)) {
+                  return;
+               }
+               LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+               interrupted |= Thread.interrupted();
+            } else if (producerSequence.compareAndSet(sequence, sequence + 1)) {
+               int index = (int) sequence & mask;
+               invocations[index] = invocation;
+               events.set(index, event);
+               schedule();
+               return;
+            }
+         }
+      } finally {
+         if (interrupted) {
+            Thread.currentThread().interrupt();
+         }
+      }
+   }
+
+   /**
+    * @return {@code true} if the event was handled, {@code false} if the producer must wait for room
+    */
+   private boolean handleFull(Object invocation, Object event) {
+      switch (overflowPolicy) {
+         case DROP:
+            if (droppedEvents.getAndIncrement() == 0) {
+               log.asyncListenerEventsDropped(name, capacity);
+            }
+            return true;
+         case COALESCE:
+            if (offerToOverflow(invocation, event)) {
+               schedule();
+               return true;
+            }
+            break;
+      }
+      AsyncListenerQueue consumer = CONSUMER.get();
+      if (consumer == this) {
+         // The listener raised an event for itself, only this thread can make room
+         deliver(batchSize);
+      } else if (consumer != null) {
+         // The consumer of this queue may need the notification thread we are holding
+         spill(invocation, event);
+         schedule();
+         return true;
+      }
+      return false;
+   }
+
+   private void spill(Object invocation, Object event) {
+      synchronized (overflow) {
+         // A key that is never coalesced
+         addToOverflow(new Object(), invocation, event);
+      }
+   }
+
+   private boolean offerToOverflow(Object invocation, Object event) {
+      Object key = keyFunction.apply(event);
+      if (key == null) {
+         return false;
+      }
+      synchronized (overflow) {
+         Object[] pending = overflow.get(key);
+         if (pending != null) {
+            // The pending event keeps its position, only the latest event of the key is delivered
+            pending[0] = invocation;
+            pending[1] = event;
+            return true;
+         }
+         if (overflow.size() >= capacity) {
+            return false;
+         }
+         addToOverflow(key, invocation, event);
+         return true;
+      }
+   }
+
+   private void addToOverflow(Object key, Object invocation, Object event) {
+      // Read under the lock, so that the positions follow the order of the overflow
+      long position = producerSequence.get();
+      overflow.put(key, new Object[]{invocation, event, position});
+      if (overflow.size() == 1) {
+         overflowHead = position;
+      }
+      overflowSize = overflow.size();
+   }
+
+   private void schedule() {
+      if (!scheduled.get() && scheduled.compareAndSet(false, true)) {
+         try {
+            executor.execute(this);
+         } catch (RejectedExecutionException e) {
+            run();
+         }
+      }
+   }
+
+   private boolean hasPendingEvents() {
+      return events.get((int) consumerSequence.get() & mask) != null || overflowSize > 0;
+   }
+
+   @Override
+   public void run() {
+      AsyncListenerQueue previous = CONSUMER.get();
+      CONSUMER.set(this);
+      Object state = handler.beforeBatch();
+      try {
+         deliver(batchSize);
+      } finally {
+         handler.afterBatch(state);
+         CONSUMER.set(previous);
+         scheduled.set(false);
+      }
+      // An event enqueued after the last check would not have scheduled the consumer
+      if (hasPendingEvents()) {
+         schedule();
+      }
+   }
+
+   /**
+    * Delivers up to {@code maxEvents} events, in the order they were enqueued. Only called by the consumer, possibly
+    * re-entrantly from {@link #handleFull(Object, Object)}, so the sequence is read again for each event.
+    */
+   private void deliver(int maxEvents) {
+      for (int delivered = 0; delivered < maxEvents; delivered++) {
+         long sequence = consumerSequence.get();
+         if (overflowHead <= sequence) {
+            // The overflow event was enqueued before the ring event
+            deliverFromOverflow();
+            continue;
+         }
+         int index = (int) sequence & mask;
+         Object event = events.get(index);
+         if (event == null) {
+            // The overflow events are all newer than the ring events, or a producer is still publishing this one
+            return;
+         }
+         Object invocation = invocations[index];
+         invocations[index] = null;
+         events.lazySet(index, null);
+         consumerSequence.lazySet(sequence + 1);
+         handler.handle(invocation, event);
+      }
+   }
+
+   private void deliverFromOverflow() {
+      Object[] pending;
+      synchronized (overflow) {
+         Iterator<Object[]> iterator = overflow.values().iterator();
+         pending = iterator.next();
+         iterator.remove();
+         overflowSize = overflow.size();
+         overflowHead = iterator.hasNext() ? (long) iterator.next()[2] : Long.MAX_VALUE;
+      }
+      handler.handle(pending[0], pending[1]);
+   }
+
+   @Override
+   public String toString() {
+      return "AsyncListenerQueue{" +
+            "name='" + name + '\'' +
+            ", capacity=" + capacity +
+            ", backlog=" + getBacklog() +
+            ", dropped=" + droppedEvents.get() +
+            '}';
+   }
+}
@@ -4,6 +4,8 @@
 import java.security.PrivilegedAction;
 
 import org.infinispan.security.Security;
+import org.infinispan.security.actions.GetSystemPropertyAction;
+import org.infinispan.security.actions.GetSystemPropertyAsIntegerAction;
 import org.infinispan.security.actions.SetThreadContextClassLoaderAction;
 
 /**
@@ -28,4 +30,13 @@ static ClassLoader setContextClassLoader(ClassLoader contextClassLoader) {
       SetThreadContextClassLoaderAction action = new SetThreadContextClassLoaderAction(contextClassLoader);
       return doPrivileged(action);
    }
+
+   static int getIntProperty(String name, int defaultValue) {
+      return doPrivileged(new GetSystemPropertyAsIntegerAction(name, defaultValue));
+   }
+
+   static String getProperty(String name, String defaultValue) {
+      String value = doPrivileged(new GetSystemPropertyAction(name));
+      return value != null ? value : defaultValue;
+   }
 }
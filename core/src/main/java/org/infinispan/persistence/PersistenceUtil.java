@@ -2,9 +2,11 @@
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.InternalEntryFactory;
@@ -88,6 +90,19 @@ public static InternalMetadata internalMetadata(InternalCacheValue icv) {
    public static <K, V> InternalCacheEntry<K,V> loadAndStoreInDataContainer(DataContainer<K, V> dataContainer, final PersistenceManager persistenceManager,
                                                          K key, final InvocationContext ctx, final TimeService timeService,
                                                          final AtomicReference<Boolean> isLoaded) {
+      return loadAndStoreInDataContainer(dataContainer, key, timeService, isLoaded,
+                                         k -> loadAndCheckExpiration(persistenceManager, k, ctx, timeService));
+   }
+
+   /**
+    * Same as {@link #loadAndStoreInDataContainer(DataContainer, PersistenceManager, Object, InvocationContext,
+    * TimeService, AtomicReference)}, but the entry is obtained from {@code loader}, which is only invoked if the
+    * data container does not have a valid entry for the key.
+    */
+   public static <K, V> InternalCacheEntry<K,V> loadAndStoreInDataContainer(DataContainer<K, V> dataContainer, K key,
+                                                         final TimeService timeService,
+                                                         final AtomicReference<Boolean> isLoaded,
+                                                         final Function<? super K, MarshalledEntry> loader) {
       return dataContainer.compute(key, (k, oldEntry, factory) -> {
          //under the lock, check if the entry exists in the DataContainer
          if (oldEntry != null && (!oldEntry.canExpire() || !oldEntry.isExpired(timeService.wallClockTime()))) {
@@ -95,7 +110,7 @@ public static <K, V> InternalCacheEntry<K,V> loadAndStoreInDataContainer(DataCon
             return oldEntry; //no changes in container
          }
 
-         MarshalledEntry loaded = loadAndCheckExpiration(persistenceManager, k, ctx, timeService);
+         MarshalledEntry loaded = loader.apply(k);
          if (loaded == null) {
             isLoaded.set(Boolean.FALSE); //not loaded
             return null; //no changed in container
@@ -124,6 +139,20 @@ public static MarshalledEntry loadAndCheckExpiration(PersistenceManager persiste
       return loaded;
    }
 
+   /**
+    * Loads the entries for the given keys with a single request per store, leaving out the expired ones.
+    */
+   public static Map<Object, MarshalledEntry> loadAllAndCheckExpiration(PersistenceManager persistenceManager, Set<?> keys,
+                                                                     InvocationContext context, TimeService timeService) {
+      Map<Object, MarshalledEntry> loaded = persistenceManager.loadAllFromAllStores(keys, context);
+      if (trace) {
+         log.tracef("Loaded %d entries for %d keys from persistence.", loaded.size(), keys.size());
+      }
+      long now = timeService.wallClockTime();
+      loaded.values().removeIf(entry -> entry.getMetadata() != null && entry.getMetadata().isExpired(now));
+      return loaded;
+   }
+
    public static <K, V> InternalCacheEntry<K, V> convert(MarshalledEntry<K, V> loaded, InternalEntryFactory factory) {
       InternalMetadata metadata = loaded.getMetadata();
       if (metadata != null) {
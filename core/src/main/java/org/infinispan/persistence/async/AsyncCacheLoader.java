@@ -1,5 +1,9 @@
 package org.infinispan.persistence.async;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.infinispan.marshall.core.MarshalledEntry;
@@ -45,6 +49,25 @@ public MarshalledEntry load(Object key) {
       return super.load(key);
    }
 
+   @Override
+   public Map<Object, MarshalledEntry> loadAll(Set keys) {
+      State s = state.get();
+      Map<Object, MarshalledEntry> entries = new HashMap<>(keys.size());
+      Set<Object> keysToLoad = new HashSet<>();
+      for (Object key : keys) {
+         Modification mod = s.get(key);
+         if (mod == null) {
+            keysToLoad.add(key);
+         } else if (mod.getType() == Modification.Type.STORE) {
+            entries.put(key, ((Store) mod).getStoredValue());
+         }
+      }
+      if (!keysToLoad.isEmpty()) {
+         entries.putAll(super.loadAll(keysToLoad));
+      }
+      return entries;
+   }
+
 
    @Override
    public boolean contains(Object key) {
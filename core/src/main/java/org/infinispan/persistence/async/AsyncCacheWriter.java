@@ -20,6 +20,7 @@
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.persistence.modifications.Modification;
+import org.infinispan.persistence.modifications.ModificationsList;
 import org.infinispan.persistence.modifications.Remove;
 import org.infinispan.persistence.modifications.Store;
 import org.infinispan.persistence.spi.CacheWriter;
@@ -151,19 +152,47 @@ public boolean delete(Object key) {
       return true;
    }
 
+   @Override
+   public void writeBatch(Iterable entries) {
+      List<Modification> stores = new ArrayList<>();
+      for (Object entry : entries) {
+         MarshalledEntry marshalledEntry = (MarshalledEntry) entry;
+         stores.add(new Store(marshalledEntry.getKey(), marshalledEntry));
+      }
+      if (!stores.isEmpty())
+         put(new ModificationsList(stores), stores.size());
+   }
+
+   @Override
+   public void deleteBatch(Iterable keys) {
+      List<Modification> removes = new ArrayList<>();
+      for (Object key : keys) {
+         removes.add(new Remove(key));
+      }
+      if (!removes.isEmpty())
+         put(new ModificationsList(removes), removes.size());
+   }
+
    protected void applyModificationsSync(List<Modification> mods) throws PersistenceException {
+      // Modifications are coalesced per key, so stores and removes can be applied as two independent batches
+      List<MarshalledEntry> stores = new ArrayList<>(mods.size());
+      List<Object> removes = new ArrayList<>();
       for (Modification m : mods) {
          switch (m.getType()) {
             case STORE:
-               actual.write(((Store) m).getStoredValue());
+               stores.add(((Store) m).getStoredValue());
                break;
             case REMOVE:
-               actual.delete(((Remove) m).getKey());
+               removes.add(((Remove) m).getKey());
                break;
             default:
                throw new IllegalArgumentException("Unknown modification type " + m.getType());
          }
       }
+      if (!stores.isEmpty())
+         actual.writeBatch(stores);
+      if (!removes.isEmpty())
+         actual.deleteBatch(removes);
    }
 
 
@@ -0,0 +1,434 @@
+package org.infinispan.persistence.file;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.infinispan.commons.hash.MurmurHash3;
+import org.infinispan.container.offheap.OffHeapMemory;
+import org.infinispan.persistence.file.SingleFileStore.FileEntry;
+import org.infinispan.util.KeyValuePair;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * The index of a {@link SingleFileStore} when {@link org.infinispan.configuration.cache.SingleFileStoreConfiguration#compactIndex()}
+ * is enabled.
+ * <p>
+ * Instead of a map holding the key objects and a {@link FileEntry} per entry, the index is an open addressing hash table
+ * in native memory. Each slot holds the hash of the marshalled key and the fields of the {@link FileEntry}, 40 bytes in
+ * total, and no key is kept in memory: the entries with the same hash as a key are candidates, and the marshalled key
+ * stored in the file is read to find the one of the key.
+ * <p>
+ * The candidates are locked and compared outside the monitor of the index, so that the other operations don't wait for
+ * the file reads. {@link #put(byte[], FileEntry)} and {@link #remove(byte[])} then check that the candidates did not
+ * change before updating the index, and retry otherwise. {@link #lockCandidates(byte[], long)} leaves the comparison to
+ * the caller, which reads the key together with the rest of the entry.
+ * <p>
+ * {@link FileEntry} instances are created on demand, so the instances locked by readers are registered until they are
+ * unlocked: removing their key from the index returns the locked instance, which prevents the space from being
+ * reallocated while it is being read.
+ * <p>
+ * The methods that compare keys and {@link #waitUnlocked()} must not be called while holding the monitor of the index,
+ * all the other methods are synchronized.
+ *
+ * @since 9.0
+ */
+class CompactIndex {
+   private static final Log log = LogFactory.getLog(CompactIndex.class);
+   private static final MurmurHash3 HASH_FUNCTION = MurmurHash3.getInstance();
+
+   private static final int SLOT_SIZE = 40;
+   private static final int HASH = 0;
+   private static final int SIZE = 4;
+   private static final int OFFSET = 8;
+   private static final int EXPIRY_TIME = 16;
+   private static final int KEY_LEN = 24;
+   private static final int DATA_LEN = 28;
+   private static final int METADATA_LEN = 32;
+
+   // Offset 0 is never used by an entry, the file starts with the magic number
+   private static final long EMPTY = 0;
+   private static final long DELETED = -1;
+
+   private static final int INITIAL_CAPACITY = 1024;
+   // The capacity must be a power of two
+   private static final int MAX_CAPACITY = 1 << 30;
+   private static final int MAX_ENTRIES = MAX_CAPACITY / 4 * 3;
+
+   /**
+    * Compares a key with the marshalled key stored in the file.
+    */
+   interface KeyComparator {
+      boolean keyEquals(FileEntry fe, byte[] key) throws IOException;
+   }
+
+   private final KeyComparator keyComparator;
+   private final Map<Long, FileEntry> locked = new HashMap<>();
+   private long address;
+   private int capacity;
+   private int size;
+   // live and deleted slots
+   private int used;
+
+   CompactIndex(KeyComparator keyComparator) {
+      this.keyComparator = keyComparator;
+      allocate(INITIAL_CAPACITY);
+   }
+
+   static int hash(byte[] key) {
+      return HASH_FUNCTION.hash(key);
+   }
+
+   synchronized int size() {
+      return size;
+   }
+
+   /**
+    * @return the entry of the key, or {@code null} if the key is not indexed
+    */
+   FileEntry get(byte[] key) throws IOException {
+      int hash = hash(key);
+      List<FileEntry> candidates;
+      synchronized (this) {
+         candidates = lockCandidates(hash, Long.MIN_VALUE);
+      }
+      try {
+         return match(key, candidates);
+      } finally {
+         unlock(candidates);
+      }
+   }
+
+   /**
+    * Locks the non-expired entries with the same hash as the key for reading. The caller must compare their keys with
+    * the key, and {@link #unlock(FileEntry) unlock} all of them.
+    */
+   synchronized List<FileEntry> lockCandidates(byte[] key, long now) {
+      return lockCandidates(hash(key), now);
+   }
+
+   /**
+    * Locks the entry at the given file offset for reading, if it is still indexed.
+    *
+    * @return the locked entry, or {@code null} if the entry is no longer indexed or expired
+    */
+   synchronized FileEntry lock(int hash, long offset, long now) {
+      int mask = capacity - 1;
+      for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+         long slotOffset = OffHeapMemory.getLong(slotAddress(slot) + OFFSET);
+         if (slotOffset == EMPTY)
+            return null;
+         if (slotOffset == offset)
+            return lockSlot(slot, now);
+      }
+   }
+
+   private FileEntry lockSlot(int slot, long now) {
+      FileEntry fe = entryAt(slot);
+      if (fe.isExpired(now))
+         return null;
+      fe.lock();
+      locked.put(fe.offset, fe);
+      return fe;
+   }
+
+   private List<FileEntry> lockCandidates(int hash, long now) {
+      List<FileEntry> candidates = null;
+      int mask = capacity - 1;
+      for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+         long slotAddress = slotAddress(slot);
+         long offset = OffHeapMemory.getLong(slotAddress + OFFSET);
+         if (offset == EMPTY)
+            return candidates != null ? candidates : Collections.emptyList();
+         if (offset != DELETED && OffHeapMemory.getInt(slotAddress + HASH) == hash) {
+            FileEntry fe = lockSlot(slot, now);
+            if (fe != null) {
+               if (candidates == null)
+                  candidates = new ArrayList<>(2);
+               candidates.add(fe);
+            }
+         }
+      }
+   }
+
+   /**
+    * Compares the key with the locked candidates, the caller must hold no monitor.
+    *
+    * @return the candidate holding the key, or {@code null}
+    */
+   private FileEntry match(byte[] key, List<FileEntry> candidates) throws IOException {
+      for (FileEntry fe : candidates) {
+         if (keyComparator.keyEquals(fe, key))
+            return fe;
+      }
+      return null;
+   }
+
+   /**
+    * @return whether the entries with the given hash are still the candidates compared with the key
+    */
+   private boolean sameCandidates(int hash, List<FileEntry> candidates) {
+      int count = 0;
+      int mask = capacity - 1;
+      for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+         long slotAddress = slotAddress(slot);
+         long offset = OffHeapMemory.getLong(slotAddress + OFFSET);
+         if (offset == EMPTY)
+            return count == candidates.size();
+         if (offset != DELETED && OffHeapMemory.getInt(slotAddress + HASH) == hash) {
+            if (!containsOffset(candidates, offset))
+               return false;
+            count++;
+         }
+      }
+   }
+
+   private static boolean containsOffset(List<FileEntry> entries, long offset) {
+      for (FileEntry fe : entries) {
+         if (fe.offset == offset)
+            return true;
+      }
+      return false;
+   }
+
+   /**
+    * @return the slot of the entry with the given hash and file offset, or -1 if it is no longer indexed
+    */
+   private int slotOf(int hash, long offset) {
+      int mask = capacity - 1;
+      for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+         long slotOffset = OffHeapMemory.getLong(slotAddress(slot) + OFFSET);
+         if (slotOffset == EMPTY)
+            return -1;
+         if (slotOffset == offset)
+            return slot;
+      }
+   }
+
+   synchronized void unlock(FileEntry fe) {
+      fe.unlock();
+      if (!fe.isLocked())
+         locked.remove(fe.offset);
+   }
+
+   synchronized void unlock(List<FileEntry> entries) {
+      for (FileEntry fe : entries)
+         unlock(fe);
+   }
+
+   /**
+    * Waits until all the entries locked so far have been unlocked. Must not be called while holding the monitor of the
+    * index, the entries are unlocked through it.
+    */
+   void waitUnlocked() {
+      List<FileEntry> lockedEntries;
+      synchronized (this) {
+         lockedEntries = new ArrayList<>(locked.values());
+      }
+      for (FileEntry fe : lockedEntries)
+         fe.waitUnlocked();
+   }
+
+   /**
+    * @return the entry previously indexed for the key, or {@code null}
+    */
+   FileEntry put(byte[] key, FileEntry fe) throws IOException {
+      int hash = hash(key);
+      while (true) {
+         List<FileEntry> candidates;
+         synchronized (this) {
+            candidates = lockCandidates(hash, Long.MIN_VALUE);
+            if (candidates.isEmpty()) {
+               // No other key with the same hash, nothing to compare
+               insertNew(hash, fe);
+               return null;
+            }
+         }
+         boolean unlocked = false;
+         try {
+            FileEntry match = match(key, candidates);
+            synchronized (this) {
+               // The candidates stay locked until here, so their space cannot be reused by another key
+               unlock(candidates);
+               unlocked = true;
+               if (!sameCandidates(hash, candidates))
+                  continue;
+               if (match == null) {
+                  insertNew(hash, fe);
+                  return null;
+               }
+               int slot = slotOf(hash, match.offset);
+               FileEntry previous = entryAt(slot);
+               write(slotAddress(slot), hash, fe);
+               return previous;
+            }
+         } finally {
+            if (!unlocked)
+               unlock(candidates);
+         }
+      }
+   }
+
+   /**
+    * @return the entry removed from the index, or {@code null}
+    */
+   FileEntry remove(byte[] key) throws IOException {
+      int hash = hash(key);
+      while (true) {
+         List<FileEntry> candidates;
+         synchronized (this) {
+            candidates = lockCandidates(hash, Long.MIN_VALUE);
+         }
+         if (candidates.isEmpty())
+            return null;
+         boolean unlocked = false;
+         try {
+            FileEntry match = match(key, candidates);
+            synchronized (this) {
+               unlock(candidates);
+               unlocked = true;
+               if (!sameCandidates(hash, candidates))
+                  continue;
+               if (match == null)
+                  return null;
+               int slot = slotOf(hash, match.offset);
+               FileEntry fe = entryAt(slot);
+               OffHeapMemory.putLong(slotAddress(slot) + OFFSET, DELETED);
+               size--;
+               return fe;
+            }
+         } finally {
+            if (!unlocked)
+               unlock(candidates);
+         }
+      }
+   }
+
+   private void insertNew(int hash, FileEntry fe) {
+      if (size >= MAX_ENTRIES)
+         throw log.compactIndexFull(MAX_ENTRIES);
+      insert(hash, fe);
+      size++;
+      if (used > capacity / 4 * 3) {
+         // Only grow if the table is really full, otherwise just get rid of the deleted slots
+         resize(size > capacity / 2 && capacity < MAX_CAPACITY ? capacity * 2 : capacity);
+      }
+   }
+
+   /**
+    * Removes the expired entries from the index.
+    */
+   synchronized List<FileEntry> removeExpired(long now) {
+      List<FileEntry> expired = new ArrayList<>();
+      for (int slot = 0; slot < capacity; slot++) {
+         long slotAddress = slotAddress(slot);
+         long offset = OffHeapMemory.getLong(slotAddress + OFFSET);
+         if (offset != EMPTY && offset != DELETED) {
+            long expiryTime = OffHeapMemory.getLong(slotAddress + EXPIRY_TIME);
+            if (expiryTime > 0 && expiryTime < now) {
+               expired.add(entryAt(slot));
+               OffHeapMemory.putLong(slotAddress + OFFSET, DELETED);
+               size--;
+            }
+         }
+      }
+      return expired;
+   }
+
+   /**
+    * @return the hash of the key and the entry of every slot, to be locked later with {@link #lock(int, long, long)}
+    */
+   synchronized List<KeyValuePair<Integer, FileEntry>> entries() {
+      List<KeyValuePair<Integer, FileEntry>> entries = new ArrayList<>(size);
+      for (int slot = 0; slot < capacity; slot++) {
+         long offset = OffHeapMemory.getLong(slotAddress(slot) + OFFSET);
+         if (offset != EMPTY && offset != DELETED) {
+            entries.add(new KeyValuePair<>(OffHeapMemory.getInt(slotAddress(slot) + HASH), entryAt(slot)));
+         }
+      }
+      return entries;
+   }
+
+   synchronized void clear() {
+      OffHeapMemory.free(address);
+      allocate(INITIAL_CAPACITY);
+      size = 0;
+   }
+
+   /**
+    * Releases the native memory, the index cannot be used afterwards.
+    */
+   synchronized void dispose() {
+      if (address != 0) {
+         OffHeapMemory.free(address);
+         address = 0;
+      }
+   }
+
+   private void allocate(int capacity) {
+      long bytes = (long) capacity * SLOT_SIZE;
+      this.address = OffHeapMemory.allocate(bytes);
+      OffHeapMemory.zero(address, bytes);
+      this.capacity = capacity;
+      this.used = 0;
+   }
+
+   private void resize(int newCapacity) {
+      long oldAddress = address;
+      int oldCapacity = capacity;
+      allocate(newCapacity);
+      for (int slot = 0; slot < oldCapacity; slot++) {
+         long oldSlotAddress = oldAddress + (long) slot * SLOT_SIZE;
+         long offset = OffHeapMemory.getLong(oldSlotAddress + OFFSET);
+         if (offset != EMPTY && offset != DELETED) {
+            int hash = OffHeapMemory.getInt(oldSlotAddress + HASH);
+            insert(hash, read(oldSlotAddress));
+         }
+      }
+      OffHeapMemory.free(oldAddress);
+   }
+
+   private void insert(int hash, FileEntry fe) {
+      int mask = capacity - 1;
+      for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+         long slotAddress = slotAddress(slot);
+         long offset = OffHeapMemory.getLong(slotAddress + OFFSET);
+         if (offset == EMPTY || offset == DELETED) {
+            if (offset == EMPTY)
+               used++;
+            write(slotAddress, hash, fe);
+            return;
+         }
+      }
+   }
+
+   private long slotAddress(int slot) {
+      return address + (long) slot * SLOT_SIZE;
+   }
+
+   private FileEntry entryAt(int slot) {
+      long slotAddress = slotAddress(slot);
+      FileEntry fe = locked.get(OffHeapMemory.getLong(slotAddress + OFFSET));
+      return fe != null ? fe : read(slotAddress);
+   }
+
+   private static FileEntry read(long slotAddress) {
+      return new FileEntry(OffHeapMemory.getLong(slotAddress + OFFSET), OffHeapMemory.getInt(slotAddress + SIZE),
+            OffHeapMemory.getInt(slotAddress + KEY_LEN), OffHeapMemory.getInt(slotAddress + DATA_LEN),
+            OffHeapMemory.getInt(slotAddress + METADATA_LEN), OffHeapMemory.getLong(slotAddress + EXPIRY_TIME));
+   }
+
+   private static void write(long slotAddress, int hash, FileEntry fe) {
+      OffHeapMemory.putInt(slotAddress + HASH, hash);
+      OffHeapMemory.putInt(slotAddress + SIZE, fe.size);
+      OffHeapMemory.putLong(slotAddress + OFFSET, fe.offset);
+      OffHeapMemory.putLong(slotAddress + EXPIRY_TIME, fe.expiryTime);
+      OffHeapMemory.putInt(slotAddress + KEY_LEN, fe.keyLen);
+      OffHeapMemory.putInt(slotAddress + DATA_LEN, fe.dataLen);
+      OffHeapMemory.putInt(slotAddress + METADATA_LEN, fe.metadataLen);
+   }
+}
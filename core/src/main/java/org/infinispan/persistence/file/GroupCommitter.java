@@ -0,0 +1,161 @@
+package org.infinispan.persistence.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.infinispan.configuration.cache.DurabilityPolicy;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Writes the blocks of a {@link SingleFileStore} in group commits.
+ * <p>
+ * Threads calling {@link #write(List)} while a commit is in progress queue their blocks and wait. When the commit
+ * completes, one of the waiting threads becomes the leader and writes all the queued blocks, ordered by offset and
+ * with adjacent blocks merged into a single gathering write, so that the file is forced at most once for the whole
+ * batch.
+ *
+ * @since 9.0
+ */
+class GroupCommitter {
+   private static final Log log = LogFactory.getLog(GroupCommitter.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private static final Comparator<Block> BY_OFFSET = (b1, b2) -> Long.compare(b1.offset, b2.offset);
+
+   private final FileChannel channel;
+   private final DurabilityPolicy durability;
+   private List<Block> pending = new ArrayList<>();
+   private boolean committing;
+
+   GroupCommitter(FileChannel channel, DurabilityPolicy durability) {
+      this.channel = channel;
+      this.durability = durability;
+   }
+
+   /**
+    * Writes the blocks to the file and waits until they have been written, and forced when the durability policy
+    * requires it.
+    */
+   void write(List<Block> blocks) throws IOException {
+      List<Block> batch;
+      boolean interrupted = false;
+      synchronized (this) {
+         pending.addAll(blocks);
+         Block last = blocks.get(blocks.size() - 1);
+         // The blocks cannot be withdrawn once queued, so keep waiting even if interrupted
+         while (committing && !last.done) {
+            try {
+               wait();
+            } catch (InterruptedException e) {
+               interrupted = true;
+            }
+         }
+         if (interrupted) {
+            Thread.currentThread().interrupt();
+         }
+         if (last.done) {
+            if (last.error != null) {
+               throw new IOException("Group commit failed", last.error);
+            }
+            return;
+         }
+         committing = true;
+         batch = pending;
+         pending = new ArrayList<>();
+      }
+
+      IOException error = null;
+      try {
+         commit(batch);
+      } catch (IOException e) {
+         error = e;
+      } finally {
+         synchronized (this) {
+            for (Block block : batch) {
+               block.error = error;
+               block.done = true;
+            }
+            committing = false;
+            notifyAll();
+         }
+      }
+      if (error != null) {
+         throw error;
+      }
+   }
+
+   private void commit(List<Block> batch) throws IOException {
+      Collections.sort(batch, BY_OFFSET);
+      int writes = 0;
+      for (int i = 0; i < batch.size(); ) {
+         int end = i + 1;
+         if (durability != DurabilityPolicy.PER_WRITE) {
+            while (end < batch.size() && batch.get(end).offset == batch.get(end - 1).end()) {
+               end++;
+            }
+         }
+         writeRun(batch.subList(i, end));
+         if (durability == DurabilityPolicy.PER_WRITE) {
+            channel.force(false);
+         }
+         writes++;
+         i = end;
+      }
+      if (durability == DurabilityPolicy.PER_BATCH) {
+         channel.force(false);
+      }
+      if (trace) log.tracef("Committed %d blocks with %d writes", batch.size(), writes);
+   }
+
+   private void writeRun(List<Block> run) throws IOException {
+      if (run.size() == 1) {
+         Block block = run.get(0);
+         writeFully(channel, block.buffer, block.offset);
+         return;
+      }
+      ByteBuffer[] buffers = new ByteBuffer[run.size()];
+      long remaining = 0;
+      for (int i = 0; i < buffers.length; i++) {
+         buffers[i] = run.get(i).buffer;
+         remaining += buffers[i].remaining();
+      }
+      // There is no positional gathering write, but the other writes of the store are all positional
+      // and only the leader of the current commit uses the channel position
+      channel.position(run.get(0).offset);
+      while (remaining > 0) {
+         remaining -= channel.write(buffers);
+      }
+   }
+
+   static void writeFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+      while (buffer.hasRemaining()) {
+         offset += channel.write(buffer, offset);
+      }
+   }
+
+   /**
+    * A block of the file to write.
+    */
+   static class Block {
+      final ByteBuffer buffer;
+      final long offset;
+      // Guarded by the GroupCommitter monitor
+      boolean done;
+      IOException error;
+
+      Block(ByteBuffer buffer, long offset) {
+         this.buffer = buffer;
+         this.offset = offset;
+      }
+
+      long end() {
+         return offset + buffer.remaining();
+      }
+   }
+}
@@ -4,6 +4,7 @@
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -25,6 +26,7 @@
 import org.infinispan.commons.equivalence.EquivalentLinkedHashMap;
 import org.infinispan.commons.io.ByteBufferFactory;
 import org.infinispan.commons.util.CollectionFactory;
+import org.infinispan.configuration.cache.DurabilityPolicy;
 import org.infinispan.configuration.cache.SingleFileStoreConfiguration;
 import org.infinispan.executors.ExecutorAllCompletionService;
 import org.infinispan.filter.KeyFilter;
@@ -60,6 +62,15 @@
  * data loss, and data can be recomputed or re-queried from the original data
  * source.
  * <p/>
+ * Alternatively, the keys and file positions can be kept in a compact index
+ * in native memory, which needs about 53 bytes per entry and does not keep
+ * the keys in memory, see {@link SingleFileStoreConfiguration#compactIndex()}.
+ * <p/>
+ * Optionally, entries can be read through memory mapped regions of the file
+ * and concurrent writes can be written in group commits, see
+ * {@link SingleFileStoreConfiguration#memoryMapped()} and
+ * {@link SingleFileStoreConfiguration#groupCommit()}.
+ * <p/>
  * This class is fully thread safe, yet allows for concurrent load / store
  * of individual cache entries.
  *
@@ -77,6 +88,11 @@
    private static final int KEYLEN_POS = 4;
    private static final int KEY_POS = 4 + 4 + 4 + 4 + 8;
    private static final int SMALLEST_ENTRY_SIZE = 128;
+   private static final int MAPPED_REGION_SIZE = 64 * 1024 * 1024;
+   private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+   // Direct buffers reused by each writing thread to stage its entries, so the channel does not copy them again
+   private static final ThreadLocal<ByteBuffer> writeBuffers = new ThreadLocal<>();
 
    private SingleFileStoreConfiguration configuration;
 
@@ -84,6 +100,8 @@
 
    private FileChannel channel;
    private Map<K, FileEntry> entries;
+   // replaces entries when the compact index is enabled
+   private CompactIndex index;
    private SortedSet<FileEntry> freeList;
    private long filePos = MAGIC.length;
    private File file;
@@ -91,6 +109,14 @@
    // Prevent clear() from truncating the file after a write() allocated the entry but before it wrote the data
    private ReadWriteLock resizeLock = new ReentrantReadWriteLock();
    private TimeService timeService;
+   private DurabilityPolicy durability;
+   // null unless group commit is enabled
+   private GroupCommitter groupCommitter;
+   // null unless memory mapped reads are enabled, copied on write under mappingLock
+   private volatile MappedByteBuffer[] mappedRegions;
+   private final Object mappingLock = new Object();
+   // Length of the file when memory mapped reads are enabled, a multiple of MAPPED_REGION_SIZE, guarded by freeList
+   private long mappedFileLength;
 
    @Override
    public void init(InitializationContext ctx) {
@@ -115,9 +141,17 @@ public void start() {
             }
          }
          channel = new RandomAccessFile(file, "rw").getChannel();
+         durability = configuration.durability();
+         if (configuration.groupCommit())
+            groupCommitter = new GroupCommitter(channel, durability);
+         if (configuration.memoryMapped())
+            mappedRegions = new MappedByteBuffer[0];
 
          // initialize data structures
-         entries = newEntryMap();
+         if (configuration.compactIndex())
+            index = new CompactIndex(this::keyEquals);
+         else
+            entries = newEntryMap();
          freeList = Collections.synchronizedSortedSet(new TreeSet<FileEntry>());
 
          // check file format and read persistent state if enabled for the cache
@@ -125,6 +159,8 @@ public void start() {
          if (channel.read(ByteBuffer.wrap(header), 0) == MAGIC.length && Arrays.equals(MAGIC, header)) {
             rebuildIndex();
             processFreeEntries();
+            if (mappedRegions != null)
+               growMappedFile(Math.max(filePos, channel.size()));
          }
          else
             clear(); // otherwise (unknown file format or no preload) just reset the file
@@ -154,12 +190,19 @@ private <Key> Map<Key, FileEntry> newEntryMap() {
    public void stop() {
       try {
          if (channel != null) {
-            log.tracef("Stopping store %s, size = %d, file size = %d", ctx.getCache().getName(), entries.size(), channel.size());
+            log.tracef("Stopping store %s, size = %d, file size = %d", ctx.getCache().getName(), size(), channel.size());
 
             // reset state
             channel.close();
             channel = null;
+            groupCommitter = null;
+            mappedRegions = null;
+            mappedFileLength = 0;
             entries = null;
+            if (index != null) {
+               index.dispose();
+               index = null;
+            }
             freeList = null;
             filePos = MAGIC.length;
          }
@@ -184,6 +227,9 @@ private void rebuildIndex() throws Exception {
 
          // initialize FileEntry from buffer
          int entrySize = buf.getInt();
+         // the rest of the file was zeroed when it was grown for memory mapped reads
+         if (entrySize == 0)
+            return;
          int keyLen = buf.getInt();
          int dataLen = buf.getInt();
          int metadataLen = buf.getInt();
@@ -207,10 +253,15 @@ private void rebuildIndex() throws Exception {
             buf.clear().limit(fe.keyLen);
             channel.read(buf, fe.offset + KEY_POS);
 
-            // deserialize key and add to entries map
-            // Marshaller should allow for provided type return for safety
-            K key = (K) ctx.getMarshaller().objectFromByteBuffer(buf.array(), 0, fe.keyLen);
-            entries.put(key, fe);
+            if (index != null) {
+               // the compact index only needs the marshalled key
+               index.put(Arrays.copyOf(buf.array(), fe.keyLen), fe);
+            } else {
+               // deserialize key and add to entries map
+               // Marshaller should allow for provided type return for safety
+               K key = (K) ctx.getMarshaller().objectFromByteBuffer(buf.array(), 0, fe.keyLen);
+               entries.put(key, fe);
+            }
          } else {
             // add to free list
             freeList.add(fe);
@@ -224,10 +275,64 @@ private void rebuildIndex() throws Exception {
     */
    @Override
    public boolean contains(Object key) {
-      FileEntry entry = entries.get(key);
+      FileEntry entry;
+      if (index != null) {
+         resizeLock.readLock().lock();
+         try {
+            entry = index.get(marshallKey(key));
+         } catch (IOException e) {
+            throw new PersistenceException(e);
+         } finally {
+            resizeLock.readLock().unlock();
+         }
+      } else {
+         entry = entries.get(key);
+      }
       return entry != null && !entry.isExpired(timeService.wallClockTime());
    }
 
+   private byte[] marshallKey(Object key) {
+      try {
+         return ctx.getMarshaller().objectToByteBuffer(key);
+      } catch (IOException e) {
+         throw new PersistenceException(e);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new PersistenceException(e);
+      }
+   }
+
+   private static byte[] toArray(org.infinispan.commons.io.ByteBuffer buffer) {
+      byte[] buf = buffer.getBuf();
+      if (buffer.getOffset() == 0 && buffer.getLength() == buf.length)
+         return buf;
+      return Arrays.copyOfRange(buf, buffer.getOffset(), buffer.getOffset() + buffer.getLength());
+   }
+
+   /**
+    * Compares a marshalled key with the key stored in the file entry, for the compact index.
+    * <p/>
+    * Note: Caller must hold the {@code resizeLock} in shared mode.
+    */
+   private boolean keyEquals(FileEntry fe, byte[] key) throws IOException {
+      if (fe.keyLen != key.length)
+         return false;
+      byte[] storedKey = new byte[fe.keyLen];
+      read(storedKey, fe.offset + KEY_POS);
+      return Arrays.equals(storedKey, key);
+   }
+
+   /**
+    * @return whether {@code data} starts with the marshalled key {@code key}
+    */
+   private static boolean keyEquals(byte[] data, byte[] key) {
+      for (int i = 0; i < key.length; i++) {
+         if (data[i] != key[i])
+            return false;
+      }
+      return true;
+   }
+
    /**
     * Allocates the requested space in the file.
     *
@@ -260,6 +365,13 @@ private FileEntry allocate(int len) {
          // no appropriate free section available, append at end of file
          FileEntry fe = new FileEntry(filePos, len);
          filePos += len;
+         if (mappedRegions != null) {
+            try {
+               growMappedFile(filePos);
+            } catch (IOException e) {
+               throw new PersistenceException(e);
+            }
+         }
          if (trace) log.tracef("New entry allocated at %d:%d, %d free entries, file size is %d", fe.offset, fe.size, freeList.size(), filePos);
          return fe;
       }
@@ -322,47 +434,71 @@ private void free(FileEntry fe) throws IOException {
 
    @Override
    public void write(MarshalledEntry<? extends K, ? extends V> marshalledEntry) {
+      writeBatch(Collections.<MarshalledEntry<? extends K, ? extends V>>singletonList(marshalledEntry));
+   }
+
+   @Override
+   public void writeBatch(Iterable<MarshalledEntry<? extends K, ? extends V>> marshalledEntries) {
       try {
-         // serialize cache value
-         org.infinispan.commons.io.ByteBuffer key = marshalledEntry.getKeyBytes();
-         org.infinispan.commons.io.ByteBuffer data = marshalledEntry.getValueBytes();
-         org.infinispan.commons.io.ByteBuffer metadata = marshalledEntry.getMetadataBytes();
-
-         // allocate file entry and store in cache file
-         int metadataLength = metadata == null ? 0 : metadata.getLength();
-         int len = KEY_POS + key.getLength() + data.getLength() + metadataLength;
-         FileEntry newEntry;
-         FileEntry oldEntry = null;
+         List<MarshalledEntry<? extends K, ? extends V>> written = new ArrayList<>();
+         List<FileEntry> newEntries = new ArrayList<>();
+         List<GroupCommitter.Block> blocks = new ArrayList<>();
+         List<FileEntry> oldEntries = new ArrayList<>();
+         // The blocks have all been written when writeBlocks() returns, so the buffer can be reused afterwards
+         ByteBuffer staging = writeBuffer();
          resizeLock.readLock().lock();
          try {
-            newEntry = allocate(len);
-            long expiryTime = metadata != null ? marshalledEntry.getMetadata().expiryTime() : -1;
-            newEntry = new FileEntry(newEntry, key.getLength(), data.getLength(), metadataLength, expiryTime);
-
-            ByteBuffer buf = ByteBuffer.allocate(len);
-            buf.putInt(newEntry.size);
-            buf.putInt(newEntry.keyLen);
-            buf.putInt(newEntry.dataLen);
-            buf.putInt(newEntry.metadataLen);
-            buf.putLong(newEntry.expiryTime);
-            buf.put(key.getBuf(), key.getOffset(), key.getLength());
-            buf.put(data.getBuf(), data.getOffset(), data.getLength());
-            if (metadata != null)
-               buf.put(metadata.getBuf(), metadata.getOffset(), metadata.getLength());
-            buf.flip();
-            channel.write(buf, newEntry.offset);
-            if (trace) log.tracef("Wrote entry %s:%d at %d:%d", marshalledEntry.getKey(), len, newEntry.offset, newEntry.size);
-
-            // add the new entry to in-memory index
-            oldEntry = entries.put(marshalledEntry.getKey(), newEntry);
-
-            // if we added an entry, check if we need to evict something
-            if (oldEntry == null)
-               oldEntry = evict();
+            for (MarshalledEntry<? extends K, ? extends V> marshalledEntry : marshalledEntries) {
+               // serialize cache value
+               org.infinispan.commons.io.ByteBuffer key = marshalledEntry.getKeyBytes();
+               org.infinispan.commons.io.ByteBuffer data = marshalledEntry.getValueBytes();
+               org.infinispan.commons.io.ByteBuffer metadata = marshalledEntry.getMetadataBytes();
+
+               // allocate file entry and store in cache file
+               int metadataLength = metadata == null ? 0 : metadata.getLength();
+               int len = KEY_POS + key.getLength() + data.getLength() + metadataLength;
+               FileEntry newEntry = allocate(len);
+               long expiryTime = metadata != null ? marshalledEntry.getMetadata().expiryTime() : -1;
+               newEntry = new FileEntry(newEntry, key.getLength(), data.getLength(), metadataLength, expiryTime);
+
+               ByteBuffer buf = stagingSlice(staging, len);
+               buf.putInt(newEntry.size);
+               buf.putInt(newEntry.keyLen);
+               buf.putInt(newEntry.dataLen);
+               buf.putInt(newEntry.metadataLen);
+               buf.putLong(newEntry.expiryTime);
+               buf.put(key.getBuf(), key.getOffset(), key.getLength());
+               buf.put(data.getBuf(), data.getOffset(), data.getLength());
+               if (metadata != null)
+                  buf.put(metadata.getBuf(), metadata.getOffset(), metadata.getLength());
+               buf.flip();
+
+               written.add(marshalledEntry);
+               newEntries.add(newEntry);
+               blocks.add(new GroupCommitter.Block(buf, newEntry.offset));
+            }
+            writeBlocks(blocks);
+
+            for (int i = 0; i < written.size(); i++) {
+               MarshalledEntry<? extends K, ? extends V> marshalledEntry = written.get(i);
+               FileEntry newEntry = newEntries.get(i);
+               if (trace) log.tracef("Wrote entry %s:%d at %d:%d", marshalledEntry.getKey(), newEntry.actualSize(), newEntry.offset, newEntry.size);
+
+               // add the new entry to in-memory index
+               FileEntry oldEntry = index != null ? index.put(toArray(marshalledEntry.getKeyBytes()), newEntry)
+                                                  : entries.put(marshalledEntry.getKey(), newEntry);
+
+               // if we added an entry, check if we need to evict something
+               if (oldEntry == null)
+                  oldEntry = evict();
+               if (oldEntry != null)
+                  oldEntries.add(oldEntry);
+            }
          } finally {
-            // in case we replaced or evicted an entry, add to freeList
+            // in case we replaced or evicted entries, add them to freeList
             try {
-               free(oldEntry);
+               for (FileEntry oldEntry : oldEntries)
+                  free(oldEntry);
             } finally {
                resizeLock.readLock().unlock();
             }
@@ -372,13 +508,59 @@ public void write(MarshalledEntry<? extends K, ? extends V> marshalledEntry) {
       }
    }
 
+   private static ByteBuffer writeBuffer() {
+      ByteBuffer buffer = writeBuffers.get();
+      if (buffer == null) {
+         buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+         writeBuffers.set(buffer);
+      }
+      buffer.clear();
+      return buffer;
+   }
+
+   /**
+    * Returns a buffer for the next {@code len} bytes of the staging buffer, or a new heap buffer if they do not fit.
+    */
+   private static ByteBuffer stagingSlice(ByteBuffer staging, int len) {
+      if (staging.remaining() < len)
+         return ByteBuffer.allocate(len);
+      ByteBuffer slice = staging.slice();
+      slice.limit(len);
+      staging.position(staging.position() + len);
+      return slice;
+   }
+
+   /**
+    * Writes the blocks to the file, either directly or through the group committer, and forces them as required by
+    * the durability policy.
+    * <p/>
+    * Note: Caller must hold the {@code resizeLock} in shared mode.
+    */
+   private void writeBlocks(List<GroupCommitter.Block> blocks) throws IOException {
+      if (blocks.isEmpty())
+         return;
+
+      if (groupCommitter != null) {
+         groupCommitter.write(blocks);
+         return;
+      }
+      for (GroupCommitter.Block block : blocks) {
+         GroupCommitter.writeFully(channel, block.buffer, block.offset);
+         if (durability == DurabilityPolicy.PER_WRITE)
+            channel.force(false);
+      }
+      if (durability == DurabilityPolicy.PER_BATCH)
+         channel.force(false);
+   }
+
    /**
     * Try to evict an entry if the capacity of the cache store is reached.
     *
     * @return FileEntry to evict, or null (if unbounded or capacity is not yet reached)
     */
    private FileEntry evict() {
-      if (configuration.maxEntries() > 0) {
+      // the compact index does not support a maximum number of entries
+      if (configuration.maxEntries() > 0 && index == null) {
          synchronized (entries) {
             if (entries.size() > configuration.maxEntries()) {
                Iterator<FileEntry> it = entries.values().iterator();
@@ -395,6 +577,17 @@ private FileEntry evict() {
    public void clear() {
       resizeLock.writeLock().lock();
       try {
+         if (index != null) {
+            // readers unlock their entries through the index, so they must be waited for outside its monitor.
+            // No reader can lock an entry while we hold the resizeLock in exclusive mode.
+            index.waitUnlocked();
+            synchronized (freeList) {
+               index.clear();
+               freeList.clear();
+               truncateToHeader();
+            }
+            return;
+         }
          synchronized (entries) {
             synchronized (freeList) {
                // wait until all readers are done reading file entries
@@ -407,11 +600,7 @@ public void clear() {
                entries.clear();
                freeList.clear();
 
-               // reset file
-               if (trace) log.tracef("Truncating file, current size is %d", filePos);
-               channel.truncate(0);
-               channel.write(ByteBuffer.wrap(MAGIC), 0);
-               filePos = MAGIC.length;
+               truncateToHeader();
             }
          }
       } catch (Exception e) {
@@ -421,11 +610,40 @@ public void clear() {
       }
    }
 
+   private void truncateToHeader() throws IOException {
+      // reset file
+      if (trace) log.tracef("Truncating file, current size is %d", filePos);
+      unmapFrom(0);
+      channel.truncate(0);
+      channel.write(ByteBuffer.wrap(MAGIC), 0);
+      filePos = MAGIC.length;
+      if (mappedRegions != null) {
+         mappedFileLength = 0;
+         growMappedFile(filePos);
+      }
+   }
+
+   /**
+    * Grows the file to the end of the region containing {@code end}, so that whole regions can be mapped and they never
+    * need to be mapped again when the file grows. The new space is filled with zeros, which {@link #rebuildIndex()}
+    * reads as the end of the entries. Called with the free list monitor held, or before the store is used.
+    */
+   private void growMappedFile(long end) throws IOException {
+      if (end <= mappedFileLength)
+         return;
+      long length = (end + MAPPED_REGION_SIZE - 1) / MAPPED_REGION_SIZE * MAPPED_REGION_SIZE;
+      // unlike truncate(), writing the last byte never shrinks a file that concurrent writes already extended
+      if (length > channel.size())
+         channel.write(ByteBuffer.wrap(new byte[1]), length - 1);
+      if (trace) log.tracef("Grew %s to %d bytes for memory mapped reads", file, length);
+      mappedFileLength = length;
+   }
+
    @Override
    public boolean delete(Object key) {
       resizeLock.readLock().lock();
       try {
-         FileEntry fe = entries.remove(key);
+         FileEntry fe = index != null ? index.remove(marshallKey(key)) : entries.remove(key);
          free(fe);
          return fe != null;
       } catch (Exception e) {
@@ -441,6 +659,9 @@ public MarshalledEntry<K, V> load(Object key) {
    }
 
    private MarshalledEntry<K, V> _load(Object key, boolean loadValue, boolean loadMetadata) {
+      if (index != null)
+         return loadCompact(key, loadValue, loadMetadata);
+
       final FileEntry fe;
       resizeLock.readLock().lock();
       try {
@@ -462,32 +683,85 @@ private MarshalledEntry<K, V> _load(Object key, boolean loadValue, boolean loadM
          resizeLock.readLock().unlock();
       }
 
+      return readLocked(key, fe, loadValue, loadMetadata);
+   }
+
+   private MarshalledEntry<K, V> loadCompact(Object key, boolean loadValue, boolean loadMetadata) {
+      byte[] keyBytes = marshallKey(key);
+      final List<FileEntry> candidates;
+      resizeLock.readLock().lock();
+      try {
+         // Entries are removed due to expiration from {@link SingleFileStore#purge}
+         candidates = index.lockCandidates(keyBytes, timeService.wallClockTime());
+      } finally {
+         resizeLock.readLock().unlock();
+      }
+
+      // The key of each candidate is compared while reading the entry, outside the index monitor
+      for (int i = 0; i < candidates.size(); i++) {
+         MarshalledEntry<K, V> entry;
+         try {
+            entry = readLocked(key, keyBytes, candidates.get(i), loadValue, loadMetadata);
+         } catch (RuntimeException e) {
+            index.unlock(candidates.subList(i + 1, candidates.size()));
+            throw e;
+         }
+         if (entry != null) {
+            index.unlock(candidates.subList(i + 1, candidates.size()));
+            return entry;
+         }
+      }
+      return null;
+   }
+
+   private MarshalledEntry<K, V> readLocked(Object key, FileEntry fe, boolean loadValue, boolean loadMetadata) {
+      return readLocked(key, null, fe, loadValue, loadMetadata);
+   }
+
+   /**
+    * Reads an entry locked for reading and unlocks it.
+    *
+    * @param key the key of the entry, or {@code null} to read it from the file
+    * @param expectedKey the marshalled key the entry must hold, or {@code null} if the entry is known to hold the key
+    * @return the entry, or {@code null} if it does not hold {@code expectedKey}
+    */
+   private MarshalledEntry<K, V> readLocked(Object key, byte[] expectedKey, FileEntry fe, boolean loadValue,
+                                            boolean loadMetadata) {
       org.infinispan.commons.io.ByteBuffer valueBb = null;
       org.infinispan.commons.io.ByteBuffer metadataBb = null;
 
+      if (expectedKey != null && expectedKey.length != fe.keyLen) {
+         unlock(fe);
+         return null;
+      }
+
       // If we only require the key, then no need to read disk
-      if (!loadValue && !loadMetadata) {
+      if (key != null && expectedKey == null && !loadValue && !loadMetadata) {
          try {
             return ctx.getMarshalledEntryFactory().newMarshalledEntry(key, valueBb, metadataBb);
          } finally {
-            fe.unlock();
+            unlock(fe);
          }
       }
 
       final byte[] data;
       try {
          // load serialized data from disk
-         data = new byte[fe.keyLen + fe.dataLen + (loadMetadata ? fe.metadataLen : 0)];
+         int dataLen = loadValue || loadMetadata ? fe.dataLen : 0;
+         data = new byte[fe.keyLen + dataLen + (loadMetadata ? fe.metadataLen : 0)];
          // The entry lock will prevent clear() from truncating the file at this point
-         channel.read(ByteBuffer.wrap(data), fe.offset + KEY_POS);
+         read(data, fe.offset + KEY_POS);
       } catch (Exception e) {
          throw new PersistenceException(e);
       } finally {
          // No need to keep the lock for deserialization.
          // FileEntry is immutable, so its members can't be changed by another thread.
-         fe.unlock();
+         unlock(fe);
       }
 
+      if (expectedKey != null && !keyEquals(data, expectedKey))
+         return null;
+
       if (trace) log.tracef("Read entry %s at %d:%d", key, fe.offset, fe.actualSize());
       ByteBufferFactory factory = ctx.getByteBufferFactory();
       org.infinispan.commons.io.ByteBuffer keyBb = factory.newByteBuffer(data, 0, fe.keyLen);
@@ -500,9 +774,81 @@ private MarshalledEntry<K, V> _load(Object key, boolean loadValue, boolean loadM
       return ctx.getMarshalledEntryFactory().newMarshalledEntry(keyBb, valueBb, metadataBb);
    }
 
+   private void unlock(FileEntry fe) {
+      if (index != null)
+         index.unlock(fe);
+      else
+         fe.unlock();
+   }
+
+   /**
+    * Reads {@code data.length} bytes starting at {@code offset}, through the mapped regions if enabled.
+    */
+   private void read(byte[] data, long offset) throws IOException {
+      if (mappedRegions == null) {
+         channel.read(ByteBuffer.wrap(data), offset);
+         return;
+      }
+      int copied = 0;
+      while (copied < data.length) {
+         long position = offset + copied;
+         int index = (int) (position / MAPPED_REGION_SIZE);
+         int regionOffset = (int) (position % MAPPED_REGION_SIZE);
+         int length = Math.min(data.length - copied, MAPPED_REGION_SIZE - regionOffset);
+         ByteBuffer region = mappedRegion(index).duplicate();
+         region.position(regionOffset);
+         region.get(data, copied, length);
+         copied += length;
+      }
+   }
+
+   /**
+    * Returns the region with the given index, mapped once over its whole size. The file is grown one whole region at a
+    * time, see {@link #growMappedFile(long)}, so the region never extends past the end of the file.
+    */
+   private MappedByteBuffer mappedRegion(int index) throws IOException {
+      MappedByteBuffer[] regions = mappedRegions;
+      MappedByteBuffer region = index < regions.length ? regions[index] : null;
+      if (region != null)
+         return region;
+
+      synchronized (mappingLock) {
+         regions = mappedRegions;
+         region = index < regions.length ? regions[index] : null;
+         if (region == null) {
+            long start = (long) index * MAPPED_REGION_SIZE;
+            region = channel.map(FileChannel.MapMode.READ_ONLY, start, MAPPED_REGION_SIZE);
+            if (trace) log.tracef("Mapped region %d of %s", (Integer) index, file);
+
+            MappedByteBuffer[] newRegions = Arrays.copyOf(regions, Math.max(regions.length, index + 1));
+            newRegions[index] = region;
+            mappedRegions = newRegions;
+         }
+         return region;
+      }
+   }
+
+   /**
+    * Drops the mapped regions overlapping or following {@code offset}, before the file is truncated there.
+    */
+   private void unmapFrom(long offset) {
+      synchronized (mappingLock) {
+         MappedByteBuffer[] regions = mappedRegions;
+         if (regions != null) {
+            int keep = (int) (offset / MAPPED_REGION_SIZE);
+            if (keep < regions.length)
+               mappedRegions = Arrays.copyOf(regions, keep);
+         }
+      }
+   }
+
    @Override
    public void process(KeyFilter<? super K> filter, final CacheLoaderTask<K, V> task, Executor executor, final boolean fetchValue, final boolean fetchMetadata) {
       filter = PersistenceUtil.notNull(filter);
+      if (index != null) {
+         processCompact(filter, task, executor, fetchValue, fetchMetadata);
+         return;
+      }
       ArrayList<KeyValuePair<K, FileEntry>> keysToLoad = new ArrayList<>(entries.size());
       synchronized (entries) {
          for (Map.Entry<K, FileEntry> e : entries.entrySet()) {
@@ -550,6 +896,53 @@ public Void call() throws Exception {
       }
    }
 
+   /**
+    * The compact index does not keep the keys in memory, so they are read from the file, with the entry locked so that
+    * its space cannot be reused in the meantime.
+    */
+   private void processCompact(KeyFilter<? super K> filter, CacheLoaderTask<K, V> task, Executor executor, boolean fetchValue, boolean fetchMetadata) {
+      List<KeyValuePair<Integer, FileEntry>> entriesToLoad = index.entries();
+      Collections.sort(entriesToLoad, (o1, o2) -> Long.compare(o1.getValue().offset, o2.getValue().offset));
+
+      ExecutorAllCompletionService eacs = new ExecutorAllCompletionService(executor);
+
+      final TaskContextImpl taskContext = new TaskContextImpl();
+      for (KeyValuePair<Integer, FileEntry> e : entriesToLoad) {
+         if (taskContext.isStopped())
+            break;
+
+         final int hash = e.getKey();
+         final long offset = e.getValue().offset;
+         eacs.submit(() -> {
+            try {
+               FileEntry fe;
+               resizeLock.readLock().lock();
+               try {
+                  fe = index.lock(hash, offset, timeService.wallClockTime());
+               } finally {
+                  resizeLock.readLock().unlock();
+               }
+               // the entry was removed, replaced or expired in the meantime
+               if (fe == null)
+                  return null;
+
+               MarshalledEntry<K, V> marshalledEntry = readLocked(null, fe, fetchValue, fetchMetadata);
+               if (filter.accept(marshalledEntry.getKey())) {
+                  task.processEntry(marshalledEntry, taskContext);
+               }
+               return null;
+            } catch (Exception ex) {
+               log.errorExecutingParallelStoreTask(ex);
+               throw ex;
+            }
+         });
+      }
+      eacs.waitUntilAllCompleted();
+      if (eacs.isExceptionThrown()) {
+         throw new PersistenceException("Execution exception!", eacs.getFirstException());
+      }
+   }
+
    /**
     * Manipulates the free entries for optimizing disk space.
     */
@@ -592,7 +985,18 @@ private void truncateFile(List<FileEntry> entries) {
 
       if (truncateOffset > 0) {
          try {
-            channel.truncate(truncateOffset);
+            if (mappedRegions != null) {
+               // keep the region containing the new end mapped, a zero size marks the end of the entries
+               channel.write(ByteBuffer.wrap(ZERO_INT), truncateOffset);
+               long length = (truncateOffset + MAPPED_REGION_SIZE - 1) / MAPPED_REGION_SIZE * MAPPED_REGION_SIZE;
+               if (length < mappedFileLength) {
+                  unmapFrom(length);
+                  channel.truncate(length);
+                  mappedFileLength = length;
+               }
+            } else {
+               channel.truncate(truncateOffset);
+            }
          } catch (IOException e) {
             throw new PersistenceException("Error while truncating file", e);
          }
@@ -660,6 +1064,10 @@ private void mergeFreeEntries(List<FileEntry> entries) {
    @Override
    public void purge(Executor threadPool, final PurgeListener task) {
       long now = timeService.wallClockTime();
+      if (index != null) {
+         purgeCompact(now, task);
+         return;
+      }
       List<KeyValuePair<Object, FileEntry>> entriesToPurge = new ArrayList<KeyValuePair<Object, FileEntry>>();
       synchronized (entries) {
          for (Iterator<Map.Entry<K, FileEntry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
@@ -697,9 +1105,38 @@ public void purge(Executor threadPool, final PurgeListener task) {
       }
    }
 
+   private void purgeCompact(long now, PurgeListener task) {
+      resizeLock.readLock().lock();
+      try {
+         for (FileEntry fe : index.removeExpired(now)) {
+            try {
+               // the key is only in the file, read it before the space can be reused
+               Object key = task != null ? readKey(fe) : null;
+               free(fe);
+               if (task != null) task.entryPurged(key);
+            } catch (Exception e) {
+               throw new PersistenceException(e);
+            }
+         }
+
+         // Disk space optimizations
+         synchronized (freeList) {
+            processFreeEntries();
+         }
+      } finally {
+         resizeLock.readLock().unlock();
+      }
+   }
+
+   private Object readKey(FileEntry fe) throws IOException, ClassNotFoundException {
+      byte[] key = new byte[fe.keyLen];
+      read(key, fe.offset + KEY_POS);
+      return ctx.getMarshaller().objectFromByteBuffer(key);
+   }
+
    @Override
    public int size() {
-      return entries.size();
+      return index != null ? index.size() : entries.size();
    }
 
    Map<K, FileEntry> getEntries() {
@@ -733,36 +1170,36 @@ public SingleFileStoreConfiguration getConfiguration() {
     * <li>{@link #metadataLen} bytes: serialized key</li>
     * </ul>
     */
-   private static class FileEntry implements Comparable<FileEntry> {
+   static class FileEntry implements Comparable<FileEntry> {
       /**
        * File offset of this block.
        */
-      private final long offset;
+      final long offset;
 
       /**
        * Total size of this block.
        */
-      private final int size;
+      final int size;
 
       /**
        * Size of serialized key.
        */
-      private final int keyLen;
+      final int keyLen;
 
       /**
        * Size of serialized data.
        */
-      private final int dataLen;
+      final int dataLen;
 
       /**
        * Size of serialized metadata.
        */
-      private final int metadataLen;
+      final int metadataLen;
 
       /**
        * Time stamp when the entry will expire (i.e. will be collected by purge).
        */
-      private final long expiryTime;
+      final long expiryTime;
 
       /**
        * Number of current readers.
@@ -1,6 +1,7 @@
 package org.infinispan.persistence.manager;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
 
@@ -60,6 +61,13 @@ public interface PersistenceManager extends Lifecycle {
 
    MarshalledEntry loadFromAllStores(Object key, InvocationContext context);
 
+   /**
+    * Loads the entries for the given keys, asking every store only for the keys not found in the previous stores.
+    *
+    * @return the entries found, mapped by their key. Keys without an entry in any store are not present in the map.
+    */
+   Map<Object, MarshalledEntry> loadAllFromAllStores(Set<?> keys, InvocationContext context);
+
    /**
     * Returns the store one configured with fetch persistent state, or null if none exist.
     */
@@ -87,6 +87,7 @@ public class PersistenceManagerImpl implements PersistenceManager {
 
    private static final Log log = LogFactory.getLog(PersistenceManagerImpl.class);
    private static final boolean trace = log.isTraceEnabled();
+   private static final int PRELOAD_PAGE_SIZE = 1024;
 
    Configuration configuration;
    AdvancedCache<Object, Object> cache;
@@ -254,6 +255,7 @@ public void preload() {
       final long maxEntries = getMaxEntries();
       final AtomicInteger loadedEntries = new AtomicInteger(0);
       final AdvancedCache<Object, Object> flaggedCache = getCacheForStateInsertion();
+      final List<MarshalledEntry> page = new ArrayList<>(PRELOAD_PAGE_SIZE);
       preloadCl.process(null, new AdvancedCacheLoader.CacheLoaderTask() {
          @Override
          public void processEntry(MarshalledEntry me, AdvancedCacheLoader.TaskContext taskContext) throws InterruptedException {
@@ -261,10 +263,18 @@ public void processEntry(MarshalledEntry me, AdvancedCacheLoader.TaskContext tas
                taskContext.stop();
                return;
             }
-            Metadata metadata = me.getMetadata() != null ? ((InternalMetadataImpl)me.getMetadata()).actual() : null; //the downcast will go away with ISPN-3460
-            preloadKey(flaggedCache, me.getKey(), me.getValue(), metadata);
+            synchronized (page) {
+               page.add(me);
+               if (page.size() == PRELOAD_PAGE_SIZE) {
+                  preloadPage(flaggedCache, page);
+                  page.clear();
+               }
+            }
          }
       }, new WithinThreadExecutor(), true, true);
+      if (!page.isEmpty()) {
+         preloadPage(flaggedCache, page);
+      }
 
       log.debugf("Preloaded %s keys in %s", loadedEntries, Util.prettyPrintTime(timeService.timeDuration(start, MILLISECONDS)));
    }
@@ -491,6 +501,33 @@ public MarshalledEntry loadFromAllStores(Object key, InvocationContext context)
       }
    }
 
+   @Override
+   public Map<Object, MarshalledEntry> loadAllFromAllStores(Set<?> keys, InvocationContext context) {
+      storesMutex.readLock().lock();
+      try {
+         Map<Object, MarshalledEntry> entries = new HashMap<>(keys.size());
+         Set<?> keysToLoad = keys;
+         for (CacheLoader l : loaders) {
+            if (!context.isOriginLocal() && isLocalOnlyLoader(l))
+               continue;
+
+            Map<Object, MarshalledEntry> loaded = l.loadAll(keysToLoad);
+            if (loaded.isEmpty())
+               continue;
+
+            entries.putAll(loaded);
+            if (entries.size() == keys.size())
+               break;
+            Set<Object> missingKeys = new HashSet<>(keysToLoad);
+            missingKeys.removeAll(loaded.keySet());
+            keysToLoad = missingKeys;
+         }
+         return entries;
+      } finally {
+         storesMutex.readLock().unlock();
+      }
+   }
+
    private boolean isLocalOnlyLoader(CacheLoader loader) {
       if (loader instanceof LocalOnlyCacheLoader) return true;
       if (loader instanceof DelegatingCacheLoader) {
@@ -738,13 +775,28 @@ private long getMaxEntries() {
       return ne;
    }
 
-   private void preloadKey(AdvancedCache<Object, Object> cache, Object key, Object value, Metadata metadata) {
+   /**
+    * Inserts a page of preloaded entries with one {@code putAll} per distinct metadata, in a single transaction if
+    * the cache is transactional.
+    */
+   private void preloadPage(AdvancedCache<Object, Object> cache, List<MarshalledEntry> page) {
+      Map<Metadata, Map<Object, Object>> entriesByMetadata = new HashMap<>();
+      for (MarshalledEntry me : page) {
+         Metadata metadata = me.getMetadata() != null ? ((InternalMetadataImpl)me.getMetadata()).actual() : null; //the downcast will go away with ISPN-3460
+         entriesByMetadata.computeIfAbsent(metadata, k -> new HashMap<>()).put(me.getKey(), me.getValue());
+      }
       final Transaction transaction = suspendIfNeeded();
       boolean success = false;
       try {
          try {
             beginIfNeeded();
-            cache.put(key, value, metadata);
+            for (Map.Entry<Metadata, Map<Object, Object>> entries : entriesByMetadata.entrySet()) {
+               if (entries.getKey() == null) {
+                  cache.putAll(entries.getValue());
+               } else {
+                  cache.putAll(entries.getValue(), entries.getKey());
+               }
+            }
             success = true;
          } catch (Exception e) {
             throw new PersistenceException("Unable to preload!", e);
@@ -2,6 +2,7 @@
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
 
@@ -80,6 +81,11 @@ public MarshalledEntry loadFromAllStores(Object key, InvocationContext context)
       return null;
    }
 
+   @Override
+   public Map<Object, MarshalledEntry> loadAllFromAllStores(Set<?> keys, InvocationContext context) {
+      return Collections.emptyMap();
+   }
+
    @Override
    public void writeToAllNonTxStores(MarshalledEntry marshalledEntry, AccessMode modes) {
    }
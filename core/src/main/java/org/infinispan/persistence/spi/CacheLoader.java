@@ -1,5 +1,9 @@
 package org.infinispan.persistence.spi;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
 import org.infinispan.commons.api.Lifecycle;
 import org.infinispan.marshall.core.MarshalledEntry;
 
@@ -39,4 +43,25 @@
     * @throws PersistenceException in case of an error, e.g. communicating with the external storage
     */
    boolean contains(Object key);
+
+   /**
+    * Fetches the entries for all the given keys. Stores that are able to fetch several entries with a single
+    * request to the external storage should override this method, by default the entries are loaded one by one
+    * via {@link #load(Object)}.
+    *
+    * @param keys the keys of the entries to load
+    * @return the entries found, mapped by their key. Keys without an entry in the storage are not present in the map.
+    * @throws PersistenceException in case of an error, e.g. communicating with the external storage
+    * @since 9.0
+    */
+   default Map<Object, MarshalledEntry<K, V>> loadAll(Set<?> keys) {
+      Map<Object, MarshalledEntry<K, V>> entries = new HashMap<>(keys.size());
+      for (Object key : keys) {
+         MarshalledEntry<K, V> entry = load(key);
+         if (entry != null) {
+            entries.put(key, entry);
+         }
+      }
+      return entries;
+   }
 }
@@ -35,4 +35,30 @@
     * @throws PersistenceException in case of an error, e.g. communicating with the external storage
     */
    boolean delete(Object key);
+
+   /**
+    * Persist all provided entries to the store in a single batch update. If this is not supported by the
+    * underlying store, then entries are written to the store individually via {@link #write(MarshalledEntry)}.
+    *
+    * @param entries an Iterable of MarshalledEntry to be written to the store.
+    * @throws NullPointerException if entries is null.
+    * @throws PersistenceException in case of an error, e.g. communicating with the external storage
+    * @since 9.0
+    */
+   default void writeBatch(Iterable<MarshalledEntry<? extends K, ? extends V>> entries) {
+      entries.forEach(this::write);
+   }
+
+   /**
+    * Remove all provided keys from the store in a single batch operation. If this is not supported by the
+    * underlying store, then keys are removed from the store individually via {@link #delete(Object)}.
+    *
+    * @param keys an Iterable of entry Keys to be removed from the store.
+    * @throws NullPointerException if keys is null.
+    * @throws PersistenceException in case of an error, e.g. communicating with the external storage
+    * @since 9.0
+    */
+   default void deleteBatch(Iterable<Object> keys) {
+      keys.forEach(this::delete);
+   }
 }
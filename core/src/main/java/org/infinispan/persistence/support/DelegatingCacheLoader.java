@@ -1,5 +1,9 @@
 package org.infinispan.persistence.support;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.persistence.spi.CacheLoader;
 import org.infinispan.persistence.spi.InitializationContext;
@@ -48,6 +52,11 @@ public MarshalledEntry load(Object key) {
       return actual != null ? actual.load(key) : null;
    }
 
+   @Override
+   public Map<Object, MarshalledEntry> loadAll(Set keys) {
+      return actual != null ? actual.loadAll(keys) : Collections.emptyMap();
+   }
+
    public CacheLoader undelegate() {
       CacheLoader cl = this;
       do {
@@ -4,12 +4,16 @@
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.commons.CacheException;
 import org.infinispan.remoting.inboundhandler.DeliverOrder;
 import org.infinispan.remoting.responses.Response;
 import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.ResponseCollector;
 import org.infinispan.remoting.transport.Transport;
+import org.infinispan.util.concurrent.CompletableFutures;
 
 /**
  * Provides a mechanism for communicating with other caches in the cluster, by formatting and passing requests down to
@@ -47,6 +51,57 @@ CompletableFuture<Map<Address, Response>> invokeRemotelyAsync(Collection<Address
 
    Map<Address, Response> invokeRemotely(Map<Address, ReplicableCommand> rpcs, RpcOptions options);
 
+   /**
+    * Invokes a command on remote nodes, computing the result from the responses with a {@link ResponseCollector}
+    * instead of returning all the responses in a map.
+    * <p>
+    * The collector can complete the invocation early, by returning a non-{@code null} result, e.g. as soon as one
+    * owner returned a valid value. The default implementation collects the responses in a map first.
+    *
+    * @param recipients A list of nodes, or {@code null} to invoke the command on all the members of the cluster
+    * @param rpc The command to invoke
+    * @param options The invocation options
+    * @param collector Computes the result of the invocation from the responses
+    * @return A future that, when completed, returns the result of the collector.
+    */
+   default <T> CompletableFuture<T> invokeRemotelyAsync(Collection<Address> recipients, ReplicableCommand rpc,
+                                                        RpcOptions options, ResponseCollector<T> collector) {
+      return invokeRemotelyAsync(recipients, rpc, options).thenApply(responses -> {
+         for (Map.Entry<Address, Response> e : responses.entrySet()) {
+            if (e.getValue() != null) {
+               T result = collector.addResponse(e.getKey(), e.getValue());
+               if (result != null) {
+                  return result;
+               }
+            }
+         }
+         return collector.finish();
+      });
+   }
+
+   /**
+    * Synchronous version of {@link #invokeRemotelyAsync(Collection, ReplicableCommand, RpcOptions, ResponseCollector)}.
+    *
+    * @return the result of the collector
+    */
+   default <T> T invokeRemotely(Collection<Address> recipients, ReplicableCommand rpc, RpcOptions options,
+                                ResponseCollector<T> collector) {
+      CompletableFuture<T> future = invokeRemotelyAsync(recipients, rpc, options, collector);
+      try {
+         return CompletableFutures.await(future);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new CacheException("Thread interrupted while invoking RPC", e);
+      } catch (ExecutionException e) {
+         Throwable cause = e.getCause();
+         if (cause instanceof CacheException) {
+            throw ((CacheException) cause);
+         } else {
+            throw new CacheException("Unexpected exception replicating command", cause);
+         }
+      }
+   }
+
    /**
     * @return a reference to the underlying transport.
     */
@@ -32,6 +32,7 @@
 import org.infinispan.remoting.inboundhandler.DeliverOrder;
 import org.infinispan.remoting.responses.Response;
 import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.ResponseCollector;
 import org.infinispan.remoting.transport.Transport;
 import org.infinispan.statetransfer.StateTransferManager;
 import org.infinispan.topology.CacheTopology;
@@ -109,6 +110,23 @@ public String getPendingViewAsString() {
    public CompletableFuture<Map<Address, Response>> invokeRemotelyAsync(Collection<Address> recipients,
                                                                         ReplicableCommand rpc,
                                                                         RpcOptions options) {
+      return invokeRemotelyAsync(recipients, rpc, options, (cacheRpc, anycast) ->
+            t.invokeRemotelyAsync(recipients, cacheRpc,
+                  options.responseMode(), options.timeUnit().toMillis(options.timeout()),
+                  options.responseFilter(), options.deliverOrder(), anycast));
+   }
+
+   @Override
+   public <T> CompletableFuture<T> invokeRemotelyAsync(Collection<Address> recipients, ReplicableCommand rpc,
+                                                       RpcOptions options, ResponseCollector<T> collector) {
+      return invokeRemotelyAsync(recipients, rpc, options, (cacheRpc, anycast) ->
+            t.invokeRemotelyAsync(recipients, cacheRpc,
+                  options.responseMode(), options.timeUnit().toMillis(options.timeout()),
+                  options.responseFilter(), options.deliverOrder(), anycast, collector));
+   }
+
+   private <T> CompletableFuture<T> invokeRemotelyAsync(Collection<Address> recipients, ReplicableCommand rpc,
+                                                        RpcOptions options, TransportInvocation<T> invocation) {
       if (trace) log.tracef("%s invoking %s to recipient list %s with options %s", t.getAddress(), rpc, recipients, options);
 
       if (!configuration.clustering().cacheMode().isClustered())
@@ -121,18 +139,15 @@ public CompletableFuture<Map<Address, Response>> invokeRemotelyAsync(Collection<
             rpc instanceof CacheRpcCommand ? (CacheRpcCommand) rpc : cf.buildSingleRpcCommand(rpc);
 
       long startTimeNanos = statisticsEnabled ? timeService.time() : 0;
-      CompletableFuture<Map<Address, Response>> invocation;
+      CompletableFuture<T> future;
       try {
-         invocation = t.invokeRemotelyAsync(recipients, cacheRpc,
-               options.responseMode(), options.timeUnit().toMillis(options.timeout()),
-               options.responseFilter(), options.deliverOrder(),
-               configuration.clustering().cacheMode().isDistributed());
+         future = invocation.invoke(cacheRpc, configuration.clustering().cacheMode().isDistributed());
       } catch (Exception e) {
          log.unexpectedErrorReplicating(e);
          if (statisticsEnabled) replicationFailures.incrementAndGet();
          return rethrowAsCacheException(e);
       }
-      return invocation.handle((responseMap, throwable) -> {
+      return future.handle((result, throwable) -> {
          if (statisticsEnabled) {
             long timeTaken = timeService.timeDuration(startTimeNanos, TimeUnit.MILLISECONDS);
             totalReplicationTime.getAndAdd(timeTaken);
@@ -140,8 +155,8 @@ public CompletableFuture<Map<Address, Response>> invokeRemotelyAsync(Collection<
 
          if (throwable == null) {
             if (statisticsEnabled) replicationCount.incrementAndGet();
-            if (trace) log.tracef("Response(s) to %s is %s", rpc, responseMap);
-            return responseMap;
+            if (trace) log.tracef("Response(s) to %s is %s", rpc, result);
+            return result;
          } else {
             if (statisticsEnabled) replicationFailures.incrementAndGet();
             return rethrowAsCacheException(throwable);
@@ -149,6 +164,14 @@ public CompletableFuture<Map<Address, Response>> invokeRemotelyAsync(Collection<
       });
    }
 
+   /**
+    * Invokes the command through the transport, either with a map of responses or with a response collector.
+    */
+   @FunctionalInterface
+   private interface TransportInvocation<T> {
+      CompletableFuture<T> invoke(CacheRpcCommand cacheRpc, boolean anycast) throws Exception;
+   }
+
    protected <T> T rethrowAsCacheException(Throwable throwable) {
       if (throwable.getCause() != null && throwable instanceof CompletionException) {
          throwable = throwable.getCause();
@@ -0,0 +1,37 @@
+package org.infinispan.remoting.transport;
+
+import org.infinispan.remoting.responses.Response;
+
+/**
+ * Computes the result of a remote invocation from the responses of the recipients, as they are processed.
+ * <p>
+ * Unlike the {@link java.util.Map} returned by {@link Transport#invokeRemotely(java.util.Collection,
+ * org.infinispan.commands.ReplicableCommand, org.infinispan.remoting.rpc.ResponseMode, long,
+ * org.infinispan.remoting.rpc.ResponseFilter, org.infinispan.remoting.inboundhandler.DeliverOrder, boolean)}, a
+ * collector can keep only what the caller needs, e.g. the first valid value of a remote get.
+ * <p>
+ * A collector is used for a single invocation and its methods are never invoked concurrently.
+ *
+ * @param <T> the type of the result
+ * @since 9.0
+ */
+public interface ResponseCollector<T> {
+
+   /**
+    * Called for each response that passed the validity checks of the transport.
+    *
+    * @param sender   the address of the recipient
+    * @param response the response, never {@code null}
+    * @return the result of the invocation, completing it without processing the other responses, or {@code null} if
+    *         more responses are needed
+    */
+   T addResponse(Address sender, Response response);
+
+   /**
+    * Called after all the responses were processed, if {@link #addResponse(Address, Response)} never completed the
+    * invocation.
+    *
+    * @return the result of the invocation, may be {@code null}
+    */
+   T finish();
+}
@@ -54,6 +54,36 @@ CompletableFuture<Map<Address, Response>> invokeRemotelyAsync(Collection<Address
                                                                  DeliverOrder deliverOrder,
                                                                  boolean anycast) throws Exception;
 
+   /**
+    * Invokes an RPC call on other caches in the cluster, passing the responses to a {@link ResponseCollector} instead
+    * of building a map of responses.
+    * <p>
+    * The collector receives the valid responses, with the same validity checks as {@link #invokeRemotelyAsync(Collection,
+    * ReplicableCommand, ResponseMode, long, ResponseFilter, DeliverOrder, boolean)}, and the invocation completes as soon
+    * as it returns a non-{@code null} result. The default implementation collects the responses in a map first.
+    *
+    * @param collector computes the result of the invocation from the responses
+    * @return a future completed with the result of the collector, or with {@link ResponseCollector#finish()} if there
+    *         are no responses to wait for
+    */
+   default <T> CompletableFuture<T> invokeRemotelyAsync(Collection<Address> recipients, ReplicableCommand rpcCommand,
+                                                        ResponseMode mode, long timeout, ResponseFilter responseFilter,
+                                                        DeliverOrder deliverOrder, boolean anycast,
+                                                        ResponseCollector<T> collector) throws Exception {
+      return invokeRemotelyAsync(recipients, rpcCommand, mode, timeout, responseFilter, deliverOrder, anycast)
+            .thenApply(responses -> {
+               for (Map.Entry<Address, Response> e : responses.entrySet()) {
+                  if (e.getValue() != null) {
+                     T result = collector.addResponse(e.getKey(), e.getValue());
+                     if (result != null) {
+                        return result;
+                     }
+                  }
+               }
+               return collector.finish();
+            });
+   }
+
    /**
     * @deprecated Use {@link #invokeRemotely(Map, ResponseMode, long, ResponseFilter, DeliverOrder, boolean)} instead
     */
@@ -0,0 +1,32 @@
+package org.infinispan.remoting.transport.impl;
+
+import org.infinispan.remoting.responses.Response;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.ResponseCollector;
+
+/**
+ * Returns the first response, for invocations with a single recipient. The result is {@code null} if there was no
+ * response to wait for.
+ *
+ * @since 9.0
+ */
+public final class SingleResponseCollector implements ResponseCollector<Response> {
+   private static final SingleResponseCollector INSTANCE = new SingleResponseCollector();
+
+   private SingleResponseCollector() {
+   }
+
+   public static SingleResponseCollector instance() {
+      return INSTANCE;
+   }
+
+   @Override
+   public Response addResponse(Address sender, Response response) {
+      return response;
+   }
+
+   @Override
+   public Response finish() {
+      return null;
+   }
+}
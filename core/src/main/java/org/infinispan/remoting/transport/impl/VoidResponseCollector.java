@@ -0,0 +1,32 @@
+package org.infinispan.remoting.transport.impl;
+
+import org.infinispan.remoting.responses.Response;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.ResponseCollector;
+
+/**
+ * Ignores the responses, for invocations that only need to know whether the recipients succeeded. Invalid responses
+ * are still reported as exceptions by the transport.
+ *
+ * @since 9.0
+ */
+public final class VoidResponseCollector implements ResponseCollector<Void> {
+   private static final VoidResponseCollector INSTANCE = new VoidResponseCollector();
+
+   private VoidResponseCollector() {
+   }
+
+   public static VoidResponseCollector instance() {
+      return INSTANCE;
+   }
+
+   @Override
+   public Void addResponse(Address sender, Response response) {
+      return null;
+   }
+
+   @Override
+   public Void finish() {
+      return null;
+   }
+}
@@ -6,6 +6,7 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -67,6 +68,8 @@ public class CommandAwareRpcDispatcher extends RpcDispatcher {
    private final InboundInvocationHandler handler;
    private final ScheduledExecutorService timeoutExecutor;
    private final TimeService timeService;
+   private final StaggeredRequestTracker staggerTracker;
+   private CommandBundler bundler;
 
    public CommandAwareRpcDispatcher(Channel channel, JGroupsTransport transport,
          InboundInvocationHandler globalHandler, ScheduledExecutorService timeoutExecutor,
@@ -75,6 +78,7 @@ public CommandAwareRpcDispatcher(Channel channel, JGroupsTransport transport,
       this.server_obj = transport;
       this.handler = globalHandler;
       this.timeoutExecutor = timeoutExecutor;
+      this.staggerTracker = new StaggeredRequestTracker(timeService, STAGGER_DELAY_NANOS);
 
       // MessageDispatcher superclass constructors will call start() so perform all init here
       this.setMembershipListener(transport);
@@ -90,6 +94,31 @@ public CommandAwareRpcDispatcher(Channel channel, JGroupsTransport transport,
       asyncDispatching(true);
    }
 
+   /**
+    * Coalesces the asynchronous commands sent to the same node within {@code delayNanos} into a single message.
+    * Must be called before sending any command.
+    *
+    * @param delayNanos   the time to wait for more commands after the first command of a bundle
+    * @param maxCommands  the number of commands that triggers sending the bundle before the delay expired
+    * @param sendExecutor the executor sending the bundles whose delay expired
+    */
+   public void enableBundling(long delayNanos, int maxCommands, Executor sendExecutor) {
+      bundler = new CommandBundler(this::sendBundle, timeoutExecutor, sendExecutor, delayNanos, maxCommands);
+   }
+
+   CommandBundler getBundler() {
+      return bundler;
+   }
+
+   /**
+    * Sends the asynchronous commands waiting to be bundled.
+    */
+   public void flushBundles() {
+      if (bundler != null) {
+         bundler.flushAll();
+      }
+   }
+
    @Override
    public void close() {
       // Ensure dispatcher is stopped
@@ -122,6 +151,8 @@ public CompletableFuture<RspList<Response>> invokeRemoteCommands(List<Address> r
       try {
          if (recipients != null && mode == ResponseMode.GET_FIRST && STAGGER_DELAY_NANOS > 0) {
             future = new CompletableFuture<>();
+            // Ask the owners that were recently slow last
+            recipients = staggerTracker.order(recipients);
             // We populate the RspList ahead of time to avoid additional synchronization afterwards
             RspList<Response> rsps = new RspList<>();
             for (Address recipient : recipients) {
@@ -142,6 +173,10 @@ public CompletableFuture<RspList<Response>> invokeRemoteCommands(List<Address> r
       }
    }
 
+   StaggeredRequestTracker getStaggerTracker() {
+      return staggerTracker;
+   }
+
    public SingleResponseFuture invokeRemoteCommand(Address recipient, ReplicableCommand command,
                                                    ResponseMode mode, long timeout,
                                                    DeliverOrder deliverOrder) {
@@ -169,7 +204,12 @@ public void handle(Message req, org.jgroups.blocks.Response response) throws Exc
       if (isValid(req)) {
          ReplicableCommand cmd = null;
          try {
-            cmd = (ReplicableCommand) req_marshaller.objectFromBuffer(req.getRawBuffer(), req.getOffset(), req.getLength());
+            Object obj = req_marshaller.objectFromBuffer(req.getRawBuffer(), req.getOffset(), req.getLength());
+            if (obj instanceof ReplicableCommand[]) {
+               handleBundle((ReplicableCommand[]) obj, req);
+               return;
+            }
+            cmd = (ReplicableCommand) obj;
             if (cmd == null)
                throw new NullPointerException("Unable to execute a null command!  Message was " + req);
             if (req.getSrc() instanceof SiteAddress) {
@@ -197,6 +237,24 @@ public void handle(Message req, org.jgroups.blocks.Response response) throws Exc
       }
    }
 
+   private void handleBundle(ReplicableCommand[] commands, Message req) {
+      if (trace) log.tracef("Received a bundle of %d commands from %s", commands.length, req.getSrc());
+      // The bundled commands are asynchronous, there is no response to send back
+      for (ReplicableCommand command : commands) {
+         try {
+            executeCommandFromLocalCluster(command, req, null);
+         } catch (Throwable t) {
+            log.exceptionHandlingCommand(command, t);
+         }
+      }
+   }
+
+   private void sendBundle(Address destination, ReplicableCommand[] commands) throws Exception {
+      Buffer buf = req_marshaller.objectToBuffer(commands);
+      Message msg = constructMessage(buf, destination, ResponseMode.GET_NONE, false, DeliverOrder.PER_SENDER);
+      sendMessage(msg, new RequestOptions(ResponseMode.GET_NONE, 0));
+   }
+
    private void executeCommandFromRemoteSite(final ReplicableCommand cmd, final Message req, final org.jgroups.blocks.Response response) throws Throwable {
       SiteAddress siteAddress = (SiteAddress) req.getSrc();
       ((XSiteReplicateCommand) cmd).setOriginSite(siteAddress.getSite());
@@ -313,6 +371,14 @@ private SingleResponseFuture processSingleCall(ReplicableCommand command, long t
       if (trace)
          log.tracef("Replication task sending %s to single recipient %s with response mode %s", command, destination, mode);
       boolean rsvp = isRsvpCommand(command);
+      if (bundler != null && deliverOrder == DeliverOrder.PER_SENDER) {
+         if (mode == ResponseMode.GET_NONE && !rsvp) {
+            bundler.add(destination, command);
+            return null;
+         }
+         // Keep the order with the commands already bundled for the destination
+         bundler.flush(destination);
+      }
 
       // Replay capability requires responses from all members!
       Buffer buf;
@@ -338,14 +404,19 @@ private void processCallsStaggered(ReplicableCommand command, RspFilter filter,
       if (destIndex == dests.size())
          return;
 
+      Address dest = dests.get(destIndex);
+      long sendTime = timeService.time();
       CompletableFuture<Rsp<Response>> subFuture =
-            processSingleCall(command, -1, dests.get(destIndex), mode, deliverOrder, marshaller);
+            processSingleCall(command, -1, dest, mode, deliverOrder, marshaller);
       if (subFuture != null) {
          subFuture.whenComplete((rsp, throwable) -> {
             if (throwable != null) {
                // We should never get here, any remote exception will be in the Rsp
                theFuture.completeExceptionally(throwable);
             }
+            if (rsp.wasReceived()) {
+               staggerTracker.responseReceived(rsp.getSender(), sendTime);
+            }
             Rsp<Response> futureRsp = rsps.get(rsp.getSender());
             if (rsp.hasException()) {
                futureRsp.setException(rsp.getException());
@@ -377,13 +448,18 @@ private void processCallsStaggered(ReplicableCommand command, RspFilter filter,
          });
          if (!subFuture.isDone()) {
             long delayNanos = timeService.remainingTime(deadline, TimeUnit.NANOSECONDS);
-            if (destIndex < dests.size() - 1) {
-               // Not the last recipient, wait for STAGGER_DELAY_NANOS only
-               delayNanos = Math.min(STAGGER_DELAY_NANOS, delayNanos);
+            boolean lastRecipient = destIndex == dests.size() - 1;
+            if (!lastRecipient) {
+               // Not the last recipient, only wait for the usual response time of the destination
+               delayNanos = Math.min(staggerTracker.delayNanos(dest), delayNanos);
             }
-            ScheduledFuture<?> timeoutTask = timeoutExecutor.schedule(
-                  () -> staggeredProcessNext(command, filter, dests, mode, deliverOrder, marshaller,
-                        theFuture, destIndex, deadline, rsps), delayNanos, TimeUnit.NANOSECONDS);
+            ScheduledFuture<?> timeoutTask = timeoutExecutor.schedule(() -> {
+               if (!lastRecipient && !theFuture.isDone()) {
+                  staggerTracker.hedged(dest);
+               }
+               staggeredProcessNext(command, filter, dests, mode, deliverOrder, marshaller,
+                     theFuture, destIndex, deadline, rsps);
+            }, delayNanos, TimeUnit.NANOSECONDS);
             theFuture.whenComplete((rsps1, throwable) -> timeoutTask.cancel(false));
          }
       } else {
@@ -417,6 +493,21 @@ private RspListFuture processCalls(ReplicableCommand command, boolean broadcast,
                                       DeliverOrder deliverOrder, Marshaller marshaller) throws Exception {
       if (trace) log.tracef("Replication task sending %s to addresses %s with response mode %s", command, dests, mode);
       boolean rsvp = isRsvpCommand(command);
+      if (bundler != null && deliverOrder == DeliverOrder.PER_SENDER) {
+         if (broadcast || FORCE_MCAST) {
+            // Keep the order with the commands already bundled for all the destinations
+            bundler.flushAll();
+         } else if (mode == ResponseMode.GET_NONE && !rsvp) {
+            for (Address dest : dests) {
+               bundler.add(dest, command);
+            }
+            return null;
+         } else {
+            for (Address dest : dests) {
+               bundler.flush(dest);
+            }
+         }
+      }
 
       Buffer buf = marshallCall(marshaller, command);
       Message msg;
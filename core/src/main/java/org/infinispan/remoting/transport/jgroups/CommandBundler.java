@@ -0,0 +1,142 @@
+package org.infinispan.remoting.transport.jgroups;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+import org.jgroups.Address;
+
+/**
+ * Coalesces the asynchronous commands sent to the same node within a short window into a single message.
+ * <p>
+ * A bundle is sent when it reaches the maximum number of commands, or when the window started by its first command
+ * expires. The window is timed by the timeout executor, but the expired bundles are sent by the send executor, so that
+ * slow sends do not delay the other timeouts of the transport. The commands of a bundle are sent as a {@code ReplicableCommand[]} and handled one by one by the receiver,
+ * in order, as if they had been sent in separate messages.
+ * <p>
+ * Bundles are sent while holding their lock, and {@link #flush(Address)} must be called before sending any other
+ * message that must be delivered in order with the bundled commands, so that the per-sender order is preserved.
+ *
+ * @since 9.0
+ */
+class CommandBundler {
+   private static final Log log = LogFactory.getLog(CommandBundler.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private final BundleSender sender;
+   private final ScheduledExecutorService timeoutExecutor;
+   private final Executor sendExecutor;
+   private final long delayNanos;
+   private final int maxCommands;
+   private final ConcurrentMap<Address, Bundle> bundles = new ConcurrentHashMap<>();
+
+   CommandBundler(BundleSender sender, ScheduledExecutorService timeoutExecutor, Executor sendExecutor,
+                  long delayNanos, int maxCommands) {
+      this.sender = sender;
+      this.timeoutExecutor = timeoutExecutor;
+      this.sendExecutor = sendExecutor;
+      this.delayNanos = delayNanos;
+      this.maxCommands = maxCommands;
+   }
+
+   void add(Address destination, ReplicableCommand command) {
+      Bundle bundle = bundles.computeIfAbsent(destination, Bundle::new);
+      boolean schedule = false;
+      synchronized (bundle) {
+         bundle.commands.add(command);
+         if (bundle.commands.size() >= maxCommands) {
+            send(bundle);
+         } else if (!bundle.scheduled) {
+            bundle.scheduled = true;
+            schedule = true;
+         }
+      }
+      if (schedule) {
+         timeoutExecutor.schedule(() -> sendExpired(bundle), delayNanos, TimeUnit.NANOSECONDS);
+      }
+   }
+
+   private void sendExpired(Bundle bundle) {
+      Runnable task = () -> {
+         synchronized (bundle) {
+            bundle.scheduled = false;
+            send(bundle);
+         }
+      };
+      try {
+         sendExecutor.execute(task);
+      } catch (RejectedExecutionException e) {
+         // The bundle must be sent anyway, better late than never
+         task.run();
+      }
+   }
+
+   /**
+    * Sends the commands bundled for {@code destination}.
+    */
+   void flush(Address destination) {
+      Bundle bundle = bundles.get(destination);
+      if (bundle != null) {
+         synchronized (bundle) {
+            send(bundle);
+         }
+      }
+   }
+
+   /**
+    * Sends the commands bundled for all the destinations.
+    */
+   void flushAll() {
+      for (Bundle bundle : bundles.values()) {
+         synchronized (bundle) {
+            send(bundle);
+         }
+      }
+   }
+
+   /**
+    * Drops the bundles of the nodes that are no longer members of the cluster.
+    */
+   void retainAll(Collection<Address> members) {
+      bundles.keySet().retainAll(members);
+   }
+
+   private void send(Bundle bundle) {
+      int size = bundle.commands.size();
+      if (size == 0) {
+         return;
+      }
+      ReplicableCommand[] commands = bundle.commands.toArray(new ReplicableCommand[size]);
+      bundle.commands.clear();
+      if (trace) log.tracef("Sending a bundle of %d commands to %s", size, bundle.destination);
+      try {
+         sender.send(bundle.destination, commands);
+      } catch (Throwable t) {
+         // Asynchronous commands don't report failures to the caller either
+         log.errorSendingBundle(bundle.destination, t);
+      }
+   }
+
+   interface BundleSender {
+      void send(Address destination, ReplicableCommand[] commands) throws Exception;
+   }
+
+   private static class Bundle {
+      final Address destination;
+      final List<ReplicableCommand> commands = new ArrayList<>();
+      boolean scheduled;
+
+      Bundle(Address destination) {
+         this.destination = destination;
+      }
+   }
+}
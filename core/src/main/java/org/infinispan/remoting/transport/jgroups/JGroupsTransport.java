@@ -6,9 +6,11 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -39,6 +41,12 @@
 import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.jmx.JmxUtil;
+import org.infinispan.jmx.annotations.DisplayType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.notifications.cachemanagerlistener.CacheManagerNotifier;
 import org.infinispan.remoting.RpcException;
 import org.infinispan.remoting.inboundhandler.DeliverOrder;
@@ -50,6 +58,7 @@
 import org.infinispan.remoting.transport.AbstractTransport;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.remoting.transport.BackupResponse;
+import org.infinispan.remoting.transport.ResponseCollector;
 import org.infinispan.util.TimeService;
 import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.concurrent.TimeoutException;
@@ -95,11 +104,21 @@
  * @author Galder Zamarreño
  * @since 4.0
  */
+@MBean(objectName = "Transport", description = "Component that sends the remote calls to the other nodes in the cluster.")
 public class JGroupsTransport extends AbstractTransport implements MembershipListener {
    public static final String CONFIGURATION_STRING = "configurationString";
    public static final String CONFIGURATION_XML = "configurationXml";
    public static final String CONFIGURATION_FILE = "configurationFile";
    public static final String CHANNEL_LOOKUP = "channelLookup";
+   /**
+    * The time, in microseconds, to wait for more asynchronous commands to the same node before sending them in a single
+    * message. Bundling is disabled by default.
+    */
+   public static final String BUNDLE_DELAY = "bundleDelay";
+   /**
+    * The maximum number of asynchronous commands sent in a single message, when bundling is enabled.
+    */
+   public static final String BUNDLE_MAX_COMMANDS = "bundleMaxCommands";
    protected static final String DEFAULT_JGROUPS_CONFIGURATION_FILE = "default-configs/default-jgroups-udp.xml";
 
    private static final Log log = LogFactory.getLog(JGroupsTransport.class);
@@ -114,6 +133,7 @@ public class JGroupsTransport extends AbstractTransport implements MembershipLis
    protected TimeService timeService;
    protected InboundInvocationHandler globalHandler;
    private ScheduledExecutorService timeoutExecutor;
+   private ExecutorService asyncExecutor;
 
    private boolean globalStatsEnabled;
    private MBeanServer mbeanServer;
@@ -179,13 +199,15 @@ public void initialize(StreamingMarshaller marshaller,
                           CacheManagerNotifier notifier, GlobalComponentRegistry gcr,
                           TimeService timeService, InboundInvocationHandler globalHandler,
                           @ComponentName(KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR) ScheduledExecutorService timeoutExecutor,
-                          @ComponentName(KnownComponentNames.REMOTE_COMMAND_EXECUTOR) ExecutorService executorService) {
+                          @ComponentName(KnownComponentNames.REMOTE_COMMAND_EXECUTOR) ExecutorService executorService,
+                          @ComponentName(KnownComponentNames.ASYNC_TRANSPORT_EXECUTOR) ExecutorService asyncExecutor) {
       this.marshaller = marshaller;
       this.notifier = notifier;
       this.gcr = gcr;
       this.timeService = timeService;
       this.globalHandler = globalHandler;
       this.timeoutExecutor = timeoutExecutor;
+      this.asyncExecutor = asyncExecutor;
       this.handler.updateThreadPool(executorService);
    }
 
@@ -271,6 +293,9 @@ public void stop() {
          channel.getProtocolStack().getTransport().unregisterProbeHandler(handler);
       }
       String clusterName = configuration.transport().clusterName();
+      if (dispatcher != null) {
+         dispatcher.flushBundles();
+      }
       try {
          if (disconnectChannel && channel != null && channel.isConnected()) {
             log.disconnectJGroups(clusterName);
@@ -378,6 +403,11 @@ private void initChannelAndRPCDispatcher() throws CacheException {
 
    protected void initRPCDispatcher() {
       dispatcher = new CommandAwareRpcDispatcher(channel, this, globalHandler, timeoutExecutor, timeService);
+      int bundleDelay = props.getIntProperty(BUNDLE_DELAY, 0);
+      if (bundleDelay > 0) {
+         dispatcher.enableBundling(TimeUnit.MICROSECONDS.toNanos(bundleDelay), props.getIntProperty(BUNDLE_MAX_COMMANDS, 64),
+               asyncExecutor);
+      }
       MarshallerAdapter adapter = new MarshallerAdapter(marshaller);
       dispatcher.setRequestMarshaller(adapter);
       dispatcher.setResponseMarshaller(adapter);
@@ -559,10 +589,144 @@ public CompletableFuture<Map<Address, Response>> invokeRemotelyAsync(Collection<
                                                                         ResponseFilter responseFilter,
                                                                         DeliverOrder deliverOrder,
                                                                         boolean anycast) throws Exception {
+      CompletableFuture<?> request = sendCommand(recipients, rpcCommand, mode, timeout, responseFilter, deliverOrder);
+      if (request == null) {
+         return CompletableFutures.completedEmptyMap();
+      }
+      boolean ignoreLeavers = mode == ResponseMode.SYNCHRONOUS_IGNORE_LEAVERS || mode == ResponseMode.WAIT_FOR_VALID_RESPONSE;
+
+      if (request instanceof SingleResponseFuture) {
+         // Unicast request
+         return ((SingleResponseFuture) request).thenApply(rsp -> {
+            if (trace)
+               log.tracef("Responses: %s", rsp);
+            Address sender = fromJGroupsAddress(rsp.getSender());
+            Response response = checkRsp(rsp, sender, ignoreTimeout(responseFilter), false);
+            return Collections.singletonMap(sender, response);
+         });
+      } else {
+         // Broadcast/anycast request
+         return ((CompletableFuture<RspList<Response>>) request).thenApply(rsps -> {
+            if (trace)
+               log.tracef("Responses: %s", rsps);
+            Map<Address, Response> responseMap =
+                  new HashMap<>(CollectionFactory.computeCapacity(rsps.size()));
+            boolean hasResponses = false;
+            boolean hasValidResponses = false;
+            for (Rsp<Response> rsp : rsps.values()) {
+               hasResponses |= rsp.wasReceived();
+               Address sender = fromJGroupsAddress(rsp.getSender());
+               Response response = checkRsp(rsp, sender, ignoreTimeout(responseFilter), ignoreLeavers);
+               if (response != null) {
+                  hasValidResponses = true;
+                  responseMap.put(sender, response);
+               }
+            }
+
+            if (!hasValidResponses) {
+               throw noValidResponses(recipients, hasResponses);
+            }
+
+            if (mode == ResponseMode.SYNCHRONOUS_IGNORE_LEAVERS && recipients != null &&
+                  rsps.size() < recipients.size()) {
+               recipients.forEach(dest -> {
+                  if (!dest.equals(getAddress())) {
+                     responseMap.putIfAbsent(dest, CacheNotFoundResponse.INSTANCE);
+                  }
+               });
+            }
+
+            return responseMap;
+         });
+      }
+   }
+
+   @Override
+   public <T> CompletableFuture<T> invokeRemotelyAsync(Collection<Address> recipients, ReplicableCommand rpcCommand,
+                                                       ResponseMode mode, long timeout, ResponseFilter responseFilter,
+                                                       DeliverOrder deliverOrder, boolean anycast,
+                                                       ResponseCollector<T> collector) throws Exception {
+      CompletableFuture<?> request = sendCommand(recipients, rpcCommand, mode, timeout, responseFilter, deliverOrder);
+      if (request == null) {
+         return CompletableFuture.completedFuture(collector.finish());
+      }
+      boolean ignoreLeavers = mode == ResponseMode.SYNCHRONOUS_IGNORE_LEAVERS || mode == ResponseMode.WAIT_FOR_VALID_RESPONSE;
+
+      if (request instanceof SingleResponseFuture) {
+         // Unicast request
+         return ((SingleResponseFuture) request).thenApply(rsp -> {
+            if (trace)
+               log.tracef("Responses: %s", rsp);
+            Address sender = fromJGroupsAddress(rsp.getSender());
+            Response response = checkRsp(rsp, sender, ignoreTimeout(responseFilter), false);
+            if (response != null) {
+               T result = collector.addResponse(sender, response);
+               if (result != null) {
+                  return result;
+               }
+            }
+            return collector.finish();
+         });
+      } else {
+         // Broadcast/anycast request
+         return ((CompletableFuture<RspList<Response>>) request).thenApply(rsps -> {
+            if (trace)
+               log.tracef("Responses: %s", rsps);
+            boolean hasResponses = false;
+            boolean hasValidResponses = false;
+            boolean addMissingRecipients = mode == ResponseMode.SYNCHRONOUS_IGNORE_LEAVERS && recipients != null &&
+                  rsps.size() < recipients.size();
+            Set<Address> responded = addMissingRecipients ? new HashSet<>() : null;
+            for (Rsp<Response> rsp : rsps.values()) {
+               hasResponses |= rsp.wasReceived();
+               Address sender = fromJGroupsAddress(rsp.getSender());
+               Response response = checkRsp(rsp, sender, ignoreTimeout(responseFilter), ignoreLeavers);
+               if (response != null) {
+                  hasValidResponses = true;
+                  if (responded != null) {
+                     responded.add(sender);
+                  }
+                  T result = collector.addResponse(sender, response);
+                  if (result != null) {
+                     return result;
+                  }
+               }
+            }
+
+            if (!hasValidResponses) {
+               throw noValidResponses(recipients, hasResponses);
+            }
+
+            if (addMissingRecipients) {
+               for (Address dest : recipients) {
+                  // Like the map based invocation, every recipient without a response gets a CacheNotFoundResponse
+                  if (!dest.equals(getAddress()) && !responded.contains(dest)) {
+                     T result = collector.addResponse(dest, CacheNotFoundResponse.INSTANCE);
+                     if (result != null) {
+                        return result;
+                     }
+                  }
+               }
+            }
+
+            return collector.finish();
+         });
+      }
+   }
+
+   /**
+    * Sends the command to the recipients.
+    *
+    * @return a {@link SingleResponseFuture} for unicast requests, a future of the {@link RspList} for the other
+    *         requests, or {@code null} if there is no response to wait for
+    */
+   private CompletableFuture<?> sendCommand(Collection<Address> recipients, ReplicableCommand rpcCommand,
+                                            ResponseMode mode, long timeout, ResponseFilter responseFilter,
+                                            DeliverOrder deliverOrder) throws Exception {
       if (recipients != null && recipients.isEmpty()) {
          // don't send if recipients list is empty
          log.trace("Destination list is empty: no need to send message");
-         return CompletableFuture.completedFuture(Collections.emptyMap());
+         return null;
       }
       boolean totalOrder = deliverOrder == DeliverOrder.TOTAL;
 
@@ -572,7 +736,7 @@ public CompletableFuture<Map<Address, Response>> invokeRemotelyAsync(Collection<
       boolean ignoreLeavers = mode == ResponseMode.SYNCHRONOUS_IGNORE_LEAVERS || mode == ResponseMode.WAIT_FOR_VALID_RESPONSE;
       if (mode.isSynchronous() && recipients != null && !getMembers().containsAll(recipients)) {
          if (!ignoreLeavers) { // SYNCHRONOUS
-            CompletableFuture<Map<Address, Response>> future = new CompletableFuture<>();
+            CompletableFuture<RspList<Response>> future = new CompletableFuture<>();
             future.completeExceptionally(new SuspectException(
                   "One or more nodes have left the cluster while replicating command " + rpcCommand));
             return future;
@@ -581,26 +745,25 @@ public CompletableFuture<Map<Address, Response>> invokeRemotelyAsync(Collection<
 
       List<org.jgroups.Address> jgAddressList = toJGroupsAddressListExcludingSelf(recipients, totalOrder);
       if (jgAddressList != null && jgAddressList.isEmpty()) {
-         return CompletableFutures.completedEmptyMap();
+         return null;
       }
 
       List<Address> localMembers = this.members;
       int membersSize = localMembers.size();
       boolean broadcast = membersSize > 2 && (jgAddressList == null || recipients.size() == membersSize);
-      CompletableFuture<RspList<Response>> rspListFuture = null;
-      SingleResponseFuture singleResponseFuture = null;
-      org.jgroups.Address singleJGAddress = null;
+      CompletableFuture<?> request;
 
       if (broadcast) {
-         rspListFuture = dispatcher.invokeRemoteCommands(null, rpcCommand, toJGroupsMode(mode), timeout,
+         request = dispatcher.invokeRemoteCommands(null, rpcCommand, toJGroupsMode(mode), timeout,
                toJGroupsFilter(responseFilter), deliverOrder);
       } else if (totalOrder) {
-         rspListFuture = dispatcher
+         request = dispatcher
                .invokeRemoteCommands(jgAddressList, rpcCommand, toJGroupsMode(mode), timeout,
                      toJGroupsFilter(responseFilter), deliverOrder);
       } else {
          boolean skipRpc;
          boolean singleRecipient;
+         org.jgroups.Address singleJGAddress = null;
          if (jgAddressList == null) {
             skipRpc = membersSize < 2;
             singleRecipient = !ignoreLeavers && membersSize == 2;
@@ -619,75 +782,36 @@ public CompletableFuture<Map<Address, Response>> invokeRemotelyAsync(Collection<
             }
          }
          if (skipRpc) {
-            return CompletableFutures.completedEmptyMap();
+            return null;
          }
 
          if (singleRecipient) {
-            singleResponseFuture = dispatcher
+            request = dispatcher
                   .invokeRemoteCommand(singleJGAddress, rpcCommand, toJGroupsMode(mode), timeout,
                         deliverOrder);
          } else {
-            rspListFuture = dispatcher
+            request = dispatcher
                   .invokeRemoteCommands(jgAddressList, rpcCommand, toJGroupsMode(mode), timeout,
                         toJGroupsFilter(responseFilter), deliverOrder);
          }
       }
 
       if (mode.isAsynchronous()) {
-         return CompletableFutures.completedEmptyMap();
+         return null;
       }
+      if (request == null) {
+         throw new IllegalStateException("Should have one remote invocation future");
+      }
+      return request;
+   }
 
-      if (singleResponseFuture != null) {
-         // Unicast request
-         return singleResponseFuture.thenApply(rsp -> {
-            if (trace)
-               log.tracef("Responses: %s", rsp);
-            Address sender = fromJGroupsAddress(rsp.getSender());
-            Response response = checkRsp(rsp, sender, ignoreTimeout(responseFilter), false);
-            return Collections.singletonMap(sender, response);
-         });
-      } else if (rspListFuture != null) {
-         // Broadcast/anycast request
-         return rspListFuture.thenApply(rsps -> {
-            if (trace)
-               log.tracef("Responses: %s", rsps);
-            Map<Address, Response> responseMap =
-                  new HashMap<>(CollectionFactory.computeCapacity(rsps.size()));
-            boolean hasResponses = false;
-            boolean hasValidResponses = false;
-            for (Rsp<Response> rsp : rsps.values()) {
-               hasResponses |= rsp.wasReceived();
-               Address sender = fromJGroupsAddress(rsp.getSender());
-               Response response = checkRsp(rsp, sender, ignoreTimeout(responseFilter), ignoreLeavers);
-               if (response != null) {
-                  hasValidResponses = true;
-                  responseMap.put(sender, response);
-               }
-            }
-
-            if (!hasValidResponses) {
-               // PartitionHandlingInterceptor relies on receiving a RpcException if there are only invalid responses
-               // But we still need to throw a TimeoutException if there are no responses at all.
-               if (hasResponses) {
-                  throw new RpcException(String.format("Received invalid responses from all of %s", recipients));
-               } else {
-                  throw new TimeoutException("Timed out waiting for valid responses!");
-               }
-            }
-
-            if (mode == ResponseMode.SYNCHRONOUS_IGNORE_LEAVERS && recipients != null &&
-                  rsps.size() < recipients.size()) {
-               recipients.forEach(dest -> {
-                  if (!dest.equals(getAddress())) {
-                     responseMap.putIfAbsent(dest, CacheNotFoundResponse.INSTANCE);
-                  }
-               });
-            }
-
-            return responseMap;
-         });
+   private RuntimeException noValidResponses(Collection<Address> recipients, boolean hasResponses) {
+      // PartitionHandlingInterceptor relies on receiving a RpcException if there are only invalid responses
+      // But we still need to throw a TimeoutException if there are no responses at all.
+      if (hasResponses) {
+         return new RpcException(String.format("Received invalid responses from all of %s", recipients));
       } else {
-         throw new IllegalStateException("Should have one remote invocation future");
+         return new TimeoutException("Timed out waiting for valid responses!");
       }
    }
 
@@ -877,6 +1001,10 @@ public void viewAccepted(View newView) {
       viewUpdateLock.lock();
       try {
          viewId = (int) newView.getViewId().getId();
+         dispatcher.getStaggerTracker().retainAll(newMembers);
+         if (dispatcher.getBundler() != null) {
+            dispatcher.getBundler().retainAll(newMembers);
+         }
 
          // we need a defensive copy anyway
          members = fromJGroupsAddressList(newMembers);
@@ -977,6 +1105,33 @@ private static List<Address> fromJGroupsAddressList(List<org.jgroups.Address> li
       return Collections.unmodifiableList(retval);
    }
 
+   @ManagedAttribute(description = "Number of remote gets staggered across the owners", displayName = "Number of staggered remote gets", measurementType = MeasurementType.TRENDSUP, displayType = DisplayType.SUMMARY)
+   public long getStaggeredRequests() {
+      return dispatcher.getStaggerTracker().getStaggeredRequests();
+   }
+
+   @ManagedAttribute(description = "Number of times the next owner was asked because an owner did not answer within its stagger delay", displayName = "Number of hedged requests", measurementType = MeasurementType.TRENDSUP, displayType = DisplayType.SUMMARY)
+   public long getHedgedRequests() {
+      return dispatcher.getStaggerTracker().getHedgedRequests();
+   }
+
+   @ManagedAttribute(description = "Hedged requests as a ratio of staggered remote gets", displayName = "Hedged requests ratio", units = Units.PERCENTAGE, displayType = DisplayType.SUMMARY)
+   public double getHedgeRatio() {
+      StaggeredRequestTracker tracker = dispatcher.getStaggerTracker();
+      long staggeredRequests = tracker.getStaggeredRequests();
+      return staggeredRequests == 0 ? 0 : (double) tracker.getHedgedRequests() / staggeredRequests;
+   }
+
+   @ManagedAttribute(description = "The estimated response time of each node to remote gets, in microseconds", displayName = "Response time estimates")
+   public String getResponseTimeEstimates() {
+      return dispatcher.getStaggerTracker().getResponseTimeEstimates().toString();
+   }
+
+   @ManagedOperation(description = "Resets the staggered remote get statistics", displayName = "Reset statistics")
+   public void resetStatistics() {
+      dispatcher.getStaggerTracker().resetStatistics();
+   }
+
    // mainly for unit testing
 
    public CommandAwareRpcDispatcher getCommandAwareRpcDispatcher() {
@@ -0,0 +1,163 @@
+package org.infinispan.remoting.transport.jgroups;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.util.TimeService;
+import org.jgroups.Address;
+
+/**
+ * Tracks the response times of the staggered requests sent to each node, in order to adapt the stagger delay to the
+ * destination and to try the healthy owners first.
+ * <p>
+ * The response time of each node is estimated like the TCP retransmission timeout: a smoothed average plus four times
+ * the smoothed mean deviation, which approximates a high percentile of the recent response times without keeping the
+ * samples. A node that did not answer within its stagger delay is considered slow for {@link #RECOVERY_NANOS}, and is
+ * asked last during this period.
+ *
+ * @since 9.0
+ */
+class StaggeredRequestTracker {
+   static final long RECOVERY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+   private final TimeService timeService;
+   private final long defaultDelayNanos;
+   private final long minDelayNanos;
+   private final long maxDelayNanos;
+   private final ConcurrentMap<Address, NodeStats> nodes = new ConcurrentHashMap<>();
+   private final LongAdder staggeredRequests = new LongAdder();
+   private final LongAdder hedgedRequests = new LongAdder();
+
+   /**
+    * @param defaultDelayNanos the delay used for the nodes without any response time sample; the adaptive delay is
+    *                          kept between a tenth and ten times this value
+    */
+   StaggeredRequestTracker(TimeService timeService, long defaultDelayNanos) {
+      this.timeService = timeService;
+      this.defaultDelayNanos = defaultDelayNanos;
+      this.minDelayNanos = defaultDelayNanos / 10;
+      this.maxDelayNanos = defaultDelayNanos * 10;
+   }
+
+   /**
+    * Returns the recipients in the order they should be asked: the slow ones are moved last, otherwise the order is
+    * preserved. The list is returned as is if all the recipients are healthy.
+    */
+   List<Address> order(List<Address> recipients) {
+      staggeredRequests.increment();
+      long now = timeService.time();
+      int size = recipients.size();
+      for (int i = 0; i < size; i++) {
+         if (isSlow(recipients.get(i), now)) {
+            List<Address> ordered = new ArrayList<>(size);
+            List<Address> slow = new ArrayList<>(size - i);
+            for (int j = 0; j < i; j++) {
+               ordered.add(recipients.get(j));
+            }
+            slow.add(recipients.get(i));
+            for (int j = i + 1; j < size; j++) {
+               Address recipient = recipients.get(j);
+               (isSlow(recipient, now) ? slow : ordered).add(recipient);
+            }
+            ordered.addAll(slow);
+            return ordered;
+         }
+      }
+      return recipients;
+   }
+
+   /**
+    * The time to wait for a response from {@code recipient} before asking the next owner.
+    */
+   long delayNanos(Address recipient) {
+      NodeStats stats = nodes.get(recipient);
+      long estimate = stats != null ? stats.estimateNanos() : -1;
+      if (estimate < 0) {
+         return defaultDelayNanos;
+      }
+      return Math.max(minDelayNanos, Math.min(maxDelayNanos, estimate));
+   }
+
+   /**
+    * Records the response time of a request sent at {@code sendTime}, as returned by {@link TimeService#time()}.
+    */
+   void responseReceived(Address sender, long sendTime) {
+      long responseNanos = timeService.timeDuration(sendTime, TimeUnit.NANOSECONDS);
+      nodes.computeIfAbsent(sender, a -> new NodeStats()).addSample(responseNanos);
+   }
+
+   /**
+    * Records that {@code recipient} did not answer within its stagger delay and the next owner is being asked.
+    */
+   void hedged(Address recipient) {
+      hedgedRequests.increment();
+      nodes.computeIfAbsent(recipient, a -> new NodeStats()).slowSince = timeService.time();
+   }
+
+   /**
+    * Forgets the nodes that are no longer members of the cluster.
+    */
+   void retainAll(Collection<Address> members) {
+      nodes.keySet().retainAll(members);
+   }
+
+   long getStaggeredRequests() {
+      return staggeredRequests.sum();
+   }
+
+   long getHedgedRequests() {
+      return hedgedRequests.sum();
+   }
+
+   /**
+    * The estimated response time of each node, in microseconds.
+    */
+   Map<String, Long> getResponseTimeEstimates() {
+      Map<String, Long> estimates = new TreeMap<>();
+      nodes.forEach((address, stats) -> {
+         long estimate = stats.estimateNanos();
+         if (estimate >= 0) {
+            estimates.put(String.valueOf(address), TimeUnit.NANOSECONDS.toMicros(estimate));
+         }
+      });
+      return estimates;
+   }
+
+   void resetStatistics() {
+      staggeredRequests.reset();
+      hedgedRequests.reset();
+   }
+
+   private boolean isSlow(Address recipient, long now) {
+      NodeStats stats = nodes.get(recipient);
+      return stats != null && stats.slowSince != Long.MIN_VALUE && now - stats.slowSince < RECOVERY_NANOS;
+   }
+
+   private static class NodeStats {
+      private long smoothedNanos = -1;
+      private long deviationNanos;
+      volatile long slowSince = Long.MIN_VALUE;
+
+      synchronized void addSample(long sampleNanos) {
+         if (smoothedNanos < 0) {
+            smoothedNanos = sampleNanos;
+            deviationNanos = sampleNanos / 2;
+         } else {
+            long error = sampleNanos - smoothedNanos;
+            smoothedNanos += error >> 3;
+            deviationNanos += (Math.abs(error) - deviationNanos) >> 2;
+         }
+      }
+
+      synchronized long estimateNanos() {
+         return smoothedNanos < 0 ? -1 : smoothedNanos + 4 * deviationNanos;
+      }
+   }
+}
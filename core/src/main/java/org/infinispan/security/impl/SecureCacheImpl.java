@@ -673,12 +673,36 @@ public CompletableFuture<V> putAsync(K key, V value, Metadata metadata) {
       return delegate.putAsync(key, value, metadata);
    }
 
+   @Override
+   public CompletableFuture<V> putIfAbsentAsync(K key, V value, Metadata metadata) {
+      authzManager.checkPermission(AuthorizationPermission.WRITE);
+      return delegate.putIfAbsentAsync(key, value, metadata);
+   }
+
+   @Override
+   public CompletableFuture<V> replaceAsync(K key, V value, Metadata metadata) {
+      authzManager.checkPermission(AuthorizationPermission.WRITE);
+      return delegate.replaceAsync(key, value, metadata);
+   }
+
+   @Override
+   public CompletableFuture<Boolean> replaceAsync(K key, V oldValue, V newValue, Metadata metadata) {
+      authzManager.checkPermission(AuthorizationPermission.WRITE);
+      return delegate.replaceAsync(key, oldValue, newValue, metadata);
+   }
+
    @Override
    public CacheEntry getCacheEntry(Object key) {
       authzManager.checkPermission(AuthorizationPermission.READ);
       return delegate.getCacheEntry(key);
    }
 
+   @Override
+   public CompletableFuture<CacheEntry<K, V>> getCacheEntryAsync(Object key) {
+      authzManager.checkPermission(AuthorizationPermission.READ);
+      return delegate.getCacheEntryAsync(key);
+   }
+
    @Override
    public Map<K, CacheEntry<K, V>> getAllCacheEntries(Set<?> keys) {
       authzManager.checkPermission(AuthorizationPermission.BULK_READ);
@@ -2,6 +2,7 @@
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -145,9 +146,11 @@ public int getTopologyId() {
    public void run() {
       try {
          // send data container entries
-         for (InternalCacheEntry ice : dataContainer) {
+         for (Iterator<InternalCacheEntry<Object, Object>> it = dataContainer.iterator(segments, readCh::getSegment); it.hasNext(); ) {
+            InternalCacheEntry<Object, Object> ice = it.next();
             Object key = ice.getKey();  //todo [anistor] should we check for expired entries?
             int segmentId = readCh.getSegment(key);
+            // segments can be cancelled while we iterate
             if (segments.contains(segmentId)) {
                sendEntry(ice, segmentId);
             }
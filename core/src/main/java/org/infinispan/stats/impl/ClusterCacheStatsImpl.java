@@ -14,8 +14,12 @@
 import org.infinispan.Cache;
 import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.container.DataContainer;
+import org.infinispan.container.SegmentedDataContainer;
 import org.infinispan.distexec.DefaultExecutorService;
 import org.infinispan.distexec.DistributedCallable;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.distribution.ch.ConsistentHash;
 import org.infinispan.eviction.ActivationManager;
 import org.infinispan.eviction.PassivationManager;
 import org.infinispan.factories.annotations.Inject;
@@ -680,7 +684,7 @@ public Map<String, Number> call() throws Exception {
          final CacheMode cacheMode = getCacheMode(remoteCache);
          //for replicated caches, we don't need to send the number of entries since it is the same in all the nodes.
          if (cacheMode.isDistributed()) {
-            map.put(NUMBER_OF_ENTRIES, stats.getCurrentNumberOfEntries() / numOwners());
+            map.put(NUMBER_OF_ENTRIES, numberOfPrimaryEntries(stats));
          } else if (!cacheMode.isReplicated()){
             map.put(NUMBER_OF_ENTRIES, stats.getCurrentNumberOfEntries());
          }
@@ -747,6 +751,18 @@ public void setEnvironment(Cache<Object, Object> cache, Set<Object> inputKeys) {
          remoteCache = cache.getAdvancedCache();
       }
 
+      private int numberOfPrimaryEntries(Stats stats) {
+         DataContainer<Object, Object> dataContainer = remoteCache.getDataContainer();
+         DistributionManager dm = remoteCache.getDistributionManager();
+         if (dataContainer instanceof SegmentedDataContainer && dm != null) {
+            // Only the primary owned segments are visited, and the result is exact instead of an estimate
+            ConsistentHash ch = dm.getReadConsistentHash();
+            Set<Integer> primarySegments = ch.getPrimarySegmentsForOwner(remoteCache.getRpcManager().getAddress());
+            return dataContainer.sizeIncludingExpired(primarySegments, ch::getSegment);
+         }
+         return stats.getCurrentNumberOfEntries() / numOwners();
+      }
+
       private int numOwners(){
          return remoteCache.getCacheConfiguration().clustering().hash().numOwners();
       }
@@ -178,6 +178,10 @@ private AdvancedCache<K, V> getCacheRespectingLoader(boolean includeLoader) {
 
    private Stream<CacheEntry<K, V>> getStream(CacheSet<CacheEntry<K, V>> cacheEntrySet, boolean parallelStream,
            Set<Integer> segments, Set<K> keysToInclude, Set<K> keysToExclude) {
+      if (segments != null && segments.isEmpty()) {
+         // None of the requested segments is local (any more), don't even look at the data container
+         return Stream.empty();
+      }
       Stream<CacheEntry<K, V>> stream = (parallelStream ? cacheEntrySet.parallelStream() : cacheEntrySet.stream())
               .filterKeys(keysToInclude).filterKeySegments(segments);
       if (!keysToExclude.isEmpty()) {
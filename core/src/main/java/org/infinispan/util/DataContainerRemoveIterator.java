@@ -30,6 +30,14 @@ public DataContainerRemoveIterator(Cache<K, V> cache, DataContainer<K, V> dataCo
       this.dataContainerIterator = dataContainer.iterator();
    }
 
+   public DataContainerRemoveIterator(Cache<K, V> cache, Iterator<InternalCacheEntry<K, V>> dataContainerIterator) {
+      if (cache == null || dataContainerIterator == null) {
+         throw new NullPointerException();
+      }
+      this.cache = cache;
+      this.dataContainerIterator = dataContainerIterator;
+   }
+
    @Override
    public boolean hasNext() {
       return dataContainerIterator.hasNext();
@@ -37,6 +37,7 @@
 import org.infinispan.commons.CacheListenerException;
 import org.infinispan.commons.marshall.AdvancedExternalizer;
 import org.infinispan.commons.util.TypedProperties;
+import org.infinispan.eviction.EvictionStrategy;
 import org.infinispan.jmx.JmxDomainConflictException;
 import org.infinispan.lifecycle.ComponentStatus;
 import org.infinispan.partitionhandling.AvailabilityException;
@@ -1445,4 +1446,47 @@ TimeoutException timeoutWaitingForView(int expectedViewId, int currentViewId,
    @LogMessage(level = WARN)
    @Message(value = "Eviction of an entry invoked without an explicit eviction strategy for cache %s", id = 419)
    void evictionDisabled(String cacheName);
+
+   @Message(value = "A custom data container cannot be used together with off-heap storage", id = 420)
+   CacheConfigurationException offHeapWithCustomDataContainer();
+
+   @Message(value = "The off-heap address count must be greater than zero, was %d", id = 421)
+   CacheConfigurationException invalidOffHeapAddressCount(int addressCount);
+
+   @Message(value = "Eviction strategy %s is not supported by the off-heap data container", id = 422)
+   CacheConfigurationException offHeapEvictionStrategyNotSupported(EvictionStrategy strategy);
+
+   @Message(value = "A custom data container cannot be used together with a segmented data container", id = 423)
+   CacheConfigurationException segmentedWithCustomDataContainer();
+
+   @Message(value = "A segmented data container cannot store its entries off-heap", id = 424)
+   CacheConfigurationException segmentedWithOffHeapStorage();
+
+   @Message(value = "A segmented data container does not support eviction", id = 425)
+   CacheConfigurationException segmentedWithEviction();
+
+   @Message(value = "The compact index of the single file store cannot be combined with max-entries", id = 426)
+   CacheConfigurationException compactIndexWithMaxEntries();
+
+   @LogMessage(level = ERROR)
+   @Message(value = "Failed to send a bundle of asynchronous commands to %s", id = 427)
+   void errorSendingBundle(Object destination, @Cause Throwable t);
+
+   @Message(value = "Batching of cross-site updates can only be used with the asynchronous backup strategy", id = 428)
+   CacheConfigurationException asyncBatchingSyncBackup();
+
+   @LogMessage(level = WARN)
+   @Message(value = "Node %s is too slow to consume the cluster listener events, %d events are waiting to be sent to it", id = 429)
+   void clusterEventsBacklogFull(Address target, int backlog);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Failed to send cluster listener events to node %s", id = 430)
+   void errorSendingClusterEvents(Address target, @Cause Throwable t);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Asynchronous listener %s is too slow, the events that do not fit in its queue of %d events are dropped", id = 431)
+   void asyncListenerEventsDropped(String listener, int capacity);
+
+   @Message(value = "The compact index of the single file store cannot hold more than %d entries", id = 432)
+   PersistenceException compactIndexFull(int maxEntries);
 }
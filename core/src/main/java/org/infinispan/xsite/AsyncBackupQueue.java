@@ -0,0 +1,341 @@
+package org.infinispan.xsite;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commands.write.ClearCommand;
+import org.infinispan.commands.write.PutKeyValueCommand;
+import org.infinispan.commands.write.PutMapCommand;
+import org.infinispan.commands.write.RemoveCommand;
+import org.infinispan.commands.write.ReplaceCommand;
+import org.infinispan.commands.write.WriteCommand;
+import org.infinispan.commons.equivalence.AnyEquivalence;
+import org.infinispan.commons.equivalence.Equivalence;
+import org.infinispan.commons.equivalence.EquivalentLinkedHashMap;
+import org.infinispan.configuration.cache.BackupConfiguration;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.util.TimeService;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Queues the updates for a backup site configured with {@link BackupConfiguration#isAsyncBatching()}.
+ * <p>
+ * Repeated writes to the same key are conflated, and the updates are sent in batches of up to
+ * {@link BackupConfiguration#asyncBatchSize()} entries, as soon as enough updates are queued or when the oldest one has
+ * waited {@link BackupConfiguration#asyncBatchDelay()} milliseconds. A single batch is in flight at a time, so the
+ * updates reach the backup site in the order they were queued.
+ * <p>
+ * The updates queued together, e.g. by a transaction, are never split across two batches: a batch is extended beyond
+ * the batch size until it contains all of them. Conflation still merges them with the updates of other transactions
+ * to the same keys.
+ *
+ * @since 9.0
+ */
+final class AsyncBackupQueue {
+
+   private static final Log log = LogFactory.getLog(AsyncBackupQueue.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private final XSiteBackup backup;
+   private final int batchSize;
+   private final long delayMillis;
+   private final BackupSenderImpl sender;
+   private final TimeService timeService;
+   private final ExecutorService executor;
+   private final ScheduledExecutorService scheduler;
+
+   private final Map<Object, Update> pending;
+   private long nextSequence;
+   // The first queued update touched by the current offer, and the sequence of its last one
+   private Update offerFirst;
+   private long offerLast;
+   private boolean clear;
+   private long oldestPending = -1;
+   private int inFlight;
+   private long inFlightSince = -1;
+   private boolean sending;
+   private int flushing;
+   private ScheduledFuture<?> timer;
+
+   AsyncBackupQueue(BackupConfiguration configuration, Equivalence<Object> keyEquivalence, BackupSenderImpl sender,
+                    TimeService timeService, ExecutorService executor, ScheduledExecutorService scheduler) {
+      this.backup = new XSiteBackup(configuration.site(), true, configuration.replicationTimeout());
+      this.batchSize = configuration.asyncBatchSize();
+      this.delayMillis = configuration.asyncBatchDelay();
+      this.sender = sender;
+      this.timeService = timeService;
+      this.executor = executor;
+      this.scheduler = scheduler;
+      this.pending = new EquivalentLinkedHashMap<>(Math.min(batchSize, 1024), 0.75f,
+            EquivalentLinkedHashMap.IterationOrder.INSERT_ORDER, keyEquivalence, AnyEquivalence.getInstance());
+   }
+
+   /**
+    * @return {@code true} if all the modifications can be conflated and sent in a {@link XSiteBulkUpdateCommand}.
+    */
+   static boolean isSupported(Collection<WriteCommand> modifications) {
+      for (WriteCommand command : modifications) {
+         if (!(command instanceof PutKeyValueCommand || command instanceof RemoveCommand ||
+                     command instanceof ReplaceCommand || command instanceof PutMapCommand ||
+                     command instanceof ClearCommand)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   String getSiteName() {
+      return backup.getSiteName();
+   }
+
+   /**
+    * Queues the modifications. They must be {@link #isSupported(Collection) supported}.
+    */
+   synchronized void offer(Collection<WriteCommand> modifications) {
+      long now = timeService.time();
+      offerFirst = null;
+      offerLast = -1;
+      for (WriteCommand command : modifications) {
+         if (command instanceof PutKeyValueCommand) {
+            PutKeyValueCommand put = (PutKeyValueCommand) command;
+            update(put.getKey(), put.getValue(), put.getMetadata(), now);
+         } else if (command instanceof ReplaceCommand) {
+            ReplaceCommand replace = (ReplaceCommand) command;
+            update(replace.getKey(), replace.getNewValue(), replace.getMetadata(), now);
+         } else if (command instanceof RemoveCommand) {
+            update(((RemoveCommand) command).getKey(), null, null, now);
+         } else if (command instanceof PutMapCommand) {
+            Metadata metadata = command.getMetadata();
+            for (Map.Entry<Object, Object> entry : ((PutMapCommand) command).getMap().entrySet()) {
+               update(entry.getKey(), entry.getValue(), metadata, now);
+            }
+         } else {
+            // The updates queued so far are overwritten by the clear
+            pending.clear();
+            clear = true;
+            offerFirst = null;
+            offerLast = -1;
+            if (oldestPending < 0) {
+               oldestPending = now;
+            }
+         }
+      }
+      if (offerFirst != null) {
+         // A batch including the first update of the offer must also include all the updates up to its last one
+         offerFirst.batchEnd = Math.max(offerFirst.batchEnd, offerLast);
+         offerFirst = null;
+      }
+      if (sending) {
+         // The sending loop picks the new updates when it is done with the current batch
+         return;
+      }
+      if (pending.size() >= batchSize) {
+         startSending();
+      } else if (timer == null && (clear || !pending.isEmpty())) {
+         timer = schedule(delayMillis);
+      }
+   }
+
+   private void update(Object key, Object value, Metadata metadata, long now) {
+      Update update = pending.get(key);
+      if (update != null) {
+         // Conflate, keeping the position and the time the key was first queued so that the lag is not under-estimated
+         update.value = value;
+         update.metadata = metadata;
+      } else {
+         update = new Update(value, metadata, now, nextSequence++);
+         pending.put(key, update);
+         if (oldestPending < 0) {
+            oldestPending = now;
+         }
+      }
+      if (offerFirst == null || update.sequence < offerFirst.sequence) {
+         offerFirst = update;
+      }
+      offerLast = Math.max(offerLast, update.sequence);
+   }
+
+   /**
+    * @return the number of updates queued or in flight.
+    */
+   synchronized int size() {
+      return pending.size() + inFlight;
+   }
+
+   /**
+    * @return the age in milliseconds of the oldest update not yet acknowledged by the backup site, or {@code 0} if the
+    * queue is empty.
+    */
+   synchronized long lagMillis() {
+      long oldest = inFlightSince >= 0 ? inFlightSince : oldestPending;
+      return oldest < 0 ? 0 : timeService.timeDuration(oldest, TimeUnit.MILLISECONDS);
+   }
+
+   /**
+    * Sends all the queued updates and waits until they are acknowledged, or until the replication timeout expires.
+    */
+   void flush() throws InterruptedException {
+      long deadline = timeService.expectedEndTime(backup.getTimeout(), TimeUnit.MILLISECONDS);
+      synchronized (this) {
+         flushing++;
+         try {
+            while (sending || clear || !pending.isEmpty()) {
+               if (!sending && !startSending()) {
+                  return;
+               }
+               long remaining = timeService.remainingTime(deadline, TimeUnit.MILLISECONDS);
+               if (remaining <= 0) {
+                  log.tracef("Timed out flushing the updates queued for site %s", backup.getSiteName());
+                  return;
+               }
+               wait(remaining);
+            }
+         } finally {
+            flushing--;
+         }
+      }
+   }
+
+   /**
+    * Cancels the timer and sends the queued updates, best effort.
+    */
+   void stop() {
+      synchronized (this) {
+         if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+         }
+      }
+      try {
+         flush();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+   }
+
+   private boolean startSending() {
+      if (timer != null) {
+         timer.cancel(false);
+         timer = null;
+      }
+      sending = true;
+      try {
+         executor.execute(this::sendLoop);
+         return true;
+      } catch (RejectedExecutionException e) {
+         sending = false;
+         log.tracef("Cannot send the updates queued for site %s, the executor is shut down", backup.getSiteName());
+         return false;
+      }
+   }
+
+   private ScheduledFuture<?> schedule(long delay) {
+      try {
+         return scheduler.schedule(this::timerExpired, delay, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+         return null;
+      }
+   }
+
+   private synchronized void timerExpired() {
+      timer = null;
+      if (!sending && (clear || !pending.isEmpty())) {
+         startSending();
+      }
+   }
+
+   private void sendLoop() {
+      while (true) {
+         boolean batchClear;
+         Object[] updates;
+         synchronized (this) {
+            if (!isReady()) {
+               sending = false;
+               if (timer == null && (clear || !pending.isEmpty())) {
+                  long waited = timeService.timeDuration(oldestPending, TimeUnit.MILLISECONDS);
+                  timer = schedule(Math.max(0, delayMillis - waited));
+               }
+               notifyAll();
+               return;
+            }
+            batchClear = clear;
+            updates = takeBatch();
+         }
+         if (trace) {
+            log.tracef("Sending a batch to site %s, clear=%s, updates=%s", backup.getSiteName(), batchClear, updates.length / 3);
+         }
+         try {
+            sender.sendBulkUpdate(backup, batchClear, updates);
+         } finally {
+            synchronized (this) {
+               inFlight = 0;
+               inFlightSince = -1;
+               notifyAll();
+            }
+         }
+      }
+   }
+
+   private boolean isReady() {
+      if (!clear && pending.isEmpty()) {
+         return false;
+      }
+      return flushing > 0 || pending.size() >= batchSize ||
+            timeService.timeDuration(oldestPending, TimeUnit.MILLISECONDS) >= delayMillis;
+   }
+
+   private Object[] takeBatch() {
+      List<Object> updates = new ArrayList<>(3 * Math.min(batchSize, pending.size()));
+      List<Object> keys = new ArrayList<>(Math.min(batchSize, pending.size()));
+      long batchEnd = -1;
+      long lastSequence = -1;
+      for (Map.Entry<Object, Update> entry : pending.entrySet()) {
+         // Only stop between the updates queued together
+         if (keys.size() >= batchSize && lastSequence >= batchEnd) {
+            break;
+         }
+         Update update = entry.getValue();
+         keys.add(entry.getKey());
+         updates.add(entry.getKey());
+         updates.add(update.value);
+         updates.add(update.metadata);
+         batchEnd = Math.max(batchEnd, update.batchEnd);
+         lastSequence = update.sequence;
+      }
+      for (Object key : keys) {
+         pending.remove(key);
+      }
+      inFlight = keys.size();
+      inFlightSince = oldestPending;
+      clear = false;
+      // The remaining entries are in the order they were first queued
+      oldestPending = pending.isEmpty() ? -1 : pending.values().iterator().next().queuedTime;
+      return updates.toArray();
+   }
+
+   private static final class Update {
+      // null for a removal
+      Object value;
+      Metadata metadata;
+      final long queuedTime;
+      final long sequence;
+      // The sequence of the last update that must be sent in the same batch
+      long batchEnd;
+
+      Update(Object value, Metadata metadata, long queuedTime, long sequence) {
+         this.value = value;
+         this.metadata = metadata;
+         this.queuedTime = queuedTime;
+         this.sequence = sequence;
+         this.batchEnd = sequence;
+      }
+   }
+}
@@ -29,4 +29,9 @@ public interface BackupReceiver {
     * forward the state to respective primary owners.
     */
    void handleStateTransferState(XSiteStatePushCommand cmd) throws Exception;
+
+   /**
+    * It handles a batch of updates queued by an asynchronous backup. The updates are applied locally, in bulk.
+    */
+   void handleBulkUpdate(XSiteBulkUpdateCommand command) throws Exception;
 }
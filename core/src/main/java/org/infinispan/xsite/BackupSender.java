@@ -66,4 +66,16 @@ enum TakeSiteOfflineResponse {
    }
 
    TakeSiteOfflineResponse takeSiteOffline(String siteName);
+
+   /**
+    * @return the number of updates queued on this node for a site with batched asynchronous backups, and not yet
+    * acknowledged by it. It is {@code 0} if the site does not batch its backups.
+    */
+   int getAsyncQueueSize(String siteName);
+
+   /**
+    * @return the age in milliseconds of the oldest update queued on this node for a site with batched asynchronous
+    * backups, and not yet acknowledged by it. It is {@code 0} if nothing is queued.
+    */
+   long getAsyncReplicationLag(String siteName);
 }
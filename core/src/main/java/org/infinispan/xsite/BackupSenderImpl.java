@@ -7,10 +7,13 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 
 import javax.transaction.Transaction;
 
@@ -27,6 +30,7 @@
 import org.infinispan.commands.write.RemoveCommand;
 import org.infinispan.commands.write.ReplaceCommand;
 import org.infinispan.commands.write.WriteCommand;
+import org.infinispan.commons.marshall.StreamingMarshaller;
 import org.infinispan.commons.util.CollectionFactory;
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.BackupConfiguration;
@@ -36,8 +40,11 @@
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.impl.TxInvocationContext;
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.annotations.Stop;
 import org.infinispan.remoting.transport.AggregateBackupResponse;
 import org.infinispan.remoting.transport.BackupResponse;
 import org.infinispan.remoting.transport.Transport;
@@ -69,6 +76,10 @@ public class BackupSenderImpl implements BackupSender {
    private final Map<String, CustomFailurePolicy> siteFailurePolicy = new HashMap<>();
    private final ConcurrentMap<String, OfflineStatus> offlineStatus = CollectionFactory.makeConcurrentMap();
    private EventLogManager eventLogManager;
+   private StreamingMarshaller marshaller;
+   private ExecutorService asyncExecutor;
+   private ScheduledExecutorService timeoutExecutor;
+   private final Map<String, AsyncBackupQueue> asyncQueues = new HashMap<>();
 
    private final String localSiteName;
    private String cacheName;
@@ -82,7 +93,10 @@ public BackupSenderImpl(String localSiteName) {
 
    @Inject
    public void init(Cache cache, Transport transport, TransactionTable txTable, GlobalConfiguration gc,
-                    TimeService timeService, CommandsFactory commandsFactory, EventLogManager eventLogManager) {
+                    TimeService timeService, CommandsFactory commandsFactory, EventLogManager eventLogManager,
+                    StreamingMarshaller marshaller,
+                    @ComponentName(KnownComponentNames.ASYNC_TRANSPORT_EXECUTOR) ExecutorService asyncExecutor,
+                    @ComponentName(KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR) ScheduledExecutorService timeoutExecutor) {
       this.cache = cache;
       this.transport = transport;
       this.txTable = txTable;
@@ -90,6 +104,9 @@ public void init(Cache cache, Transport transport, TransactionTable txTable, Glo
       this.timeService = timeService;
       this.commandsFactory = commandsFactory;
       this.eventLogManager = eventLogManager;
+      this.marshaller = marshaller;
+      this.asyncExecutor = asyncExecutor;
+      this.timeoutExecutor = timeoutExecutor;
    }
 
    @Start
@@ -120,6 +137,17 @@ public void siteOffline() {
                                                       }
                                                    });
          offlineStatus.put(siteName, offline);
+         if (bc.isAsyncBatching() && !siteName.equals(localSiteName)) {
+            asyncQueues.put(siteName, new AsyncBackupQueue(bc, config.dataContainer().keyEquivalence(), this,
+                                                           timeService, asyncExecutor, timeoutExecutor));
+         }
+      }
+   }
+
+   @Stop
+   public void stop() {
+      for (AsyncBackupQueue queue : asyncQueues.values()) {
+         queue.stop();
       }
    }
 
@@ -134,6 +162,9 @@ public BackupResponse backupPrepare(PrepareCommand command) throws Exception {
       //if we run a 2PC then filter out 1PC prepare backup calls as they will happen during the local commit phase.
       BackupFilter filter = !prepare.isOnePhaseCommit() ? BackupFilter.KEEP_2PC_ONLY : BackupFilter.KEEP_ALL;
       List<XSiteBackup> backups = calculateBackupInfo(filter);
+      if (filter == BackupFilter.KEEP_ALL) {
+         queueAsyncBackups(modifications, backups);
+      }
       return backupCommand(prepare, backups);
    }
 
@@ -170,6 +201,7 @@ private void updateOfflineSites(BackupResponse backupResponse) {
    @Override
    public BackupResponse backupWrite(WriteCommand command) throws Exception {
       List<XSiteBackup> xSiteBackups = calculateBackupInfo(BackupFilter.KEEP_ALL);
+      queueAsyncBackups(Collections.singletonList(command), xSiteBackups);
       return backupCommand(command, xSiteBackups);
    }
 
@@ -213,9 +245,58 @@ public TakeSiteOfflineResponse takeSiteOffline(String siteName) {
    }
 
    private BackupResponse backupCommand(VisitableCommand command, List<XSiteBackup> xSiteBackups) throws Exception {
+      if (xSiteBackups.isEmpty()) {
+         return EMPTY_RESPONSE;
+      }
       return transport.backupRemotely(xSiteBackups, commandsFactory.buildSingleXSiteRpcCommand(command));
    }
 
+   /**
+    * Queues the modifications for the sites batching their asynchronous backups. If the modifications cannot be
+    * batched, the queue is flushed and the site is left in {@code backups}, so that the modifications are sent as a
+    * regular command after the queued ones.
+    */
+   private void queueAsyncBackups(List<WriteCommand> modifications, List<XSiteBackup> backups) throws InterruptedException {
+      if (asyncQueues.isEmpty()) {
+         return;
+      }
+      boolean supported = AsyncBackupQueue.isSupported(modifications);
+      for (Iterator<XSiteBackup> iterator = backups.iterator(); iterator.hasNext(); ) {
+         AsyncBackupQueue queue = asyncQueues.get(iterator.next().getSiteName());
+         if (queue == null) {
+            continue;
+         }
+         if (supported) {
+            queue.offer(modifications);
+            iterator.remove();
+         } else {
+            log.tracef("Flushing the updates queued for site %s before sending %s", queue.getSiteName(), modifications);
+            queue.flush();
+         }
+      }
+   }
+
+   /**
+    * Sends a batch of queued updates to a backup site and waits for the acknowledgement. Failures are logged and the
+    * batch is discarded, like it happens for the asynchronous backups that are not batched.
+    */
+   void sendBulkUpdate(XSiteBackup backup, boolean clear, Object[] updates) {
+      try {
+         XSiteBulkUpdateCommand command = commandsFactory.buildXSiteBulkUpdateCommand(clear,
+                                                                                       marshaller.objectToByteBuffer(updates));
+         BackupResponse response = transport.backupRemotely(Collections.singletonList(backup), command);
+         response.waitForBackupToFinish();
+         updateOfflineSites(response);
+         for (Map.Entry<String, Throwable> failure : response.getFailedBackups().entrySet()) {
+            log.warnXsiteBackupFailed(cacheName, failure.getKey(), failure.getValue());
+         }
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      } catch (Exception e) {
+         log.warnXsiteBackupFailed(cacheName, backup.getSiteName(), e);
+      }
+   }
+
    private BackupResponse sendTo1PCBackups(CommitCommand command) throws Exception {
       final LocalTransaction localTx = txTable.getLocalTransaction(command.getGlobalTransaction());
       List<WriteCommand> modifications = filterModifications(localTx.getModifications());
@@ -223,6 +304,7 @@ private BackupResponse sendTo1PCBackups(CommitCommand command) throws Exception
          return EMPTY_RESPONSE;
       }
       List<XSiteBackup> backups = calculateBackupInfo(BackupFilter.KEEP_1PC_ONLY);
+      queueAsyncBackups(modifications, backups);
       PrepareCommand prepare = commandsFactory.buildPrepareCommand(command.getGlobalTransaction(),
                                                                    modifications, true);
       return backupCommand(prepare, backups);
@@ -400,6 +482,18 @@ protected Object handleDefault(InvocationContext ctx, VisitableCommand command)
       }
    }
 
+   @Override
+   public int getAsyncQueueSize(String siteName) {
+      AsyncBackupQueue queue = asyncQueues.get(siteName);
+      return queue == null ? 0 : queue.size();
+   }
+
+   @Override
+   public long getAsyncReplicationLag(String siteName) {
+      AsyncBackupQueue queue = asyncQueues.get(siteName);
+      return queue == null ? 0 : queue.lagMillis();
+   }
+
    public OfflineStatus getOfflineStatus(String site) {
       return offlineStatus.get(site);
    }
@@ -1,6 +1,8 @@
 package org.infinispan.xsite;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
@@ -74,6 +76,22 @@ public final Object handleRemoteCommand(VisitableCommand command) throws Throwab
       return command.acceptVisitor(null, siteUpdater);
    }
 
+   @Override
+   public final void handleBulkUpdate(XSiteBulkUpdateCommand command) throws Exception {
+      BackupCacheUpdater.applyBulkUpdate(siteUpdater.backupCache, command.isClear(),
+            command.getUpdates(cache.getComponentRegistry().getCacheMarshaller()));
+   }
+
+   /**
+    * Applies the updates of a {@link XSiteBulkUpdateCommand} to a backup cache, like {@link
+    * #handleBulkUpdate(XSiteBulkUpdateCommand)} does.
+    */
+   static void applyBulkUpdate(Cache<Object, Object> backup, XSiteBulkUpdateCommand command) throws Exception {
+      AdvancedCache<Object, Object> cache = backup.getAdvancedCache();
+      BackupCacheUpdater.applyBulkUpdate(BackupCacheUpdater.backupCache(cache), command.isClear(),
+            command.getUpdates(cache.getComponentRegistry().getCacheMarshaller()));
+   }
+
    protected final void assertAllowInvocation() {
       ComponentStatus status = cache.getStatus();
       if (!status.allowInvocations()) {
@@ -90,11 +108,15 @@ private static final class BackupCacheUpdater extends AbstractVisitor {
       private final AdvancedCache<Object, Object> backupCache;
 
       BackupCacheUpdater(Cache<Object, Object> backup) {
-         //ignore return values on the backup
-         this.backupCache = backup.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES, Flag.SKIP_XSITE_BACKUP);
+         this.backupCache = backupCache(backup);
          this.remote2localTx = new ConcurrentHashMap<>();
       }
 
+      static AdvancedCache<Object, Object> backupCache(Cache<Object, Object> backup) {
+         //ignore return values on the backup
+         return backup.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES, Flag.SKIP_XSITE_BACKUP);
+      }
+
       @Override
       public Object visitPutKeyValueCommand(InvocationContext ctx, PutKeyValueCommand command) throws Throwable {
          log.tracef("Processing a remote put %s", command);
@@ -177,6 +199,33 @@ public Object visitRollbackCommand(TxInvocationContext ctx, RollbackCommand comm
          return null;
       }
 
+      static void applyBulkUpdate(AdvancedCache<Object, Object> backupCache, boolean clear, Object[] updates) {
+         if (log.isTraceEnabled()) {
+            log.tracef("Processing a remote bulk update, clear=%s, updates=%s", clear, updates.length / 3);
+         }
+         if (clear) {
+            backupCache.clear();
+         }
+         // The updates are conflated by the sender, so each key appears once and the order does not matter
+         Map<Metadata, Map<Object, Object>> puts = new HashMap<>();
+         for (int i = 0; i < updates.length; i += 3) {
+            Object key = updates[i];
+            Object value = updates[i + 1];
+            if (value == null) {
+               backupCache.remove(key);
+            } else {
+               puts.computeIfAbsent((Metadata) updates[i + 2], m -> new HashMap<>()).put(key, value);
+            }
+         }
+         for (Map.Entry<Metadata, Map<Object, Object>> entry : puts.entrySet()) {
+            if (entry.getKey() == null) {
+               backupCache.putAll(entry.getValue());
+            } else {
+               backupCache.putAll(entry.getValue(), entry.getKey());
+            }
+         }
+      }
+
       private TransactionTable txTable() {
          return backupCache.getComponentRegistry().getComponent(TransactionTable.class);
       }
@@ -253,6 +253,18 @@ public String getTakeOfflineAfterFailures(@Parameter(name = "site", description
       return String.valueOf(offlineStatus.getTakeOffline().afterFailures());
    }
 
+   @ManagedOperation(description = "Returns the number of updates queued on this node for the given site and not yet acknowledged by it. Only the asynchronous backups with batching enabled are queued.", displayName = "Returns the number of updates queued on this node for the given site.")
+   public String getAsyncQueueSize(@Parameter(name = "site", description = "The name of the backup site") String site) {
+      if (backupSender.getOfflineStatus(site) == null) return incorrectSiteName(site);
+      return String.valueOf(backupSender.getAsyncQueueSize(site));
+   }
+
+   @ManagedOperation(description = "Returns the age, in milliseconds, of the oldest update queued on this node for the given site and not yet acknowledged by it. Only the asynchronous backups with batching enabled are queued.", displayName = "Returns the replication lag of this node for the given site.")
+   public String getAsyncReplicationLag(@Parameter(name = "site", description = "The name of the backup site") String site) {
+      if (backupSender.getOfflineStatus(site) == null) return incorrectSiteName(site);
+      return String.valueOf(backupSender.getAsyncReplicationLag(site));
+   }
+
    @ManagedOperation(description = "Brings the given site back online on all the cluster.", displayName = "Brings the given site back online on all the cluster.")
    public String bringSiteOnline(@Parameter(name = "site", description = "The name of the backup site") String site) {
       OfflineStatus offlineStatus = backupSender.getOfflineStatus(site);
@@ -0,0 +1,176 @@
+package org.infinispan.xsite;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.infinispan.Cache;
+import org.infinispan.commons.marshall.MarshallUtil;
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.util.ByteString;
+
+/**
+ * Carries a batch of conflated updates queued for an asynchronous backup site.
+ * <p>
+ * The updates are marshalled by the sender into a single payload, compressed when it is large enough, and applied in
+ * bulk by the {@link BackupReceiver}, or by {@link #perform(InvocationContext)} on the cache it was initialized
+ * with. The payload is a flat array of {@code key, value, metadata} triples, where a
+ * {@code null} value is a removal. If {@link #isClear()} is {@code true}, the backup cache is cleared before the
+ * updates are applied.
+ *
+ * @since 9.0
+ */
+public class XSiteBulkUpdateCommand extends XSiteReplicateCommand {
+
+   public static final byte COMMAND_ID = 61;
+
+   /**
+    * Smaller payloads are not worth compressing.
+    */
+   static final int COMPRESSION_THRESHOLD = 512;
+
+   private boolean clear;
+   private int uncompressedLength;
+   private byte[] payload;
+   private Cache<Object, Object> cache;
+
+   /**
+    * @param updates the marshalled {@code key, value, metadata} triples. They are compressed if they are larger than
+    *                {@link #COMPRESSION_THRESHOLD} bytes.
+    */
+   public XSiteBulkUpdateCommand(ByteString cacheName, boolean clear, byte[] updates) {
+      super(cacheName);
+      this.clear = clear;
+      this.payload = updates;
+      if (updates.length >= COMPRESSION_THRESHOLD) {
+         compress(updates);
+      }
+   }
+
+   public XSiteBulkUpdateCommand(ByteString cacheName) {
+      super(cacheName);
+   }
+
+   public XSiteBulkUpdateCommand() {
+      super(null);
+   }
+
+   public void init(Cache<Object, Object> cache) {
+      this.cache = cache;
+   }
+
+   private void compress(byte[] updates) {
+      Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+      try {
+         deflater.setInput(updates);
+         deflater.finish();
+         byte[] compressed = new byte[updates.length];
+         int length = 0;
+         while (!deflater.finished() && length < compressed.length) {
+            length += deflater.deflate(compressed, length, compressed.length - length);
+         }
+         if (deflater.finished()) {
+            // Otherwise the updates are incompressible and they are sent as they are
+            payload = Arrays.copyOf(compressed, length);
+            uncompressedLength = updates.length;
+         }
+      } finally {
+         deflater.end();
+      }
+   }
+
+   public boolean isClear() {
+      return clear;
+   }
+
+   /**
+    * @return the number of bytes sent for the updates, after compression.
+    */
+   public int getPayloadSize() {
+      return payload.length;
+   }
+
+   public boolean isCompressed() {
+      return uncompressedLength > 0;
+   }
+
+   /**
+    * Decompresses and unmarshalls the updates.
+    *
+    * @return the {@code key, value, metadata} triples, a {@code null} value being a removal.
+    */
+   public Object[] getUpdates(StreamingMarshaller marshaller) throws IOException, ClassNotFoundException {
+      byte[] bytes = payload;
+      if (isCompressed()) {
+         bytes = new byte[uncompressedLength];
+         Inflater inflater = new Inflater();
+         try {
+            inflater.setInput(payload);
+            if (inflater.inflate(bytes) != uncompressedLength) {
+               throw new IOException("Corrupted cross-site update payload");
+            }
+         } catch (DataFormatException e) {
+            throw new IOException(e);
+         } finally {
+            inflater.end();
+         }
+      }
+      return (Object[]) marshaller.objectFromByteBuffer(bytes);
+   }
+
+   @Override
+   public Object performInLocalSite(BackupReceiver receiver) throws Throwable {
+      receiver.handleBulkUpdate(this);
+      return null;
+   }
+
+   @Override
+   public Object perform(InvocationContext ctx) throws Throwable {
+      BaseBackupReceiver.applyBulkUpdate(cache, this);
+      return null;
+   }
+
+   @Override
+   public byte getCommandId() {
+      return COMMAND_ID;
+   }
+
+   @Override
+   public void writeTo(ObjectOutput output) throws IOException {
+      output.writeBoolean(clear);
+      output.writeInt(uncompressedLength);
+      MarshallUtil.marshallByteArray(payload, output);
+   }
+
+   @Override
+   public void readFrom(ObjectInput input) throws IOException, ClassNotFoundException {
+      clear = input.readBoolean();
+      uncompressedLength = input.readInt();
+      payload = MarshallUtil.unmarshallByteArray(input);
+   }
+
+   @Override
+   public boolean isReturnValueExpected() {
+      return false;
+   }
+
+   @Override
+   public boolean canBlock() {
+      return true;
+   }
+
+   @Override
+   public String toString() {
+      return "XSiteBulkUpdateCommand{" +
+            "cacheName=" + cacheName +
+            ", clear=" + clear +
+            ", payloadSize=" + payload.length +
+            ", uncompressedLength=" + uncompressedLength +
+            '}';
+   }
+}
@@ -25,9 +25,11 @@
 import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.configuration.cache.ClusterLoaderConfiguration;
 import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.DurabilityPolicy;
 import org.infinispan.configuration.cache.InterceptorConfiguration;
 import org.infinispan.configuration.cache.PersistenceConfiguration;
 import org.infinispan.configuration.cache.SingleFileStoreConfiguration;
+import org.infinispan.configuration.cache.StorageType;
 import org.infinispan.configuration.cache.StoreConfiguration;
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.configuration.global.ShutdownHookBehavior;
@@ -214,6 +216,47 @@ public void call() {
             assertTrue(cfg.dataContainer().<byte[]>valueEquivalence() instanceof ByteArrayEquivalence);
          }
       });
+
+      config = INFINISPAN_START_TAG_NO_SCHEMA +
+            "<cache-container default-cache=\"default\">" +
+            "   <local-cache name=\"default\">\n" +
+            "      <data-container storage=\"OFF_HEAP\" address-count=\"1024\" />\n" +
+            "   </local-cache>\n" +
+            "</cache-container>" +
+            INFINISPAN_END_TAG;
+      is = new ByteArrayInputStream(config.getBytes());
+      withCacheManager(new CacheManagerCallable(TestCacheManagerFactory.fromStream(is)) {
+         @Override
+         public void call() {
+            Configuration cfg = cm.getDefaultCacheConfiguration();
+            assertEquals(StorageType.OFF_HEAP, cfg.dataContainer().storageType());
+            assertEquals(1024, cfg.dataContainer().addressCount());
+         }
+      });
+   }
+
+   public void testFileStoreOptions() throws Exception {
+      String config = INFINISPAN_START_TAG_NO_SCHEMA +
+            "<cache-container default-cache=\"default\">" +
+            "   <local-cache name=\"default\">\n" +
+            "      <persistence>\n" +
+            "         <file-store path=\"/tmp/FileCacheStore-Location\" memory-mapped=\"true\" group-commit=\"true\" durability=\"PER_BATCH\" compact-index=\"true\"/>\n" +
+            "      </persistence>\n" +
+            "   </local-cache>\n" +
+            "</cache-container>" +
+            INFINISPAN_END_TAG;
+      InputStream is = new ByteArrayInputStream(config.getBytes());
+      withCacheManager(new CacheManagerCallable(TestCacheManagerFactory.fromStream(is)) {
+         @Override
+         public void call() {
+            Configuration cfg = cm.getDefaultCacheConfiguration();
+            SingleFileStoreConfiguration storeCfg = (SingleFileStoreConfiguration) cfg.persistence().stores().get(0);
+            assertTrue(storeCfg.memoryMapped());
+            assertTrue(storeCfg.groupCommit());
+            assertEquals(DurabilityPolicy.PER_BATCH, storeCfg.durability());
+            assertTrue(storeCfg.compactIndex());
+         }
+      });
    }
 
    public void testDummyInMemoryStore() throws IOException {
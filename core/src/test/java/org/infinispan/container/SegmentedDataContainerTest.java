@@ -0,0 +1,127 @@
+package org.infinispan.container;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.CacheConfigurationException;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.ControlledTimeService;
+import org.infinispan.util.TimeService;
+import org.testng.annotations.Test;
+
+@Test(groups = "functional", testName = "container.SegmentedDataContainerTest")
+public class SegmentedDataContainerTest extends SingleCacheManagerTest {
+
+   private static final int NUM_SEGMENTS = 16;
+
+   private final ControlledTimeService timeService = new ControlledTimeService(0);
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      builder.dataContainer().segmented(true)
+            .clustering().hash().numSegments(NUM_SEGMENTS)
+            .expiration().disableReaper();
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(builder);
+      TestingUtil.replaceComponent(cm, TimeService.class, timeService, true);
+      cache = cm.getCache();
+      return cm;
+   }
+
+   private DataContainer<Object, Object> container() {
+      return cache.getAdvancedCache().getDataContainer();
+   }
+
+   private KeyPartitioner keyPartitioner() {
+      return TestingUtil.extractComponent(cache, KeyPartitioner.class);
+   }
+
+   public void testContainerType() {
+      assertTrue(container() instanceof SegmentedDataContainer);
+   }
+
+   public void testPutGetRemove() {
+      for (int i = 0; i < 100; i++) {
+         cache.put(i, "v" + i);
+      }
+      assertEquals(100, cache.size());
+      assertEquals(100, container().keySet().size());
+      for (int i = 0; i < 100; i += 2) {
+         assertEquals("v" + i, cache.remove(i));
+      }
+      for (int i = 0; i < 100; i++) {
+         assertEquals(i % 2 == 0 ? null : "v" + i, cache.get(i));
+      }
+      cache.clear();
+      assertEquals(0, container().sizeIncludingExpired());
+   }
+
+   public void testSegmentScopedOperations() {
+      KeyPartitioner keyPartitioner = keyPartitioner();
+      for (int i = 0; i < 200; i++) {
+         cache.put(i, "v" + i);
+      }
+      Set<Integer> segments = new HashSet<>(Arrays.asList(0, 3, 7));
+      Set<Object> expected = new HashSet<>();
+      for (int i = 0; i < 200; i++) {
+         if (segments.contains(keyPartitioner.getSegment(i))) {
+            expected.add(i);
+         }
+      }
+
+      Set<Object> actual = new HashSet<>();
+      for (Iterator<InternalCacheEntry<Object, Object>> it = container().iterator(segments, keyPartitioner); it.hasNext(); ) {
+         assertTrue(actual.add(it.next().getKey()));
+      }
+      assertEquals(expected, actual);
+      assertEquals(expected.size(), container().size(segments, keyPartitioner));
+      assertEquals(expected.size(), container().sizeIncludingExpired(segments, keyPartitioner));
+
+      container().removeSegments(segments, keyPartitioner);
+      assertEquals(0, container().sizeIncludingExpired(segments, keyPartitioner));
+      assertEquals(200 - expected.size(), container().sizeIncludingExpired());
+      for (Object key : expected) {
+         assertFalse(container().containsKey(key));
+      }
+   }
+
+   public void testExpiration() {
+      cache.put("mortal", "v", 10, TimeUnit.MILLISECONDS);
+      cache.put("immortal", "v");
+      Set<Integer> segments = new HashSet<>(Arrays.asList(keyPartitioner().getSegment("mortal")));
+
+      timeService.advance(11);
+      assertNull(cache.get("mortal"));
+      cache.put("mortal", "v", 10, TimeUnit.MILLISECONDS);
+      timeService.advance(11);
+      assertEquals(1, container().size());
+      assertEquals(2, container().sizeIncludingExpired());
+      int immortalInSegments = segments.contains(keyPartitioner().getSegment("immortal")) ? 1 : 0;
+      assertEquals(immortalInSegments, container().size(segments, keyPartitioner()));
+      assertEquals(immortalInSegments + 1, container().sizeIncludingExpired(segments, keyPartitioner()));
+      container().purgeExpired();
+      assertEquals(1, container().sizeIncludingExpired());
+      assertTrue(container().containsKey("immortal"));
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class)
+   public void testEvictionNotSupported() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.dataContainer().segmented(true).eviction().size(10);
+      builder.build();
+   }
+}
@@ -0,0 +1,172 @@
+package org.infinispan.container.offheap;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.container.DataContainer;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.eviction.EvictionStrategy;
+import org.infinispan.eviction.EvictionType;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.ControlledTimeService;
+import org.infinispan.util.TimeService;
+import org.testng.annotations.Test;
+
+@Test(groups = "functional", testName = "container.offheap.OffHeapDataContainerTest")
+public class OffHeapDataContainerTest extends SingleCacheManagerTest {
+
+   private final ControlledTimeService timeService = new ControlledTimeService(0);
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      builder.dataContainer().storageType(StorageType.OFF_HEAP).addressCount(16)
+            .expiration().disableReaper();
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(builder);
+      ConfigurationBuilder bounded = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      bounded.dataContainer().storageType(StorageType.OFF_HEAP).addressCount(16)
+            .eviction().strategy(EvictionStrategy.LRU).size(10);
+      cm.defineConfiguration("bounded", bounded.build());
+      ConfigurationBuilder memory = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      memory.dataContainer().storageType(StorageType.OFF_HEAP).addressCount(16)
+            .eviction().strategy(EvictionStrategy.LRU).type(EvictionType.MEMORY).size(4096);
+      cm.defineConfiguration("memory", memory.build());
+      TestingUtil.replaceComponent(cm, TimeService.class, timeService, true);
+      cache = cm.getCache();
+      return cm;
+   }
+
+   private DataContainer<Object, Object> dataContainer(String cacheName) {
+      return cacheManager.getCache(cacheName).getAdvancedCache().getDataContainer();
+   }
+
+   public void testContainerType() {
+      assertTrue(cache.getAdvancedCache().getDataContainer() instanceof OffHeapDataContainer);
+   }
+
+   public void testPutGetRemove() {
+      // More keys than buckets, so that collision chains are exercised
+      for (int i = 0; i < 100; i++) {
+         cache.put("k" + i, "v" + i);
+      }
+      assertEquals(100, cache.size());
+      for (int i = 0; i < 100; i++) {
+         assertEquals("v" + i, cache.get("k" + i));
+      }
+      for (int i = 0; i < 100; i += 2) {
+         assertEquals("v" + i, cache.put("k" + i, "w" + i));
+      }
+      for (int i = 0; i < 100; i += 3) {
+         cache.remove("k" + i);
+      }
+      for (int i = 0; i < 100; i++) {
+         Object expected = i % 3 == 0 ? null : (i % 2 == 0 ? "w" : "v") + i;
+         assertEquals(expected, cache.get("k" + i));
+      }
+      cache.clear();
+      assertEquals(0, cache.size());
+      assertEquals(0, ((OffHeapDataContainer) cache.getAdvancedCache().getDataContainer()).memoryUsed());
+   }
+
+   public void testIteration() {
+      Map<Object, Object> expected = new HashMap<>();
+      for (int i = 0; i < 300; i++) {
+         cache.put(i, "v" + i);
+         expected.put(i, "v" + i);
+      }
+      DataContainer<Object, Object> container = cache.getAdvancedCache().getDataContainer();
+      Map<Object, Object> actual = new HashMap<>();
+      for (InternalCacheEntry<Object, Object> entry : container) {
+         assertNull(actual.put(entry.getKey(), entry.getValue()));
+      }
+      assertEquals(expected, actual);
+      assertEquals(expected.keySet(), new HashSet<>(container.keySet()));
+      assertEquals(new HashSet<>(expected.values()), new HashSet<>(container.values()));
+      assertEquals(300, container.entrySet().size());
+   }
+
+   public void testExpiration() {
+      cache.put("mortal", "v", 10, TimeUnit.MILLISECONDS);
+      cache.put("transient", "v", -1, TimeUnit.MILLISECONDS, 10, TimeUnit.MILLISECONDS);
+      cache.put("immortal", "v");
+      DataContainer<Object, Object> container = cache.getAdvancedCache().getDataContainer();
+
+      timeService.advance(5);
+      assertEquals("v", cache.get("transient"));
+      timeService.advance(6);
+      // the read of the transient entry must have been recorded off-heap
+      assertEquals("v", cache.get("transient"));
+      assertNull(cache.get("mortal"));
+      assertEquals(2, container.size());
+
+      timeService.advance(11);
+      assertEquals(2, container.sizeIncludingExpired());
+      container.purgeExpired();
+      assertEquals(1, container.sizeIncludingExpired());
+      assertTrue(container.containsKey("immortal"));
+   }
+
+   public void testComputeUpdatingEntryInPlace() {
+      DataContainer<Object, Object> container = cache.getAdvancedCache().getDataContainer();
+      container.put("k", "v1", new EmbeddedMetadata.Builder().build());
+      container.compute("k", (key, oldEntry, factory) -> {
+         oldEntry.setValue("v2");
+         return oldEntry;
+      });
+      assertEquals("v2", container.peek("k").getValue());
+      container.compute("k", (key, oldEntry, factory) -> oldEntry);
+      assertEquals("v2", container.peek("k").getValue());
+      container.compute("k", (key, oldEntry, factory) -> null);
+      assertNull(container.peek("k"));
+   }
+
+   public void testCountBasedEviction() {
+      DataContainer<Object, Object> container = dataContainer("bounded");
+      for (int i = 0; i < 20; i++) {
+         cacheManager.getCache("bounded").put(i, "v" + i);
+         // keep the first key hot
+         assertNotNull(container.get(0));
+      }
+      assertEquals(10, container.sizeIncludingExpired());
+      assertTrue(container.containsKey(0));
+      assertTrue(container.containsKey(19));
+      assertFalse(container.containsKey(1));
+   }
+
+   public void testMemoryBasedEviction() {
+      OffHeapDataContainer<Object, Object> container = (OffHeapDataContainer<Object, Object>) dataContainer("memory");
+      for (int i = 0; i < 100; i++) {
+         cacheManager.getCache("memory").put(i, new byte[128]);
+         assertTrue(container.memoryUsed() <= 4096);
+      }
+      assertTrue(container.sizeIncludingExpired() < 100);
+      container.resize(1024);
+      assertTrue(container.memoryUsed() <= 1024);
+   }
+
+   public void testStopReleasesMemory() {
+      cache.put("k", "v");
+      cache.stop();
+      cache.start();
+      assertNull(cache.get("k"));
+      cache.put("k", "v");
+      assertEquals("v", cache.get("k"));
+      Set<Object> keys = new HashSet<>(cache.keySet());
+      assertEquals(1, keys.size());
+   }
+}
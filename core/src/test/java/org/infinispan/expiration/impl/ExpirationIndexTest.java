@@ -0,0 +1,73 @@
+package org.infinispan.expiration.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.infinispan.commons.equivalence.AnyEquivalence;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit", testName = "expiration.impl.ExpirationIndexTest")
+public class ExpirationIndexTest extends AbstractInfinispanTest {
+
+   private ExpirationIndex<String> index(long resolution) {
+      return new ExpirationIndex<>(resolution, AnyEquivalence.getInstance());
+   }
+
+   public void testPollOnlyReturnsDueBuckets() {
+      ExpirationIndex<String> index = index(100);
+      index.add("a", 50);
+      index.add("b", 150);
+      index.add("c", 199);
+      index.add("d", 1000);
+      assertEquals(4, index.size());
+
+      assertTrue(index.pollDue(10).contains("a"));
+      assertEquals(3, index.size());
+      assertEquals(new HashSet<>(Arrays.asList("b", "c")), new HashSet<>(index.pollDue(150)));
+      assertTrue(index.pollDue(999).isEmpty());
+      assertEquals(Arrays.asList("d"), index.pollDue(2000));
+      assertEquals(0, index.size());
+   }
+
+   public void testKeyIsIndexedOnce() {
+      ExpirationIndex<String> index = index(100);
+      index.add("a", 110);
+      index.add("a", 120);
+      index.add("a", 500);
+      assertEquals(1, index.size());
+      // The key moved to the bucket of its latest expiration time
+      assertTrue(index.pollDue(199).isEmpty());
+      assertEquals(Arrays.asList("a"), index.pollDue(500));
+      assertEquals(0, index.size());
+   }
+
+   public void testRemove() {
+      ExpirationIndex<String> index = index(100);
+      index.add("a", 110);
+      index.add("b", 110);
+      index.remove("a");
+      index.remove("c");
+      assertEquals(1, index.size());
+      assertEquals(Arrays.asList("b"), index.pollDue(199));
+      assertEquals(0, index.size());
+   }
+
+   public void testClear() {
+      ExpirationIndex<String> index = index(10);
+      for (int i = 0; i < 100; i++) {
+         index.add("k" + i, i);
+      }
+      index.clear();
+      assertEquals(0, index.size());
+      assertTrue(index.pollDue(Long.MAX_VALUE).isEmpty());
+   }
+
+   @Test(expectedExceptions = IllegalArgumentException.class)
+   public void testInvalidResolution() {
+      index(0);
+   }
+}
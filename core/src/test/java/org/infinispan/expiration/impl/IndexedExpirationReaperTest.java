@@ -0,0 +1,138 @@
+package org.infinispan.expiration.impl;
+
+import static org.infinispan.test.TestingUtil.getCacheObjectName;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.expiration.ExpirationManager;
+import org.infinispan.jmx.PerThreadMBeanServerLookup;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.ControlledTimeService;
+import org.infinispan.util.TimeService;
+import org.testng.annotations.Test;
+
+/**
+ * Checks that the expiration reaper only visits the entries that are due when the reaper is enabled.
+ *
+ * @since 9.0
+ */
+@Test(groups = "functional", testName = "expiration.impl.IndexedExpirationReaperTest")
+public class IndexedExpirationReaperTest extends SingleCacheManagerTest {
+
+   private static final String JMX_DOMAIN = IndexedExpirationReaperTest.class.getSimpleName();
+
+   private final ControlledTimeService timeService = new ControlledTimeService(0);
+   private ExpirationManagerImpl<Object, Object> expirationManager;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      GlobalConfigurationBuilder global = new GlobalConfigurationBuilder();
+      global.globalJmxStatistics().enable().jmxDomain(JMX_DOMAIN)
+            .mBeanServerLookup(new PerThreadMBeanServerLookup());
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      // The reaper is enabled, but the test drives it manually
+      builder.jmxStatistics().enable().expiration().enableReaper().wakeUpInterval(1, TimeUnit.HOURS);
+      configure(builder);
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(global, builder, true);
+      TestingUtil.replaceComponent(cm, TimeService.class, timeService, true);
+      cache = cm.getCache();
+      expirationManager = (ExpirationManagerImpl<Object, Object>) TestingUtil.extractComponent(cache,
+            ExpirationManager.class);
+      return cm;
+   }
+
+   protected void configure(ConfigurationBuilder builder) {
+   }
+
+   public void testReaperVisitsOnlyDueEntries() throws Exception {
+      for (int i = 0; i < 100; i++) {
+         cache.put("immortal-" + i, "v");
+         cache.put("long-" + i, "v", 1, TimeUnit.HOURS);
+      }
+      for (int i = 0; i < 10; i++) {
+         cache.put("short-" + i, "v", 5, TimeUnit.SECONDS);
+      }
+      assertEquals(110, expirationManager.getExpirationIndexSize());
+
+      timeService.advance(7000);
+      expirationManager.processExpiration();
+      assertEquals(10, expirationManager.getLastRunVisited());
+      assertEquals(10, expirationManager.getLastRunExpired());
+      assertEquals(2000, expirationManager.getReaperLag());
+      assertEquals(100, expirationManager.getExpirationIndexSize());
+      assertEquals(200, cache.getAdvancedCache().getDataContainer().sizeIncludingExpired());
+
+      MBeanServer mBeanServer = PerThreadMBeanServerLookup.getThreadMBeanServer();
+      ObjectName name = getCacheObjectName(JMX_DOMAIN, cache.getName() + "(local)", "Expiration");
+      assertEquals(10, mBeanServer.getAttribute(name, "LastRunExpired"));
+      assertEquals(2000L, mBeanServer.getAttribute(name, "ReaperLag"));
+   }
+
+   public void testTouchedEntryIsVisitedAgain() {
+      cache.put("transient", "v", -1, TimeUnit.MILLISECONDS, 2, TimeUnit.SECONDS);
+      timeService.advance(1500);
+      assertEquals("v", cache.get("transient"));
+
+      timeService.advance(1000);
+      expirationManager.processExpiration();
+      assertEquals(1, expirationManager.getLastRunVisited());
+      assertEquals(0, expirationManager.getLastRunExpired());
+      assertEquals(1, expirationManager.getExpirationIndexSize());
+
+      timeService.advance(1500);
+      expirationManager.processExpiration();
+      assertEquals(1, expirationManager.getLastRunExpired());
+      assertNull(cache.getAdvancedCache().getDataContainer().peek("transient"));
+   }
+
+   public void testRemovedEntryIsUnscheduled() {
+      cache.put("k", "v", 1, TimeUnit.SECONDS);
+      assertEquals(1, expirationManager.getExpirationIndexSize());
+      cache.remove("k");
+      assertEquals(0, expirationManager.getExpirationIndexSize());
+      timeService.advance(2000);
+      expirationManager.processExpiration();
+      assertEquals(0, expirationManager.getLastRunVisited());
+      assertEquals(0, expirationManager.getLastRunExpired());
+   }
+
+   public void testClearUnschedulesEntries() {
+      for (int i = 0; i < 10; i++) {
+         cache.put("k" + i, "v", 1, TimeUnit.SECONDS);
+      }
+      assertEquals(10, expirationManager.getExpirationIndexSize());
+      cache.clear();
+      assertEquals(0, expirationManager.getExpirationIndexSize());
+
+      // A re-created key is indexed with its new expiration time only
+      cache.put("k0", "v", 1, TimeUnit.HOURS);
+      assertEquals(1, expirationManager.getExpirationIndexSize());
+      timeService.advance(2000);
+      expirationManager.processExpiration();
+      assertEquals(0, expirationManager.getLastRunVisited());
+      assertEquals("v", cache.get("k0"));
+   }
+
+   public void testRewrittenKeyIsIndexedOnce() {
+      for (int i = 0; i < 1000; i++) {
+         cache.put("hot", "v" + i, 1, TimeUnit.HOURS);
+         // Every write moves the expiration time to a new bucket
+         timeService.advance(10);
+      }
+      assertEquals(1, expirationManager.getExpirationIndexSize());
+
+      // Replacing the entry with one that can't expire drops it from the index
+      cache.put("hot", "immortal");
+      assertEquals(0, expirationManager.getExpirationIndexSize());
+   }
+}
@@ -0,0 +1,15 @@
+package org.infinispan.expiration.impl;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.testng.annotations.Test;
+
+@Test(groups = "functional", testName = "expiration.impl.OffHeapExpirationFunctionalTest")
+public class OffHeapExpirationFunctionalTest extends ExpirationFunctionalTest {
+
+   @Override
+   protected void configure(ConfigurationBuilder config) {
+      super.configure(config);
+      config.dataContainer().storageType(StorageType.OFF_HEAP).addressCount(1024);
+   }
+}
@@ -0,0 +1,14 @@
+package org.infinispan.expiration.impl;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.testng.annotations.Test;
+
+@Test(groups = "functional", testName = "expiration.impl.OffHeapIndexedExpirationReaperTest")
+public class OffHeapIndexedExpirationReaperTest extends IndexedExpirationReaperTest {
+
+   @Override
+   protected void configure(ConfigurationBuilder builder) {
+      builder.dataContainer().storageType(StorageType.OFF_HEAP).addressCount(1024);
+   }
+}
@@ -0,0 +1,13 @@
+package org.infinispan.expiration.impl;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.testng.annotations.Test;
+
+@Test(groups = "functional", testName = "expiration.impl.SegmentedIndexedExpirationReaperTest")
+public class SegmentedIndexedExpirationReaperTest extends IndexedExpirationReaperTest {
+
+   @Override
+   protected void configure(ConfigurationBuilder builder) {
+      builder.dataContainer().segmented(true);
+   }
+}
@@ -425,6 +425,26 @@ public CompletableFuture<V> putAsync(K key, V value, Metadata metadata) {
       return null;  // TODO: Customise this generated block
    }
 
+
+   @Override
+   public CompletableFuture<V> putIfAbsentAsync(K key, V value, Metadata metadata) {
+      return null;  // TODO: Customise this generated block
+   }
+
+   @Override
+   public CompletableFuture<V> replaceAsync(K key, V value, Metadata metadata) {
+      return null;  // TODO: Customise this generated block
+   }
+
+   @Override
+   public CompletableFuture<Boolean> replaceAsync(K key, V oldValue, V newValue, Metadata metadata) {
+      return null;  // TODO: Customise this generated block
+   }
+
+   @Override
+   public CompletableFuture<CacheEntry<K, V>> getCacheEntryAsync(Object key) {
+      return null;  // TODO: Customise this generated block
+   }
    @Override
    public Map<K, V> getAll(Set<?> keys) {
       return null;  // TODO: Customise this generated block
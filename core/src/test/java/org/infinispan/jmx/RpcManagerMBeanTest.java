@@ -1,6 +1,7 @@
 package org.infinispan.jmx;
 
 import static org.infinispan.test.TestingUtil.checkMBeanOperationParameterNaming;
+import static org.infinispan.test.TestingUtil.getCacheManagerObjectName;
 import static org.infinispan.test.TestingUtil.getCacheObjectName;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
@@ -10,6 +11,7 @@
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
 
 import java.io.Externalizable;
 import java.io.IOException;
@@ -35,6 +37,7 @@
 import org.infinispan.remoting.rpc.RpcManager;
 import org.infinispan.remoting.rpc.RpcManagerImpl;
 import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.ResponseCollector;
 import org.infinispan.remoting.transport.Transport;
 import org.infinispan.test.MultipleCacheManagersTest;
 import org.infinispan.test.TestingUtil;
@@ -88,6 +91,18 @@ public void testJmxOperationMetadata() throws Exception {
       checkMBeanOperationParameterNaming(rpcManager);
    }
 
+   public void testTransportStaggerStatistics() throws Exception {
+      MBeanServer mBeanServer = PerThreadMBeanServerLookup.getThreadMBeanServer();
+      ObjectName transport = getCacheManagerObjectName(JMX_DOMAIN, "DefaultCacheManager", "Transport");
+      assert mBeanServer.isRegistered(transport);
+
+      mBeanServer.invoke(transport, "resetStatistics", new Object[0], new String[0]);
+      assertEquals(mBeanServer.getAttribute(transport, "StaggeredRequests"), (long) 0);
+      assertEquals(mBeanServer.getAttribute(transport, "HedgedRequests"), (long) 0);
+      assertEquals(mBeanServer.getAttribute(transport, "HedgeRatio"), 0d);
+      assertNotNull(mBeanServer.getAttribute(transport, "ResponseTimeEstimates"));
+   }
+
    public void testEnableJmxStats() throws Exception {
       Cache<String, String> cache1 = manager(0).getCache(cachename);
       Cache cache2 = manager(1).getCache(cachename);
@@ -163,6 +178,9 @@ public void testSuccessRatio() throws Exception {
          when(transport.getAddress()).thenReturn(null);
          when(transport.invokeRemotelyAsync(anyCollectionOf(Address.class), any(ReplicableCommand.class), any(ResponseMode.class),
                anyLong(), any(ResponseFilter.class), any(DeliverOrder.class), anyBoolean())).thenThrow(new RuntimeException());
+         when(transport.invokeRemotelyAsync(anyCollectionOf(Address.class), any(ReplicableCommand.class), any(ResponseMode.class),
+               anyLong(), any(ResponseFilter.class), any(DeliverOrder.class), anyBoolean(), any(ResponseCollector.class)))
+               .thenThrow(new RuntimeException());
          rpcManager.setTransport(transport);
          cache1.put("a5", "b5");
          assert false : "rpc manager should have thrown an exception";
@@ -0,0 +1,192 @@
+package org.infinispan.marshall.core;
+
+import static org.infinispan.test.TestingUtil.extractGlobalMarshaller;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.infinispan.Version;
+import org.infinispan.commands.CommandInvocationId;
+import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.commands.write.PutKeyValueCommand;
+import org.infinispan.commons.equivalence.AnyEquivalence;
+import org.infinispan.commons.io.ByteBuffer;
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.commons.util.EnumUtil;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the buffers written by {@link GlobalMarshaller} without JBoss Marshalling streams.
+ *
+ * @since 9.0
+ */
+@Test(groups = "functional", testName = "marshall.core.GlobalMarshallerTest")
+public class GlobalMarshallerTest extends AbstractInfinispanTest {
+
+   private EmbeddedCacheManager cm;
+   private StreamingMarshaller marshaller;
+
+   @BeforeClass
+   public void setUp() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC);
+      cm = TestCacheManagerFactory.createClusteredCacheManager(builder);
+      marshaller = extractGlobalMarshaller(cm);
+   }
+
+   @AfterClass
+   public void tearDown() {
+      cm.stop();
+   }
+
+   public void testBytesFormat() throws Exception {
+      byte[] bytes = marshaller.objectToByteBuffer("value");
+      assertEquals(GlobalMarshaller.BYTES_FORMAT, bytes[0]);
+   }
+
+   public void testPrimitivesAndJdkTypes() throws Exception {
+      Object[] values = {null, "", "été ☃", new byte[]{1, 2, 3}, true, (byte) 7, (short) -3, 42,
+            Long.MIN_VALUE, 1.5f, Math.PI, 'x', new ArrayList<>(Arrays.asList(1, "two", 3L))};
+      for (Object value : values) {
+         Object copy = roundTrip(value);
+         if (value instanceof byte[]) {
+            assertTrue(Arrays.equals((byte[]) value, (byte[]) copy));
+         } else {
+            assertEquals(value, copy);
+         }
+      }
+   }
+
+   public void testUnknownTypesFallBackToJBossMarshalling() throws Exception {
+      Pojo pojo = new Pojo("name", 3);
+      assertEquals(pojo, roundTrip(pojo));
+
+      PutKeyValueCommand command = putCommand(new Pojo("nested", 5));
+      PutKeyValueCommand copy = (PutKeyValueCommand) roundTrip(command);
+      assertEquals(command.getKey(), copy.getKey());
+      assertEquals(command.getValue(), copy.getValue());
+   }
+
+   public void testUnknownTypesShareReferences() throws Exception {
+      Pojo pojo = new Pojo("shared", 4);
+      List<Object> value = new ArrayList<>(Arrays.asList(pojo, "between", new Pojo("other", 5), pojo));
+      List<?> copy = (List<?>) roundTrip(value);
+      assertEquals(value, copy);
+      assertSame(copy.get(0), copy.get(3));
+      // The stream is released, the next call does not see the references of the previous one
+      assertEquals(pojo, roundTrip(pojo));
+   }
+
+   public void testObjectArrays() throws Exception {
+      ReplicableCommand[] commands = {putCommand("v1"), putCommand("v2")};
+      ReplicableCommand[] copy = (ReplicableCommand[]) roundTrip(commands);
+      assertEquals(2, copy.length);
+      assertEquals("v1", ((PutKeyValueCommand) copy[0]).getValue());
+      assertEquals("v2", ((PutKeyValueCommand) copy[1]).getValue());
+
+      Object[] objects = {"a", new Pojo("b", 1), null};
+      assertEquals(Arrays.asList(objects), Arrays.asList((Object[]) roundTrip(objects)));
+   }
+
+   public void testJBossMarshallingBuffersStillReadable() throws Exception {
+      List<Object> value = new ArrayList<>(Arrays.asList("a", new Pojo("b", 2)));
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      ObjectOutput out = marshaller.startObjectOutput(baos, false, 128);
+      try {
+         marshaller.objectToObjectStream(value, out);
+      } finally {
+         marshaller.finishObjectOutput(out);
+      }
+      byte[] bytes = baos.toByteArray();
+      assertTrue(bytes[0] != GlobalMarshaller.BYTES_FORMAT);
+      assertEquals(value, marshaller.objectFromByteBuffer(bytes));
+   }
+
+   public void testOlderSerializationVersionWritesJBossFormat() throws Exception {
+      assertTrue(GlobalMarshaller.isBytesFormatSupported(Version.getMarshallVersion()));
+      assertTrue(GlobalMarshaller.isBytesFormatSupported(Version.getVersionShort("9.0")));
+      assertFalse(GlobalMarshaller.isBytesFormatSupported(Version.getVersionShort("8.2")));
+
+      GlobalConfigurationBuilder global = GlobalConfigurationBuilder.defaultClusteredBuilder();
+      global.serialization().version("8.2");
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC);
+      EmbeddedCacheManager oldCm = TestCacheManagerFactory.createClusteredCacheManager(global, builder);
+      try {
+         StreamingMarshaller oldMarshaller = extractGlobalMarshaller(oldCm);
+         PutKeyValueCommand command = putCommand(new Pojo("old", 6));
+         ByteBuffer buffer = oldMarshaller.objectToBuffer(command);
+         assertTrue(buffer.getBuf()[0] != GlobalMarshaller.BYTES_FORMAT);
+         assertEquals(buffer.getLength(), buffer.getBuf().length);
+
+         // Readable by the nodes of both versions
+         PutKeyValueCommand copy = (PutKeyValueCommand) marshaller.objectFromByteBuffer(buffer.getBuf());
+         assertEquals(command.getValue(), copy.getValue());
+         assertEquals(command.getValue(), ((PutKeyValueCommand) oldMarshaller.objectFromByteBuffer(buffer.getBuf())).getValue());
+      } finally {
+         oldCm.stop();
+      }
+   }
+
+   public void testPooledBuffersNotShared() throws Exception {
+      ByteBuffer first = marshaller.objectToBuffer("first");
+      byte[] firstCopy = Arrays.copyOfRange(first.getBuf(), first.getOffset(), first.getLength());
+      ByteBuffer second = marshaller.objectToBuffer(new byte[GlobalMarshaller.MAX_POOLED_BUFFER_SIZE * 2]);
+      ByteBuffer third = marshaller.objectToBuffer("third");
+
+      assertEquals(first.getLength(), first.getBuf().length);
+      assertEquals(second.getLength(), second.getBuf().length);
+      assertTrue(Arrays.equals(firstCopy, first.getBuf()));
+      assertEquals("first", marshaller.objectFromByteBuffer(first.getBuf()));
+      assertEquals("third", marshaller.objectFromByteBuffer(third.getBuf()));
+   }
+
+   private Object roundTrip(Object value) throws Exception {
+      return marshaller.objectFromByteBuffer(marshaller.objectToByteBuffer(value));
+   }
+
+   private static PutKeyValueCommand putCommand(Object value) {
+      return new PutKeyValueCommand("k", value, false, null, new EmbeddedMetadata.Builder().build(),
+            EnumUtil.EMPTY_BIT_SET, AnyEquivalence.getInstance(), CommandInvocationId.generateId(null));
+   }
+
+   public static class Pojo implements Serializable {
+      final String name;
+      final int number;
+
+      Pojo(String name, int number) {
+         this.name = name;
+         this.number = number;
+      }
+
+      @Override
+      public boolean equals(Object o) {
+         if (this == o) return true;
+         if (o == null || getClass() != o.getClass()) return false;
+         Pojo pojo = (Pojo) o;
+         return number == pojo.number && name.equals(pojo.name);
+      }
+
+      @Override
+      public int hashCode() {
+         return 31 * name.hashCode() + number;
+      }
+   }
+}
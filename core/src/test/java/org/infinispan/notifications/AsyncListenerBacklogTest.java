@@ -0,0 +1,99 @@
+package org.infinispan.notifications;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.notifications.cachelistener.CacheNotifier;
+import org.infinispan.notifications.cachelistener.CacheNotifierImpl;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the events of an asynchronous listener are delivered in order, and that the events waiting for a slow
+ * asynchronous listener are reported by the notifier.
+ *
+ * @since 9.0
+ */
+@Test(groups = "functional", testName = "notifications.AsyncListenerBacklogTest")
+public class AsyncListenerBacklogTest extends SingleCacheManagerTest {
+
+   private static final int NUM_WRITES = 100;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      return TestCacheManagerFactory.createCacheManager(false);
+   }
+
+   public void testEventsInOrder() {
+      AsyncListener listener = new AsyncListener();
+      listener.release.countDown();
+      cache.addListener(listener);
+      try {
+         for (int i = 0; i < NUM_WRITES; i++) {
+            cache.put("k", i);
+         }
+         eventuallyEquals(NUM_WRITES, () -> listener.values.size());
+         for (int i = 0; i < NUM_WRITES; i++) {
+            assertEquals(i, listener.values.get(i));
+         }
+      } finally {
+         cache.removeListener(listener);
+      }
+   }
+
+   public void testBacklog() {
+      AsyncListener listener = new AsyncListener();
+      cache.addListener(listener);
+      try {
+         for (int i = 0; i < NUM_WRITES; i++) {
+            cache.put("k" + i, i);
+         }
+         // The listener is blocked on the first event, the pre and post events of the other writes are queued
+         eventuallyEquals(1, () -> listener.values.size());
+         Map<String, Long> backlogs = notifier().asyncListenersBacklog();
+         assertEquals(1, backlogs.size());
+         assertEquals(Long.valueOf(2 * NUM_WRITES - 2), backlogs.values().iterator().next());
+         assertEquals(2 * NUM_WRITES - 2, notifier().getAsyncListenersBacklog());
+         assertEquals(Long.valueOf(0), notifier().asyncListenersDroppedEvents().values().iterator().next());
+
+         listener.release.countDown();
+         eventuallyEquals(NUM_WRITES, () -> listener.values.size());
+         eventuallyEquals(0L, () -> notifier().getAsyncListenersBacklog());
+      } finally {
+         listener.release.countDown();
+         cache.removeListener(listener);
+      }
+      assertEquals(0, notifier().asyncListenersBacklog().size());
+   }
+
+   private CacheNotifierImpl<?, ?> notifier() {
+      return (CacheNotifierImpl<?, ?>) TestingUtil.extractComponent(cache, CacheNotifier.class);
+   }
+
+   @Listener(sync = false)
+   public static class AsyncListener {
+      final List<Object> values = Collections.synchronizedList(new ArrayList<>());
+      final CountDownLatch release = new CountDownLatch(1);
+
+      @CacheEntryCreated
+      @CacheEntryModified
+      public void onEvent(CacheEntryEvent<Object, Object> event) throws InterruptedException {
+         if (!event.isPre()) {
+            values.add(event.getValue());
+            release.await(30, TimeUnit.SECONDS);
+         }
+      }
+   }
+}
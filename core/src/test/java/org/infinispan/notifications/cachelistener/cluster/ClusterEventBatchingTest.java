@@ -0,0 +1,111 @@
+package org.infinispan.notifications.cachelistener.cluster;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.distribution.MagicKey;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the events sent with {@link ClusterEventCommand} reach the cluster listeners in order, and that a slow
+ * asynchronous cluster listener does not block the writers.
+ *
+ * @since 9.0
+ */
+@Test(groups = "functional", testName = "notifications.cachelistener.cluster.ClusterEventBatchingTest")
+public class ClusterEventBatchingTest extends MultipleCacheManagersTest {
+
+   private static final int NUM_WRITES = 200;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false);
+      createClusteredCaches(3, builder);
+   }
+
+   public void testSyncEventsInOrder() {
+      SyncListener listener = new SyncListener();
+      cache(0).addListener(listener);
+      try {
+         MagicKey key = new MagicKey(cache(1));
+         for (int i = 0; i < NUM_WRITES; i++) {
+            cache(2).put(key, i);
+            // The writer waits for the synchronous listener
+            assertEquals(i + 1, listener.values.size());
+         }
+         assertInOrder(listener.values);
+      } finally {
+         cache(0).removeListener(listener);
+      }
+   }
+
+   public void testSlowAsyncListenerDoesNotBlockWriters() throws Exception {
+      AsyncListener listener = new AsyncListener();
+      cache(0).addListener(listener);
+      try {
+         MagicKey key = new MagicKey(cache(1));
+         Future<Void> writes = fork(() -> {
+            Cache<Object, Object> cache = cache(2);
+            for (int i = 0; i < NUM_WRITES; i++) {
+               cache.put(key, i);
+            }
+            return null;
+         });
+         // The listener is blocked on the first event, the writes must complete anyway
+         writes.get(10, TimeUnit.SECONDS);
+         assertTrue(listener.values.size() <= 1);
+
+         listener.release.countDown();
+         eventuallyEquals(NUM_WRITES, () -> listener.values.size());
+         assertInOrder(listener.values);
+      } finally {
+         listener.release.countDown();
+         cache(0).removeListener(listener);
+      }
+   }
+
+   private static void assertInOrder(List<Object> values) {
+      for (int i = 0; i < values.size(); i++) {
+         assertEquals(i, values.get(i));
+      }
+   }
+
+   @Listener(clustered = true)
+   public static class SyncListener {
+      final List<Object> values = Collections.synchronizedList(new ArrayList<>());
+
+      @CacheEntryCreated
+      @CacheEntryModified
+      public void onEvent(CacheEntryEvent<Object, Object> event) {
+         values.add(event.getValue());
+      }
+   }
+
+   @Listener(clustered = true, sync = false)
+   public static class AsyncListener {
+      final List<Object> values = Collections.synchronizedList(new ArrayList<>());
+      final CountDownLatch release = new CountDownLatch(1);
+
+      @CacheEntryCreated
+      @CacheEntryModified
+      public void onEvent(CacheEntryEvent<Object, Object> event) throws InterruptedException {
+         values.add(event.getValue());
+         release.await(30, TimeUnit.SECONDS);
+      }
+   }
+}
@@ -0,0 +1,238 @@
+package org.infinispan.notifications.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the overflow policies and the batching of {@link AsyncListenerQueue}, with an executor that runs the consumer
+ * only when the test asks for it.
+ *
+ * @since 9.0
+ */
+@Test(groups = "unit", testName = "notifications.impl.AsyncListenerQueueTest")
+public class AsyncListenerQueueTest extends AbstractInfinispanTest {
+
+   private static final Log log = LogFactory.getLog(AsyncListenerQueueTest.class);
+   private static final int CAPACITY = 4;
+
+   private final List<Runnable> tasks = new ArrayList<>();
+   private final List<Object> delivered = Collections.synchronizedList(new ArrayList<>());
+
+   public void testBatching() {
+      AsyncListenerQueue queue = createQueue(AsyncListenerQueue.OverflowPolicy.BLOCK, 2);
+      for (int i = 0; i < 3; i++) {
+         queue.offer(null, "k" + i + ":v");
+      }
+      // The consumer is scheduled once
+      assertEquals(1, tasks.size());
+      assertEquals(3, queue.getBacklog());
+
+      runTasks(1);
+      assertEquals(Arrays.asList("k0:v", "k1:v"), delivered);
+      // The consumer is scheduled again for the remaining event
+      runTasks(1);
+      assertEquals(Arrays.asList("k0:v", "k1:v", "k2:v"), delivered);
+      assertEquals(0, queue.getBacklog());
+      assertEquals(0, tasks.size());
+   }
+
+   public void testDrop() {
+      AsyncListenerQueue queue = createQueue(AsyncListenerQueue.OverflowPolicy.DROP, 64);
+      for (int i = 0; i < CAPACITY + 2; i++) {
+         queue.offer(null, "k" + i + ":v");
+      }
+      assertEquals(CAPACITY, queue.getBacklog());
+      assertEquals(2, queue.getDroppedEvents());
+
+      runTasks(1);
+      assertEquals(Arrays.asList("k0:v", "k1:v", "k2:v", "k3:v"), delivered);
+      queue.offer(null, "k6:v");
+      runTasks(1);
+      assertEquals("k6:v", delivered.get(CAPACITY));
+   }
+
+   public void testCoalesce() {
+      AsyncListenerQueue queue = createQueue(AsyncListenerQueue.OverflowPolicy.COALESCE, 64);
+      for (int i = 0; i < CAPACITY; i++) {
+         queue.offer(null, "k" + i + ":1");
+      }
+      queue.offer(null, "k0:2");
+      queue.offer(null, "k5:1");
+      queue.offer(null, "k0:3");
+      assertEquals(CAPACITY + 2, queue.getBacklog());
+      assertEquals(0, queue.getDroppedEvents());
+
+      runTasks(1);
+      assertEquals(Arrays.asList("k0:1", "k1:1", "k2:1", "k3:1", "k0:3", "k5:1"), delivered);
+      assertEquals(0, queue.getBacklog());
+   }
+
+   public void testBlock() throws Exception {
+      AsyncListenerQueue queue = createQueue(AsyncListenerQueue.OverflowPolicy.BLOCK, 64);
+      for (int i = 0; i < CAPACITY; i++) {
+         queue.offer(null, "k" + i + ":v");
+      }
+      Future<?> blocked = fork(() -> queue.offer(null, "k4:v"));
+      try {
+         blocked.get(100, TimeUnit.MILLISECONDS);
+         throw new AssertionError("The producer should wait for room in the queue");
+      } catch (TimeoutException e) {
+         // expected
+      }
+      assertFalse(blocked.isDone());
+
+      runTasks(1);
+      blocked.get(10, TimeUnit.SECONDS);
+      runTasks(1);
+      assertEquals(Arrays.asList("k0:v", "k1:v", "k2:v", "k3:v", "k4:v"), delivered);
+   }
+
+   public void testCoalesceKeepsOrderWithRingEvents() {
+      AsyncListenerQueue queue = createQueue(AsyncListenerQueue.OverflowPolicy.COALESCE, 2);
+      for (int i = 0; i < CAPACITY; i++) {
+         queue.offer(null, "k" + i + ":1");
+      }
+      queue.offer(null, "k5:1");
+      runTasks(1);
+      assertEquals(Arrays.asList("k0:1", "k1:1"), delivered);
+
+      // An event without a key goes to the ring buffer, but it must not overtake the overflow
+      queue.offer(null, "-:1");
+      queue.offer(null, "k5:2");
+      runTasks(1);
+      runTasks(1);
+      assertEquals(Arrays.asList("k0:1", "k1:1", "k2:1", "k3:1", "k5:2", "-:1"), delivered);
+      assertEquals(0, queue.getBacklog());
+   }
+
+   public void testBlockFromAnotherListenerWithSingleThread() throws Exception {
+      tasks.clear();
+      delivered.clear();
+      ExecutorService executor = Executors.newSingleThreadExecutor(getTestThreadFactory("Notification"));
+      try {
+         CountDownLatch release = new CountDownLatch(1);
+         executor.execute(() -> {
+            try {
+               release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+            }
+         });
+         AsyncListenerQueue[] target = new AsyncListenerQueue[1];
+         // The listener of the source queue raises events for the target listener
+         AsyncListenerQueue source = createQueue(AsyncListenerQueue.OverflowPolicy.BLOCK, 64, executor, event -> {
+            target[0].offer(null, "k4:v");
+            target[0].offer(null, "k5:v");
+         });
+         target[0] = createQueue(AsyncListenerQueue.OverflowPolicy.BLOCK, 64, executor, delivered::add);
+         // The source consumer runs first, while the target queue is full
+         source.offer(null, "s:v");
+         for (int i = 0; i < CAPACITY; i++) {
+            target[0].offer(null, "k" + i + ":v");
+         }
+         release.countDown();
+
+         eventuallyEquals(6, () -> delivered.size());
+         assertEquals(Arrays.asList("k0:v", "k1:v", "k2:v", "k3:v", "k4:v", "k5:v"), delivered);
+         assertEquals(0, target[0].getBacklog());
+         assertEquals(0, source.getBacklog());
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+
+   public void testBlockFromSameListener() {
+      tasks.clear();
+      delivered.clear();
+      List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+      AsyncListenerQueue[] queue = new AsyncListenerQueue[1];
+      queue[0] = createQueue(AsyncListenerQueue.OverflowPolicy.BLOCK, 64, event -> {
+         threads.add(Thread.currentThread());
+         delivered.add(event);
+         if ("k0:v".equals(event)) {
+            // The queue is full, nobody else can make room
+            for (int i = 10; i < 10 + CAPACITY + 1; i++) {
+               queue[0].offer(null, "k" + i + ":v");
+            }
+         }
+      });
+      for (int i = 0; i < CAPACITY; i++) {
+         queue[0].offer(null, "k" + i + ":v");
+      }
+      // The events raised by the listener are delivered by the same consumer task
+      runTasks(1);
+      assertEquals(0, tasks.size());
+      assertEquals(Arrays.asList("k0:v", "k1:v", "k2:v", "k3:v", "k10:v", "k11:v", "k12:v", "k13:v", "k14:v"),
+            delivered);
+      assertEquals(Collections.singleton(Thread.currentThread()), new HashSet<>(threads));
+      assertEquals(0, queue[0].getBacklog());
+   }
+
+   private AsyncListenerQueue createQueue(AsyncListenerQueue.OverflowPolicy policy, int batchSize) {
+      tasks.clear();
+      delivered.clear();
+      return createQueue(policy, batchSize, delivered::add);
+   }
+
+   private AsyncListenerQueue createQueue(AsyncListenerQueue.OverflowPolicy policy, int batchSize,
+                                          Consumer<Object> listener) {
+      return createQueue(policy, batchSize, this::addTask, listener);
+   }
+
+   private AsyncListenerQueue createQueue(AsyncListenerQueue.OverflowPolicy policy, int batchSize, Executor executor,
+                                          Consumer<Object> listener) {
+      // The events starting with '-' have no key
+      return new AsyncListenerQueue("test", CAPACITY, batchSize, policy,
+            event -> ((String) event).startsWith("-") ? null : ((String) event).substring(0, ((String) event).indexOf(':')),
+            executor,
+            new AsyncListenerQueue.EventHandler() {
+               @Override
+               public Object beforeBatch() {
+                  return null;
+               }
+
+               @Override
+               public void handle(Object invocation, Object event) {
+                  listener.accept(event);
+               }
+
+               @Override
+               public void afterBatch(Object state) {
+               }
+            }, log);
+   }
+
+   private synchronized void addTask(Runnable task) {
+      tasks.add(task);
+   }
+
+   private void runTasks(int expected) {
+      takeTasks(expected).forEach(Runnable::run);
+   }
+
+   private synchronized List<Runnable> takeTasks(int expected) {
+      assertEquals(expected, tasks.size());
+      List<Runnable> taken = new ArrayList<>(tasks);
+      tasks.clear();
+      return taken;
+   }
+}
@@ -9,10 +9,13 @@
 import static org.testng.AssertJUnit.assertTrue;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.infinispan.commons.marshall.StreamingMarshaller;
@@ -410,6 +413,49 @@ public void testStoreAndRemove() throws PersistenceException {
       assertEquals("k4", set.iterator().next().getKey());
    }
 
+   public void testWriteAndDeleteBatch() throws Exception {
+      assertIsEmpty();
+
+      long lifespan = 120000;
+      List<MarshalledEntry<?, ?>> entries = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+         entries.add(i % 2 == 0 ? marshalledEntry("k" + i, "v" + i, null) :
+                     marshalledEntry(internalCacheEntry("k" + i, "v" + i, lifespan)));
+      }
+      cl.writeBatch(entries);
+
+      assertEquals(10, cl.size());
+      for (int i = 0; i < 10; i++) {
+         assertEquals("v" + i, unwrap(cl.load("k" + i).getValue()));
+      }
+
+      cl.deleteBatch(Arrays.asList("k0", "k1", "k2", "missing"));
+
+      assertEquals(7, cl.size());
+      assertNull(cl.load("k0"));
+      assertNull(cl.load("k1"));
+      assertNull(cl.load("k2"));
+      assertEquals("v3", unwrap(cl.load("k3").getValue()));
+   }
+
+   public void testLoadAllKeys() throws Exception {
+      assertIsEmpty();
+
+      long lifespan = 120000;
+      cl.write(marshalledEntry("k1", "v1", null));
+      cl.write(marshalledEntry(internalCacheEntry("k2", "v2", lifespan)));
+      cl.write(marshalledEntry("k3", "v3", null));
+
+      Map<Object, MarshalledEntry<Object, Object>> loaded = cl.loadAll(new HashSet<>(Arrays.asList("k1", "k2", "missing")));
+      assertEquals(loaded.toString(), 2, loaded.size());
+      assertEquals("v1", unwrap(loaded.get("k1").getValue()));
+      assertCorrectExpiry(loaded.get("k2"), "v2", lifespan, -1, false);
+      assertFalse(loaded.containsKey("k3"));
+      assertFalse(loaded.containsKey("missing"));
+
+      assertTrue(cl.loadAll(emptySet()).isEmpty());
+   }
+
    public void testPurgeExpired() throws Exception {
       assertIsEmpty();
       // Increased lifespan and idle timeouts to accommodate slower cache stores
@@ -0,0 +1,85 @@
+package org.infinispan.persistence.file;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.infinispan.commons.CacheConfigurationException;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.SingleFileStoreConfigurationBuilder;
+import org.infinispan.persistence.spi.AdvancedCacheLoader;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.concurrent.WithinThreadExecutor;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the single-file cache store tests with the compact index.
+ *
+ * @since 9.0
+ */
+@Test(groups = "unit", testName = "persistence.file.CompactIndexSingleFileStoreTest")
+public class CompactIndexSingleFileStoreTest extends SingleFileStoreTest {
+
+   private static final int NUM_ENTRIES = 5000;
+
+   @Override
+   protected void configureStore(SingleFileStoreConfigurationBuilder storeBuilder) {
+      storeBuilder.compactIndex(true);
+   }
+
+   public void testManyEntries() throws Exception {
+      // enough entries to resize the index several times
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         cl.write(marshalledEntry("k" + i, "v" + i, null));
+      }
+      for (int i = 0; i < NUM_ENTRIES; i += 2) {
+         assertTrue(cl.delete("k" + i));
+      }
+      for (int i = 0; i < NUM_ENTRIES; i += 4) {
+         cl.write(marshalledEntry("k" + i, "v" + i + "-2", null));
+      }
+      assertEquals(NUM_ENTRIES / 2 + NUM_ENTRIES / 4, cl.size());
+      assertValues();
+
+      // the index is rebuilt from the file on start
+      cl.stop();
+      cl.start();
+      assertEquals(NUM_ENTRIES / 2 + NUM_ENTRIES / 4, cl.size());
+      assertValues();
+
+      Set<Object> keys = new HashSet<>();
+      cl.process(null, (AdvancedCacheLoader.CacheLoaderTask<Object, Object>) (marshalledEntry, taskContext) -> {
+         synchronized (keys) {
+            keys.add(marshalledEntry.getKey());
+         }
+      }, new WithinThreadExecutor(), false, false);
+      assertEquals(cl.size(), keys.size());
+      assertTrue(keys.contains("k1"));
+      assertFalse(keys.contains("k2"));
+   }
+
+   private void assertValues() {
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         if (i % 4 == 0) {
+            assertEquals("v" + i + "-2", unwrap(cl.load("k" + i).getValue()));
+         } else if (i % 2 == 0) {
+            assertNull(cl.load("k" + i));
+            assertFalse(cl.contains("k" + i));
+         } else {
+            assertEquals("v" + i, unwrap(cl.load("k" + i).getValue()));
+            assertTrue(cl.contains("k" + i));
+         }
+      }
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class)
+   public void testMaxEntriesNotSupported() {
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      builder.persistence().addSingleFileStore().compactIndex(true).maxEntries(100);
+      builder.build();
+   }
+}
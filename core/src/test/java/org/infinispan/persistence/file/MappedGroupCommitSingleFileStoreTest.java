@@ -0,0 +1,105 @@
+package org.infinispan.persistence.file;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertSame;
+
+import java.io.File;
+import java.nio.MappedByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.infinispan.configuration.cache.DurabilityPolicy;
+import org.infinispan.configuration.cache.SingleFileStoreConfigurationBuilder;
+import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.util.concurrent.WithinThreadExecutor;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the single-file cache store tests with memory mapped reads and group commits.
+ *
+ * @since 9.0
+ */
+@Test(groups = "unit", testName = "persistence.file.MappedGroupCommitSingleFileStoreTest")
+public class MappedGroupCommitSingleFileStoreTest extends SingleFileStoreTest {
+
+   private static final int WRITERS = 8;
+   private static final int ENTRIES_PER_WRITER = 500;
+   private static final int MAPPED_REGION_SIZE = 64 * 1024 * 1024;
+
+   @Override
+   protected void configureStore(SingleFileStoreConfigurationBuilder storeBuilder) {
+      storeBuilder.memoryMapped(true).groupCommit(true).durability(DurabilityPolicy.PER_BATCH);
+   }
+
+   public void testConcurrentWrites() throws Exception {
+      assertEquals(0, cl.size());
+
+      List<Future<Void>> writers = new ArrayList<>(WRITERS);
+      for (int w = 0; w < WRITERS; w++) {
+         int writer = w;
+         writers.add(fork(() -> {
+            for (int i = 0; i < ENTRIES_PER_WRITER; i++) {
+               cl.write(marshalledEntry("k-" + writer + "-" + i, "v-" + writer + "-" + i, null));
+            }
+            return null;
+         }));
+      }
+      for (Future<Void> writer : writers) {
+         writer.get();
+      }
+
+      assertEquals(WRITERS * ENTRIES_PER_WRITER, cl.size());
+      for (int w = 0; w < WRITERS; w++) {
+         for (int i = 0; i < ENTRIES_PER_WRITER; i++) {
+            MarshalledEntry<Object, Object> entry = cl.load("k-" + w + "-" + i);
+            assertEquals("v-" + w + "-" + i, unwrap(entry.getValue()));
+         }
+      }
+   }
+
+   public void testFileGrowsByWholeRegions() throws Exception {
+      assertEquals(0, cl.size());
+      File file = TestingUtil.extractField(cl, "file");
+      for (int i = 0; i < 100; i++) {
+         cl.write(marshalledEntry("k" + i, "v" + i, null));
+      }
+      assertEquals(MAPPED_REGION_SIZE, file.length());
+      assertEquals("v0", unwrap(cl.load("k0").getValue()));
+      MappedByteBuffer region = ((MappedByteBuffer[]) TestingUtil.extractField(cl, "mappedRegions"))[0];
+
+      // appending does not map the region again
+      for (int i = 100; i < 200; i++) {
+         cl.write(marshalledEntry("k" + i, "v" + i, null));
+         assertEquals("v" + i, unwrap(cl.load("k" + i).getValue()));
+      }
+      assertSame(region, ((MappedByteBuffer[]) TestingUtil.extractField(cl, "mappedRegions"))[0]);
+
+      // the free entries at the end are truncated, the zeros after the last entry are not read as entries
+      cl.delete("k199");
+      cl.purge(new WithinThreadExecutor(), null);
+      assertEquals(MAPPED_REGION_SIZE, file.length());
+      cl.stop();
+      cl.start();
+      assertEquals(199, cl.size());
+      assertEquals("v198", unwrap(cl.load("k198").getValue()));
+      assertNull(cl.load("k199"));
+   }
+
+   public void testReadAfterRewrite() throws Exception {
+      assertEquals(0, cl.size());
+
+      // the mapped region has to follow the file while it grows and shrinks
+      for (int round = 0; round < 3; round++) {
+         for (int i = 0; i < 100; i++) {
+            cl.write(marshalledEntry("k" + i, "v" + round + "-" + i, null));
+         }
+         for (int i = 0; i < 100; i++) {
+            assertEquals("v" + round + "-" + i, unwrap(cl.load("k" + i).getValue()));
+         }
+         cl.clear();
+      }
+   }
+}
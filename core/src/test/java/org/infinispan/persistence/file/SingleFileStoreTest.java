@@ -37,11 +37,14 @@ protected AdvancedLoadWriteStore createStore() throws Exception {
       clearTempDir();
       SingleFileStore store = new SingleFileStore();
       ConfigurationBuilder configurationBuilder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
-      configurationBuilder
+      configureStore(configurationBuilder
             .persistence()
                .addStore(SingleFileStoreConfigurationBuilder.class)
-                  .location(this.tmpDirectory);
+                  .location(this.tmpDirectory));
       store.init(createContext(configurationBuilder.build()));
       return store;
    }
+
+   protected void configureStore(SingleFileStoreConfigurationBuilder storeBuilder) {
+   }
 }
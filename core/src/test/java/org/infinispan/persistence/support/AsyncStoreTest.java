@@ -10,13 +10,17 @@
 import static org.testng.AssertJUnit.fail;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.infinispan.Cache;
@@ -93,6 +97,10 @@ public Object get(Object key) {
    };
 
    private void createStore(boolean slow) throws PersistenceException {
+      createStore(slow, new DummyInMemoryStore());
+   }
+
+   private void createStore(boolean slow, DummyInMemoryStore underlying) throws PersistenceException {
       ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
       DummyInMemoryStoreConfigurationBuilder dummyCfg = builder
             .persistence()
@@ -103,7 +111,6 @@ private void createStore(boolean slow) throws PersistenceException {
             .enable()
             .threadPoolSize(10);
       dummyCfg.slow(slow);
-      DummyInMemoryStore underlying = new DummyInMemoryStore();
       writer = new SlowAdvancedAsyncCacheWriter(underlying);
       InitializationContext ctx = PersistenceMockUtil.createContext(getClass().getSimpleName(), builder.build(), marshaller);
       writer.init(ctx);
@@ -238,6 +245,72 @@ public void testRestrictionOnAddingToAsyncQueue() throws Exception {
       doTestRemove(number, key);
    }
 
+   @Test(timeOut=30000)
+   public void testModificationsAppliedInBatches() throws Exception {
+      TestResourceTracker.testThreadStarted(this);
+      BatchCountingStore underlying = new BatchCountingStore();
+      createStore(false, underlying);
+
+      final int number = 100;
+      List<MarshalledEntry<?, ?>> entries = new ArrayList<>(number);
+      for (int i = 0; i < number; i++) {
+         entries.add(marshalledEntry(TestInternalCacheEntryFactory.create("testBatch-k-" + i, "v" + i), marshaller()));
+      }
+      writer.writeBatch(entries);
+      eventually(() -> underlying.batchedWrites.get() == number);
+      for (int i = 0; i < number; i++) {
+         assertEquals("v" + i, loader.load("testBatch-k-" + i).getValue());
+      }
+
+      List<Object> keys = new ArrayList<>(number);
+      for (int i = 0; i < number; i++) {
+         keys.add("testBatch-k-" + i);
+      }
+      writer.deleteBatch(keys);
+      eventually(() -> underlying.batchedDeletes.get() == number);
+      for (int i = 0; i < number; i++) {
+         assertNull(loader.load("testBatch-k-" + i));
+      }
+   }
+
+   @Test(timeOut=30000)
+   public void testLoadAllSeesQueuedModifications() throws Exception {
+      TestResourceTracker.testThreadStarted(this);
+      DummyInMemoryStore underlying = new DummyInMemoryStore();
+      createStore(true, underlying);
+
+      underlying.write(new MarshalledEntryImpl("k1", "v1", null, marshaller()));
+      underlying.write(new MarshalledEntryImpl("k3", "v3", null, marshaller()));
+      writer.delete("k1");
+      writer.write(new MarshalledEntryImpl("k2", "v2", null, marshaller()));
+
+      Map<Object, MarshalledEntry> loaded = loader.loadAll(new HashSet<>(Arrays.asList("k1", "k2", "k3", "k4")));
+      assertEquals(loaded.toString(), 2, loaded.size());
+      assertEquals("v2", loaded.get("k2").getValue());
+      assertEquals("v3", loaded.get("k3").getValue());
+   }
+
+   static class BatchCountingStore extends DummyInMemoryStore {
+      final AtomicInteger batchedWrites = new AtomicInteger();
+      final AtomicInteger batchedDeletes = new AtomicInteger();
+
+      @Override
+      public void writeBatch(Iterable entries) {
+         for (Object entry : entries) {
+            write((MarshalledEntry) entry);
+            batchedWrites.incrementAndGet();
+         }
+      }
+
+      @Override
+      public void deleteBatch(Iterable keys) {
+         for (Object key : keys) {
+            delete(key);
+            batchedDeletes.incrementAndGet();
+         }
+      }
+   }
+
    private TestObjectStreamMarshaller marshaller() {
       return marshaller;
    }
@@ -0,0 +1,119 @@
+package org.infinispan.remoting.rpc;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.remoting.RemoteException;
+import org.infinispan.remoting.responses.Response;
+import org.infinispan.remoting.responses.SuccessfulResponse;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.ResponseCollector;
+import org.infinispan.remoting.transport.impl.SingleResponseCollector;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the invocations of {@link RpcManager} with a {@link ResponseCollector}.
+ *
+ * @since 9.0
+ */
+@Test(testName = "remoting.rpc.RpcManagerResponseCollectorTest", groups = "functional")
+public class RpcManagerResponseCollectorTest extends MultipleCacheManagersTest {
+
+   private static final String TEST_CACHE = "testCache";
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.REPL_SYNC, false);
+      createClusteredCaches(3, TEST_CACHE, builder);
+   }
+
+   public void testAllResponsesCollected() {
+      RpcManager rpcManager = cache(0, TEST_CACHE).getAdvancedCache().getRpcManager();
+      RecordingCollector collector = new RecordingCollector(false);
+
+      String result = rpcManager.invokeRemotely(null, new CustomReplicableCommand("value"),
+            rpcManager.getDefaultRpcOptions(true), collector);
+
+      assertEquals("finished", result);
+      assertEquals(2, collector.senders.size());
+      assertTrue(collector.senders.contains(address(1)));
+      assertTrue(collector.senders.contains(address(2)));
+      assertEquals(1, collector.finishCount);
+   }
+
+   public void testEarlyCompletion() {
+      RpcManager rpcManager = cache(0, TEST_CACHE).getAdvancedCache().getRpcManager();
+      RecordingCollector collector = new RecordingCollector(true);
+
+      String result = rpcManager.invokeRemotely(null, new CustomReplicableCommand("value"),
+            rpcManager.getDefaultRpcOptions(true), collector);
+
+      assertEquals("value", result);
+      assertEquals(1, collector.senders.size());
+      assertEquals(0, collector.finishCount);
+   }
+
+   public void testSingleRecipient() {
+      RpcManager rpcManager = cache(0, TEST_CACHE).getAdvancedCache().getRpcManager();
+
+      Response response = rpcManager.invokeRemotely(Collections.singletonList(address(2)),
+            new CustomReplicableCommand("value"), rpcManager.getDefaultRpcOptions(true),
+            SingleResponseCollector.instance());
+
+      assertEquals("value", ((SuccessfulResponse) response).getResponseValue());
+   }
+
+   public void testNoRecipients() {
+      RpcManager rpcManager = cache(0, TEST_CACHE).getAdvancedCache().getRpcManager();
+      RecordingCollector collector = new RecordingCollector(true);
+
+      String result = rpcManager.invokeRemotely(Collections.emptyList(), new CustomReplicableCommand("value"),
+            rpcManager.getDefaultRpcOptions(true), collector);
+
+      assertEquals("finished", result);
+      assertEquals(0, collector.senders.size());
+   }
+
+   public void testRemoteException() {
+      RpcManager rpcManager = cache(0, TEST_CACHE).getAdvancedCache().getRpcManager();
+
+      try {
+         rpcManager.invokeRemotely(null, new CustomReplicableCommand(new IllegalArgumentException("exception!")),
+               rpcManager.getDefaultRpcOptions(true), new RecordingCollector(false));
+         fail("Expected RemoteException not thrown");
+      } catch (RemoteException e) {
+         assertTrue(e.getCause() instanceof IllegalArgumentException);
+         assertEquals("exception!", e.getCause().getMessage());
+      }
+   }
+
+   private static class RecordingCollector implements ResponseCollector<String> {
+      private final boolean completeOnFirst;
+      private final List<Address> senders = new ArrayList<>();
+      private int finishCount;
+
+      RecordingCollector(boolean completeOnFirst) {
+         this.completeOnFirst = completeOnFirst;
+      }
+
+      @Override
+      public String addResponse(Address sender, Response response) {
+         senders.add(sender);
+         return completeOnFirst ? (String) ((SuccessfulResponse) response).getResponseValue() : null;
+      }
+
+      @Override
+      public String finish() {
+         finishCount++;
+         return "finished";
+      }
+   }
+}
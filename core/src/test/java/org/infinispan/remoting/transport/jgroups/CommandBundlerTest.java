@@ -0,0 +1,143 @@
+package org.infinispan.remoting.transport.jgroups;
+
+import static org.mockito.Mockito.mock;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.jgroups.Address;
+import org.jgroups.util.UUID;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests when {@link CommandBundler} sends the bundled commands.
+ *
+ * @since 9.0
+ */
+@Test(groups = "unit", testName = "remoting.transport.jgroups.CommandBundlerTest")
+public class CommandBundlerTest extends AbstractInfinispanTest {
+
+   private final ScheduledExecutorService timeoutExecutor =
+         Executors.newSingleThreadScheduledExecutor(getTestThreadFactory("Timer"));
+   private final ExecutorService sendExecutor = Executors.newSingleThreadExecutor(getTestThreadFactory("Sender"));
+
+   private final Address a = UUID.randomUUID();
+   private final Address b = UUID.randomUUID();
+
+   @AfterClass(alwaysRun = true)
+   protected void shutdownExecutor() {
+      timeoutExecutor.shutdownNow();
+      sendExecutor.shutdownNow();
+   }
+
+   public void testBundleSentWhenFull() {
+      RecordingSender sender = new RecordingSender();
+      CommandBundler bundler = new CommandBundler(sender, timeoutExecutor, sendExecutor, TimeUnit.SECONDS.toNanos(60), 3);
+      ReplicableCommand[] commands = commands(4);
+
+      for (ReplicableCommand command : commands) {
+         bundler.add(a, command);
+      }
+      assertEquals(1, sender.bundles.size());
+      assertEquals(Arrays.asList(commands).subList(0, 3), Arrays.asList(sender.bundles.get(0)));
+
+      bundler.flush(a);
+      assertEquals(2, sender.bundles.size());
+      assertEquals(Collections.singletonList(commands[3]), Arrays.asList(sender.bundles.get(1)));
+   }
+
+   public void testBundleSentAfterDelay() {
+      RecordingSender sender = new RecordingSender();
+      CommandBundler bundler = new CommandBundler(sender, timeoutExecutor, sendExecutor, TimeUnit.MILLISECONDS.toNanos(1), 100);
+      ReplicableCommand[] commands = commands(2);
+
+      bundler.add(a, commands[0]);
+      bundler.add(a, commands[1]);
+      eventuallyEquals(1, sender::size);
+      assertEquals(Arrays.asList(commands), Arrays.asList(sender.bundles.get(0)));
+      // The timer only schedules the send
+      assertTrue(sender.threads.get(0).getName().contains("Sender"));
+   }
+
+   public void testSlowSendDoesNotDelayTimer() throws Exception {
+      CountDownLatch release = new CountDownLatch(1);
+      RecordingSender sender = new RecordingSender() {
+         @Override
+         public void send(Address destination, ReplicableCommand[] commands) {
+            super.send(destination, commands);
+            try {
+               release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+            }
+         }
+      };
+      CommandBundler bundler = new CommandBundler(sender, timeoutExecutor, sendExecutor, TimeUnit.MILLISECONDS.toNanos(1), 100);
+      try {
+         bundler.add(a, commands(1)[0]);
+         eventuallyEquals(1, sender::size);
+         // The send is blocked, but the timer still runs the other timeouts
+         timeoutExecutor.schedule(() -> null, 1, TimeUnit.MILLISECONDS).get(10, TimeUnit.SECONDS);
+      } finally {
+         release.countDown();
+      }
+   }
+
+   public void testBundlesPerDestination() {
+      RecordingSender sender = new RecordingSender();
+      CommandBundler bundler = new CommandBundler(sender, timeoutExecutor, sendExecutor, TimeUnit.SECONDS.toNanos(60), 100);
+      ReplicableCommand[] commands = commands(3);
+
+      bundler.add(a, commands[0]);
+      bundler.add(b, commands[1]);
+      bundler.add(a, commands[2]);
+      bundler.flush(b);
+      assertEquals(Collections.singletonList(b), sender.destinations);
+      assertEquals(Collections.singletonList(commands[1]), Arrays.asList(sender.bundles.get(0)));
+
+      bundler.flushAll();
+      assertEquals(Arrays.asList(b, a), sender.destinations);
+      assertEquals(Arrays.asList(commands[0], commands[2]), Arrays.asList(sender.bundles.get(1)));
+
+      // Nothing left to send
+      bundler.flushAll();
+      assertEquals(2, sender.size());
+   }
+
+   private static ReplicableCommand[] commands(int count) {
+      ReplicableCommand[] commands = new ReplicableCommand[count];
+      for (int i = 0; i < count; i++) {
+         commands[i] = mock(ReplicableCommand.class);
+      }
+      return commands;
+   }
+
+   private static class RecordingSender implements CommandBundler.BundleSender {
+      final List<Address> destinations = Collections.synchronizedList(new ArrayList<>());
+      final List<ReplicableCommand[]> bundles = Collections.synchronizedList(new ArrayList<>());
+      final List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+
+      @Override
+      public void send(Address destination, ReplicableCommand[] commands) {
+         threads.add(Thread.currentThread());
+         destinations.add(destination);
+         bundles.add(commands);
+      }
+
+      int size() {
+         return bundles.size();
+      }
+   }
+}
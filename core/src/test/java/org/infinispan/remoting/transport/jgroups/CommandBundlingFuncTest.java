@@ -0,0 +1,65 @@
+package org.infinispan.remoting.transport.jgroups;
+
+import static org.testng.AssertJUnit.assertNotNull;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.context.Flag;
+import org.infinispan.remoting.transport.Transport;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the asynchronous commands bundled by the transport are applied by all the owners, in order.
+ *
+ * @since 9.0
+ */
+@Test(groups = "functional", testName = "remoting.transport.jgroups.CommandBundlingFuncTest")
+public class CommandBundlingFuncTest extends MultipleCacheManagersTest {
+
+   private static final int NUM_NODES = 3;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_ASYNC, false);
+      builder.clustering().hash().numOwners(NUM_NODES);
+      for (int i = 0; i < NUM_NODES; i++) {
+         GlobalConfigurationBuilder gcb = GlobalConfigurationBuilder.defaultClusteredBuilder();
+         gcb.transport().addProperty(JGroupsTransport.BUNDLE_DELAY, "500").addProperty(JGroupsTransport.BUNDLE_MAX_COMMANDS, "16");
+         addClusterEnabledCacheManager(gcb, builder);
+      }
+      waitForClusterToForm();
+   }
+
+   public void testBundlingEnabled() {
+      for (Cache<Object, Object> cache : caches()) {
+         JGroupsTransport transport = (JGroupsTransport) TestingUtil.extractGlobalComponent(cache.getCacheManager(), Transport.class);
+         assertNotNull(transport.getCommandAwareRpcDispatcher().getBundler());
+      }
+   }
+
+   public void testAllWritesApplied() {
+      for (int i = 0; i < 200; i++) {
+         cache(i % NUM_NODES).put("k" + i, "v" + i);
+      }
+      for (int i = 0; i < 200; i++) {
+         String key = "k" + i;
+         String value = "v" + i;
+         for (Cache<Object, Object> cache : caches()) {
+            eventuallyEquals(value, () -> cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).get(key));
+         }
+      }
+   }
+
+   public void testWritesAppliedInOrder() {
+      for (int i = 0; i < 100; i++) {
+         cache(0).put("key", i);
+      }
+      for (Cache<Object, Object> cache : caches()) {
+         eventuallyEquals(99, () -> cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).get("key"));
+      }
+   }
+}
@@ -0,0 +1,88 @@
+package org.infinispan.remoting.transport.jgroups;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.util.ControlledTimeService;
+import org.jgroups.Address;
+import org.jgroups.util.UUID;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the adaptive stagger delays and the ordering of the owners of {@link StaggeredRequestTracker}.
+ *
+ * @since 9.0
+ */
+@Test(groups = "unit", testName = "remoting.transport.jgroups.StaggeredRequestTrackerTest")
+public class StaggeredRequestTrackerTest {
+
+   private static final long DEFAULT_DELAY = TimeUnit.MILLISECONDS.toNanos(5);
+
+   private final Address a = UUID.randomUUID();
+   private final Address b = UUID.randomUUID();
+   private final Address c = UUID.randomUUID();
+
+   public void testDefaultDelayWithoutSamples() {
+      StaggeredRequestTracker tracker = new StaggeredRequestTracker(new ControlledTimeService(0), DEFAULT_DELAY);
+      assertEquals(DEFAULT_DELAY, tracker.delayNanos(a));
+   }
+
+   public void testDelayAdaptsToResponseTimes() {
+      ControlledTimeService timeService = new ControlledTimeService(0);
+      StaggeredRequestTracker tracker = new StaggeredRequestTracker(timeService, DEFAULT_DELAY);
+
+      for (int i = 0; i < 50; i++) {
+         long sendTime = timeService.time();
+         timeService.advance(2);
+         tracker.responseReceived(a, sendTime);
+      }
+      // Constant response times: the estimate converges to the response time
+      long delay = tracker.delayNanos(a);
+      assertTrue(delay >= TimeUnit.MILLISECONDS.toNanos(2));
+      assertTrue(delay < TimeUnit.MILLISECONDS.toNanos(3));
+      assertEquals(DEFAULT_DELAY, tracker.delayNanos(b));
+
+      for (int i = 0; i < 50; i++) {
+         long sendTime = timeService.time();
+         timeService.advance(1000);
+         tracker.responseReceived(a, sendTime);
+      }
+      // The delay never exceeds ten times the default delay
+      assertEquals(10 * DEFAULT_DELAY, tracker.delayNanos(a));
+   }
+
+   public void testSlowNodesAskedLast() {
+      ControlledTimeService timeService = new ControlledTimeService(0);
+      StaggeredRequestTracker tracker = new StaggeredRequestTracker(timeService, DEFAULT_DELAY);
+      List<Address> recipients = Arrays.asList(a, b, c);
+
+      assertSame(recipients, tracker.order(recipients));
+
+      tracker.hedged(a);
+      assertEquals(Arrays.asList(b, c, a), tracker.order(recipients));
+      assertEquals(2, tracker.getStaggeredRequests());
+      assertEquals(1, tracker.getHedgedRequests());
+
+      timeService.advance(TimeUnit.NANOSECONDS.toMillis(StaggeredRequestTracker.RECOVERY_NANOS));
+      assertSame(recipients, tracker.order(recipients));
+   }
+
+   public void testLeaversForgotten() {
+      ControlledTimeService timeService = new ControlledTimeService(0);
+      StaggeredRequestTracker tracker = new StaggeredRequestTracker(timeService, DEFAULT_DELAY);
+      long sendTime = timeService.time();
+      timeService.advance(1);
+      tracker.responseReceived(a, sendTime);
+      tracker.responseReceived(b, sendTime);
+      assertEquals(2, tracker.getResponseTimeEstimates().size());
+
+      tracker.retainAll(Collections.singletonList(b));
+      assertEquals(Collections.singleton(b.toString()), tracker.getResponseTimeEstimates().keySet());
+   }
+}
@@ -0,0 +1,72 @@
+package org.infinispan.statetransfer;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Set;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.DataContainer;
+import org.infinispan.container.SegmentedDataContainer;
+import org.infinispan.distribution.ch.ConsistentHash;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Checks that state transfer moves all the entries when the data container is partitioned by segment.
+ *
+ * @since 9.0
+ */
+@Test(groups = "functional", testName = "statetransfer.SegmentedDataContainerStateTransferTest")
+public class SegmentedDataContainerStateTransferTest extends MultipleCacheManagersTest {
+
+   private static final int NUM_KEYS = 500;
+   private static final int NUM_OWNERS = 2;
+
+   private ConfigurationBuilder builder;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC)
+            .l1().disable()
+            .hash().numOwners(NUM_OWNERS).numSegments(32)
+            .stateTransfer().chunkSize(50)
+            .dataContainer().segmented(true);
+      createCluster(builder, 2);
+      waitForClusterToForm();
+   }
+
+   public void testJoinAndLeave() {
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache(0).put(i, "v" + i);
+      }
+      assertTrue(cache(0).getAdvancedCache().getDataContainer() instanceof SegmentedDataContainer);
+
+      addClusterEnabledCacheManager(builder);
+      waitForClusterToForm();
+      assertOwnedEntries();
+
+      killMember(0);
+      assertOwnedEntries();
+   }
+
+   private void assertOwnedEntries() {
+      int total = 0;
+      for (Cache<Object, Object> cache : caches()) {
+         DataContainer<Object, Object> dataContainer = cache.getAdvancedCache().getDataContainer();
+         ConsistentHash ch = cache.getAdvancedCache().getDistributionManager().getReadConsistentHash();
+         Set<Integer> segments = ch.getSegmentsForOwner(cache.getCacheManager().getAddress());
+         // each node must hold exactly the entries of the segments it owns
+         assertEquals(dataContainer.sizeIncludingExpired(), dataContainer.sizeIncludingExpired(segments, ch::getSegment));
+         total += dataContainer.sizeIncludingExpired();
+      }
+      assertEquals(NUM_KEYS * NUM_OWNERS, total);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         assertEquals("v" + i, cache(0).get(i));
+      }
+   }
+}
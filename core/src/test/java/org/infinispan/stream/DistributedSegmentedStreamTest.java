@@ -0,0 +1,16 @@
+package org.infinispan.stream;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Verifies stream tests work on a distributed stream whose data container is partitioned by segment
+ */
+@Test(groups = "functional", testName = "streams.DistributedSegmentedStreamTest")
+public class DistributedSegmentedStreamTest extends DistributedStreamTest {
+
+   @Override
+   protected void enhanceConfiguration(ConfigurationBuilder builder) {
+      builder.dataContainer().segmented(true);
+   }
+}
@@ -1,5 +1,7 @@
 package org.infinispan.stream;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anySetOf;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.testng.AssertJUnit.assertNotNull;
@@ -9,6 +11,7 @@
 import org.infinispan.commons.CacheException;
 import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.container.DataContainer;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.test.TestingUtil;
 import org.testng.annotations.Test;
 
@@ -31,7 +34,9 @@ public void ensureDataContainerRemoteExceptionPropagated() {
       DataContainer dataContainer = TestingUtil.extractComponent(cache1, DataContainer.class);
       try {
          Throwable t = new AssertionError();
-         DataContainer mockContainer = when(mock(DataContainer.class).iterator()).thenThrow(t).getMock();
+         DataContainer mockContainer = mock(DataContainer.class);
+         when(mockContainer.iterator()).thenThrow(t);
+         when(mockContainer.iterator(anySetOf(Integer.class), any(KeyPartitioner.class))).thenThrow(t);
          TestingUtil.replaceComponent(cache1, DataContainer.class, mockContainer, true);
 
          try {
@@ -41,6 +41,7 @@
 import org.infinispan.distribution.DistributionManager;
 import org.infinispan.distribution.MagicKey;
 import org.infinispan.distribution.ch.ConsistentHash;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.remoting.rpc.RpcManager;
 import org.infinispan.remoting.rpc.RpcOptions;
 import org.infinispan.remoting.transport.Address;
@@ -409,7 +410,7 @@ protected DataContainer waitUntilDataContainerWillBeIteratedOn(final Cache<?, ?>
       final Answer<Object> forwardedAnswer = AdditionalAnswers.delegatesTo(rpc);
       DataContainer mocaContainer = mock(DataContainer.class, withSettings().defaultAnswer(forwardedAnswer));
       final AtomicInteger invocationCount = new AtomicInteger();
-      doAnswer(invocation -> {
+      Answer<Object> waitingAnswer = invocation -> {
          boolean waiting = false;
          if (invocationCount.getAndIncrement() == 0) {
             waiting = true;
@@ -430,7 +431,10 @@ protected DataContainer waitUntilDataContainerWillBeIteratedOn(final Cache<?, ?>
                checkPoint.awaitStrict("post_iterator_released", 10, TimeUnit.SECONDS);
             }
          }
-      }).when(mocaContainer).iterator();
+      };
+      doAnswer(waitingAnswer).when(mocaContainer).iterator();
+      // remote stream requests only iterate over the requested segments
+      doAnswer(waitingAnswer).when(mocaContainer).iterator(anySetOf(Integer.class), any(KeyPartitioner.class));
       TestingUtil.replaceComponent(cache, DataContainer.class, mocaContainer, true);
       return rpc;
    }
@@ -163,6 +163,21 @@ public void handleInStoreExpiration(MarshalledEntry marshalledEntry) {
 
                  }
 
+                 @Override
+                 public void scheduleExpiration(InternalCacheEntry entry) {
+
+                 }
+
+                 @Override
+                 public void unscheduleExpiration(Object key) {
+
+                 }
+
+                 @Override
+                 public void unscheduleAllExpirations() {
+
+                 }
+
                  @Override
                  public void registerWriteIncoming(Object key) {
 
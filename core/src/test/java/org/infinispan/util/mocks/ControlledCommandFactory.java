@@ -73,6 +73,8 @@
 import org.infinispan.functional.impl.Params;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.metadata.Metadata;
+import org.infinispan.notifications.cachelistener.cluster.ClusterEvent;
+import org.infinispan.notifications.cachelistener.cluster.ClusterEventCommand;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.statetransfer.StateChunk;
 import org.infinispan.statetransfer.StateRequestCommand;
@@ -86,6 +88,7 @@
 import org.infinispan.util.logging.LogFactory;
 import org.infinispan.xsite.SingleXSiteRpcCommand;
 import org.infinispan.xsite.XSiteAdminCommand;
+import org.infinispan.xsite.XSiteBulkUpdateCommand;
 import org.infinispan.xsite.statetransfer.XSiteState;
 import org.infinispan.xsite.statetransfer.XSiteStatePushCommand;
 import org.infinispan.xsite.statetransfer.XSiteStateTransferControlCommand;
@@ -363,6 +366,16 @@ public XSiteStatePushCommand buildXSiteStatePushCommand(XSiteState[] chunk, long
       return actual.buildXSiteStatePushCommand(chunk, timeoutMillis);
    }
 
+   @Override
+   public XSiteBulkUpdateCommand buildXSiteBulkUpdateCommand(boolean clear, byte[] updates) {
+      return actual.buildXSiteBulkUpdateCommand(clear, updates);
+   }
+
+   @Override
+   public ClusterEventCommand buildClusterEventCommand(Map<UUID, Collection<ClusterEvent<?, ?>>> events) {
+      return actual.buildClusterEventCommand(events);
+   }
+
    @Override
    public SingleXSiteRpcCommand buildSingleXSiteRpcCommand(VisitableCommand command) {
       return actual.buildSingleXSiteRpcCommand(command);
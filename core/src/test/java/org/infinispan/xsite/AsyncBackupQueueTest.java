@@ -0,0 +1,93 @@
+package org.infinispan.xsite;
+
+import static org.mockito.Mockito.mock;
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.infinispan.commands.CommandInvocationId;
+import org.infinispan.commands.write.PutKeyValueCommand;
+import org.infinispan.commands.write.WriteCommand;
+import org.infinispan.commons.equivalence.AnyEquivalence;
+import org.infinispan.commons.util.EnumUtil;
+import org.infinispan.configuration.cache.BackupConfiguration;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.util.DefaultTimeService;
+import org.infinispan.util.concurrent.WithinThreadExecutor;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the updates queued together by {@link AsyncBackupQueue} are sent in the same batch, with a sender that
+ * records the batches instead of sending them.
+ *
+ * @since 9.0
+ */
+@Test(groups = "unit", testName = "xsite.AsyncBackupQueueTest")
+public class AsyncBackupQueueTest extends AbstractInfinispanTest {
+
+   private static final int BATCH_SIZE = 3;
+
+   private final List<List<Object>> batches = new ArrayList<>();
+
+   public void testTransactionNotSplit() {
+      AsyncBackupQueue queue = createQueue();
+      queue.offer(Arrays.asList(put("k1")));
+      // The batch size is reached in the middle of the transaction
+      queue.offer(Arrays.asList(put("k2"), put("k3"), put("k4")));
+
+      assertEquals(1, batches.size());
+      assertEquals(Arrays.asList("k1", "k2", "k3", "k4"), batches.get(0));
+      assertEquals(0, queue.size());
+   }
+
+   public void testConflatedTransactionNotSplit() {
+      AsyncBackupQueue queue = createQueue();
+      queue.offer(Arrays.asList(put("k1")));
+      queue.offer(Arrays.asList(put("k2")));
+      // k1 keeps its position, so the transaction spans the whole queue
+      queue.offer(Arrays.asList(put("k3"), put("k4"), put("k1")));
+
+      assertEquals(1, batches.size());
+      assertEquals(Arrays.asList("k1", "k2", "k3", "k4"), batches.get(0));
+   }
+
+   public void testBatchSizeBetweenTransactions() {
+      AsyncBackupQueue queue = createQueue();
+      queue.offer(Arrays.asList(put("k1"), put("k2")));
+      queue.offer(Arrays.asList(put("k3")));
+      queue.offer(Arrays.asList(put("k4")));
+
+      assertEquals(Arrays.asList("k1", "k2", "k3"), batches.get(0));
+      assertEquals(1, queue.size());
+   }
+
+   private AsyncBackupQueue createQueue() {
+      batches.clear();
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.sites().addBackup().site("NYC").strategy(BackupConfiguration.BackupStrategy.ASYNC)
+            .asyncBatchSize(BATCH_SIZE).asyncBatchDelay(60000);
+      BackupConfiguration configuration = builder.build().sites().allBackups().get(0);
+      BackupSenderImpl sender = new BackupSenderImpl("LON") {
+         @Override
+         void sendBulkUpdate(XSiteBackup backup, boolean clear, Object[] updates) {
+            List<Object> keys = new ArrayList<>();
+            for (int i = 0; i < updates.length; i += 3) {
+               keys.add(updates[i]);
+            }
+            batches.add(keys);
+         }
+      };
+      return new AsyncBackupQueue(configuration, AnyEquivalence.getInstance(), sender, new DefaultTimeService(),
+            new WithinThreadExecutor(), mock(ScheduledExecutorService.class));
+   }
+
+   private static WriteCommand put(Object key) {
+      return new PutKeyValueCommand(key, "v", false, null, new EmbeddedMetadata.Builder().build(),
+            EnumUtil.EMPTY_BIT_SET, AnyEquivalence.getInstance(), CommandInvocationId.generateId(null));
+   }
+}
@@ -0,0 +1,117 @@
+package org.infinispan.xsite;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.infinispan.configuration.cache.BackupConfiguration;
+import org.infinispan.configuration.cache.BackupConfigurationBuilder;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the batching of the asynchronous backups, with a delay long enough for the batches to be sent only when
+ * {@link #BATCH_SIZE} distinct keys are queued.
+ *
+ * @since 9.0
+ */
+@Test(groups = "xsite", testName = "xsite.AsyncBatchingBackupTest")
+public class AsyncBatchingBackupTest extends AbstractTwoSitesTest {
+
+   private static final int BATCH_SIZE = 5;
+
+   public AsyncBatchingBackupTest() {
+      lonBackupStrategy = BackupConfiguration.BackupStrategy.ASYNC;
+      // The updates are queued by the primary owner, a single node makes the batches predictable
+      initialClusterSize = 1;
+   }
+
+   @Override
+   protected void adaptLONConfiguration(BackupConfigurationBuilder builder) {
+      builder.asyncBatchSize(BATCH_SIZE).asyncBatchDelay(60000);
+   }
+
+   @Override
+   protected ConfigurationBuilder getNycActiveConfig() {
+      return getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false);
+   }
+
+   @Override
+   protected ConfigurationBuilder getLonActiveConfig() {
+      return getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false);
+   }
+
+   public void testConflatedBatch() {
+      for (int i = 0; i < 3; i++) {
+         cache(LON, 0).put("conflated", "v" + i);
+      }
+      for (int i = 1; i < BATCH_SIZE - 1; i++) {
+         cache(LON, 0).put("conflated" + i, "v");
+      }
+      assertEquals(String.valueOf(BATCH_SIZE - 1), admin().getAsyncQueueSize(NYC));
+      assertNull(backup(LON).get("conflated"));
+
+      cache(LON, 0).put("conflated" + (BATCH_SIZE - 1), "v");
+      eventuallyEquals("v2", () -> backup(LON).get("conflated"));
+      for (int i = 1; i < BATCH_SIZE; i++) {
+         assertEquals("v", backup(LON).get("conflated" + i));
+      }
+      eventuallyEquals("0", () -> admin().getAsyncQueueSize(NYC));
+   }
+
+   public void testRemoveAndClear() {
+      for (int i = 0; i < BATCH_SIZE; i++) {
+         cache(LON, 0).put("x" + i, "v");
+      }
+      eventuallyEquals("v", () -> backup(LON).get("x" + (BATCH_SIZE - 1)));
+
+      cache(LON, 0).remove("x0");
+      for (int i = 1; i < BATCH_SIZE; i++) {
+         cache(LON, 0).put("y" + i, "v");
+      }
+      eventuallyEquals("v", () -> backup(LON).get("y" + (BATCH_SIZE - 1)));
+      assertNull(backup(LON).get("x0"));
+      assertEquals("v", backup(LON).get("x1"));
+
+      cache(LON, 0).clear();
+      for (int i = 0; i < BATCH_SIZE; i++) {
+         cache(LON, 0).put("z" + i, "v");
+      }
+      eventuallyEquals(BATCH_SIZE, () -> backup(LON).size());
+      for (int i = 0; i < BATCH_SIZE; i++) {
+         assertEquals("v", backup(LON).get("z" + i));
+      }
+   }
+
+   public void testLargeValuesAreCompressed() {
+      StringBuilder value = new StringBuilder();
+      for (int i = 0; i < 1000; i++) {
+         value.append("compressible");
+      }
+      for (int i = 0; i < BATCH_SIZE; i++) {
+         cache(LON, 0).put("large" + i, value.toString());
+      }
+      eventuallyEquals(value.toString(), () -> backup(LON).get("large" + (BATCH_SIZE - 1)));
+   }
+
+   public void testAdminOperations() {
+      assertTrue(admin().getAsyncQueueSize("NOT_A_SITE").startsWith("Incorrect site name"));
+      assertTrue(admin().getAsyncReplicationLag("NOT_A_SITE").startsWith("Incorrect site name"));
+
+      cache(LON, 0).put("lag1", "v");
+      cache(LON, 0).put("lag2", "v");
+      assertEquals("2", admin().getAsyncQueueSize(NYC));
+      eventually(() -> Long.parseLong(admin().getAsyncReplicationLag(NYC)) > 0);
+
+      for (int i = 3; i <= BATCH_SIZE; i++) {
+         cache(LON, 0).put("lag" + i, "v");
+      }
+      eventuallyEquals("0", () -> admin().getAsyncQueueSize(NYC));
+      assertEquals("0", admin().getAsyncReplicationLag(NYC));
+   }
+
+   private XSiteAdminOperations admin() {
+      return cache(LON, 0).getAdvancedCache().getComponentRegistry().getComponent(XSiteAdminOperations.class);
+   }
+}
@@ -41,4 +41,9 @@ public void handleStateTransferControl(XSiteStateTransferControlCommand command)
    public void handleStateTransferState(XSiteStatePushCommand cmd) throws Exception {
       delegate.handleStateTransferState(cmd);
    }
+
+   @Override
+   public void handleBulkUpdate(XSiteBulkUpdateCommand command) throws Exception {
+      delegate.handleBulkUpdate(command);
+   }
 }
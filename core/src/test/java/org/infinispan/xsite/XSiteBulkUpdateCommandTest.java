@@ -0,0 +1,61 @@
+package org.infinispan.xsite;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Arrays;
+
+import org.infinispan.commands.CommandsFactory;
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that an initialized {@link XSiteBulkUpdateCommand} applies its updates to the local cache.
+ *
+ * @since 9.0
+ */
+@Test(groups = "functional", testName = "xsite.XSiteBulkUpdateCommandTest")
+public class XSiteBulkUpdateCommandTest extends SingleCacheManagerTest {
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      return TestCacheManagerFactory.createCacheManager(false);
+   }
+
+   public void testPerform() throws Throwable {
+      cache.put("removed", "v");
+      XSiteBulkUpdateCommand command = buildCommand(false, "k1", "v1", null, "removed", null, null);
+      command.perform(null);
+
+      assertEquals("v1", cache.get("k1"));
+      assertFalse(cache.containsKey("removed"));
+   }
+
+   public void testPerformWithClearAndCompression() throws Throwable {
+      cache.put("cleared", "v");
+      char[] chars = new char[2 * XSiteBulkUpdateCommand.COMPRESSION_THRESHOLD];
+      Arrays.fill(chars, 'x');
+      String value = new String(chars);
+      XSiteBulkUpdateCommand command = buildCommand(true, "k1", value, null);
+      assertTrue(command.isCompressed());
+      command.perform(null);
+
+      assertEquals(value, cache.get("k1"));
+      assertNull(cache.get("cleared"));
+   }
+
+   private XSiteBulkUpdateCommand buildCommand(boolean clear, Object... updates) throws Exception {
+      StreamingMarshaller marshaller = TestingUtil.extractComponentRegistry(cache).getCacheMarshaller();
+      CommandsFactory commandsFactory = TestingUtil.extractCommandsFactory(cache);
+      XSiteBulkUpdateCommand command = commandsFactory.buildXSiteBulkUpdateCommand(clear,
+            marshaller.objectToByteBuffer(updates));
+      commandsFactory.initializeReplicableCommand(command, false);
+      return command;
+   }
+}
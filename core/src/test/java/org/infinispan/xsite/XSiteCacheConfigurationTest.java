@@ -69,6 +69,31 @@ public void testSameBackupDefinedMultipleTimes() {
       cb.build();
    }
 
+   @Test(expectedExceptions = CacheConfigurationException.class)
+   public void testAsyncBatchingWithSyncBackup() {
+      ConfigurationBuilder cb = new ConfigurationBuilder();
+      cb.
+            sites().addBackup()
+               .site("LON")
+               .strategy(BackupConfiguration.BackupStrategy.SYNC)
+               .asyncBatchSize(100);
+      cb.build();
+   }
+
+   public void testAsyncBatching() {
+      ConfigurationBuilder cb = new ConfigurationBuilder();
+      cb.
+            sites().addBackup()
+               .site("LON")
+               .strategy(BackupConfiguration.BackupStrategy.ASYNC)
+               .asyncBatchSize(100)
+               .asyncBatchDelay(50);
+      BackupConfiguration backup = cb.build().sites().allBackups().get(0);
+      assertEquals(backup.asyncBatchSize(), 100);
+      assertEquals(backup.asyncBatchDelay(), 50);
+      assertEquals(backup.isAsyncBatching(), true);
+   }
+
    @Test(expectedExceptions = CacheConfigurationException.class)
    public void testBackupSiteNotSpecified() {
       ConfigurationBuilder cb = new ConfigurationBuilder();
@@ -1,5 +1,6 @@
 package org.infinispan.objectfilter.impl.aggregation;
 
+import java.io.Serializable;
 
 /**
  * Computes the sum and average of doubles. The implementation uses compensated summation in order to reduce the error bound in the
@@ -9,7 +10,7 @@
  * @author anistor@redhat.com
  * @since 8.1
  */
-final class DoubleStat {
+final class DoubleStat implements Serializable {
 
    private long count;
    private double sum;
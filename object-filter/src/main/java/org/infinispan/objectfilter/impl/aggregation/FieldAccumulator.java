@@ -1,14 +1,17 @@
 package org.infinispan.objectfilter.impl.aggregation;
 
+import java.io.Serializable;
+
 import org.infinispan.objectfilter.PropertyPath;
 
 /**
- * An accumulator is a stateless object that operates on row data.
+ * An accumulator is a stateless object that operates on row data. Accumulators and the partial states they keep in the
+ * rows are serializable, so that groups aggregated on other nodes can be merged (see {@link Grouper#merge}).
  *
  * @author anistor@redhat.com
  * @since 8.0
  */
-public abstract class FieldAccumulator {
+public abstract class FieldAccumulator implements Serializable {
 
    /**
     * Input column.
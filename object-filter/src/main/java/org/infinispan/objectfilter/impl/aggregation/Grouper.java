@@ -1,6 +1,7 @@
 package org.infinispan.objectfilter.impl.aggregation;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -145,6 +146,68 @@ public void addRow(Object[] row) {
       }
    }
 
+   /**
+    * Merges the groups of another grouper, having the same grouping columns and accumulators, into this one. The other
+    * grouper must not be finished, its accumulators are expected to hold partial states.
+    */
+   public void merge(Grouper other) {
+      if (other.noOfGroupingColumns != noOfGroupingColumns || other.outRowLength != outRowLength) {
+         throw new IllegalArgumentException("Grouper mismatch");
+      }
+      if (noOfGroupingColumns > 0) {
+         for (Object[] row : other.groups.values()) {
+            mergeGroup(row);
+         }
+      } else {
+         mergeGroup(other.globalGroup);
+      }
+   }
+
+   /**
+    * Merges a group row, as returned by {@link #getGroups()}, into the groups of this grouper.
+    */
+   public void mergeGroup(Object[] groupRow) {
+      if (groupRow.length != outRowLength) {
+         throw new IllegalArgumentException("Row length mismatch");
+      }
+      Object[] existingGroup;
+      if (noOfGroupingColumns > 0) {
+         GroupRowKey groupRowKey = new GroupRowKey(groupRow);
+         existingGroup = groups.get(groupRowKey);
+         if (existingGroup == null) {
+            groups.put(groupRowKey, groupRow);
+            return;
+         }
+      } else {
+         existingGroup = globalGroup;
+      }
+      if (accumulators != null) {
+         for (FieldAccumulator acc : accumulators) {
+            acc.merge(existingGroup, groupRow[acc.outPos]);
+         }
+      }
+   }
+
+   /**
+    * Returns the rows of the groups, with the partial states of the accumulators. Must not be called after {@link
+    * #finish()}.
+    */
+   public Collection<Object[]> getGroups() {
+      return groups != null ? groups.values() : Collections.singleton(globalGroup);
+   }
+
+   public int getNoOfGroupingColumns() {
+      return noOfGroupingColumns;
+   }
+
+   public FieldAccumulator[] getAccumulators() {
+      return accumulators;
+   }
+
+   public boolean isTwoPhaseAcc() {
+      return twoPhaseAcc;
+   }
+
    public Iterator<Object[]> finish() {
       if (groups != null) {
          return new Iterator<Object[]>() {
@@ -8,6 +8,11 @@
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Executor;
 
 import javax.transaction.Transaction;
@@ -133,6 +138,56 @@ public void write(MarshalledEntry entry) {
       }
    }
 
+   @Override
+   public void writeBatch(Iterable<MarshalledEntry<? extends K, ? extends V>> marshalledEntries) {
+      Connection connection = null;
+      boolean autoCommit = true;
+      try {
+         connection = connectionFactory.getConnection();
+         autoCommit = connection.getAutoCommit();
+         connection.setAutoCommit(false);
+         if (tableManager.isUpsertSupported()) {
+            String sql = tableManager.getUpsertRowSql();
+            if (trace) {
+               log.tracef("Running sql '%s' in batches of %d", sql, tableManager.getBatchSize());
+            }
+            try (PreparedStatement upsertBatch = connection.prepareStatement(sql)) {
+               int batched = 0;
+               for (MarshalledEntry entry : marshalledEntries) {
+                  prepareUpdateStatement(entry, key2Str(entry.getKey()), upsertBatch);
+                  upsertBatch.addBatch();
+                  if (++batched == tableManager.getBatchSize()) {
+                     upsertBatch.executeBatch();
+                     batched = 0;
+                  }
+               }
+               if (batched > 0)
+                  upsertBatch.executeBatch();
+            }
+         } else {
+            for (MarshalledEntry entry : marshalledEntries) {
+               write(entry, connection);
+            }
+         }
+         connection.commit();
+      } catch (SQLException ex) {
+         rollback(connection);
+         log.sqlFailureStoringKeys(ex);
+         throw new PersistenceException("Error while storing string keys to database", ex);
+      } catch (InterruptedException e) {
+         rollback(connection);
+         if (trace) {
+            log.trace("Interrupted while marshalling to store");
+         }
+         Thread.currentThread().interrupt();
+      } catch (RuntimeException e) {
+         rollback(connection);
+         throw e;
+      } finally {
+         releaseBatchConnection(connection, autoCommit);
+      }
+   }
+
    private void write(MarshalledEntry entry, Connection connection) throws SQLException, InterruptedException {
       write(entry, connection, key2Str(entry.getKey()));
    }
@@ -224,6 +279,62 @@ public MarshalledEntry load(Object key) {
       return storedValue;
    }
 
+   @Override
+   public Map<Object, MarshalledEntry<K, V>> loadAll(Set<?> keys) {
+      Map<String, Object> keysByString = new HashMap<>(keys.size());
+      for (Object key : keys) {
+         keysByString.put(key2Str(key), key);
+      }
+      Map<Object, MarshalledEntry<K, V>> entries = new HashMap<>(keys.size());
+      long now = ctx.getTimeService().wallClockTime();
+      Connection conn = null;
+      try {
+         conn = connectionFactory.getConnection();
+         // Bound the number of parameters of a single statement
+         List<String> batch = new ArrayList<>(tableManager.getBatchSize());
+         for (String keyStr : keysByString.keySet()) {
+            batch.add(keyStr);
+            if (batch.size() == tableManager.getBatchSize()) {
+               loadBatch(conn, batch, keysByString, entries, now);
+               batch.clear();
+            }
+         }
+         if (!batch.isEmpty()) {
+            loadBatch(conn, batch, keysByString, entries, now);
+         }
+      } catch (SQLException e) {
+         log.sqlFailureReadingKeys(keys.size(), e);
+         throw new PersistenceException(String.format("SQL error while fetching the stored entries of %d keys", keys.size()), e);
+      } finally {
+         connectionFactory.releaseConnection(conn);
+      }
+      return entries;
+   }
+
+   private void loadBatch(Connection conn, List<String> keyStrings, Map<String, Object> keysByString,
+                          Map<Object, MarshalledEntry<K, V>> entries, long now) throws SQLException {
+      String sql = tableManager.getSelectMultipleRowSql(keyStrings.size());
+      if (trace) {
+         log.tracef("Running sql '%s' for %d keys", sql, keyStrings.size());
+      }
+      try (PreparedStatement ps = conn.prepareStatement(sql)) {
+         int count = 0;
+         for (String keyStr : keyStrings) {
+            ps.setString(++count, keyStr);
+         }
+         try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+               Object key = keysByString.get(rs.getString(1));
+               KeyValuePair<ByteBuffer, ByteBuffer> icv = unmarshall(rs.getBinaryStream(2));
+               MarshalledEntry<K, V> entry = ctx.getMarshalledEntryFactory().newMarshalledEntry(key, icv.getKey(), icv.getValue());
+               if (entry.getMetadata() == null || !entry.getMetadata().isExpired(now)) {
+                  entries.put(key, entry);
+               }
+            }
+         }
+      }
+   }
+
    @Override
    public boolean delete(Object key) {
       Connection connection = null;
@@ -247,6 +358,67 @@ public boolean delete(Object key) {
       }
    }
 
+   @Override
+   public void deleteBatch(Iterable<Object> keys) {
+      Connection connection = null;
+      boolean autoCommit = true;
+      String sql = tableManager.getDeleteRowSql();
+      if (trace) {
+         log.tracef("Running sql '%s' in batches of %d", sql, tableManager.getBatchSize());
+      }
+      try {
+         connection = connectionFactory.getConnection();
+         autoCommit = connection.getAutoCommit();
+         connection.setAutoCommit(false);
+         try (PreparedStatement deleteBatch = connection.prepareStatement(sql)) {
+            int batched = 0;
+            for (Object key : keys) {
+               deleteBatch.setString(1, key2Str(key));
+               deleteBatch.addBatch();
+               if (++batched == tableManager.getBatchSize()) {
+                  deleteBatch.executeBatch();
+                  batched = 0;
+               }
+            }
+            if (batched > 0)
+               deleteBatch.executeBatch();
+         }
+         connection.commit();
+      } catch (SQLException ex) {
+         rollback(connection);
+         log.sqlFailureRemovingKeys(ex);
+         throw new PersistenceException("Error while removing string keys from database", ex);
+      } catch (RuntimeException e) {
+         rollback(connection);
+         throw e;
+      } finally {
+         releaseBatchConnection(connection, autoCommit);
+      }
+   }
+
+   private void rollback(Connection connection) {
+      if (connection == null)
+         return;
+      try {
+         connection.rollback();
+      } catch (SQLException e) {
+         log.sqlFailureTxRollback(e);
+      }
+   }
+
+   private void releaseBatchConnection(Connection connection, boolean autoCommit) {
+      if (connection == null)
+         return;
+      try {
+         // Pooled connections are shared with the per-key operations, which rely on auto-commit
+         connection.setAutoCommit(autoCommit);
+      } catch (SQLException e) {
+         log.debug("Unable to restore the auto-commit mode of the connection", e);
+      } finally {
+         connectionFactory.releaseConnection(connection);
+      }
+   }
+
    @Override
    public void purge(Executor executor, PurgeListener purgeListener) {
       Connection conn = null;
@@ -4,9 +4,11 @@
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
@@ -38,6 +40,8 @@
 import org.iq80.leveldb.DBIterator;
 import org.iq80.leveldb.Options;
 import org.iq80.leveldb.ReadOptions;
+import org.iq80.leveldb.Snapshot;
+import org.iq80.leveldb.WriteBatch;
 
 @ConfiguredBy(LevelDBStoreConfiguration.class)
 public class LevelDBStore implements AdvancedLoadWriteStore {
@@ -445,6 +449,53 @@ public void write(MarshalledEntry me) {
         }
     }
 
+    @Override
+    public void writeBatch(Iterable marshalledEntries) {
+        try {
+            List<MarshalledEntry> expirableEntries = new ArrayList<>();
+            try (WriteBatch batch = db.createWriteBatch()) {
+                for (Object entry : marshalledEntries) {
+                    MarshalledEntry me = (MarshalledEntry) entry;
+                    batch.put(marshall(me.getKey()), marshall(me));
+                    InternalMetadata meta = me.getMetadata();
+                    if (meta != null && meta.expiryTime() > -1) {
+                        expirableEntries.add(me);
+                    }
+                }
+                writeBatch(batch);
+            }
+            for (MarshalledEntry me : expirableEntries) {
+                addNewExpiry(me);
+            }
+        } catch (Exception e) {
+            throw new PersistenceException(e);
+        }
+    }
+
+    @Override
+    public void deleteBatch(Iterable keys) {
+        try (WriteBatch batch = db.createWriteBatch()) {
+            for (Object key : keys) {
+                batch.delete(marshall(key));
+            }
+            writeBatch(batch);
+        } catch (Exception e) {
+            throw new PersistenceException(e);
+        }
+    }
+
+    private void writeBatch(WriteBatch batch) throws InterruptedException {
+        semaphore.acquire();
+        try {
+            if (stopped) {
+                throw new PersistenceException("LevelDB is stopped");
+            }
+            db.write(batch);
+        } finally {
+            semaphore.release();
+        }
+    }
+
     @Override
     public MarshalledEntry load(Object key) {
         try {
@@ -471,6 +522,42 @@ public MarshalledEntry load(Object key) {
         }
     }
 
+    @Override
+    public Map<Object, MarshalledEntry> loadAll(Set keys) {
+        try {
+            List<byte[]> marshalledEntries = new ArrayList<>(keys.size());
+            semaphore.acquire();
+            try {
+                if (stopped) {
+                    throw new PersistenceException("LevelDB is stopped");
+                }
+                // Read all the keys from the same snapshot
+                try (Snapshot snapshot = db.getSnapshot()) {
+                    ReadOptions readOptions = new ReadOptions().snapshot(snapshot);
+                    for (Object key : keys) {
+                        marshalledEntries.add(db.get(marshall(key), readOptions));
+                    }
+                }
+            } finally {
+                semaphore.release();
+            }
+            Map<Object, MarshalledEntry> entries = new HashMap<>(keys.size());
+            long now = ctx.getTimeService().wallClockTime();
+            for (byte[] marshalledEntry : marshalledEntries) {
+                MarshalledEntry me = (MarshalledEntry) unmarshall(marshalledEntry);
+                if (me == null) continue;
+
+                InternalMetadata meta = me.getMetadata();
+                if (meta == null || !meta.isExpired(now)) {
+                    entries.put(me.getKey(), me);
+                }
+            }
+            return entries;
+        } catch (Exception e) {
+            throw new PersistenceException(e);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public void purge(Executor executor, PurgeListener purgeListener) {
@@ -1,5 +1,12 @@
 package org.infinispan.persistence.remote;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
@@ -32,6 +39,7 @@
 import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.util.KeyValuePair;
 import org.infinispan.util.logging.LogFactory;
 
 import net.jcip.annotations.ThreadSafe;
@@ -124,6 +132,17 @@ public MarshalledEntry load(Object key) throws PersistenceException {
       }
    }
 
+   @Override
+   public Map<Object, MarshalledEntry> loadAll(Set keys) throws PersistenceException {
+      if (configuration.rawValues()) {
+         // getAll does not return the metadata of the entries
+         return AdvancedLoadWriteStore.super.loadAll(keys);
+      }
+      Map<Object, MarshalledEntry> entries = new HashMap<>(keys.size());
+      remoteCache.getAll(keys).forEach((k, v) -> entries.put(k, (MarshalledEntry) v));
+      return entries;
+   }
+
    @Override
    public boolean contains(Object key) throws PersistenceException {
       return remoteCache.containsKey(key);
@@ -170,6 +189,27 @@ public void write(MarshalledEntry entry) throws PersistenceException {
       remoteCache.put(entry.getKey(), configuration.rawValues() ? entry.getValue() : entry, toSeconds(lifespan, entry.getKey(), LIFESPAN), TimeUnit.SECONDS, toSeconds(maxIdle, entry.getKey(), MAXIDLE), TimeUnit.SECONDS);
    }
 
+   @Override
+   public void writeBatch(Iterable marshalledEntries) {
+      // putAll applies the same expiration to all the entries, so the entries are grouped by expiration
+      Map<KeyValuePair<Long, Long>, Map<Object, Object>> batches = new HashMap<>();
+      for (Object e : marshalledEntries) {
+         MarshalledEntry entry = (MarshalledEntry) e;
+         InternalMetadata metadata = entry.getMetadata();
+         long lifespan = metadata != null ? metadata.lifespan() : -1;
+         long maxIdle = metadata != null ? metadata.maxIdle() : -1;
+         KeyValuePair<Long, Long> expiration = new KeyValuePair<>(toSeconds(lifespan, entry.getKey(), LIFESPAN),
+                                                                  toSeconds(maxIdle, entry.getKey(), MAXIDLE));
+         batches.computeIfAbsent(expiration, k -> new HashMap<>())
+                .put(entry.getKey(), configuration.rawValues() ? entry.getValue() : entry);
+      }
+      if (trace) {
+         log.tracef("Adding %d batches of entries", batches.size());
+      }
+      batches.forEach((expiration, batch) ->
+            remoteCache.putAll(batch, expiration.getKey(), TimeUnit.SECONDS, expiration.getValue(), TimeUnit.SECONDS));
+   }
+
    @Override
    public void clear() throws PersistenceException {
       remoteCache.clear();
@@ -183,6 +223,20 @@ public boolean delete(Object key) throws PersistenceException {
       return remoteCache.withFlags(Flag.FORCE_RETURN_VALUE).remove(key) != null;
    }
 
+   @Override
+   public void deleteBatch(Iterable keys) {
+      // There is no bulk remove in Hot Rod, so send all the removes before waiting for any of them
+      List<CompletableFuture<Object>> removes = new ArrayList<>();
+      for (Object key : keys) {
+         removes.add(remoteCache.removeAsync(key));
+      }
+      try {
+         CompletableFuture.allOf(removes.toArray(new CompletableFuture[removes.size()])).join();
+      } catch (CompletionException e) {
+         throw new PersistenceException(e.getCause());
+      }
+   }
+
    private long toSeconds(long millis, Object key, String desc) {
       if (millis > 0 && millis < 1000) {
          if (trace) {
@@ -18,10 +18,15 @@
  * Component keeping the data about log file usage - as soon as entries from some file are overwritten so that the file
  * becomes cluttered with old records, the valid records are moved to another file and the old ones are dropped.
  * Expired records are moved as tombstones without values (records of entry removal).
+ * <p>
+ * Several files may be compacted concurrently, each by one of the compactor threads writing into its own output file.
+ * As the records dropped from a file are still present on disk until the file is deleted, the last record of a key
+ * (a tombstone or an expired entry) is dropped only when no other compaction is in progress: otherwise an older record
+ * from a file compacted concurrently could be found again after a crash.
  *
  * @author Radim Vansa &lt;rvansa@redhat.com&gt;
  */
-class Compactor extends Thread {
+class Compactor {
    private static final Log log = LogFactory.getLog(Compactor.class);
    private static final boolean trace = log.isTraceEnabled();
 
@@ -34,6 +39,8 @@ class Compactor extends Thread {
    private final TimeService timeService;
    private final int maxFileSize;
    private final double compactionThreshold;
+   private final Thread[] threads;
+   private final AtomicInteger compactionsInProgress = new AtomicInteger();
 
    private Index index;
    // as processing single scheduled compaction takes a lot of time, we don't use the queue to signalize
@@ -46,8 +53,8 @@ class Compactor extends Thread {
    public Compactor(FileProvider fileProvider,
                     TemporaryTable temporaryTable,
                     BlockingQueue<IndexRequest> indexQueue,
-                    Marshaller marshaller, TimeService timeService, int maxFileSize, double compactionThreshold) {
-      super("BCS-Compactor");
+                    Marshaller marshaller, TimeService timeService, int maxFileSize, double compactionThreshold,
+                    int threads) {
       this.fileProvider = fileProvider;
       this.temporaryTable = temporaryTable;
       this.indexQueue = indexQueue;
@@ -55,7 +62,11 @@ public Compactor(FileProvider fileProvider,
       this.timeService = timeService;
       this.maxFileSize = maxFileSize;
       this.compactionThreshold = compactionThreshold;
-      this.start();
+      this.threads = new Thread[threads];
+      for (int i = 0; i < threads; ++i) {
+         this.threads[i] = new Thread(this::run, "BCS-Compactor-" + i);
+         this.threads[i].start();
+      }
    }
 
    public void setIndex(Index index) {
@@ -122,8 +133,7 @@ private void schedule(int file, Stats stats) {
       }
    }
 
-   @Override
-   public void run() {
+   private void run() {
       try {
          FileProvider.Log logFile = null;
          int currentOffset = 0;
@@ -155,6 +165,8 @@ public void run() {
             }
 
             log.debugf("Compacting file %d", scheduledFile);
+            // if the compactor fails the counter is not decremented, so the tombstones are kept from then on
+            compactionsInProgress.incrementAndGet();
             int scheduledOffset = 0;
             FileProvider.Handle handle = fileProvider.getFile(scheduledFile);
             if (handle == null) {
@@ -204,12 +216,14 @@ public void run() {
                         if (trace) {
                            log.tracef("Is %d:%d expired? %s, numRecords? %d", scheduledFile, scheduledOffset, truncate, info.numRecords);
                         }
-                        if (!truncate || info.numRecords > 1) {
+                        if (!truncate || info.numRecords > 1 || compactionsInProgress.get() > 1) {
                            drop = false;
                         }
-                        // Drop only when it is expired and has single record
-                     } else if (info.file == scheduledFile && info.offset == ~scheduledOffset && info.numRecords > 1) {
-                        // just tombstone but there are more non-compacted records for this key so we have to keep it
+                        // Drop only when it is expired and has single record, not being dropped concurrently
+                     } else if (info.file == scheduledFile && info.offset == ~scheduledOffset
+                           && (info.numRecords > 1 || compactionsInProgress.get() > 1)) {
+                        // just tombstone but there are more non-compacted records for this key so we have to keep it;
+                        // the other records may have been dropped from a file that is still being compacted
                         drop = false;
                      } else if (trace) {
                         log.tracef("Key for %d:%d was found in index on %d:%d, %d record => drop",
@@ -297,12 +311,14 @@ public void run() {
                }
                return;
             } else if (clearSignal) {
+               compactionsInProgress.decrementAndGet();
                pauseCompactor(logFile);
                logFile = null;
             } else {
                // The deletion must be executed only after the index is fully updated.
                log.debugf("Finished compacting %d, scheduling delete", scheduledFile);
                indexQueue.put(IndexRequest.deleteFileRequest(scheduledFile));
+               compactionsInProgress.decrementAndGet();
             }
          }
       } catch (Exception e) {
@@ -321,9 +337,11 @@ private void pauseCompactor(FileProvider.Log logFile) throws IOException, Interr
 
    public void clearAndPause() throws InterruptedException {
       compactorResume = new CountDownLatch(1);
-      compactorStop = new CountDownLatch(1);
+      compactorStop = new CountDownLatch(threads.length);
       clearSignal = true;
-      scheduledCompaction.put(-1);
+      for (int i = 0; i < threads.length; ++i) {
+         scheduledCompaction.put(-1);
+      }
       compactorStop.await();
       scheduledCompaction.clear();
       fileStats.clear();
@@ -336,8 +354,12 @@ public void resumeAfterPause() {
 
    public void stopOperations() throws InterruptedException {
       terminateSignal = true;
-      scheduledCompaction.put(-1);
-      this.join();
+      for (Thread thread : threads) {
+         scheduledCompaction.put(-1);
+      }
+      for (Thread thread : threads) {
+         thread.join();
+      }
    }
 
    private static class Stats {
@@ -144,16 +144,33 @@ public static void writeEntry(FileChannel fileChannel, byte[] serializedKey, byt
       }
    }
 
+   /**
+    * Writes the entry with a single write from {@code writeBuffer} if it fits, otherwise writes its parts separately.
+    */
+   public static void writeEntry(FileChannel fileChannel, ByteBuffer writeBuffer, org.infinispan.commons.io.ByteBuffer serializedKey, org.infinispan.commons.io.ByteBuffer serializedMetadata, org.infinispan.commons.io.ByteBuffer serializedValue, long seqId, long expiration) throws IOException {
+      int length = EntryHeader.HEADER_SIZE + serializedKey.getLength()
+            + (serializedMetadata == null ? 0 : serializedMetadata.getLength())
+            + (serializedValue == null ? 0 : serializedValue.getLength());
+      if (length > writeBuffer.capacity()) {
+         writeEntry(fileChannel, serializedKey, serializedMetadata, serializedValue, seqId, expiration);
+         return;
+      }
+      writeBuffer.clear();
+      putHeader(writeBuffer, serializedKey, serializedMetadata, serializedValue, seqId, expiration);
+      writeBuffer.put(serializedKey.getBuf(), serializedKey.getOffset(), serializedKey.getLength());
+      if (serializedMetadata != null) {
+         writeBuffer.put(serializedMetadata.getBuf(), serializedMetadata.getOffset(), serializedMetadata.getLength());
+      }
+      if (serializedValue != null) {
+         writeBuffer.put(serializedValue.getBuf(), serializedValue.getOffset(), serializedValue.getLength());
+      }
+      writeBuffer.flip();
+      write(fileChannel, writeBuffer);
+   }
+
    public static void writeEntry(FileChannel fileChannel, org.infinispan.commons.io.ByteBuffer serializedKey, org.infinispan.commons.io.ByteBuffer serializedMetadata, org.infinispan.commons.io.ByteBuffer serializedValue, long seqId, long expiration) throws IOException {
       ByteBuffer header = ByteBuffer.allocate(EntryHeader.HEADER_SIZE);
-      if (EntryHeader.useMagic) {
-         header.putInt(EntryHeader.MAGIC);
-      }
-      header.putShort((short) serializedKey.getLength());
-      header.putShort(serializedMetadata == null ? (short) 0 : (short) serializedMetadata.getLength());
-      header.putInt(serializedValue == null ? 0 : serializedValue.getLength());
-      header.putLong(seqId);
-      header.putLong(expiration);
+      putHeader(header, serializedKey, serializedMetadata, serializedValue, seqId, expiration);
       header.flip();
       write(fileChannel, header);
       write(fileChannel, ByteBuffer.wrap(serializedKey.getBuf(), serializedKey.getOffset(), serializedKey.getLength()));
@@ -165,6 +182,17 @@ public static void writeEntry(FileChannel fileChannel, org.infinispan.commons.io
       }
    }
 
+   private static void putHeader(ByteBuffer buffer, org.infinispan.commons.io.ByteBuffer serializedKey, org.infinispan.commons.io.ByteBuffer serializedMetadata, org.infinispan.commons.io.ByteBuffer serializedValue, long seqId, long expiration) {
+      if (EntryHeader.useMagic) {
+         buffer.putInt(EntryHeader.MAGIC);
+      }
+      buffer.putShort((short) serializedKey.getLength());
+      buffer.putShort(serializedMetadata == null ? (short) 0 : (short) serializedMetadata.getLength());
+      buffer.putInt(serializedValue == null ? 0 : serializedValue.getLength());
+      buffer.putLong(seqId);
+      buffer.putLong(expiration);
+   }
+
    private static void write(FileChannel fileChannel, ByteBuffer buffer) throws IOException {
       while (buffer.hasRemaining()) fileChannel.write(buffer);
    }
@@ -15,6 +15,7 @@
  */
 public class LogAppender extends Thread {
    private static final Log log = LogFactory.getLog(LogAppender.class);
+   private static final int WRITE_BUFFER_SIZE = 64 * 1024;
 
    private final SyncProcessingQueue<LogRequest> queue;
    private final BlockingQueue<IndexRequest> indexQueue;
@@ -25,6 +26,8 @@ public class LogAppender extends Thread {
    private final FileProvider fileProvider;
    private LogRequest pausedRequest;
    private long seqId = 0;
+   // Only used by the appender thread, to write each record from a single direct buffer
+   private final java.nio.ByteBuffer writeBuffer = java.nio.ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
 
    LogAppender(SyncProcessingQueue<LogRequest> inboundQueue,
                BlockingQueue<IndexRequest> indexQueue,
@@ -97,7 +100,7 @@ public void run() {
                   log.debug("Appending records to " + logFile.fileId);
                }
                long seqId = nextSeqId();
-               EntryRecord.writeEntry(logFile.fileChannel, request.getSerializedKey(), request.getSerializedMetadata(), request.getSerializedValue(), seqId, request.getExpiration());
+               EntryRecord.writeEntry(logFile.fileChannel, writeBuffer, request.getSerializedKey(), request.getSerializedMetadata(), request.getSerializedValue(), seqId, request.getExpiration());
                int offset = request.getSerializedValue() == null ? ~currentOffset : currentOffset;
                temporaryTable.set(request.getKey(), logFile.fileId, offset);
                IndexRequest indexRequest = IndexRequest.update(request.getKey(), raw(request.getSerializedKey()),
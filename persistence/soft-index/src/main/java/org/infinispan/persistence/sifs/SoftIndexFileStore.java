@@ -1,8 +1,16 @@
 package org.infinispan.persistence.sifs;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.infinispan.commons.equivalence.Equivalence;
@@ -42,14 +50,14 @@
  *                 the current entry offset is retrieved and IndexUpdater increases
  *                 the unused space statistics in FileStats.
  * - Compactor:    When a limit of unused space in some file is reached (according
- *                 to FileStats), the Compactor starts reading this file sequentially,
+ *                 to FileStats), one of the Compactor threads starts reading this file sequentially,
  *                 querying TemporaryTable or Index for the current entry position
  *                 and copying the unchanged entries into another file. For the entries
  *                 that are still valid in the original file, a compare-and-set
  *                 (file-offset based) request is enqueued into UpdateQueue - therefore
  *                 this operation cannot interfere with concurrent writes overwriting
  *                 the entry. Multiple files can be merged into single file during
- *                 compaction.
+ *                 compaction. Each Compactor thread compacts a different file.
  *
  * Structures:
  * - TemporaryTable: keeps the records about current entry location until this is
@@ -67,6 +75,10 @@
  * UpdateQueue and tree of IndexNodes may be multiplied several times - the Index is divided
  * into Segments. Each segment owns keys according to the hashCode() of the key.
  *
+ * When the index has to be rebuilt on startup, the log files are scanned in parallel by several
+ * threads. The check of the sequence id and the update of the entry position are atomic for each key,
+ * so the newest record wins regardless of the order in which the files are scanned.
+ *
  * Amount of entries in IndexNode is limited by the size it occupies on disk. This size is
  * limited by configurable nodeSize (4096 bytes by default?), only in case that the node
  * contains single pivot (too long) it can be longer. A key_prefix common for all keys
@@ -139,7 +151,8 @@ public void start() {
       storeQueue = new SyncProcessingQueue<LogRequest>();
       indexQueue = new IndexQueue(configuration.indexSegments(), configuration.indexQueueLength(), keyEquivalence);
       fileProvider = new FileProvider(configuration.dataLocation(), configuration.openFilesLimit());
-      compactor = new Compactor(fileProvider, temporaryTable, indexQueue, marshaller, timeService, configuration.maxFileSize(), configuration.compactionThreshold());
+      compactor = new Compactor(fileProvider, temporaryTable, indexQueue, marshaller, timeService, configuration.maxFileSize(), configuration.compactionThreshold(),
+            configuration.compactionThreads());
       logAppender = new LogAppender(storeQueue, indexQueue, temporaryTable, compactor, fileProvider, configuration.syncWrites(), configuration.maxFileSize());
       try {
          index = new Index(fileProvider, configuration.indexLocation(), configuration.indexSegments(),
@@ -157,38 +170,50 @@ public void start() {
          log.debug("Not building the index - purge will be executed");
       } else {
          log.debug("Building the index");
-         forEachOnDisk(false, false, new EntryFunctor() {
-            @Override
-            public boolean apply(int file, int offset, int size, byte[] serializedKey, byte[] serializedMetadata, byte[] serializedValue, long seqId, long expiration) throws IOException, ClassNotFoundException {
-               long prevSeqId;
-               while (seqId > (prevSeqId = maxSeqId.get()) && !maxSeqId.compareAndSet(prevSeqId, seqId)) {
-               }
-               Object key = marshaller.objectFromByteBuffer(serializedKey);
-               if (trace) {
-                  log.tracef("Loaded %d:%d (seqId %d, expiration %d)", file, offset, seqId, expiration);
-               }
-               try {
-                  // We may check the seqId safely as we are the only thread writing to index
+         buildIndex(maxSeqId);
+      }
+      logAppender.setSeqId(maxSeqId.get() + 1);
+   }
+
+   private void buildIndex(final AtomicLong maxSeqId) {
+      final int threads = configuration.indexRebuildThreads();
+      // The files are scanned in parallel, so the check of the seqId and the update of the position must be
+      // atomic for each key. We may check the seqId safely as we are the only threads writing to index.
+      final Object[] keyLocks = new Object[threads * 16];
+      for (int i = 0; i < keyLocks.length; ++i) {
+         keyLocks[i] = new Object();
+      }
+      forEachOnDisk(threads, new EntryFunctor() {
+         @Override
+         public boolean apply(int file, int offset, int size, byte[] serializedKey, byte[] serializedMetadata, byte[] serializedValue, long seqId, long expiration) throws IOException, ClassNotFoundException {
+            long prevSeqId;
+            while (seqId > (prevSeqId = maxSeqId.get()) && !maxSeqId.compareAndSet(prevSeqId, seqId)) {
+            }
+            Object key = marshaller.objectFromByteBuffer(serializedKey);
+            if (trace) {
+               log.tracef("Loaded %d:%d (seqId %d, expiration %d)", file, offset, seqId, expiration);
+            }
+            try {
+               synchronized (keyLocks[(keyEquivalence.hashCode(key) & Integer.MAX_VALUE) % keyLocks.length]) {
                   if (isSeqIdOld(seqId, key, serializedKey)) {
                      indexQueue.put(IndexRequest.foundOld(key, serializedKey, file, offset));
                      return true;
                   }
                   temporaryTable.set(key, file, offset);
                   indexQueue.put(IndexRequest.update(key, serializedKey, file, offset, size));
-               } catch (InterruptedException e) {
-                  log.error("Interrupted building of index, the index won't be built properly!", e);
-                  return false;
                }
-               return true;
-            }
-         }, new FileFunctor() {
-            @Override
-            public void afterFile(int file) {
-               compactor.completeFile(file);
+            } catch (InterruptedException e) {
+               log.error("Interrupted building of index, the index won't be built properly!", e);
+               return false;
             }
-         });
-      }
-      logAppender.setSeqId(maxSeqId.get() + 1);
+            return true;
+         }
+      }, new FileFunctor() {
+         @Override
+         public void afterFile(int file) {
+            compactor.completeFile(file);
+         }
+      });
    }
 
    protected boolean isSeqIdOld(long seqId, Object key, byte[] serializedKey) throws IOException {
@@ -301,6 +326,32 @@ public void purge(Executor threadPool, PurgeListener listener) {
 
    @Override
    public void write(MarshalledEntry entry) {
+      checkKeyLength(entry);
+      try {
+         storeQueue.pushAndWait(LogRequest.storeRequest(entry));
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      }
+   }
+
+   @Override
+   public void writeBatch(Iterable marshalledEntries) {
+      List<LogRequest> requests = new ArrayList<>();
+      try {
+         for (Object entry : marshalledEntries) {
+            checkKeyLength((MarshalledEntry) entry);
+            requests.add(LogRequest.storeRequest((MarshalledEntry) entry));
+         }
+         // The log appender writes the whole batch to the log file before flushing it
+         storeQueue.pushAllAndWait(requests);
+      } catch (PersistenceException e) {
+         throw e;
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      }
+   }
+
+   private void checkKeyLength(MarshalledEntry entry) {
       int keyLength = entry.getKeyBytes().getLength();
       if (keyLength > maxKeyLength) {
          throw new PersistenceException("Configuration 'maxNodeSize' is too low - with maxNodeSize="
@@ -310,11 +361,6 @@ public void write(MarshalledEntry entry) {
          // TODO this limitation could be removed by different key length encoding
          throw new PersistenceException("SoftIndexFileStore is limited to keys with serialized size <= 32767 bytes");
       }
-      try {
-         storeQueue.pushAndWait(LogRequest.storeRequest(entry));
-      } catch (Exception e) {
-         throw new PersistenceException(e);
-      }
    }
 
    @Override
@@ -328,6 +374,19 @@ public boolean delete(Object key) {
       }
    }
 
+   @Override
+   public void deleteBatch(Iterable keys) {
+      List<LogRequest> requests = new ArrayList<>();
+      try {
+         for (Object key : keys) {
+            requests.add(LogRequest.deleteRequest(key, toBuffer(marshaller.objectToByteBuffer(key))));
+         }
+         storeQueue.pushAllAndWait(requests);
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      }
+   }
+
    @Override
    public boolean contains(Object key) {
       try {
@@ -455,57 +514,107 @@ private void forEachOnDisk(boolean readMetadata, boolean readValues, EntryFuncto
       try {
          Iterator<Integer> iterator = fileProvider.getFileIterator();
          while (iterator.hasNext()) {
-            int file = iterator.next();
-            log.debug("Loading entries from file " + file);
-            FileProvider.Handle handle = fileProvider.getFile(file);
-            if (handle == null) {
-               log.debug("File " + file + " was deleted during iteration");
-               fileFunctor.afterFile(file);
-               continue;
+            if (!forEachOnDisk(iterator.next(), readMetadata, readValues, functor, fileFunctor)) {
+               return;
+            }
+         }
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      }
+   }
+
+   /**
+    * Scans the files using the given number of threads, each file is scanned by a single thread. Neither metadata nor
+    * values are read.
+    */
+   private void forEachOnDisk(int threads, final EntryFunctor functor, final FileFunctor fileFunctor) throws PersistenceException {
+      if (threads <= 1) {
+         forEachOnDisk(false, false, functor, fileFunctor);
+         return;
+      }
+      final AtomicInteger threadCounter = new AtomicInteger();
+      ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+         Thread thread = new Thread(r, "BCS-IndexRebuilder-" + threadCounter.getAndIncrement());
+         thread.setDaemon(true);
+         return thread;
+      });
+      try {
+         final AtomicBoolean stopped = new AtomicBoolean();
+         List<Future<?>> futures = new ArrayList<>();
+         Iterator<Integer> iterator = fileProvider.getFileIterator();
+         while (iterator.hasNext()) {
+            final int file = iterator.next();
+            futures.add(executor.submit(() -> {
+               if (!stopped.get() && !forEachOnDisk(file, false, false, functor, fileFunctor)) {
+                  stopped.set(true);
+               }
+               return null;
+            }));
+         }
+         for (Future<?> future : futures) {
+            future.get();
+         }
+      } catch (ExecutionException e) {
+         throw new PersistenceException(e.getCause());
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new PersistenceException(e);
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+
+   /**
+    * @return false if the functor has stopped the iteration
+    */
+   private boolean forEachOnDisk(int file, boolean readMetadata, boolean readValues, EntryFunctor functor, FileFunctor fileFunctor) throws Exception {
+      log.debug("Loading entries from file " + file);
+      FileProvider.Handle handle = fileProvider.getFile(file);
+      if (handle == null) {
+         log.debug("File " + file + " was deleted during iteration");
+         fileFunctor.afterFile(file);
+         return true;
+      }
+      try {
+         int offset = 0;
+         for (;;) {
+            EntryHeader header = EntryRecord.readEntryHeader(handle, offset);
+            if (header == null) {
+               break; // end of file;
             }
             try {
-               int offset = 0;
-               for (;;) {
-                  EntryHeader header = EntryRecord.readEntryHeader(handle, offset);
-                  if (header == null) {
-                     break; // end of file;
-                  }
-                  try {
-                     byte[] serializedKey = EntryRecord.readKey(handle, header, offset);
-                     if (serializedKey == null) {
-                        break; // we have read the file concurrently with writing there
-                        //throw new CacheLoaderException("File " + file + " appears corrupt when reading key from " + offset + ": header is " + header);
-                     }
-                     byte[] serializedMetadata = null;
-                     if (readMetadata && header.metadataLength() > 0) {
-                        serializedMetadata = EntryRecord.readMetadata(handle, header, offset);
-                     }
-                     byte[] serializedValue = null;
-                     int offsetOrNegation = offset;
-                     if (header.valueLength() > 0) {
-                        if (header.expiryTime() >= 0 && header.expiryTime() <= timeService.wallClockTime()) {
-                           offsetOrNegation = ~offset;
-                        } else if (readValues) {
-                           serializedValue = EntryRecord.readValue(handle, header, offset);
-                        }
-                     } else {
-                        offsetOrNegation = ~offset;
-                     }
-                     if (!functor.apply(file, offsetOrNegation, header.totalLength(), serializedKey, serializedMetadata, serializedValue, header.seqId(), header.expiryTime())) {
-                        return;
-                     }
-                  } finally {
-                     offset += header.totalLength();
+               byte[] serializedKey = EntryRecord.readKey(handle, header, offset);
+               if (serializedKey == null) {
+                  break; // we have read the file concurrently with writing there
+                  //throw new CacheLoaderException("File " + file + " appears corrupt when reading key from " + offset + ": header is " + header);
+               }
+               byte[] serializedMetadata = null;
+               if (readMetadata && header.metadataLength() > 0) {
+                  serializedMetadata = EntryRecord.readMetadata(handle, header, offset);
+               }
+               byte[] serializedValue = null;
+               int offsetOrNegation = offset;
+               if (header.valueLength() > 0) {
+                  if (header.expiryTime() >= 0 && header.expiryTime() <= timeService.wallClockTime()) {
+                     offsetOrNegation = ~offset;
+                  } else if (readValues) {
+                     serializedValue = EntryRecord.readValue(handle, header, offset);
                   }
+               } else {
+                  offsetOrNegation = ~offset;
+               }
+               if (!functor.apply(file, offsetOrNegation, header.totalLength(), serializedKey, serializedMetadata, serializedValue, header.seqId(), header.expiryTime())) {
+                  return false;
                }
             } finally {
-               handle.close();
-               fileFunctor.afterFile(file);
+               offset += header.totalLength();
             }
          }
-      } catch (Exception e) {
-         throw new PersistenceException(e);
+      } finally {
+         handle.close();
+         fileFunctor.afterFile(file);
       }
+      return true;
    }
 
    @Override
@@ -1,6 +1,8 @@
 package org.infinispan.persistence.sifs;
 
 import java.util.ArrayDeque;
+import java.util.List;
+import java.util.ListIterator;
 
 /**
  * Multiple producer-single consumer queue. The producers are expected to call pushAndWait(),
@@ -46,6 +48,28 @@ public void pushAndWait(T element) throws InterruptedException {
       waitFor(push(element));
    }
 
+   /**
+    * Pushes all the elements with a single lock acquisition and waits until all of them have been processed. The
+    * consumer pops them in the iteration order of the list, but elements pushed by other producers while the consumer
+    * is popping them may be processed in between.
+    */
+   public void pushAllAndWait(List<T> elements) throws InterruptedException {
+      if (elements.isEmpty()) {
+         return;
+      }
+      long myIndex;
+      synchronized (queue) {
+         // the queue is consumed from its head, push in reverse to keep the order
+         for (ListIterator<T> it = elements.listIterator(elements.size()); it.hasPrevious(); ) {
+            queue.push(it.previous());
+         }
+         queue.notify();
+         pushIndex += elements.size();
+         myIndex = pushIndex;
+      }
+      waitFor(myIndex);
+   }
+
    public long push(T element) {
       synchronized (queue) {
          queue.push(element);
@@ -12,6 +12,7 @@ public enum Attribute {
    // must be first
    UNKNOWN(null),
    COMPACTION_THRESHOLD("compaction-threshold"),
+   COMPACTION_THREADS("compaction-threads"),
    PATH("path"),
    INDEX_QUEUE_LENGTH("max-queue-length"),
    SEGMENTS("segments"),
@@ -19,6 +20,7 @@ public enum Attribute {
    MAX_NODE_SIZE("max-node-size"),
    MIN_NODE_SIZE("min-node-size"),
    OPEN_FILES_LIMIT("open-files-limit"),
+   REBUILD_THREADS("rebuild-threads"),
    SYNC_WRITES("sync-writes")
    ;
 
@@ -0,0 +1,18 @@
+package org.infinispan.persistence.sifs;
+
+import org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfigurationBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the {@link SoftIndexFileStoreTest} with several compactor threads and index rebuild threads.
+ *
+ * @since 9.0
+ */
+@Test(groups = "unit", testName = "persistence.ParallelSoftIndexFileStoreTest")
+public class ParallelSoftIndexFileStoreTest extends SoftIndexFileStoreTest {
+
+   @Override
+   protected void configureStore(SoftIndexFileStoreConfigurationBuilder builder) {
+      builder.compactionThreads(4).indexRebuildThreads(4);
+   }
+}
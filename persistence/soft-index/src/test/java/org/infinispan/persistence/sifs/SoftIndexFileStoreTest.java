@@ -84,15 +84,18 @@ public void stop() {
       };
       ConfigurationBuilder builder = TestCacheManagerFactory
             .getDefaultCacheConfiguration(false);
-      builder.persistence()
+      configureStore(builder.persistence()
                .addStore(SoftIndexFileStoreConfigurationBuilder.class)
                   .indexLocation(tmpDirectory).dataLocation(tmpDirectory + "/data")
-                  .maxFileSize(1000);
+                  .maxFileSize(1000));
 
       store.init(createContext(builder.build()));
       return store;
    }
 
+   protected void configureStore(SoftIndexFileStoreConfigurationBuilder builder) {
+   }
+
    @Override
    protected boolean storePurgesAllExpired() {
       return false;
@@ -186,6 +189,33 @@ public void testOverrideWithExpirableAndCompaction() throws InterruptedException
       assertNull(entry != null ? entry.getKey() + "=" + entry.getValue() : null, entry);
    }
 
+   public void testRebuildIndexWithOverwrites() {
+      int numEntries = 1000;
+      for (int round = 0; round < 3; ++round) {
+         for (int i = 0; i < numEntries; ++i) {
+            store.write(marshalledEntry(internalCacheEntry(key(i), "value" + i + "-" + round, -1)));
+         }
+      }
+      for (int i = 0; i < numEntries; i += 3) {
+         store.delete(key(i));
+      }
+
+      // the index is dropped on stop, so it is rebuilt from the log files
+      store.stop();
+      store.start();
+
+      for (int i = 0; i < numEntries; ++i) {
+         MarshalledEntry entry = store.load(key(i));
+         if (i % 3 == 0) {
+            assertNull(key(i), entry);
+         } else {
+            assertNotNull(key(i), entry);
+            assertEquals("value" + i + "-2", entry.getValue());
+         }
+      }
+      assertEquals(numEntries - (numEntries + 2) / 3, store.size());
+   }
+
    public void testStopStartWithLoadDoesNotNukeValues() throws InterruptedException, PersistenceException {
       keepIndex = true;
       try {
@@ -46,6 +46,10 @@ final class AggregatingQuery extends HybridQuery {
 
    @Override
    protected Iterator<?> getBaseIterator() {
+      if (!twoPhaseAcc && baseQuery instanceof EmbeddedQuery) {
+         // non-indexed, let the owners of the entries compute the partial aggregations
+         return ((EmbeddedQuery) baseQuery).group(noOfGroupingColumns, accumulators).finish();
+      }
       Grouper grouper = new Grouper(noOfGroupingColumns, accumulators, twoPhaseAcc);
       List<Object[]> list = baseQuery.list();
       for (Object[] row : list) {
@@ -16,7 +16,8 @@
 
 /**
  * Base class for embedded-mode query implementations. Subclasses need to implement {@link #getIterator()} and {@link
- * #getComparator()} methods and this class will take care of sorting (fully in-memory).
+ * #getComparator()} methods and this class will take care of sorting (fully in-memory), unless they also implement
+ * {@link #getTopKResults(long)}.
  *
  * @author anistor@redhat.com
  * @since 8.0
@@ -62,6 +63,14 @@ public <T> List<T> list() {
    private List<Object> listInternal() {
       List<Object> results;
 
+      if (maxResults != -1 && getComparator() != null) {
+         TopKResults topKResults = getTopKResults(startOffset + maxResults);
+         if (topKResults != null) {
+            resultSize = (int) topKResults.getCount();
+            return topKResults.getResults(startOffset, projection != null);
+         }
+      }
+
       CloseableIterator<ObjectFilter.FilterResult> iterator = getIterator();
       if (!iterator.hasNext()) {
          return Collections.emptyList();
@@ -135,6 +144,17 @@ private List<Object> listInternal() {
     */
    protected abstract Comparator<Comparable[]> getComparator();
 
+   /**
+    * Collect the first {@code limit} sorted results of the query and the total number of matches, if the
+    * implementation can do it more efficiently than sorting the results of {@link #getIterator()}. Only invoked if
+    * {@link #getComparator()} returns a non-null {@link Comparator} and the number of results is limited.
+    *
+    * @return the top results or {@code null} if they must be computed from {@link #getIterator()}
+    */
+   protected TopKResults getTopKResults(long limit) {
+      return null;
+   }
+
    /**
     * Create an iterator over the results of the query, in no particular order. Ordering will be provided if {@link
     * #getComparator()} returns a non-null {@link Comparator}.
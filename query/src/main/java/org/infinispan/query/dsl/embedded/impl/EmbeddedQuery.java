@@ -11,6 +11,9 @@
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.filter.CacheFilters;
 import org.infinispan.objectfilter.ObjectFilter;
+import org.infinispan.objectfilter.SortField;
+import org.infinispan.objectfilter.impl.aggregation.FieldAccumulator;
+import org.infinispan.objectfilter.impl.aggregation.Grouper;
 import org.infinispan.query.dsl.QueryFactory;
 
 
@@ -55,10 +58,38 @@ protected Comparator<Comparable[]> getComparator() {
       return createFilter().getObjectFilter().getComparator();
    }
 
+   private CacheStream<ObjectFilter.FilterResult> getStream() {
+      CacheStream<CacheEntry<?, ObjectFilter.FilterResult>> stream = (CacheStream<CacheEntry<?, ObjectFilter.FilterResult>>) CacheFilters.filterAndConvert(cache.cacheEntrySet().stream(), createFilter());
+      return stream.map(e -> e.getValue());
+   }
+
    @Override
    protected CloseableIterator<ObjectFilter.FilterResult> getIterator() {
-      CacheStream<CacheEntry<?, ObjectFilter.FilterResult>> stream = (CacheStream<CacheEntry<?, ObjectFilter.FilterResult>>) CacheFilters.filterAndConvert(cache.cacheEntrySet().stream(), createFilter());
-      return Closeables.iterator(stream.map(e -> e.getValue()));
+      return Closeables.iterator(getStream());
+   }
+
+   /**
+    * Sorts and limits the results on each node before sending them to the originator, so that at most {@code limit}
+    * results per node go over the network instead of all the matches.
+    */
+   @Override
+   protected TopKResults getTopKResults(long limit) {
+      SortField[] sortFields = createFilter().getObjectFilter().getSortFields();
+      boolean[] direction = new boolean[sortFields.length];
+      for (int i = 0; i < sortFields.length; i++) {
+         direction[i] = sortFields[i].isAscending();
+      }
+      return getStream().collect(TopKResults.collector(direction, limit));
+   }
+
+   /**
+    * Groups the projections matching the query and computes their aggregations. Each node aggregates the entries it
+    * owns and only the partial groups are sent to the originator, instead of all the matching rows.
+    *
+    * @return the merged groups, not finished yet
+    */
+   Grouper group(int noOfGroupingColumns, FieldAccumulator[] accumulators) {
+      return getStream().map(r -> r.getProjection()).collect(GrouperCollector.collector(noOfGroupingColumns, accumulators));
    }
 
    @Override
@@ -0,0 +1,112 @@
+package org.infinispan.query.dsl.embedded.impl;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+import org.infinispan.commons.io.UnsignedNumeric;
+import org.infinispan.commons.marshall.AbstractExternalizer;
+import org.infinispan.objectfilter.impl.aggregation.FieldAccumulator;
+import org.infinispan.objectfilter.impl.aggregation.Grouper;
+import org.infinispan.query.impl.externalizers.ExternalizerIds;
+import org.infinispan.stream.CacheCollectors;
+
+/**
+ * A {@link Collector} grouping rows and computing their aggregations with a {@link Grouper}.
+ * <p>
+ * When used with a distributed {@link org.infinispan.CacheStream}, every node groups the rows of the entries it owns
+ * and only the partial state of each group is sent to the originator, where the groups are merged. The resulting
+ * {@link Grouper} is not finished.
+ *
+ * @since 9.0
+ */
+public final class GrouperCollector implements Collector<Object[], Grouper, Grouper> {
+
+   private final int noOfGroupingColumns;
+
+   private final FieldAccumulator[] accumulators;
+
+   private GrouperCollector(int noOfGroupingColumns, FieldAccumulator[] accumulators) {
+      this.noOfGroupingColumns = noOfGroupingColumns;
+      this.accumulators = accumulators;
+   }
+
+   static Collector<Object[], ?, Grouper> collector(int noOfGroupingColumns, FieldAccumulator[] accumulators) {
+      return CacheCollectors.serializableCollector(() -> new GrouperCollector(noOfGroupingColumns, accumulators));
+   }
+
+   @Override
+   public Supplier<Grouper> supplier() {
+      return () -> new Grouper(noOfGroupingColumns, accumulators, false);
+   }
+
+   @Override
+   public BiConsumer<Grouper, Object[]> accumulator() {
+      return Grouper::addRow;
+   }
+
+   @Override
+   public BinaryOperator<Grouper> combiner() {
+      return (g1, g2) -> {
+         g1.merge(g2);
+         return g1;
+      };
+   }
+
+   @Override
+   public Function<Grouper, Grouper> finisher() {
+      return Function.identity();
+   }
+
+   @Override
+   public Set<Characteristics> characteristics() {
+      return EnumSet.of(Characteristics.IDENTITY_FINISH);
+   }
+
+   public static final class GrouperExternalizer extends AbstractExternalizer<Grouper> {
+
+      @Override
+      public void writeObject(ObjectOutput output, Grouper grouper) throws IOException {
+         UnsignedNumeric.writeUnsignedInt(output, grouper.getNoOfGroupingColumns());
+         output.writeObject(grouper.getAccumulators());
+         output.writeBoolean(grouper.isTwoPhaseAcc());
+         Collection<Object[]> groups = grouper.getGroups();
+         UnsignedNumeric.writeUnsignedInt(output, groups.size());
+         for (Object[] row : groups) {
+            output.writeObject(row);
+         }
+      }
+
+      @Override
+      public Grouper readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+         int noOfGroupingColumns = UnsignedNumeric.readUnsignedInt(input);
+         FieldAccumulator[] accumulators = (FieldAccumulator[]) input.readObject();
+         boolean twoPhaseAcc = input.readBoolean();
+         Grouper grouper = new Grouper(noOfGroupingColumns, accumulators, twoPhaseAcc);
+         int size = UnsignedNumeric.readUnsignedInt(input);
+         for (int i = 0; i < size; i++) {
+            grouper.mergeGroup((Object[]) input.readObject());
+         }
+         return grouper;
+      }
+
+      @Override
+      public Integer getId() {
+         return ExternalizerIds.JPA_GROUPER;
+      }
+
+      @Override
+      public Set<Class<? extends Grouper>> getTypeClasses() {
+         return Collections.singleton(Grouper.class);
+      }
+   }
+}
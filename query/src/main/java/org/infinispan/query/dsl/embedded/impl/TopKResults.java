@@ -0,0 +1,191 @@
+package org.infinispan.query.dsl.embedded.impl;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+import org.infinispan.commons.io.UnsignedNumeric;
+import org.infinispan.commons.marshall.AbstractExternalizer;
+import org.infinispan.objectfilter.ObjectFilter;
+import org.infinispan.objectfilter.impl.util.ComparableArrayComparator;
+import org.infinispan.query.impl.externalizers.ExternalizerIds;
+import org.infinispan.stream.CacheCollectors;
+
+/**
+ * The first {@code limit} results of a sorted query, together with the total number of matches.
+ * <p>
+ * Used to push the sorting and pagination of non-indexed queries down to the data owners: every node collects the top
+ * results among the entries it owns and only these partial results are sent to the originator, where they are merged.
+ *
+ * @since 9.0
+ */
+public final class TopKResults {
+
+   private final boolean[] direction;
+
+   private final long limit;
+
+   /**
+    * The results kept so far, in reverse order so that the head is the one to evict.
+    */
+   private final PriorityQueue<ObjectFilter.FilterResult> results;
+
+   private long count;
+
+   TopKResults(boolean[] direction, long limit) {
+      this.direction = direction;
+      this.limit = limit;
+      Comparator<Comparable[]> comparator = new ComparableArrayComparator(direction);
+      this.results = new PriorityQueue<>((int) Math.min(limit + 1, 1000),
+            (r1, r2) -> -comparator.compare(r1.getSortProjection(), r2.getSortProjection()));
+   }
+
+   /**
+    * Creates a {@link Collector} of the top {@code limit} results sorted according to the given directions, suitable
+    * for {@link org.infinispan.CacheStream#collect(Collector)}.
+    *
+    * @param direction for each sort field, whether it is ascending
+    * @param limit     the number of results to keep
+    */
+   static Collector<ObjectFilter.FilterResult, ?, TopKResults> collector(boolean[] direction, long limit) {
+      return CacheCollectors.serializableCollector(() -> new TopKCollector(direction, limit));
+   }
+
+   void add(ObjectFilter.FilterResult result) {
+      count++;
+      results.add(result);
+      if (results.size() > limit) {
+         results.remove();
+      }
+   }
+
+   TopKResults merge(TopKResults other) {
+      count += other.count;
+      for (ObjectFilter.FilterResult result : other.results) {
+         results.add(result);
+         if (results.size() > limit) {
+            results.remove();
+         }
+      }
+      return this;
+   }
+
+   /**
+    * The total number of matches, including the ones that were not kept.
+    */
+   long getCount() {
+      return count;
+   }
+
+   /**
+    * Returns the results kept, sorted, skipping the first {@code startOffset} ones.
+    */
+   List<Object> getResults(long startOffset, boolean projected) {
+      if (results.size() <= startOffset) {
+         return Collections.emptyList();
+      }
+      Object[] res = new Object[(int) (results.size() - startOffset)];
+      int i = results.size();
+      while (i-- > startOffset) {
+         ObjectFilter.FilterResult r = results.remove();
+         res[(int) (i - startOffset)] = projected ? r.getProjection() : r.getInstance();
+      }
+      return Arrays.asList(res);
+   }
+
+   @Override
+   public String toString() {
+      return "TopKResults{" +
+            "direction=" + Arrays.toString(direction) +
+            ", limit=" + limit +
+            ", count=" + count +
+            ", size=" + results.size() +
+            '}';
+   }
+
+   private static final class TopKCollector implements Collector<ObjectFilter.FilterResult, TopKResults, TopKResults> {
+
+      private final boolean[] direction;
+
+      private final long limit;
+
+      TopKCollector(boolean[] direction, long limit) {
+         this.direction = direction;
+         this.limit = limit;
+      }
+
+      @Override
+      public Supplier<TopKResults> supplier() {
+         return () -> new TopKResults(direction, limit);
+      }
+
+      @Override
+      public BiConsumer<TopKResults, ObjectFilter.FilterResult> accumulator() {
+         return TopKResults::add;
+      }
+
+      @Override
+      public BinaryOperator<TopKResults> combiner() {
+         return TopKResults::merge;
+      }
+
+      @Override
+      public Function<TopKResults, TopKResults> finisher() {
+         return Function.identity();
+      }
+
+      @Override
+      public Set<Characteristics> characteristics() {
+         return EnumSet.of(Characteristics.IDENTITY_FINISH);
+      }
+   }
+
+   public static final class Externalizer extends AbstractExternalizer<TopKResults> {
+
+      @Override
+      public void writeObject(ObjectOutput output, TopKResults topKResults) throws IOException {
+         output.writeObject(topKResults.direction);
+         output.writeLong(topKResults.limit);
+         output.writeLong(topKResults.count);
+         UnsignedNumeric.writeUnsignedInt(output, topKResults.results.size());
+         for (ObjectFilter.FilterResult result : topKResults.results) {
+            output.writeObject(result);
+         }
+      }
+
+      @Override
+      public TopKResults readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+         boolean[] direction = (boolean[]) input.readObject();
+         long limit = input.readLong();
+         TopKResults topKResults = new TopKResults(direction, limit);
+         topKResults.count = input.readLong();
+         int size = UnsignedNumeric.readUnsignedInt(input);
+         for (int i = 0; i < size; i++) {
+            topKResults.results.add((ObjectFilter.FilterResult) input.readObject());
+         }
+         return topKResults;
+      }
+
+      @Override
+      public Integer getId() {
+         return ExternalizerIds.JPA_TOP_K_RESULTS;
+      }
+
+      @Override
+      public Set<Class<? extends TopKResults>> getTypeClasses() {
+         return Collections.singleton(TopKResults.class);
+      }
+   }
+}
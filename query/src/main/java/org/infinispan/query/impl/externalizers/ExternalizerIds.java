@@ -46,4 +46,8 @@ public interface ExternalizerIds {
    Integer JPA_CONTINUOUS_QUERY_CACHE_EVENT_FILTER_CONVERTER = 1616;
 
    Integer JPA_CONTINUOUS_QUERY_RESULT = 1617;
+
+   Integer JPA_TOP_K_RESULTS = 1618;
+
+   Integer JPA_GROUPER = 1619;
 }
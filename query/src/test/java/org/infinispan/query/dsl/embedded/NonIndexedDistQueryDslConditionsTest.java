@@ -0,0 +1,23 @@
+package org.infinispan.query.dsl.embedded;
+
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the non-indexed query tests on a distributed cache, where sorting, pagination and aggregations are partially
+ * computed by the owners of the entries.
+ *
+ * @since 9.0
+ */
+@Test(groups = "functional", testName = "query.dsl.embedded.NonIndexedDistQueryDslConditionsTest")
+public class NonIndexedDistQueryDslConditionsTest extends NonIndexedQueryDslConditionsTest {
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder defaultConfiguration = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, true);
+      defaultConfiguration.clustering()
+            .stateTransfer().fetchInMemoryState(true);
+      createClusteredCaches(3, defaultConfiguration);
+   }
+}
@@ -0,0 +1,91 @@
+package org.infinispan.query.dsl.embedded;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.List;
+
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.distribution.MagicKey;
+import org.infinispan.query.Search;
+import org.infinispan.query.dsl.Query;
+import org.infinispan.query.dsl.QueryFactory;
+import org.infinispan.query.dsl.SortOrder;
+import org.infinispan.query.test.Person;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests sorted and paginated non-indexed queries on a distributed cache, where the top results are computed by each
+ * owner and merged by the originator.
+ *
+ * @since 9.0
+ */
+@Test(groups = "functional", testName = "query.dsl.embedded.NonIndexedDistSortedQueryTest")
+public class NonIndexedDistSortedQueryTest extends MultipleCacheManagersTest {
+
+   private static final int NUM_NODES = 3;
+
+   private static final int NUM_ENTRIES = 60;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      createClusteredCaches(NUM_NODES, getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false));
+   }
+
+   @BeforeMethod
+   protected void populateCache() {
+      // spread the ages so that every node owns a mix of high and low ones
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         int age = (i * 7) % NUM_ENTRIES;
+         cache(i % NUM_NODES).put(new MagicKey(cache(i % NUM_NODES)), new Person("name" + age, null, age));
+      }
+   }
+
+   public void testSortedWithMaxResults() {
+      QueryFactory qf = Search.getQueryFactory(cache(0));
+      Query q = qf.from(Person.class)
+            .orderBy("age", SortOrder.DESC)
+            .maxResults(5)
+            .build();
+
+      List<Person> list = q.list();
+      assertEquals(5, list.size());
+      for (int i = 0; i < 5; i++) {
+         assertEquals(NUM_ENTRIES - 1 - i, list.get(i).getAge());
+      }
+      assertEquals(NUM_ENTRIES, q.getResultSize());
+   }
+
+   public void testSortedWithOffsetAndProjection() {
+      QueryFactory qf = Search.getQueryFactory(cache(1));
+      Query q = qf.from(Person.class)
+            .select("name", "age")
+            .orderBy("age", SortOrder.ASC)
+            .startOffset(3)
+            .maxResults(4)
+            .having("age").gte(10)
+            .toBuilder().build();
+
+      List<Object[]> list = q.list();
+      assertEquals(4, list.size());
+      for (int i = 0; i < 4; i++) {
+         assertEquals("name" + (13 + i), list.get(i)[0]);
+         assertEquals(13 + i, list.get(i)[1]);
+      }
+      assertEquals(NUM_ENTRIES - 10, q.getResultSize());
+   }
+
+   public void testOffsetBeyondMatches() {
+      QueryFactory qf = Search.getQueryFactory(cache(2));
+      Query q = qf.from(Person.class)
+            .orderBy("age", SortOrder.ASC)
+            .startOffset(10)
+            .maxResults(10)
+            .having("age").lt(5)
+            .toBuilder().build();
+
+      assertEquals(0, q.list().size());
+      assertEquals(5, q.getResultSize());
+   }
+}
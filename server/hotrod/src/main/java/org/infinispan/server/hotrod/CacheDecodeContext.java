@@ -1,5 +1,9 @@
 package org.infinispan.server.hotrod;
 
+import java.security.PrivilegedAction;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
 import javax.security.auth.Subject;
 
 import org.infinispan.AdvancedCache;
@@ -16,6 +20,7 @@
 import org.infinispan.metadata.Metadata;
 import org.infinispan.registry.InternalCacheRegistry;
 import org.infinispan.remoting.rpc.RpcManager;
+import org.infinispan.security.Security;
 import org.infinispan.server.core.ServerConstants;
 import org.infinispan.server.hotrod.logging.Log;
 import org.infinispan.util.logging.LogFactory;
@@ -151,7 +156,10 @@ Response get() {
    }
 
    GetWithMetadataResponse getKeyMetadata() {
-      CacheEntry<byte[], byte[]> ce = cache.getCacheEntry(key);
+      return createGetWithMetadataResponse(cache.getCacheEntry(key));
+   }
+
+   GetWithMetadataResponse createGetWithMetadataResponse(CacheEntry<byte[], byte[]> ce) {
       if (ce != null) {
          NumericVersion entryVersion = (NumericVersion) ce.getMetadata().version();
          byte[] v = ce.getValue();
@@ -258,6 +266,94 @@ Response clear() {
       return successResp(null);
    }
 
+   // Asynchronous versions of the operations above: the cache operations are invoked through the async cache API and
+   // the response is created when they complete. The operations invoked after the first one run in the completing
+   // thread, so they have to be invoked with the subject of the request.
+
+   CompletableFuture<Response> getAsync() {
+      return cache.getCacheEntryAsync(key).thenApply(this::createGetResponse);
+   }
+
+   CompletableFuture<Response> getKeyMetadataAsync() {
+      return cache.getCacheEntryAsync(key).thenApply(this::createGetWithMetadataResponse);
+   }
+
+   CompletableFuture<Response> containsKeyAsync() {
+      return cache.getCacheEntryAsync(key).thenApply(ce -> ce != null ? successResp(null) : notExistResp());
+   }
+
+   CompletableFuture<Response> putAsync() {
+      return cache.putAsync(key, (byte[]) operationDecodeContext, buildMetadata()).thenApply(this::successResp);
+   }
+
+   CompletableFuture<Response> putIfAbsentAsync() {
+      return cache.getAsync(key).thenCompose(prev -> {
+         if (prev == null) {
+            // Generate new version only if key not present
+            return asSubject(() -> cache.putIfAbsentAsync(key, (byte[]) operationDecodeContext, buildMetadata()));
+         }
+         return CompletableFuture.completedFuture(prev);
+      }).thenApply(prev -> prev == null ? successResp(null) : notExecutedResp(prev));
+   }
+
+   CompletableFuture<Response> replaceAsync() {
+      // Avoid listener notification for a simple optimization
+      // on whether a new version should be calculated or not.
+      return cache.withFlags(Flag.SKIP_LISTENER_NOTIFICATION).getAsync(key).thenCompose(prev -> {
+         if (prev != null) {
+            // Generate new version only if key present
+            return asSubject(() -> cache.replaceAsync(key, (byte[]) operationDecodeContext, buildMetadata()));
+         }
+         return CompletableFuture.<byte[]>completedFuture(null);
+      }).thenApply(prev -> prev != null ? successResp(prev) : notExecutedResp(null));
+   }
+
+   CompletableFuture<Response> replaceIfUnmodifiedAsync() {
+      return cache.withFlags(Flag.SKIP_LISTENER_NOTIFICATION).getCacheEntryAsync(key).thenCompose(entry -> {
+         if (entry == null) {
+            return CompletableFuture.completedFuture(notExistResp());
+         }
+         byte[] prev = entry.getValue();
+         NumericVersion streamVersion = new NumericVersion(params.streamVersion);
+         if (!entry.getMetadata().version().equals(streamVersion)) {
+            return CompletableFuture.completedFuture(notExecutedResp(prev));
+         }
+         // Generate new version only if key present and version has not changed, otherwise it's wasteful
+         return asSubject(() -> cache.replaceAsync(key, prev, (byte[]) operationDecodeContext, buildMetadata()))
+               .thenApply(replaced -> replaced ? successResp(prev) : notExecutedResp(prev));
+      });
+   }
+
+   CompletableFuture<Response> removeAsync() {
+      return cache.removeAsync(key).thenApply(prev -> prev != null ? successResp(prev) : notExistResp());
+   }
+
+   CompletableFuture<Response> removeIfUnmodifiedAsync() {
+      return cache.getCacheEntryAsync(key).thenCompose(entry -> {
+         if (entry == null) {
+            return CompletableFuture.completedFuture(notExistResp());
+         }
+         byte[] prev = entry.getValue();
+         NumericVersion streamVersion = new NumericVersion(params.streamVersion);
+         if (!entry.getMetadata().version().equals(streamVersion)) {
+            return CompletableFuture.completedFuture(notExecutedResp(prev));
+         }
+         return asSubject(() -> cache.removeAsync(key, prev))
+               .thenApply(removed -> removed ? successResp(prev) : notExecutedResp(prev));
+      });
+   }
+
+   CompletableFuture<Response> clearAsync() {
+      return cache.clearAsync().thenApply(ignored -> successResp(null));
+   }
+
+   private <T> CompletableFuture<T> asSubject(Supplier<CompletableFuture<T>> operation) {
+      if (subject == null) {
+         return operation.get();
+      }
+      return Security.doAs(subject, (PrivilegedAction<CompletableFuture<T>>) operation::get);
+   }
+
    Response successResp(byte[] prev) {
       return decoder.createSuccessResponse(header, prev);
    }
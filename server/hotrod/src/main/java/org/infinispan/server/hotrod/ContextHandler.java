@@ -5,16 +5,25 @@
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 import java.util.BitSet;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 
 import javax.security.auth.Subject;
 
+import org.infinispan.AdvancedCache;
+import org.infinispan.commons.equivalence.AnyEquivalence;
+import org.infinispan.commons.equivalence.ByteArrayEquivalence;
 import org.infinispan.commons.logging.LogFactory;
 import org.infinispan.commons.marshall.Marshaller;
 import org.infinispan.commons.marshall.jboss.GenericJBossMarshaller;
+import org.infinispan.commons.util.CollectionFactory;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.container.versioning.NumericVersion;
 import org.infinispan.security.Security;
 import org.infinispan.server.core.transport.NettyTransport;
 import org.infinispan.server.hotrod.iteration.IterableIterationResult;
@@ -30,6 +39,13 @@
 /**
  * Handler that performs actual cache operations.  Note this handler should be on a separate executor group than the
  * decoder.
+ * <p>
+ * When {@link org.infinispan.server.hotrod.configuration.HotRodServerConfiguration#asyncOperations()} is enabled, the
+ * key based operations and clear are invoked directly from the event loop through the async cache API, and their
+ * response is written when they complete, so no worker thread waits for them. The other operations are still executed
+ * by the worker threads. To bound the number of operations in progress, the channel stops reading requests when
+ * {@link org.infinispan.server.hotrod.configuration.HotRodServerConfiguration#maxPendingRequests()} operations are
+ * pending and resumes when half of them have completed.
  *
  * @author wburns
  * @since 9.0
@@ -40,15 +56,25 @@ public class ContextHandler extends SimpleChannelInboundHandler<CacheDecodeConte
    private final HotRodServer server;
    private final NettyTransport transport;
    private final Executor executor;
+   private final boolean asyncOperations;
+   private final int maxPendingRequests;
+   // Only accessed from the event loop of the channel
+   private int pendingRequests;
 
    public ContextHandler(HotRodServer server, NettyTransport transport, Executor executor) {
       this.server = server;
       this.transport = transport;
       this.executor = executor;
+      this.asyncOperations = server.getConfiguration().asyncOperations();
+      this.maxPendingRequests = server.getConfiguration().maxPendingRequests();
    }
 
    @Override
    protected void channelRead0(ChannelHandlerContext ctx, CacheDecodeContext msg) throws Exception {
+      if (asyncOperations && isAsyncOperation(msg.header.op)) {
+         asyncRead(ctx, msg);
+         return;
+      }
       executor.execute(() -> {
          try {
             Subject subject = msg.subject;
@@ -66,6 +92,88 @@ protected void channelRead0(ChannelHandlerContext ctx, CacheDecodeContext msg) t
       });
    }
 
+   private static boolean isAsyncOperation(HotRodOperation op) {
+      switch (op) {
+         case PutRequest:
+         case PutIfAbsentRequest:
+         case ReplaceRequest:
+         case ReplaceIfUnmodifiedRequest:
+         case ContainsKeyRequest:
+         case GetRequest:
+         case GetWithVersionRequest:
+         case GetWithMetadataRequest:
+         case RemoveRequest:
+         case RemoveIfUnmodifiedRequest:
+         case ClearRequest:
+            return true;
+         default:
+            return false;
+      }
+   }
+
+   private void asyncRead(ChannelHandlerContext ctx, CacheDecodeContext msg) {
+      CompletableFuture<Response> response;
+      try {
+         Subject subject = msg.subject;
+         if (subject == null)
+            response = invokeAsync(msg);
+         else response = Security.doAs(subject, (PrivilegedExceptionAction<CompletableFuture<Response>>) () -> invokeAsync(msg));
+      } catch (PrivilegedActionException e) {
+         ctx.fireExceptionCaught(e.getCause());
+         return;
+      } catch (Throwable t) {
+         ctx.fireExceptionCaught(t);
+         return;
+      }
+      if (++pendingRequests == maxPendingRequests) {
+         if (CacheDecodeContext.isTrace) {
+            log.tracef("Channel %s has %d pending requests, stop reading", ctx.channel(), pendingRequests);
+         }
+         ctx.channel().config().setAutoRead(false);
+      }
+      response.whenComplete((r, t) -> ctx.channel().eventLoop().execute(() -> {
+         if (t != null) {
+            ctx.fireExceptionCaught(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+         } else {
+            writeResponse(msg, ctx.channel(), r);
+         }
+         if (--pendingRequests == maxPendingRequests / 2 && !ctx.channel().config().isAutoRead()) {
+            if (CacheDecodeContext.isTrace) {
+               log.tracef("Channel %s has %d pending requests, resume reading", ctx.channel(), pendingRequests);
+            }
+            ctx.channel().config().setAutoRead(true);
+         }
+      }));
+   }
+
+   private CompletableFuture<Response> invokeAsync(CacheDecodeContext msg) {
+      switch (msg.header.op) {
+         case PutRequest:
+            return msg.putAsync();
+         case PutIfAbsentRequest:
+            return msg.putIfAbsentAsync();
+         case ReplaceRequest:
+            return msg.replaceAsync();
+         case ReplaceIfUnmodifiedRequest:
+            return msg.replaceIfUnmodifiedAsync();
+         case ContainsKeyRequest:
+            return msg.containsKeyAsync();
+         case GetRequest:
+         case GetWithVersionRequest:
+            return msg.getAsync();
+         case GetWithMetadataRequest:
+            return msg.getKeyMetadataAsync();
+         case RemoveRequest:
+            return msg.removeAsync();
+         case RemoveIfUnmodifiedRequest:
+            return msg.removeIfUnmodifiedAsync();
+         case ClearRequest:
+            return msg.clearAsync();
+         default:
+            throw new IllegalArgumentException("Unsupported operation invoked: " + msg.header.op);
+      }
+   }
+
    protected void realRead(ChannelHandlerContext ctx, CacheDecodeContext msg) throws Exception {
       HotRodHeader h = msg.header;
       switch (h.op) {
@@ -197,11 +305,44 @@ protected void realRead(ChannelHandlerContext ctx, CacheDecodeContext msg) throw
             writeResponse(msg, ctx.channel(), new GetAllResponse(h.version, h.messageId, h.cacheName,
                   h.clientIntel, h.topologyId, map));
             break;
+         case GetAllVersionedRequest:
+            Map<byte[], Long> knownVersions = (Map<byte[], Long>) msg.operationDecodeContext;
+            writeResponse(msg, ctx.channel(), new GetAllVersionedResponse(h.version, h.messageId, h.cacheName,
+                  h.clientIntel, h.topologyId, versionedEntries(msg.cache, knownVersions)));
+            break;
          default:
             throw new IllegalArgumentException("Unsupported operation invoked: " + msg.header.op);
       }
    }
 
+   /**
+    * Selects the entries the client does not know about. A key the client knows the version of is only returned, with
+    * a {@code null} entry, if it has been modified or removed since. Any other key is returned with its entry, if it
+    * exists.
+    */
+   private static Map<byte[], CacheEntry<byte[], byte[]>> versionedEntries(AdvancedCache<byte[], byte[]> cache,
+                                                                          Map<byte[], Long> knownVersions) {
+      Map<byte[], CacheEntry<byte[], byte[]>> entries = CollectionFactory.makeMap(knownVersions.size(),
+            ByteArrayEquivalence.INSTANCE, AnyEquivalence.getInstance());
+      entries.putAll(cache.getAllCacheEntries(knownVersions.keySet()));
+      Map<byte[], CacheEntry<byte[], byte[]>> result = new HashMap<>();
+      knownVersions.forEach((key, knownVersion) -> {
+         CacheEntry<byte[], byte[]> entry = entries.get(key);
+         if (knownVersion == 0) {
+            if (entry != null)
+               result.put(key, entry);
+         } else if (entry == null || version(entry) != knownVersion) {
+            result.put(key, null);
+         }
+      });
+      return result;
+   }
+
+   static long version(CacheEntry<byte[], byte[]> entry) {
+      NumericVersion version = (NumericVersion) entry.getMetadata().version();
+      return version != null ? version.getVersion() : 0;
+   }
+
    @Override
    public void channelActive(ChannelHandlerContext ctx) throws Exception {
       super.channelActive(ctx);
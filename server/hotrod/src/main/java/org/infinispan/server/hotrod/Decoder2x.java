@@ -16,7 +16,10 @@
 import org.infinispan.AdvancedCache;
 import org.infinispan.IllegalLifecycleStateException;
 import org.infinispan.commons.CacheException;
+import org.infinispan.commons.equivalence.AnyEquivalence;
+import org.infinispan.commons.equivalence.ByteArrayEquivalence;
 import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.commons.util.CollectionFactory;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.container.versioning.NumericVersion;
@@ -154,6 +157,12 @@ public boolean readHeader(ByteBuf buffer, byte version, long messageId, HotRodHe
             case 0x35:
                header.op = HotRodOperation.IterationEndRequest;
                break;
+            case 0x37:
+               if (version < Constants.VERSION_26)
+                  throw new HotRodUnknownOperationException(
+                        "Unknown operation: " + streamOp, version, messageId);
+               header.op = HotRodOperation.GetAllVersionedRequest;
+               break;
             default:
                throw new HotRodUnknownOperationException(
                      "Unknown operation: " + streamOp, version, messageId);
@@ -188,6 +197,7 @@ public CacheDecodeContext.RequestParameters readParameters(HotRodHeader header,
          case ReplaceIfUnmodifiedRequest:
             return readParameters(buffer, header, true, true, true);
          case GetAllRequest:
+         case GetAllVersionedRequest:
             return readParameters(buffer, header, false, true, false);
          default:
             return readParameters(buffer, header, true, true, false);
@@ -228,7 +238,7 @@ private static CacheDecodeContext.RequestParameters readParameters(ByteBuf buffe
       }
       if (readVersion) {
          version = ExtendedByteBufJava.readUnsignedMaybeLong(buffer);
-         if (version == Integer.MIN_VALUE) {
+         if (version == Long.MIN_VALUE) {
             return null;
          }
       } else {
@@ -637,6 +647,35 @@ public void customReadValue(HotRodHeader header, ByteBuf buffer, CacheDecodeCont
                out.add(hrCtx);
             }
             break;
+         case GetAllVersionedRequest:
+            maxLength = hrCtx.params.valueLength;
+            Map<byte[], Long> versions;
+            if (hrCtx.operationDecodeContext == null) {
+               versions = CollectionFactory.makeMap(maxLength, ByteArrayEquivalence.INSTANCE,
+                     AnyEquivalence.getInstance());
+               hrCtx.operationDecodeContext = versions;
+            } else {
+               versions = (Map<byte[], Long>) hrCtx.operationDecodeContext;
+            }
+            readAll = true;
+            while (versions.size() < maxLength) {
+               byte[] key = ExtendedByteBufJava.readMaybeRangedBytes(buffer);
+               if (key == null) {
+                  readAll = false;
+                  break;
+               }
+               long version = ExtendedByteBufJava.readUnsignedMaybeLong(buffer);
+               if (version == Long.MIN_VALUE) {
+                  readAll = false;
+                  break;
+               }
+               versions.put(key, version);
+               buffer.markReaderIndex();
+            }
+            if (readAll) {
+               out.add(hrCtx);
+            }
+            break;
       }
    }
 
@@ -316,6 +316,23 @@ public void writeResponse(Response r, ByteBuf buf, EmbeddedCacheManager cacheMan
                ExtendedByteBuf.writeRangedBytes(v, buf);
             });
          }
+      } else if (r instanceof GetAllVersionedResponse) {
+         GetAllVersionedResponse gavr = (GetAllVersionedResponse) r;
+         if (isTrace)
+            log.trace("About to respond to getAllVersioned request");
+         if (gavr.status == OperationStatus.Success) {
+            ExtendedByteBuf.writeUnsignedInt(gavr.entries.size(), buf);
+            gavr.entries.forEach((k, entry) -> {
+               ExtendedByteBuf.writeRangedBytes(k, buf);
+               if (entry == null) {
+                  buf.writeByte(0); // Stale
+               } else {
+                  buf.writeByte(1);
+                  buf.writeLong(ContextHandler.version(entry));
+                  ExtendedByteBuf.writeRangedBytes(entry.getValue(), buf);
+               }
+            });
+         }
       } else if (r instanceof GetResponse) {
          GetResponse gr = (GetResponse) r;
          if (gr.status == OperationStatus.Success) ExtendedByteBuf.writeRangedBytes(gr.data, buf);
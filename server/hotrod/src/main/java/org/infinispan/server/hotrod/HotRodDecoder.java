@@ -27,6 +27,7 @@ public class HotRodDecoder extends ByteToMessageDecoder {
    private final NettyTransport transport;
    private final Predicate<? super String> ignoreCache;
    private final HotRodServer server;
+   private final int largeValueThreshold;
 
    CacheDecodeContext decodeCtx;
    Throwable previousException;
@@ -35,12 +36,17 @@ public class HotRodDecoder extends ByteToMessageDecoder {
 
    private boolean resetRequested = true;
 
+   // Large value being filled in as its bytes arrive
+   private byte[] partialValue;
+   private int partialValueLength;
+
    public HotRodDecoder(EmbeddedCacheManager cacheManager, NettyTransport transport, HotRodServer server,
                         Predicate<? super String> ignoreCache) {
       this.cacheManager = cacheManager;
       this.transport = transport;
       this.ignoreCache = ignoreCache;
       this.server = server;
+      this.largeValueThreshold = server.getConfiguration().largeValueThreshold();
 
       this.decodeCtx = new CacheDecodeContext(server);
    }
@@ -54,6 +60,8 @@ void resetNow() {
       decodeCtx.header = new HotRodHeader();
       state = HotRodDecoderState.DECODE_HEADER;
       resetRequested = false;
+      partialValue = null;
+      partialValueLength = 0;
    }
 
    /**
@@ -119,6 +127,11 @@ protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) t
                readCustomValue(in, out);
                break;
          }
+         // The request is not complete yet: go back to the end of the last part that was decoded, so that the next
+         // call does not skip the bytes consumed by a partial read
+         if (out.isEmpty()) {
+            in.resetReaderIndex();
+         }
       } catch (Throwable t) {
          previousException = t;
          resetRequested = true;
@@ -176,6 +189,7 @@ boolean readHeader(ByteBuf buffer) throws Exception {
                throw new InvalidMagicIdException("Error reading magic byte or message id: " + magic);
             } else {
                log.tracef("Error happened previously, ignoring %d byte until we find the magic number again", magic);
+               buffer.markReaderIndex();
                return false;
             }
          } else {
@@ -183,7 +197,7 @@ boolean readHeader(ByteBuf buffer) throws Exception {
          }
 
          long messageId = ExtendedByteBufJava.readMaybeVLong(buffer);
-         if (messageId == Integer.MIN_VALUE) {
+         if (messageId == Long.MIN_VALUE) {
             return false;
          }
          header.messageId = messageId;
@@ -282,12 +296,18 @@ boolean decodeValue(ByteBuf in, List<Object> out) {
       HotRodOperation op = decodeCtx.header.op;
       if (op.requireValue()) {
          int valueLength = decodeCtx.params.valueLength;
-         if (in.readableBytes() < valueLength) {
-            return false;
+         if (largeValueThreshold >= 0 && valueLength >= largeValueThreshold) {
+            if (!readLargeValue(in, valueLength)) {
+               return false;
+            }
+         } else {
+            if (in.readableBytes() < valueLength) {
+               return false;
+            }
+            byte[] bytes = new byte[valueLength];
+            in.readBytes(bytes);
+            decodeCtx.operationDecodeContext = bytes;
          }
-         byte[] bytes = new byte[valueLength];
-         in.readBytes(bytes);
-         decodeCtx.operationDecodeContext = bytes;
       }
       switch (op.getDecoderRequirements()) {
          case VALUE_CUSTOM:
@@ -303,6 +323,30 @@ boolean decodeValue(ByteBuf in, List<Object> out) {
       return true;
    }
 
+   /**
+    * Copies the bytes of a large value into its array as they arrive, so that they don't need to be accumulated by
+    * the decoder until the whole value is readable.
+    *
+    * @return whether the whole value has been read
+    */
+   private boolean readLargeValue(ByteBuf in, int valueLength) {
+      if (partialValue == null) {
+         partialValue = new byte[valueLength];
+      }
+      int length = Math.min(in.readableBytes(), valueLength - partialValueLength);
+      in.readBytes(partialValue, partialValueLength, length);
+      partialValueLength += length;
+      if (partialValueLength < valueLength) {
+         // The bytes read so far are consumed, they won't be read again
+         in.markReaderIndex();
+         return false;
+      }
+      decodeCtx.operationDecodeContext = partialValue;
+      partialValue = null;
+      partialValueLength = 0;
+      return true;
+   }
+
    private void readCustomValue(ByteBuf in, List<Object> out) {
       decodeCtx.decoder.customReadValue(decodeCtx.header, in, decodeCtx, out);
       // If out was written to, it means we read everything, else we have to reread again
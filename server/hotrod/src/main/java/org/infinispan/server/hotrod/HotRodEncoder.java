@@ -7,6 +7,7 @@
 import org.infinispan.server.hotrod.logging.Log;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
@@ -25,6 +26,7 @@ class HotRodEncoder extends MessageToByteEncoder<Object> {
    private final EmbeddedCacheManager cacheManager;
    private final HotRodServer server;
    private final boolean isClustered;
+   private final int largeValueThreshold;
    private Cache<Address, ServerAddress> addressCache;
 
    HotRodEncoder(EmbeddedCacheManager cacheManager, HotRodServer server) {
@@ -32,6 +34,7 @@ class HotRodEncoder extends MessageToByteEncoder<Object> {
       this.cacheManager = cacheManager;
       this.server = server;
       isClustered = cacheManager.getCacheManagerConfiguration().transport().transport() != null;
+      largeValueThreshold = server.getConfiguration().largeValueThreshold();
    }
 
    private Cache<Address, ServerAddress> getAddressCache() {
@@ -41,6 +44,18 @@ private Cache<Address, ServerAddress> getAddressCache() {
       return addressCache;
    }
 
+   @Override
+   protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Object msg, boolean preferDirect) throws Exception {
+      if (largeValueThreshold >= 0 && msg instanceof GetResponse) {
+         GetResponse r = (GetResponse) msg;
+         if (r.status == OperationStatus.Success && r.data != null && r.data.length >= largeValueThreshold) {
+            // The value is appended by reference, see ExtendedByteBuf.writeRangedBytes
+            return ctx.alloc().compositeBuffer();
+         }
+      }
+      return super.allocateBuffer(ctx, msg, preferDirect);
+   }
+
    @Override
    protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf buf) throws Exception {
       try {
@@ -63,6 +78,11 @@ protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf buf) throws
                encoder.writeResponse(r, buf, cacheManager, server);
             } catch (Throwable t) {
                log.errorWritingResponse(r.messageId, t);
+               if (buf instanceof CompositeByteBuf) {
+                  // Don't overwrite a value appended by reference
+                  CompositeByteBuf composite = (CompositeByteBuf) buf;
+                  composite.removeComponents(0, composite.numComponents());
+               }
                buf.clear(); // reset buffer
                ErrorResponse error = new ErrorResponse(r.version, r.messageId, r.cacheName, r.clientIntel,
                      OperationStatus.ServerError, r.topologyId, t.toString());
@@ -49,7 +49,10 @@ public enum OperationResponse {
    // 2.3
    IterationStartResponse(0x32),
    IterationNextResponse(0x34),
-   IterationEndResponse(0x36);
+   IterationEndResponse(0x36),
+
+   // 2.6
+   GetAllVersionedResponse(0x38);
 
    private final static Map<Byte, OperationResponse> intMap = new HashMap<>();
 
@@ -122,6 +125,8 @@ public static OperationResponse toResponse(HotRodOperation op) {
             return OperationResponse.PutAllResponse;
          case GetAllRequest:
             return OperationResponse.GetAllResponse;
+         case GetAllVersionedRequest:
+            return OperationResponse.GetAllVersionedResponse;
          default:
             throw new IllegalArgumentException("Unsupported operation: " + op);
       }
@@ -193,6 +198,10 @@ public static HotRodOperation fromResponse(OperationResponse response) {
             return HotRodOperation.IterationNextRequest;
          case IterationEndResponse:
             return HotRodOperation.IterationEndRequest;
+
+         // 2.6
+         case GetAllVersionedResponse:
+            return HotRodOperation.GetAllVersionedRequest;
          default:
             return null;
       }
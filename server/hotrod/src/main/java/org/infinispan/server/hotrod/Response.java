@@ -7,6 +7,7 @@
 
 import org.infinispan.CacheSet;
 import org.infinispan.commons.util.Util;
+import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.server.hotrod.iteration.IterableIterationResult;
 
@@ -205,6 +206,34 @@ public String toString() {
    }
 }
 
+class GetAllVersionedResponse extends Response {
+   // A null entry means the version known by the client is stale
+   protected final Map<byte[], CacheEntry<byte[], byte[]>> entries;
+
+   GetAllVersionedResponse(byte version, long messageId, String cacheName, short clientIntel, int topologyId,
+                           Map<byte[], CacheEntry<byte[], byte[]>> entries) {
+      super(version, messageId, cacheName, clientIntel, OperationResponse.GetAllVersionedResponse,
+            OperationStatus.Success, topologyId);
+      this.entries = entries;
+   }
+
+   @Override
+   public String toString() {
+      StringBuilder sb = new StringBuilder().append("GetAllVersionedResponse").append("{")
+            .append("version=").append(version)
+            .append(", messageId=").append(messageId)
+            .append(", operation=").append(operation)
+            .append(", status=").append(status)
+            .append(", entries=[");
+      entries.forEach((k, v) -> {
+         sb.append(Util.printArray(k, true));
+         sb.append('=');
+         sb.append(v == null ? "stale" : Util.printArray(v.getValue(), true));
+      });
+      return sb.append("]}").toString();
+   }
+}
+
 class IterationStartResponse extends Response {
    protected final String iterationId;
 
@@ -48,4 +48,19 @@ public HotRodServerChildConfigurationBuilder topologyStateTransfer(boolean topol
       return builder.topologyStateTransfer(topologyStateTransfer);
    }
 
+   @Override
+   public HotRodServerChildConfigurationBuilder asyncOperations(boolean asyncOperations) {
+      return builder.asyncOperations(asyncOperations);
+   }
+
+   @Override
+   public HotRodServerChildConfigurationBuilder maxPendingRequests(int maxPendingRequests) {
+      return builder.maxPendingRequests(maxPendingRequests);
+   }
+
+   @Override
+   public HotRodServerChildConfigurationBuilder largeValueThreshold(int largeValueThreshold) {
+      return builder.largeValueThreshold(largeValueThreshold);
+   }
+
 }
@@ -49,4 +49,26 @@ public interface HotRodServerChildConfigurationBuilder {
     */
    HotRodServerChildConfigurationBuilder topologyStateTransfer(boolean topologyStateTransfer);
 
+   /**
+    * Configures whether the key based operations (get, put, remove, replace...) and clear should be invoked through the
+    * asynchronous cache API, writing the response when the operation completes, instead of blocking a worker thread
+    * until the operation completes. Defaults to false.
+    */
+   HotRodServerChildConfigurationBuilder asyncOperations(boolean asyncOperations);
+
+   /**
+    * Configures the maximum number of asynchronous operations in progress for a single connection. When the limit is
+    * reached, no more requests are read from the connection until some of the operations complete. Only used when
+    * {@link #asyncOperations(boolean)} is enabled. Defaults to 128.
+    */
+   HotRodServerChildConfigurationBuilder maxPendingRequests(int maxPendingRequests);
+
+   /**
+    * Configures the size, in bytes, from which values are handled without intermediate copies: request values are
+    * copied straight from the network buffers into the value array as they arrive, instead of being accumulated first,
+    * and response values are appended to the outgoing buffer by reference instead of being copied into it. A negative
+    * value disables it. Defaults to -1.
+    */
+   HotRodServerChildConfigurationBuilder largeValueThreshold(int largeValueThreshold);
+
 }
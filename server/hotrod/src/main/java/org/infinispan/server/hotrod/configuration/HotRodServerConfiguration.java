@@ -16,10 +16,13 @@ public class HotRodServerConfiguration extends ProtocolServerConfiguration {
    private final long topologyReplTimeout;
    private final boolean topologyAwaitInitialTransfer;
    private final boolean topologyStateTransfer;
+   private final boolean asyncOperations;
+   private final int maxPendingRequests;
+   private final int largeValueThreshold;
    private final AuthenticationConfiguration authentication;
 
    HotRodServerConfiguration(String defaultCacheName, String proxyHost, int proxyPort, long topologyLockTimeout, long topologyReplTimeout, boolean topologyAwaitInitialTransfer, boolean topologyStateTransfer,
-                             String name, String host, int port, int idleTimeout, int recvBufSize, int sendBufSize, SslConfiguration ssl, boolean tcpNoDelay, int workerThreads, AuthenticationConfiguration authentication, Set<String> ignoredCaches) {
+                             boolean asyncOperations, int maxPendingRequests, int largeValueThreshold, String name, String host, int port, int idleTimeout, int recvBufSize, int sendBufSize, SslConfiguration ssl, boolean tcpNoDelay, int workerThreads, AuthenticationConfiguration authentication, Set<String> ignoredCaches) {
       super(defaultCacheName, name, host, port, idleTimeout, recvBufSize, sendBufSize, ssl, tcpNoDelay, workerThreads, ignoredCaches);
       this.proxyHost = proxyHost;
       this.proxyPort = proxyPort;
@@ -28,6 +31,9 @@ public class HotRodServerConfiguration extends ProtocolServerConfiguration {
       this.topologyReplTimeout = topologyReplTimeout;
       this.topologyStateTransfer = topologyStateTransfer;
       this.topologyAwaitInitialTransfer = topologyAwaitInitialTransfer;
+      this.asyncOperations = asyncOperations;
+      this.maxPendingRequests = maxPendingRequests;
+      this.largeValueThreshold = largeValueThreshold;
       this.authentication = authentication;
    }
 
@@ -59,6 +65,18 @@ public boolean topologyStateTransfer() {
       return topologyStateTransfer;
    }
 
+   public boolean asyncOperations() {
+      return asyncOperations;
+   }
+
+   public int maxPendingRequests() {
+      return maxPendingRequests;
+   }
+
+   public int largeValueThreshold() {
+      return largeValueThreshold;
+   }
+
    public AuthenticationConfiguration authentication() {
       return authentication;
    }
@@ -68,7 +86,9 @@ public String toString() {
       return "HotRodServerConfiguration [proxyHost=" + proxyHost + ", proxyPort=" + proxyPort + ", topologyCacheName="
             + topologyCacheName + ", topologyLockTimeout=" + topologyLockTimeout + ", topologyReplTimeout="
             + topologyReplTimeout + ", topologyAwaitInitialTransfer=" + topologyAwaitInitialTransfer
-            + ", topologyStateTransfer=" + topologyStateTransfer + ", authentication=" + authentication
+            + ", topologyStateTransfer=" + topologyStateTransfer + ", asyncOperations=" + asyncOperations
+            + ", maxPendingRequests=" + maxPendingRequests + ", largeValueThreshold=" + largeValueThreshold
+            + ", authentication=" + authentication
             + ", ignoredCaches=" + ignoredCaches() + ", " + super.toString() + "]";
    }
 }
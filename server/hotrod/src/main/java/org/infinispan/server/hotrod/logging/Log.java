@@ -87,4 +87,7 @@ public interface Log extends org.infinispan.server.core.logging.Log {
 
    @Message(value = "EXTERNAL SASL mechanism not allowed without SSL client certificate", id = 6018)
    SecurityException externalMechNotAllowedWithoutSSLClientCert();
+
+   @Message(value = "Illegal number of maxPendingRequests: %d", id = 6019)
+   IllegalArgumentException illegalMaxPendingRequests(int maxPendingRequests);
 }
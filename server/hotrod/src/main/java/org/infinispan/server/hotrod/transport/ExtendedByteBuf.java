@@ -7,6 +7,7 @@
 import org.infinispan.server.core.transport.VLong;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.util.CharsetUtil;
 
@@ -259,10 +260,22 @@ public static void writeUnsignedLong(long l, ByteBuf bf) {
       VLong.write(bf, l);
    }
 
+   /**
+    * Writes the length and the bytes. When writing to a {@link CompositeByteBuf}, which the encoder only uses for
+    * responses with large values, the array is appended as a new component instead of being copied.
+    */
    public static void writeRangedBytes(byte[] src, ByteBuf bf) {
       writeUnsignedInt(src.length, bf);
-      if (src.length > 0)
-         bf.writeBytes(src);
+      if (src.length > 0) {
+         if (bf instanceof CompositeByteBuf) {
+            CompositeByteBuf composite = (CompositeByteBuf) bf;
+            // Drop the unused capacity of the last component, the array must follow the bytes written so far
+            composite.capacity(composite.writerIndex());
+            composite.addComponent(true, Unpooled.wrappedBuffer(src));
+         } else {
+            bf.writeBytes(src);
+         }
+      }
    }
 
    public static void writeString(String msg, ByteBuf bf) {
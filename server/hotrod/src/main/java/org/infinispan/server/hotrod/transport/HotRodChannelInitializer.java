@@ -45,7 +45,10 @@ public void initializeChannel(Channel ch) throws Exception {
       if (authHandler != null) {
          ch.pipeline().addLast("authentication-1", authHandler);
       }
-      ch.pipeline().addLast("local-handler", new LocalContextHandler(transport));
+      // With async operations the local reads do not block either
+      if (!hotRodServer.getConfiguration().asyncOperations()) {
+         ch.pipeline().addLast("local-handler", new LocalContextHandler(transport));
+      }
 
       ch.pipeline().addLast("handler", new ContextHandler(hotRodServer, transport, executor));
       ch.pipeline().addLast("exception", new HotRodExceptionHandler());
@@ -0,0 +1,23 @@
+package org.infinispan.server.hotrod
+
+import org.testng.annotations.Test
+import test.HotRodTestingUtil._
+import org.infinispan.server.hotrod.test._
+import org.infinispan.manager.EmbeddedCacheManager
+import org.infinispan.server.hotrod.configuration.HotRodServerConfigurationBuilder
+
+/**
+ * Hot Rod server functional test with the operations invoked through the async cache API.
+ *
+ * @since 9.0
+ */
+@Test(groups = Array("functional"), testName = "server.hotrod.HotRodAsyncOperationsFunctionalTest")
+class HotRodAsyncOperationsFunctionalTest extends HotRodFunctionalTest {
+
+   override protected def createStartHotRodServer(cacheManager: EmbeddedCacheManager) = {
+      val builder = new HotRodServerConfigurationBuilder
+      builder.proxyHost(host).proxyPort(UniquePortThreadLocal.get.intValue).idleTimeout(0)
+      builder.asyncOperations(true).maxPendingRequests(2)
+      startHotRodServer(cacheManager, UniquePortThreadLocal.get.intValue, -1, builder)
+   }
+}
@@ -0,0 +1,34 @@
+package org.infinispan.server.hotrod
+
+import java.lang.reflect.Method
+
+import org.testng.annotations.Test
+import test.HotRodTestingUtil._
+import org.infinispan.server.hotrod.test._
+import org.infinispan.manager.EmbeddedCacheManager
+import org.infinispan.server.hotrod.OperationStatus._
+import org.infinispan.server.hotrod.configuration.HotRodServerConfigurationBuilder
+import org.infinispan.test.TestingUtil.generateRandomString
+
+/**
+ * Hot Rod server functional test with every value handled as a large value, without intermediate copies.
+ *
+ * @since 9.0
+ */
+@Test(groups = Array("functional"), testName = "server.hotrod.HotRodLargeValueFunctionalTest")
+class HotRodLargeValueFunctionalTest extends HotRodFunctionalTest {
+
+   override protected def createStartHotRodServer(cacheManager: EmbeddedCacheManager) = {
+      val builder = new HotRodServerConfigurationBuilder
+      builder.proxyHost(host).proxyPort(UniquePortThreadLocal.get.intValue).idleTimeout(0)
+      builder.largeValueThreshold(0)
+      startHotRodServer(cacheManager, UniquePortThreadLocal.get.intValue, -1, builder)
+   }
+
+   def testGetBigSizeValue(m: Method) {
+      val value = generateRandomString(1024 * 1024).getBytes
+      assertStatus(client.put(k(m), 0, 0, value), Success)
+      assertSuccess(client.get(k(m), 0), value)
+      assertSuccess(client.getWithMetadata(k(m), 0), value, -1, -1)
+   }
+}
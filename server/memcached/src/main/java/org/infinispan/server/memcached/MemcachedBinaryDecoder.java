@@ -0,0 +1,556 @@
+package org.infinispan.server.memcached;
+
+import static org.infinispan.server.memcached.TextProtocolUtil.CHARSET;
+import static org.infinispan.server.memcached.TextProtocolUtil.concat;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Version;
+import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.container.versioning.NumericVersion;
+import org.infinispan.context.Flag;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.server.core.transport.NettyTransport;
+import org.infinispan.server.memcached.logging.JavaLog;
+import org.infinispan.stats.Stats;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+/**
+ * A Memcached binary protocol decoder.
+ * <p>
+ * Requests are only decoded once the whole request is readable, the length of the body being part of the fixed size
+ * header. Responses are written as soon as each request is handled, but only flushed once the whole batch of requests
+ * read from the connection has been handled, so that pipelined requests, e.g. a multi-get sent as a sequence of quiet
+ * gets terminated by a no-op, are answered with a single write. Quiet requests only get a response when they fail,
+ * except for the quiet gets, which only get a response when the key is found.
+ *
+ * @since 9.0
+ */
+public class MemcachedBinaryDecoder extends ByteToMessageDecoder {
+   private final static JavaLog log = LogFactory.getLog(MemcachedBinaryDecoder.class, JavaLog.class);
+   private final static boolean isTrace = log.isTraceEnabled();
+
+   static final byte MAGIC_REQUEST = (byte) 0x80;
+   static final byte MAGIC_RESPONSE = (byte) 0x81;
+   static final int HEADER_LENGTH = 24;
+
+   // Opcodes
+   private static final byte GET = 0x00;
+   private static final byte SET = 0x01;
+   private static final byte ADD = 0x02;
+   private static final byte REPLACE = 0x03;
+   private static final byte DELETE = 0x04;
+   private static final byte INCREMENT = 0x05;
+   private static final byte DECREMENT = 0x06;
+   private static final byte QUIT = 0x07;
+   private static final byte FLUSH = 0x08;
+   private static final byte GETQ = 0x09;
+   private static final byte NOOP = 0x0a;
+   private static final byte VERSION = 0x0b;
+   private static final byte GETK = 0x0c;
+   private static final byte GETKQ = 0x0d;
+   private static final byte APPEND = 0x0e;
+   private static final byte PREPEND = 0x0f;
+   private static final byte STAT = 0x10;
+   private static final byte SETQ = 0x11;
+   private static final byte ADDQ = 0x12;
+   private static final byte REPLACEQ = 0x13;
+   private static final byte DELETEQ = 0x14;
+   private static final byte INCREMENTQ = 0x15;
+   private static final byte DECREMENTQ = 0x16;
+   private static final byte QUITQ = 0x17;
+   private static final byte FLUSHQ = 0x18;
+   private static final byte APPENDQ = 0x19;
+   private static final byte PREPENDQ = 0x1a;
+
+   // Response statuses
+   private static final short NO_ERROR = 0x0000;
+   private static final short KEY_NOT_FOUND = 0x0001;
+   private static final short KEY_EXISTS = 0x0002;
+   private static final short INVALID_ARGUMENTS = 0x0004;
+   private static final short ITEM_NOT_STORED = 0x0005;
+   private static final short NON_NUMERIC_VALUE = 0x0006;
+   private static final short UNKNOWN_COMMAND = 0x0081;
+   private static final short INTERNAL_ERROR = 0x0084;
+
+   private static final int MAX_KEY_LENGTH = 250;
+   // Expiration of an increment or decrement which must fail if the key does not exist
+   private static final int NO_INITIAL_VALUE = 0xffffffff;
+   private static final byte[] EMPTY = new byte[0];
+
+   private final AdvancedCache<String, byte[]> cache;
+   private final ScheduledExecutorService scheduler;
+   private final NettyTransport transport;
+   private final Predicate<? super String> ignoreCache;
+   private final boolean isStatsEnabled;
+   private final AtomicLong incrMisses = new AtomicLong();
+   private final AtomicLong incrHits = new AtomicLong();
+   private final AtomicLong decrMisses = new AtomicLong();
+   private final AtomicLong decrHits = new AtomicLong();
+   private final AtomicLong replaceIfUnmodifiedMisses = new AtomicLong();
+   private final AtomicLong replaceIfUnmodifiedHits = new AtomicLong();
+   private final AtomicLong replaceIfUnmodifiedBadval = new AtomicLong();
+
+   public MemcachedBinaryDecoder(AdvancedCache<String, byte[]> memcachedCache, ScheduledExecutorService scheduler,
+                                 NettyTransport transport, Predicate<? super String> ignoreCache) {
+      cache = memcachedCache.getCacheConfiguration().compatibility().enabled() ?
+            memcachedCache.withFlags(Flag.OPERATION_MEMCACHED) : memcachedCache;
+      this.scheduler = scheduler;
+      this.transport = transport;
+      this.ignoreCache = ignoreCache;
+      isStatsEnabled = cache.getCacheConfiguration().jmxStatistics().enabled();
+   }
+
+   @Override
+   protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+      while (in.readableBytes() >= HEADER_LENGTH) {
+         int start = in.readerIndex();
+         byte magic = in.getByte(start);
+         if (magic != MAGIC_REQUEST) {
+            // There is no way to find the beginning of the next request
+            log.invalidBinaryMagic(magic & 0xff);
+            in.skipBytes(in.readableBytes());
+            ctx.close();
+            return;
+         }
+         long bodyLength = in.getUnsignedInt(start + 8);
+         if (in.readableBytes() < HEADER_LENGTH + bodyLength) {
+            return;
+         }
+         in.skipBytes(1);
+         Request request = new Request();
+         request.opcode = in.readByte();
+         int keyLength = in.readUnsignedShort();
+         int extrasLength = in.readUnsignedByte();
+         in.skipBytes(3); // data type and vbucket id
+         in.skipBytes(4); // body length
+         request.opaque = in.readInt();
+         request.cas = in.readLong();
+         int end = in.readerIndex() + (int) bodyLength;
+         try {
+            if (extrasLength + keyLength > bodyLength) {
+               writeError(ctx, request, INVALID_ARGUMENTS, "Invalid lengths");
+               continue;
+            }
+            request.extras = in.slice(in.readerIndex(), extrasLength);
+            in.skipBytes(extrasLength);
+            if (keyLength > MAX_KEY_LENGTH) {
+               writeError(ctx, request, INVALID_ARGUMENTS, "Key length over the 250 character limit");
+               continue;
+            }
+            request.key = in.toString(in.readerIndex(), keyLength, CHARSET);
+            in.skipBytes(keyLength);
+            request.value = new byte[end - in.readerIndex()];
+            in.readBytes(request.value);
+            if (isTrace) log.tracef("Decoded binary request %s", request);
+            if (ignoreCache.test(cache.getName())) {
+               writeError(ctx, request, INTERNAL_ERROR, "Cache " + cache.getName() + " is not available");
+            } else {
+               handle(ctx, request);
+            }
+         } catch (Exception e) {
+            log.exceptionReported(e);
+            writeError(ctx, request, INTERNAL_ERROR, String.valueOf(e.getMessage()));
+         } finally {
+            in.readerIndex(end);
+         }
+      }
+   }
+
+   @Override
+   public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+      ctx.flush();
+      super.channelReadComplete(ctx);
+   }
+
+   private void handle(ChannelHandlerContext ctx, Request r) {
+      switch (r.opcode) {
+         case GET:
+         case GETQ:
+         case GETK:
+         case GETKQ:
+            get(ctx, r);
+            break;
+         case SET:
+         case SETQ:
+            set(ctx, r);
+            break;
+         case ADD:
+         case ADDQ:
+            add(ctx, r);
+            break;
+         case REPLACE:
+         case REPLACEQ:
+            replace(ctx, r);
+            break;
+         case DELETE:
+         case DELETEQ:
+            delete(ctx, r);
+            break;
+         case INCREMENT:
+         case INCREMENTQ:
+         case DECREMENT:
+         case DECREMENTQ:
+            incrDecr(ctx, r);
+            break;
+         case APPEND:
+         case APPENDQ:
+         case PREPEND:
+         case PREPENDQ:
+            appendPrepend(ctx, r);
+            break;
+         case FLUSH:
+         case FLUSHQ:
+            flush(ctx, r);
+            break;
+         case NOOP:
+            writeResponse(ctx, r, NO_ERROR, 0, null, EMPTY);
+            break;
+         case VERSION:
+            writeResponse(ctx, r, NO_ERROR, 0, null, Version.getVersion().getBytes(CHARSET));
+            break;
+         case STAT:
+            stats(ctx, r);
+            break;
+         case QUIT:
+            writeResponse(ctx, r, NO_ERROR, 0, null, EMPTY);
+            ctx.writeAndFlush(Unpooled.EMPTY_BUFFER).addListener(ChannelFutureListener.CLOSE);
+            break;
+         case QUITQ:
+            ctx.close();
+            break;
+         default:
+            writeError(ctx, r, UNKNOWN_COMMAND, "Unknown command");
+      }
+   }
+
+   private void get(ChannelHandlerContext ctx, Request r) {
+      CacheEntry<String, byte[]> entry = cache.getCacheEntry(r.key);
+      if (entry == null) {
+         // The quiet gets only answer hits, the client knows the misses once the terminating no-op is answered
+         if (r.opcode == GET || r.opcode == GETK) {
+            writeError(ctx, r, KEY_NOT_FOUND, "Not found");
+         }
+         return;
+      }
+      boolean withKey = r.opcode == GETK || r.opcode == GETKQ;
+      byte[] key = withKey ? r.key.getBytes(CHARSET) : EMPTY;
+      byte[] value = entry.getValue();
+      ByteBuf buf = header(ctx, r, NO_ERROR, version(entry.getMetadata()), 4, key.length, value.length);
+      buf.writeInt((int) flags(entry.getMetadata()));
+      buf.writeBytes(key);
+      buf.writeBytes(value);
+      ctx.write(buf, ctx.voidPromise());
+   }
+
+   private void set(ChannelHandlerContext ctx, Request r) {
+      if (r.extras.readableBytes() != 8) {
+         writeError(ctx, r, INVALID_ARGUMENTS, "Invalid extras");
+         return;
+      }
+      Metadata metadata = buildMetadata(r.extras.getUnsignedInt(0), r.extras.getInt(4));
+      if (r.cas == 0) {
+         cache.put(r.key, r.value, metadata);
+         writeStored(ctx, r, metadata);
+         return;
+      }
+      CacheEntry<String, byte[]> entry = cache.withFlags(Flag.SKIP_LISTENER_NOTIFICATION).getCacheEntry(r.key);
+      if (entry == null) {
+         if (isStatsEnabled) replaceIfUnmodifiedMisses.incrementAndGet();
+         writeError(ctx, r, KEY_NOT_FOUND, "Not found");
+      } else if (version(entry.getMetadata()) != r.cas || !cache.replace(r.key, entry.getValue(), r.value, metadata)) {
+         if (isStatsEnabled) replaceIfUnmodifiedBadval.incrementAndGet();
+         writeError(ctx, r, KEY_EXISTS, "Data exists for key");
+      } else {
+         if (isStatsEnabled) replaceIfUnmodifiedHits.incrementAndGet();
+         writeStored(ctx, r, metadata);
+      }
+   }
+
+   private void add(ChannelHandlerContext ctx, Request r) {
+      if (r.extras.readableBytes() != 8) {
+         writeError(ctx, r, INVALID_ARGUMENTS, "Invalid extras");
+         return;
+      }
+      Metadata metadata = buildMetadata(r.extras.getUnsignedInt(0), r.extras.getInt(4));
+      if (cache.get(r.key) == null && cache.putIfAbsent(r.key, r.value, metadata) == null) {
+         writeStored(ctx, r, metadata);
+      } else {
+         writeError(ctx, r, KEY_EXISTS, "Data exists for key");
+      }
+   }
+
+   private void replace(ChannelHandlerContext ctx, Request r) {
+      if (r.extras.readableBytes() != 8) {
+         writeError(ctx, r, INVALID_ARGUMENTS, "Invalid extras");
+         return;
+      }
+      Metadata metadata = buildMetadata(r.extras.getUnsignedInt(0), r.extras.getInt(4));
+      boolean replaced;
+      if (r.cas == 0) {
+         replaced = cache.withFlags(Flag.SKIP_LISTENER_NOTIFICATION).get(r.key) != null
+               && cache.replace(r.key, r.value, metadata) != null;
+         if (!replaced) {
+            writeError(ctx, r, KEY_NOT_FOUND, "Not found");
+            return;
+         }
+      } else {
+         CacheEntry<String, byte[]> entry = cache.withFlags(Flag.SKIP_LISTENER_NOTIFICATION).getCacheEntry(r.key);
+         if (entry == null) {
+            writeError(ctx, r, KEY_NOT_FOUND, "Not found");
+            return;
+         }
+         if (version(entry.getMetadata()) != r.cas || !cache.replace(r.key, entry.getValue(), r.value, metadata)) {
+            writeError(ctx, r, KEY_EXISTS, "Data exists for key");
+            return;
+         }
+      }
+      writeStored(ctx, r, metadata);
+   }
+
+   private void delete(ChannelHandlerContext ctx, Request r) {
+      boolean removed;
+      if (r.cas == 0) {
+         removed = cache.remove(r.key) != null;
+      } else {
+         CacheEntry<String, byte[]> entry = cache.withFlags(Flag.SKIP_LISTENER_NOTIFICATION).getCacheEntry(r.key);
+         if (entry != null && version(entry.getMetadata()) != r.cas) {
+            writeError(ctx, r, KEY_EXISTS, "Data exists for key");
+            return;
+         }
+         removed = entry != null && cache.remove(r.key, entry.getValue());
+      }
+      if (removed) {
+         if (!isQuiet(r)) writeResponse(ctx, r, NO_ERROR, 0, null, EMPTY);
+      } else {
+         writeError(ctx, r, KEY_NOT_FOUND, "Not found");
+      }
+   }
+
+   private void incrDecr(ChannelHandlerContext ctx, Request r) {
+      if (r.extras.readableBytes() != 20) {
+         writeError(ctx, r, INVALID_ARGUMENTS, "Invalid extras");
+         return;
+      }
+      boolean increment = r.opcode == INCREMENT || r.opcode == INCREMENTQ;
+      long delta = r.extras.getLong(0);
+      long initial = r.extras.getLong(8);
+      int expiration = r.extras.getInt(16);
+      for (;;) {
+         byte[] prev = cache.get(r.key);
+         long counter;
+         Metadata metadata;
+         if (prev == null) {
+            if (expiration == NO_INITIAL_VALUE) {
+               if (isStatsEnabled) {
+                  if (increment) incrMisses.incrementAndGet(); else decrMisses.incrementAndGet();
+               }
+               writeError(ctx, r, KEY_NOT_FOUND, "Not found");
+               return;
+            }
+            // The expiration only applies to the initial value
+            counter = initial;
+            metadata = buildMetadata(0, expiration);
+            if (cache.putIfAbsent(r.key, Long.toUnsignedString(counter).getBytes(CHARSET), metadata) != null) {
+               continue;
+            }
+         } else {
+            long prevCounter;
+            try {
+               prevCounter = Long.parseUnsignedLong(new String(prev, CHARSET));
+            } catch (NumberFormatException e) {
+               writeError(ctx, r, NON_NUMERIC_VALUE, "Non-numeric server-side value for incr or decr");
+               return;
+            }
+            if (increment) {
+               // Wraps around at 2^64 like the memcached server does, the text protocol resets the counter to 0 instead
+               counter = prevCounter + delta;
+            } else {
+               counter = Long.compareUnsigned(prevCounter, delta) < 0 ? 0 : prevCounter - delta;
+            }
+            metadata = buildMetadata(0, 0);
+            if (!cache.replace(r.key, prev, Long.toUnsignedString(counter).getBytes(CHARSET), metadata)) {
+               continue;
+            }
+            if (isStatsEnabled) {
+               if (increment) incrHits.incrementAndGet(); else decrHits.incrementAndGet();
+            }
+         }
+         if (!isQuiet(r)) {
+            ByteBuf buf = header(ctx, r, NO_ERROR, version(metadata), 0, 0, 8);
+            buf.writeLong(counter);
+            ctx.write(buf, ctx.voidPromise());
+         }
+         return;
+      }
+   }
+
+   private void appendPrepend(ChannelHandlerContext ctx, Request r) {
+      boolean append = r.opcode == APPEND || r.opcode == APPENDQ;
+      CacheEntry<String, byte[]> entry = cache.getCacheEntry(r.key);
+      if (entry == null) {
+         writeError(ctx, r, ITEM_NOT_STORED, "Not stored");
+         return;
+      }
+      if (r.cas != 0 && version(entry.getMetadata()) != r.cas) {
+         writeError(ctx, r, KEY_EXISTS, "Data exists for key");
+         return;
+      }
+      byte[] prev = entry.getValue();
+      byte[] concatenated = append ? concat(prev, r.value) : concat(r.value, prev);
+      Metadata metadata = new MemcachedMetadataBuilder().flags(flags(entry.getMetadata()))
+            .version(MemcachedDecoder.generateVersion(cache)).build();
+      if (cache.replace(r.key, prev, concatenated, metadata)) {
+         writeStored(ctx, r, metadata);
+      } else {
+         writeError(ctx, r, ITEM_NOT_STORED, "Not stored");
+      }
+   }
+
+   private void flush(ChannelHandlerContext ctx, Request r) {
+      int delay = r.extras.readableBytes() == 4 ? r.extras.getInt(0) : 0;
+      if (delay == 0)
+         cache.clear();
+      else
+         scheduler.schedule(() -> cache.clear(), MemcachedDecoder.toMillis(delay), TimeUnit.MILLISECONDS);
+      if (!isQuiet(r)) writeResponse(ctx, r, NO_ERROR, 0, null, EMPTY);
+   }
+
+   private void stats(ChannelHandlerContext ctx, Request r) {
+      if (!r.key.isEmpty()) {
+         // Stat groups are not supported
+         writeError(ctx, r, KEY_NOT_FOUND, "Not found");
+         return;
+      }
+      Stats stats = cache.getStats();
+      writeStat(ctx, r, "pid", 0);
+      writeStat(ctx, r, "uptime", stats.getTimeSinceStart());
+      writeStat(ctx, r, "time", TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+      writeStat(ctx, r, "version", cache.getVersion());
+      writeStat(ctx, r, "curr_items", stats.getCurrentNumberOfEntries());
+      writeStat(ctx, r, "total_items", stats.getTotalNumberOfEntries());
+      writeStat(ctx, r, "cmd_get", stats.getRetrievals());
+      writeStat(ctx, r, "cmd_set", stats.getStores());
+      writeStat(ctx, r, "get_hits", stats.getHits());
+      writeStat(ctx, r, "get_misses", stats.getMisses());
+      writeStat(ctx, r, "delete_misses", stats.getRemoveMisses());
+      writeStat(ctx, r, "delete_hits", stats.getRemoveHits());
+      writeStat(ctx, r, "incr_misses", incrMisses);
+      writeStat(ctx, r, "incr_hits", incrHits);
+      writeStat(ctx, r, "decr_misses", decrMisses);
+      writeStat(ctx, r, "decr_hits", decrHits);
+      writeStat(ctx, r, "cas_misses", replaceIfUnmodifiedMisses);
+      writeStat(ctx, r, "cas_hits", replaceIfUnmodifiedHits);
+      writeStat(ctx, r, "cas_badval", replaceIfUnmodifiedBadval);
+      writeStat(ctx, r, "evictions", stats.getEvictions());
+      writeStat(ctx, r, "bytes_read", transport.getTotalBytesRead());
+      writeStat(ctx, r, "bytes_written", transport.getTotalBytesWritten());
+      // An empty stat terminates the list
+      writeResponse(ctx, r, NO_ERROR, 0, null, EMPTY);
+   }
+
+   private void writeStat(ChannelHandlerContext ctx, Request r, String stat, Object value) {
+      writeResponse(ctx, r, NO_ERROR, 0, stat, String.valueOf(value).getBytes(CHARSET));
+   }
+
+   private void writeStored(ChannelHandlerContext ctx, Request r, Metadata metadata) {
+      if (!isQuiet(r)) writeResponse(ctx, r, NO_ERROR, version(metadata), null, EMPTY);
+   }
+
+   private void writeError(ChannelHandlerContext ctx, Request r, short status, String message) {
+      // Errors are reported even for quiet requests
+      writeResponse(ctx, r, status, 0, null, message.getBytes(CHARSET));
+   }
+
+   private void writeResponse(ChannelHandlerContext ctx, Request r, short status, long cas, String key, byte[] value) {
+      byte[] keyBytes = key == null ? EMPTY : key.getBytes(CHARSET);
+      ByteBuf buf = header(ctx, r, status, cas, 0, keyBytes.length, value.length);
+      buf.writeBytes(keyBytes);
+      buf.writeBytes(value);
+      ctx.write(buf, ctx.voidPromise());
+   }
+
+   private ByteBuf header(ChannelHandlerContext ctx, Request r, short status, long cas, int extrasLength,
+                          int keyLength, int valueLength) {
+      int bodyLength = extrasLength + keyLength + valueLength;
+      ByteBuf buf = ctx.alloc().buffer(HEADER_LENGTH + bodyLength);
+      buf.writeByte(MAGIC_RESPONSE);
+      buf.writeByte(r.opcode);
+      buf.writeShort(keyLength);
+      buf.writeByte(extrasLength);
+      buf.writeByte(0); // data type
+      buf.writeShort(status);
+      buf.writeInt(bodyLength);
+      buf.writeInt(r.opaque);
+      buf.writeLong(cas);
+      return buf;
+   }
+
+   private Metadata buildMetadata(long flags, int expiration) {
+      MemcachedMetadataBuilder metadata = new MemcachedMetadataBuilder();
+      metadata.version(MemcachedDecoder.generateVersion(cache));
+      metadata.flags(flags);
+      if (expiration > 0)
+         metadata.lifespan(MemcachedDecoder.toMillis(expiration));
+      return metadata.build();
+   }
+
+   private static long version(Metadata metadata) {
+      return metadata.version() instanceof NumericVersion ? ((NumericVersion) metadata.version()).getVersion() : 0;
+   }
+
+   private static long flags(Metadata metadata) {
+      return metadata instanceof MemcachedMetadata ? ((MemcachedMetadata) metadata).flags : 0;
+   }
+
+   private static boolean isQuiet(Request r) {
+      switch (r.opcode) {
+         case GETQ:
+         case GETKQ:
+         case SETQ:
+         case ADDQ:
+         case REPLACEQ:
+         case DELETEQ:
+         case INCREMENTQ:
+         case DECREMENTQ:
+         case QUITQ:
+         case FLUSHQ:
+         case APPENDQ:
+         case PREPENDQ:
+            return true;
+         default:
+            return false;
+      }
+   }
+
+   private static class Request {
+      byte opcode;
+      int opaque;
+      long cas;
+      ByteBuf extras;
+      String key;
+      byte[] value;
+
+      @Override
+      public String toString() {
+         return "Request{" +
+               "opcode=" + opcode +
+               ", opaque=" + opaque +
+               ", cas=" + cas +
+               ", key='" + key + '\'' +
+               ", valueLength=" + value.length +
+               '}';
+      }
+   }
+}
@@ -0,0 +1,36 @@
+package org.infinispan.server.memcached;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+/**
+ * Selects the protocol of a connection from the first byte the client sends: binary protocol requests start with a
+ * magic byte which cannot start a text protocol command. The selector then replaces itself in the pipeline with the
+ * decoder of that protocol, which receives the bytes read so far.
+ *
+ * @since 9.0
+ */
+class MemcachedProtocolSelector extends ByteToMessageDecoder {
+   private final Supplier<ChannelHandler> textDecoder;
+   private final Supplier<ChannelHandler> binaryDecoder;
+
+   MemcachedProtocolSelector(Supplier<ChannelHandler> textDecoder, Supplier<ChannelHandler> binaryDecoder) {
+      this.textDecoder = textDecoder;
+      this.binaryDecoder = binaryDecoder;
+   }
+
+   @Override
+   protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+      if (!in.isReadable())
+         return;
+
+      boolean binary = in.getByte(in.readerIndex()) == MemcachedBinaryDecoder.MAGIC_REQUEST;
+      ChannelHandler decoder = binary ? binaryDecoder.get() : textDecoder.get();
+      ctx.pipeline().replace(this, ctx.name(), decoder);
+   }
+}
@@ -22,7 +22,8 @@
 
 /**
  * Memcached server defining its decoder/encoder settings. In fact, Memcached does not use an encoder since there's
- * no really common headers between protocol operations.
+ * no really common headers between protocol operations. Both the text and the binary protocols are supported, the
+ * protocol of each connection being selected from the first byte it receives.
  *
  * @author Galder Zamarreño
  * @since 4.1
@@ -59,7 +60,9 @@ public ChannelOutboundHandler getEncoder() {
 
    @Override
    public ChannelInboundHandler getDecoder() {
-      return new MemcachedDecoder(memcachedCache, scheduler, transport, this::isCacheIgnored);
+      return new MemcachedProtocolSelector(
+            () -> new MemcachedDecoder(memcachedCache, scheduler, transport, this::isCacheIgnored),
+            () -> new MemcachedBinaryDecoder(memcachedCache, scheduler, transport, this::isCacheIgnored));
    }
 
    @Override
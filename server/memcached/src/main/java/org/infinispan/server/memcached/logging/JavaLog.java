@@ -1,7 +1,10 @@
 package org.infinispan.server.memcached.logging;
 
+import static org.jboss.logging.Logger.Level.WARN;
+
 import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.server.core.logging.Log;
+import org.jboss.logging.annotations.LogMessage;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.MessageLogger;
 
@@ -16,4 +19,8 @@
 public interface JavaLog extends Log {
    @Message(value = "Cache '%s' has expiration enabled which violates the Memcached protocol", id = 11001)
    CacheConfigurationException invalidExpiration(String cacheName);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Invalid magic byte %d in a Memcached binary protocol request, closing the connection", id = 11002)
+   void invalidBinaryMagic(int magic);
 }
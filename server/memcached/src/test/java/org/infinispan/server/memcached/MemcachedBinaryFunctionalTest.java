@@ -0,0 +1,143 @@
+package org.infinispan.server.memcached;
+
+import static org.infinispan.server.memcached.test.MemcachedTestingUtil.createMemcachedBinaryClient;
+import static org.infinispan.server.memcached.test.MemcachedTestingUtil.createMemcachedClient;
+import static org.infinispan.server.memcached.test.MemcachedTestingUtil.killMemcachedClient;
+import static org.infinispan.server.memcached.test.MemcachedTestingUtil.startMemcachedTextServer;
+import static org.infinispan.test.TestingUtil.k;
+import static org.infinispan.test.TestingUtil.v;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.lang.reflect.Method;
+import java.net.SocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Version;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.testng.annotations.Test;
+
+import net.spy.memcached.CASResponse;
+import net.spy.memcached.CASValue;
+import net.spy.memcached.MemcachedClient;
+
+/**
+ * Tests the Memcached binary protocol against Infinispan Memcached server.
+ *
+ * @since 9.0
+ */
+@Test(groups = "functional", testName = "server.memcached.MemcachedBinaryFunctionalTest")
+public class MemcachedBinaryFunctionalTest extends MemcachedSingleNodeTest {
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      cacheManager = createTestCacheManager();
+      server = startMemcachedTextServer(cacheManager);
+      client = createMemcachedBinaryClient(60000, server.getPort());
+      cache = cacheManager.getCache(server.getConfiguration().defaultCacheName());
+      return cacheManager;
+   }
+
+   public void testSetAndGet(Method m) throws Exception {
+      assertTrue(client.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertEquals(v(m), client.get(k(m)));
+      assertEquals(v(m), new String((byte[]) cache.get(k(m))));
+   }
+
+   public void testGetMiss(Method m) {
+      assertNull(client.get(k(m)));
+   }
+
+   public void testGetMultipleKeys(Method m) throws Exception {
+      assertTrue(client.set(k(m, "k1-"), 0, v(m, "v1-")).get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.set(k(m, "k2-"), 0, v(m, "v2-")).get(timeout, TimeUnit.SECONDS));
+      List<String> keys = Arrays.asList(k(m, "k1-"), k(m, "k2-"), k(m, "k3-"));
+      Map<String, Object> ret = client.getBulk(keys);
+      assertEquals(2, ret.size());
+      assertEquals(v(m, "v1-"), ret.get(k(m, "k1-")));
+      assertEquals(v(m, "v2-"), ret.get(k(m, "k2-")));
+   }
+
+   public void testAdd(Method m) throws Exception {
+      assertTrue(client.add(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertFalse(client.add(k(m), 0, v(m, "v1-")).get(timeout, TimeUnit.SECONDS));
+      assertEquals(v(m), client.get(k(m)));
+   }
+
+   public void testReplace(Method m) throws Exception {
+      assertFalse(client.replace(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.replace(k(m), 0, v(m, "v1-")).get(timeout, TimeUnit.SECONDS));
+      assertEquals(v(m, "v1-"), client.get(k(m)));
+   }
+
+   public void testDelete(Method m) throws Exception {
+      assertFalse(client.delete(k(m)).get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.delete(k(m)).get(timeout, TimeUnit.SECONDS));
+      assertNull(client.get(k(m)));
+   }
+
+   public void testCas(Method m) throws Exception {
+      assertTrue(client.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      CASValue<Object> value = client.gets(k(m));
+      assertEquals(v(m), value.getValue());
+      assertEquals(CASResponse.OK, client.cas(k(m), value.getCas(), v(m, "v1-")));
+      assertEquals(CASResponse.EXISTS, client.cas(k(m), value.getCas(), v(m, "v2-")));
+      assertEquals(CASResponse.NOT_FOUND, client.cas(k(m, "k1-"), value.getCas(), v(m, "v2-")));
+      assertEquals(v(m, "v1-"), client.get(k(m)));
+   }
+
+   public void testIncrementDecrement(Method m) throws Exception {
+      assertEquals(-1, client.incr(k(m), 1));
+      assertEquals(10, client.incr(k(m), 1, 10));
+      assertEquals(15, client.incr(k(m), 5));
+      assertEquals(3, client.decr(k(m), 12));
+      assertEquals(0, client.decr(k(m), 5));
+      assertTrue(client.set(k(m, "k1-"), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertEquals(-1, client.incr(k(m, "k1-"), 1));
+   }
+
+   public void testAppendPrepend(Method m) throws Exception {
+      assertFalse(client.append(0, k(m), "-suffix").get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.append(0, k(m), "-suffix").get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.prepend(0, k(m), "prefix-").get(timeout, TimeUnit.SECONDS));
+      assertEquals("prefix-" + v(m) + "-suffix", client.get(k(m)));
+   }
+
+   public void testFlush(Method m) throws Exception {
+      assertTrue(client.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.flush().get(timeout, TimeUnit.SECONDS));
+      assertNull(client.get(k(m)));
+   }
+
+   public void testVersion() {
+      Map<SocketAddress, String> versions = client.getVersions();
+      assertEquals(1, versions.size());
+      assertEquals(Version.getVersion(), versions.values().iterator().next());
+   }
+
+   public void testStats() {
+      Map<SocketAddress, Map<String, String>> stats = client.getStats();
+      assertEquals(1, stats.size());
+      assertTrue(stats.values().iterator().next().containsKey("curr_items"));
+   }
+
+   public void testTextAndBinaryClients(Method m) throws Exception {
+      MemcachedClient textClient = createMemcachedClient(60000, server.getPort());
+      try {
+         assertTrue(textClient.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+         assertEquals(v(m), client.get(k(m)));
+         assertTrue(client.set(k(m), 0, v(m, "v1-")).get(timeout, TimeUnit.SECONDS));
+         assertEquals(v(m, "v1-"), textClient.get(k(m)));
+      } finally {
+         killMemcachedClient(textClient);
+      }
+   }
+}